@@ -80,6 +80,7 @@ public class App {
 
             x.enableSocketD(true);
             x.enableWebSocket(true);
+            x.enableAsyncAction(true);
 
             //x.onStatus(404, c->c.render("404了"));
 
@@ -0,0 +1,40 @@
+package webapp.demo2_mvc;
+
+import org.noear.solon.annotation.Controller;
+import org.noear.solon.annotation.Mapping;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextAsyncListener;
+import org.noear.solon.core.util.RunUtil;
+
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+public class AsyncController {
+    @Mapping("/demo2/async/future")
+    public CompletableFuture<String> future() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        RunUtil.delay(() -> future.complete("hello async"), 50);
+        return future;
+    }
+
+    @Mapping("/demo2/async/ctx")
+    public void ctx(Context ctx) {
+        ctx.asyncStart(1000, null);
+
+        RunUtil.delay(() -> {
+            ctx.output("hello ctx");
+            ctx.asyncComplete();
+        }, 50);
+    }
+
+    @Mapping("/demo2/async/timeout")
+    public void timeout(Context ctx) {
+        ctx.asyncStart(100, new ContextAsyncListener() {
+            @Override
+            public void onTimeout(Context ctx) {
+                ctx.output("timeout");
+                ctx.asyncComplete();
+            }
+        });
+    }
+}
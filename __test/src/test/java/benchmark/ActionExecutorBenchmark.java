@@ -0,0 +1,81 @@
+package benchmark;
+
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.handle.ActionExecutorDefault;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.handle.UploadedFile;
+import org.noear.solon.core.wrap.MethodWrap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import webapp.models.UserModel;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 动作参数绑定 + 调用（6 个混合参数）
+ *
+ * <pre><code>
+ * 用 GCProfiler 输出每次调用的分配字节（gc.alloc.rate.norm）
+ * </code></pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionExecutorBenchmark {
+    public static class DemoController {
+        public Object hello(Context ctx, int id, String name, UserModel user, UploadedFile file, Locale locale) {
+            return name;
+        }
+    }
+
+    ActionExecutorDefault executor;
+    MethodWrap mWrap;
+    DemoController controller;
+    Context ctx;
+
+    @Setup
+    public void setup() throws Exception {
+        Method method = DemoController.class.getMethod("hello",
+                Context.class, int.class, String.class, UserModel.class, UploadedFile.class, Locale.class);
+
+        executor = new ActionExecutorDefault();
+        mWrap = new MethodWrap(new AopContext(), method);
+        controller = new DemoController();
+
+        ctx = new ContextEmpty() {
+            @Override
+            public List<UploadedFile> files(String key) {
+                return Collections.emptyList();
+            }
+        };
+        ctx.paramSet("id", "12");
+        ctx.paramSet("name", "noear");
+        ctx.paramSet("sex", "1");
+    }
+
+    @Benchmark
+    public Object execute() throws Throwable {
+        return executor.execute(ctx, controller, mWrap);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ActionExecutorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
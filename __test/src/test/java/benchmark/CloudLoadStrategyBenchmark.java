@@ -0,0 +1,111 @@
+package benchmark;
+
+import org.noear.solon.cloud.impl.CloudLoadStrategy;
+import org.noear.solon.cloud.impl.CloudLoadStrategyDefault;
+import org.noear.solon.cloud.impl.CloudLoadStrategyLeastActive;
+import org.noear.solon.cloud.impl.CloudLoadStrategyWeighted;
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 负载策略（64 线程争用；与原实现对比）
+ *
+ * <pre><code>
+ * 原实现：synchronized (service.intern()) + attachment 存 Integer（装箱）
+ * </code></pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class CloudLoadStrategyBenchmark {
+    Discovery legacyDiscovery;
+    Discovery defaultDiscovery;
+    Discovery weightedDiscovery;
+    Discovery leastActiveDiscovery;
+
+    CloudLoadStrategy legacy = new LegacyStrategy();
+    CloudLoadStrategy defaultStrategy = new CloudLoadStrategyDefault();
+    CloudLoadStrategy weighted = new CloudLoadStrategyWeighted();
+    CloudLoadStrategyLeastActive leastActive = new CloudLoadStrategyLeastActive();
+
+    @Setup
+    public void setup() {
+        legacyDiscovery = buildDiscovery();
+        defaultDiscovery = buildDiscovery();
+        weightedDiscovery = buildDiscovery();
+        leastActiveDiscovery = buildDiscovery();
+    }
+
+    private static Discovery buildDiscovery() {
+        Discovery discovery = new Discovery("demoapi");
+        for (int i = 0; i < 8; i++) {
+            discovery.instanceAdd(new Instance("demoapi", "192.168.1." + i + ":8080").weight(1 + i % 3));
+        }
+        return discovery;
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacy.getServer(legacyDiscovery);
+    }
+
+    @Benchmark
+    public String roundRobin() {
+        return defaultStrategy.getServer(defaultDiscovery);
+    }
+
+    @Benchmark
+    public String weighted() {
+        return weighted.getServer(weightedDiscovery);
+    }
+
+    @Benchmark
+    public String leastActive() {
+        //含调用反馈（开始 + 结束）
+        String server = leastActive.getServer(leastActiveDiscovery);
+        leastActive.onStart(server);
+        leastActive.onEnd(server, 1_000_000L, true);
+        return server;
+    }
+
+    /**
+     * 原实现
+     */
+    static class LegacyStrategy implements CloudLoadStrategy {
+        @Override
+        public String getServer(Discovery discovery) {
+            Instance instance;
+
+            synchronized (discovery.service().intern()) {
+                Integer index = discovery.attachment();
+                if (index == null || index > 99999999) {
+                    index = 0;
+                }
+
+                instance = discovery.instanceGet(index++);
+                discovery.attachmentSet(index);
+            }
+
+            return instance.uri();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CloudLoadStrategyBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,172 @@
+package benchmark;
+
+import org.noear.solon.Utils;
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.aspect.Invocation;
+import org.noear.solon.core.wrap.ClassWrap;
+import org.noear.solon.core.wrap.FieldWrap;
+import org.noear.solon.core.wrap.MethodWrap;
+import org.noear.solon.data.util.InvKeys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 缓存键生成（InvKeys 与原实现对比）
+ *
+ * <pre><code>
+ * 原实现：buildByInv 走 argsAsMap + md5；buildByTmlAndInv 每次编译正则
+ * </code></pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvKeysBenchmark {
+    public static class DemoService {
+        public Object getUser(long userId, String name, Map<String, Object> user) {
+            return null;
+        }
+    }
+
+    static final String TML = "user_${userId}_${name}_${user.id}";
+
+    MethodWrap mWrap;
+    DemoService target;
+    Object[] args;
+
+    @Setup
+    public void setup() throws Exception {
+        Method method = DemoService.class.getMethod("getUser", long.class, String.class, Map.class);
+
+        mWrap = new MethodWrap(new AopContext(), method);
+        target = new DemoService();
+        args = new Object[]{12L, "noear", Collections.singletonMap("id", 1)};
+    }
+
+    /**
+     * 每次调用都是新的 Invocation（与实际一致）
+     */
+    private Invocation newInv() {
+        return new Invocation(target, args, mWrap, Collections.emptyList());
+    }
+
+    @Benchmark
+    public String buildByInv_old() {
+        return buildByInvOld(newInv());
+    }
+
+    @Benchmark
+    public String buildByInv() {
+        return InvKeys.buildByInv(newInv());
+    }
+
+    @Benchmark
+    public String buildByTml_old() {
+        return buildByTmlAndInvOld(TML, newInv(), null);
+    }
+
+    @Benchmark
+    public String buildByTml() {
+        return InvKeys.buildByTmlAndInv(TML, newInv(), null);
+    }
+
+    /**
+     * 原实现
+     */
+    static String buildByInvOld(Invocation inv) {
+        Method method = inv.method().getMethod();
+
+        StringBuilder keyB = new StringBuilder();
+
+        keyB.append(method.getDeclaringClass().getName()).append(":");
+        keyB.append(method.getName()).append(":");
+
+        inv.argsAsMap().forEach((k, v) -> {
+            keyB.append(k).append("_").append(v);
+        });
+
+        return Utils.md5(keyB.toString());
+    }
+
+    /**
+     * 原实现
+     */
+    static String buildByTmlAndInvOld(String tml, Invocation inv, Object rst) {
+        if (tml.indexOf("$") < 0) {
+            return tml;
+        }
+
+        Map map = inv.argsAsMap();
+        String str2 = tml;
+
+        Pattern pattern = Pattern.compile("\\$\\{(\\w*\\.?\\w+)\\}");
+        Matcher m = pattern.matcher(tml);
+        while (m.find()) {
+            String mark = m.group(0);
+            String name = m.group(1);
+
+            if (map.containsKey(name)) {
+                str2 = str2.replace(mark, String.valueOf(map.get(name)));
+            } else if (name.contains(".")) {
+                Object obj;
+                String fieldKey;
+                String fieldVal = null;
+                if (name.startsWith(".")) {
+                    obj = rst;
+                    fieldKey = name.substring(1);
+                } else {
+                    String[] cf = name.split("\\.");
+                    obj = map.get(cf[0]);
+                    fieldKey = cf[1];
+                }
+
+                if (obj != null) {
+                    Object valTmp;
+
+                    if (obj instanceof Map) {
+                        valTmp = ((Map) obj).get(fieldKey);
+                    } else {
+                        FieldWrap fw = ClassWrap.get(obj.getClass()).getFieldWrap(fieldKey);
+                        try {
+                            valTmp = fw.getValue(obj);
+                        } catch (ReflectiveOperationException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+
+                    if (valTmp != null) {
+                        fieldVal = valTmp.toString();
+                    }
+                }
+
+                str2 = str2.replace(mark, fieldVal == null ? "null" : fieldVal);
+            } else {
+                throw new IllegalArgumentException("Missing cache tag parameter: " + name);
+            }
+        }
+
+        return str2;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InvKeysBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * json body 绑定为 @Body 实体的开销（原来的：字符串 + 树 + 再转换；现在的：从字节直接转换）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBodyBindingBenchmark {
+    public static class Item {
+        public long id;
+        public String name;
+        public double price;
+        public List<String> tags;
+    }
+
+    public static class Order {
+        public String orderNo;
+        public List<Item> items;
+    }
+
+    @Param({"1024", "102400", "1048576"})
+    int size;
+
+    ObjectMapper mapper;
+    ObjectReader reader;
+    byte[] body;
+
+    @Setup
+    public void setup() throws Exception {
+        mapper = new ObjectMapper();
+        reader = mapper.readerFor(Order.class);
+
+        Order order = new Order();
+        order.orderNo = "20230520000001";
+        order.items = new ArrayList<>();
+
+        //按大小生成 body（每项约 80 字节）
+        for (int i = 0, len = Math.max(size / 80, 1); i < len; i++) {
+            Item item = new Item();
+            item.id = i;
+            item.name = "item-" + i;
+            item.price = i * 1.5D;
+            item.tags = new ArrayList<>();
+            item.tags.add("a" + i);
+            item.tags.add("b" + i);
+
+            order.items.add(item);
+        }
+
+        body = mapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Order tree() throws Exception {
+        String json = new String(body, StandardCharsets.UTF_8);
+        JsonNode node = mapper.readTree(json);
+
+        return mapper.readValue(mapper.treeAsTokens(node), Order.class);
+    }
+
+    @Benchmark
+    public Order stream() throws Exception {
+        return reader.readValue(new ByteArrayInputStream(body));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JsonBodyBindingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
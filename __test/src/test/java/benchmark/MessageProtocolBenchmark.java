@@ -0,0 +1,89 @@
+package benchmark;
+
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.protocol.MessageProtocolBase;
+import org.noear.solon.socketd.protocol.MessageProtocolV2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * socketd 协议编解码（MessageProtocolBase 与 MessageProtocolV2 对比）
+ *
+ * <pre><code>
+ * 用 GCProfiler 输出每次编解码的分配字节（gc.alloc.rate.norm）
+ * </code></pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageProtocolBenchmark {
+    @Param({"16", "1024", "65536"})
+    int bodySize;
+
+    Message message;
+    byte[] encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        byte[] body = new byte[bodySize];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) ('a' + (i % 26));
+        }
+
+        message = new Message(MessageFlag.message,
+                Message.guid(),
+                "tcp://localhost:28080/demo/hello",
+                "token=xxx&trace=中文",
+                body);
+
+        ByteBuffer buffer = MessageProtocolBase.instance.encode(message);
+        encoded = new byte[buffer.remaining()];
+        buffer.get(encoded);
+    }
+
+    @Benchmark
+    public ByteBuffer encode_base() throws Exception {
+        return MessageProtocolBase.instance.encode(message);
+    }
+
+    @Benchmark
+    public ByteBuffer encode_v2() throws Exception {
+        return MessageProtocolV2.instance.encode(message);
+    }
+
+    @Benchmark
+    public void encodeTo_v2(Blackhole bh) throws Throwable {
+        MessageProtocolV2.instance.encodeTo(message, bh::consume);
+    }
+
+    @Benchmark
+    public Message decode_base() throws Exception {
+        return MessageProtocolBase.instance.decode(ByteBuffer.wrap(encoded));
+    }
+
+    @Benchmark
+    public Message decode_v2() throws Exception {
+        return MessageProtocolV2.instance.decode(ByteBuffer.wrap(encoded));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MessageProtocolBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
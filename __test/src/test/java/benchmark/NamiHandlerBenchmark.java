@@ -0,0 +1,110 @@
+package benchmark;
+
+import org.noear.nami.*;
+import org.noear.nami.annotation.Body;
+import org.noear.nami.annotation.Mapping;
+import org.noear.nami.annotation.NamiClient;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nami 客户端的每次调用开销（通道与解码器为桩，只测客户端本身）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamiHandlerBenchmark {
+    @NamiClient(headers = "X-App: demo")
+    public interface DemoApi {
+        String hello(String name, int age);
+
+        @Mapping("GET user/{id}/info/{type}")
+        String user(long id, String type, String q);
+
+        @Mapping(value = "PUT save", headers = "X-Ver=2")
+        String save(@Body Map<String, Object> data, String flag);
+
+        @Mapping("GET user/{id}/info/{type}")
+        CompletableFuture<String> userAsync(long id, String type, String q);
+    }
+
+    static final Result RESULT = new Result(200, "ok".getBytes());
+
+    static final Channel CHANNEL = ctx -> RESULT;
+
+    static final Decoder DECODER = new Decoder() {
+        @Override
+        public String enctype() {
+            return "application/json";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) "ok";
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    };
+
+    DemoApi api;
+    Map<String, Object> data;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.setUrl("http://127.0.0.1:8080/api/");
+        config.setChannel(CHANNEL);
+        config.setDecoder(DECODER);
+
+        NamiHandler handler = new NamiHandler(DemoApi.class, config, DemoApi.class.getAnnotation(NamiClient.class));
+        api = (DemoApi) Proxy.newProxyInstance(DemoApi.class.getClassLoader(), new Class[]{DemoApi.class}, handler);
+
+        data = Collections.singletonMap("id", 1);
+    }
+
+    @Benchmark
+    public String hello() {
+        return api.hello("noear", 18);
+    }
+
+    @Benchmark
+    public String pathVars() {
+        return api.user(12L, "base", "x");
+    }
+
+    @Benchmark
+    public String body() {
+        return api.save(data, "y");
+    }
+
+    @Benchmark
+    public String pathVarsAsync() throws Exception {
+        return api.userAsync(12L, "base", "x").get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(NamiHandlerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,90 @@
+package benchmark;
+
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.route.RoutingDefault;
+import org.noear.solon.core.route.RoutingTable;
+import org.noear.solon.core.route.RoutingTableDefault;
+import org.noear.solon.core.route.RoutingTableTrie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路由表：线性扫描（RoutingTableDefault） vs 前缀树（RoutingTableTrie）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingTableBenchmark {
+    @Param({"10", "1000", "10000"})
+    int size;
+
+    RoutingTable<String> tableDefault;
+    RoutingTable<String> tableTrie;
+
+    String pathStatic;
+    String pathVar;
+
+    @Setup
+    public void setup() {
+        tableDefault = new RoutingTableDefault<>();
+        tableTrie = new RoutingTableTrie<>();
+
+        for (int i = 0; i < size; i++) {
+            //与 RouterDefault 一致：静态路由优先
+            add(new RoutingDefault<>("/api/m" + i + "/list", MethodType.GET, "list" + i), true);
+            add(new RoutingDefault<>("/api/m" + i + "/{id}", MethodType.GET, "get" + i), false);
+        }
+
+        add(new RoutingDefault<>("/**", MethodType.HTTP, "all"), false);
+
+        //取中间的记录，避免命中表头
+        pathStatic = "/api/m" + (size / 2) + "/list";
+        pathVar = "/api/m" + (size / 2) + "/12";
+    }
+
+    private void add(RoutingDefault<String> routing, boolean first) {
+        if (first) {
+            tableDefault.add(0, routing);
+            tableTrie.add(0, routing);
+        } else {
+            tableDefault.add(routing);
+            tableTrie.add(routing);
+        }
+    }
+
+    @Benchmark
+    public String default_static() {
+        return tableDefault.matchOne(pathStatic, MethodType.GET);
+    }
+
+    @Benchmark
+    public String trie_static() {
+        return tableTrie.matchOne(pathStatic, MethodType.GET);
+    }
+
+    @Benchmark
+    public String default_var() {
+        return tableDefault.matchOne(pathVar, MethodType.GET);
+    }
+
+    @Benchmark
+    public String trie_var() {
+        return tableTrie.matchOne(pathVar, MethodType.GET);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RoutingTableBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+}
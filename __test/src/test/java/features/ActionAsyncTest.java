@@ -0,0 +1,148 @@
+package features;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.noear.solon.Solon;
+import org.noear.solon.core.BeanWrap;
+import org.noear.solon.core.handle.Action;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextAsyncListener;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.test.SolonJUnit4ClassRunner;
+import org.noear.solon.test.SolonTest;
+import webapp.App;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步动作（返回 CompletionStage）的后置处理
+ *
+ * @author noear
+ * @since 2.3
+ */
+@RunWith(SolonJUnit4ClassRunner.class)
+@SolonTest(App.class)
+public class ActionAsyncTest {
+    public static class DemoController {
+        static CompletableFuture<String> future;
+
+        public CompletableFuture<String> hello() {
+            return future;
+        }
+    }
+
+    /**
+     * 支持异步的上下文（记录完成）
+     */
+    static class AsyncContext extends ContextEmpty {
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile boolean started;
+
+        @Override
+        public boolean asyncSupported() {
+            return true;
+        }
+
+        @Override
+        public boolean asyncStarted() {
+            return started;
+        }
+
+        @Override
+        public void asyncStart(long timeout, ContextAsyncListener listener) {
+            started = true;
+        }
+
+        @Override
+        public void asyncComplete() {
+            completed.countDown();
+        }
+    }
+
+    private Action buildAction(List<String> afters) throws Exception {
+        BeanWrap bw = new BeanWrap(Solon.context(), DemoController.class);
+        Action action = new Action(bw, DemoController.class.getMethod("hello"));
+
+        action.after(c -> {
+            //能看到结果，且在渲染之后
+            afters.add(c.result + "|" + c.attr("output"));
+        });
+
+        return action;
+    }
+
+    @Test
+    public void test_afters() throws Throwable {
+        boolean enabled = Solon.app().enableAsyncAction();
+        Solon.app().enableAsyncAction(true);
+
+        try {
+            List<String> afters = new ArrayList<>();
+            Action action = buildAction(afters);
+
+            DemoController.future = new CompletableFuture<>();
+            AsyncContext ctx = new AsyncContext();
+            action.invoke(ctx, null);
+
+            //结果就绪前，不执行后置处理
+            assert ctx.started;
+            assert afters.size() == 0;
+
+            DemoController.future.complete("hello");
+
+            assert ctx.completed.await(1, TimeUnit.SECONDS);
+            assert afters.size() == 1;
+            assert "hello|hello".equals(afters.get(0));
+        } finally {
+            Solon.app().enableAsyncAction(enabled);
+        }
+    }
+
+    @Test
+    public void test_afters_completed() throws Throwable {
+        boolean enabled = Solon.app().enableAsyncAction();
+        Solon.app().enableAsyncAction(true);
+
+        try {
+            List<String> afters = new ArrayList<>();
+            Action action = buildAction(afters);
+
+            //已完成的，也只执行一次
+            DemoController.future = CompletableFuture.completedFuture("hello");
+            AsyncContext ctx = new AsyncContext();
+            action.invoke(ctx, null);
+
+            assert ctx.completed.await(1, TimeUnit.SECONDS);
+            assert afters.size() == 1;
+            assert "hello|hello".equals(afters.get(0));
+        } finally {
+            Solon.app().enableAsyncAction(enabled);
+        }
+    }
+
+    @Test
+    public void test_disabled() throws Throwable {
+        //没启用时，同步等待结果
+        boolean enabled = Solon.app().enableAsyncAction();
+        Solon.app().enableAsyncAction(false);
+
+        try {
+            List<String> afters = new ArrayList<>();
+            Action action = buildAction(afters);
+
+            DemoController.future = CompletableFuture.completedFuture("hello");
+            AsyncContext ctx = new AsyncContext();
+            action.invoke(ctx, null);
+
+            assert ctx.started == false;
+            assert afters.size() == 1;
+            assert "hello|hello".equals(afters.get(0));
+        } finally {
+            Solon.app().enableAsyncAction(enabled);
+        }
+    }
+}
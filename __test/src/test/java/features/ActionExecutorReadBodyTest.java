@@ -0,0 +1,186 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.Utils;
+import org.noear.solon.annotation.Body;
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.handle.ActionExecutorDefault;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.wrap.MethodWrap;
+import org.noear.solon.core.wrap.ParamWrap;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 只有一个参数用 body 时，从字节直接转换（ActionExecutorDefault::readBody）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class ActionExecutorReadBodyTest {
+    public static class DemoModel {
+        public String json;
+    }
+
+    public static class DemoController {
+        public Object model(@Body DemoModel model, String tag) {
+            return model == null ? null : model.json + ":" + tag;
+        }
+
+        public Object list(@Body List<String> list) {
+            return list;
+        }
+    }
+
+    /**
+     * 把 body 原样放进实体（只为验证绑定过程）
+     */
+    static class DemoExecutor extends ActionExecutorDefault {
+        int reads;
+        boolean fallback;
+
+        @Override
+        protected Object readBody(ParamWrap p, InputStream in, Charset charset) throws Exception {
+            reads++;
+
+            if (fallback) {
+                return null;
+            }
+
+            String json = Utils.transferToString(in, charset.name());
+
+            if (List.class.isAssignableFrom(p.getType())) {
+                List<String> list = new ArrayList<>();
+                list.add(json);
+                return list;
+            } else {
+                DemoModel model = new DemoModel();
+                model.json = json;
+                return model;
+            }
+        }
+    }
+
+    /**
+     * body 流只能读一次（与真实请求一样）
+     */
+    static class BodyContext extends ContextEmpty {
+        private InputStream stream;
+
+        BodyContext(String body) {
+            stream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public InputStream bodyAsStream() throws IOException {
+            InputStream tmp = stream;
+            stream = new ByteArrayInputStream(new byte[0]);
+            return tmp;
+        }
+
+        @Override
+        public String contentCharset() {
+            return "UTF-8";
+        }
+    }
+
+    private Object execute(ActionExecutorDefault executor, Context ctx, String name) throws Throwable {
+        Method method = null;
+        for (Method m : DemoController.class.getMethods()) {
+            if (m.getName().equals(name)) {
+                method = m;
+            }
+        }
+
+        MethodWrap mWrap = new MethodWrap(new AopContext(), method);
+        return executor.execute(ctx, new DemoController(), mWrap);
+    }
+
+    @Test
+    public void test_model() throws Throwable {
+        String body = " {\"name\":\"noear\"}";
+        DemoExecutor executor = new DemoExecutor();
+        Context ctx = new BodyContext(body);
+        ctx.paramSet("tag", "a");
+
+        Object rst = execute(executor, ctx, "model");
+
+        assert executor.reads == 1;
+        assert (body + ":a").equals(rst);
+
+        //转换后，body 仍可获取
+        assert body.equals(ctx.body());
+    }
+
+    @Test
+    public void test_list() throws Throwable {
+        String body = "[\"a\",\"b\"]";
+        DemoExecutor executor = new DemoExecutor();
+        Context ctx = new BodyContext(body);
+
+        Object rst = execute(executor, ctx, "list");
+
+        assert executor.reads == 1;
+        assert rst instanceof List;
+        assert body.equals(((List) rst).get(0));
+    }
+
+    @Test
+    public void test_shape() throws Throwable {
+        //对象不能转为 List
+        DemoExecutor executor = new DemoExecutor();
+        Context ctx = new BodyContext("{\"name\":\"noear\"}");
+
+        Object rst = execute(executor, ctx, "list");
+
+        assert executor.reads == 0;
+        assert rst == null;
+    }
+
+    @Test
+    public void test_fallback() throws Throwable {
+        //readBody 返回 null 时，回退到原来的方式（changeBody，默认为 paramMap）
+        DemoExecutor executor = new DemoExecutor();
+        executor.fallback = true;
+
+        Context ctx = new BodyContext("{\"name\":\"noear\"}");
+        ctx.paramSet("tag", "a");
+
+        Object rst = execute(executor, ctx, "model");
+
+        assert executor.reads == 1;
+        assert "null:a".equals(rst);
+        assert "{\"name\":\"noear\"}".equals(ctx.body());
+    }
+
+    @Test
+    public void test_param_from_body() throws Throwable {
+        //其它参数可能要从 body 里找时，不走直接转换
+        DemoExecutor executor = new DemoExecutor();
+        Context ctx = new BodyContext("{\"name\":\"noear\"}");
+
+        execute(executor, ctx, "model");
+
+        assert executor.reads == 0;
+    }
+
+    @Test
+    public void test_default() throws Throwable {
+        //没有重写 readBody 的，不读取 body
+        String body = "{\"name\":\"noear\"}";
+        Context ctx = new BodyContext(body);
+        ctx.paramSet("tag", "a");
+
+        execute(new ActionExecutorDefault(), ctx, "model");
+
+        assert body.equals(ctx.body());
+    }
+}
@@ -0,0 +1,147 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.data.annotation.Cache;
+import org.noear.solon.data.annotation.CachePut;
+import org.noear.solon.data.cache.CacheExecutorImp;
+import org.noear.solon.data.cache.CacheLib;
+import org.noear.solon.data.cache.LocalCacheService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @Cache 单飞加载与提前刷新
+ */
+public class CacheSingleFlightTest {
+    @Cache(key = "single_flight_test", seconds = 10)
+    public void singleFlight() {
+    }
+
+    @Cache(key = "refresh_ahead_test", seconds = 3, refreshAhead = 2)
+    public void refreshAhead() {
+    }
+
+    @Cache(key = "refresh_ahead_put_test", tags = "refresh_ahead_put_tag", seconds = 3, refreshAhead = 2)
+    public void refreshAheadPut() {
+    }
+
+    @CachePut(key = "refresh_ahead_put_test", seconds = 3)
+    public void putByKey() {
+    }
+
+    @CachePut(tags = "refresh_ahead_put_tag", seconds = 3)
+    public void putByTag() {
+    }
+
+    private Cache anno(String name) throws Exception {
+        CacheLib.cacheServiceAddIfAbsent("", LocalCacheService.instance);
+        return getClass().getMethod(name).getAnnotation(Cache.class);
+    }
+
+    @Test
+    public void test_singleFlight() throws Exception {
+        Cache anno = anno("singleFlight");
+        AtomicInteger loads = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Object>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    return CacheExecutorImp.global.cache(anno, null, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "ok";
+                    });
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+
+        for (Future<Object> future : futures) {
+            assert "ok".equals(future.get());
+        }
+
+        executor.shutdown();
+        assert loads.get() == 1;
+    }
+
+    @Test
+    public void test_refreshAhead() throws Throwable {
+        Cache anno = anno("refreshAhead");
+        AtomicInteger loads = new AtomicInteger();
+
+        //用可控的时钟，不依赖等待的时间窗口
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        CacheExecutorImp executorImp = new CacheExecutorImp(clock::get);
+
+        assert "v1".equals(executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet()));
+        assert "v1".equals(executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet()));
+        assert loads.get() == 1;
+
+        //进入提前刷新期：先返回旧值，并在后台刷新
+        clock.addAndGet(1200);
+        assert "v1".equals(executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet()));
+
+        //等后台刷新完成（有上限）
+        long deadline = System.currentTimeMillis() + 5000;
+        Object val = null;
+        while (System.currentTimeMillis() < deadline) {
+            val = executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet());
+            if ("v2".equals(val)) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+
+        assert "v2".equals(val);
+        assert loads.get() == 2;
+    }
+
+    @Test
+    public void test_refreshAhead_put() throws Throwable {
+        Cache anno = anno("refreshAheadPut");
+        CachePut putByKey = getClass().getMethod("putByKey").getAnnotation(CachePut.class);
+        CachePut putByTag = getClass().getMethod("putByTag").getAnnotation(CachePut.class);
+        AtomicInteger loads = new AtomicInteger();
+
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        CacheExecutorImp executorImp = new CacheExecutorImp(clock::get);
+
+        assert "v1".equals(executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet()));
+
+        //按标签更新（值被包装时，也要更新）
+        executorImp.cachePut(putByTag, null, "p1");
+        assert "p1".equals(executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet()));
+
+        //按键更新
+        executorImp.cachePut(putByKey, null, "p2");
+        assert "p2".equals(executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet()));
+        assert loads.get() == 1;
+
+        //更新后仍保留提前刷新：进入提前刷新期，后台刷新
+        clock.addAndGet(1200);
+        assert "p2".equals(executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet()));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        Object val = null;
+        while (System.currentTimeMillis() < deadline) {
+            val = executorImp.cache(anno, null, () -> "v" + loads.incrementAndGet());
+            if ("v2".equals(val)) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+
+        assert "v2".equals(val);
+        assert loads.get() == 2;
+    }
+}
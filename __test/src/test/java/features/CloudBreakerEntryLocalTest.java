@@ -0,0 +1,142 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.cloud.impl.CloudBreakerEntryLocal;
+import org.noear.solon.cloud.impl.CloudBreakerRule;
+import org.noear.solon.cloud.model.BreakerCall;
+import org.noear.solon.cloud.model.BreakerException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地断路器：限流（并发下不超发），并发数，熔断 -> 半开 -> 关闭（或重新打开）
+ */
+public class CloudBreakerEntryLocalTest {
+    @Test
+    public void test_qps_concurrent() throws Exception {
+        CloudBreakerEntryLocal entry = new CloudBreakerEntryLocal("qps", new CloudBreakerRule().qps(100));
+
+        int threads = 16;
+        AtomicInteger passed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+
+                    for (int i = 0; i < 50; i++) {
+                        try (AutoCloseable call = entry.enter()) {
+                            passed.incrementAndGet();
+                        } catch (BreakerException e) {
+                            //限流
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        start.countDown();
+        done.await();
+
+        //16 * 50 次尝试（1 秒内），只能通过 100 个
+        assert passed.get() == 100 : passed.get();
+        assert entry.stats().getQps() == 100;
+    }
+
+    @Test
+    public void test_concurrency() throws Exception {
+        CloudBreakerEntryLocal entry = new CloudBreakerEntryLocal("sbc", new CloudBreakerRule().concurrency(2));
+
+        AutoCloseable c1 = entry.enter();
+        AutoCloseable c2 = entry.enter();
+
+        assert blocked(entry);
+
+        c1.close();
+        c1.close(); //重复关闭，不影响计数
+
+        AutoCloseable c3 = entry.enter();
+        assert blocked(entry);
+
+        c2.close();
+        c3.close();
+        assert entry.stats().getActive() == 0;
+    }
+
+    @Test
+    public void test_trip_recover() throws Exception {
+        CloudBreakerEntryLocal entry = new CloudBreakerEntryLocal("err", newErrorRule());
+
+        trip(entry);
+        assert "OPEN".equals(entry.stats().getState());
+        assert blocked(entry);
+
+        Thread.sleep(1100);
+
+        //半开：只放行 2 个探测
+        AutoCloseable p1 = entry.enter();
+        AutoCloseable p2 = entry.enter();
+        assert "HALF_OPEN".equals(entry.stats().getState());
+        assert blocked(entry);
+
+        p1.close();
+        p2.close();
+
+        assert "CLOSED".equals(entry.stats().getState());
+        entry.enter().close();
+    }
+
+    @Test
+    public void test_trip_reopen() throws Exception {
+        CloudBreakerEntryLocal entry = new CloudBreakerEntryLocal("err", newErrorRule());
+
+        trip(entry);
+        assert "OPEN".equals(entry.stats().getState());
+        Thread.sleep(1100);
+
+        //探测失败，重新打开
+        BreakerCall probe = (BreakerCall) entry.enter();
+        probe.error(new IllegalStateException());
+        probe.close();
+
+        assert "OPEN".equals(entry.stats().getState());
+        assert blocked(entry);
+    }
+
+    private static CloudBreakerRule newErrorRule() {
+        return new CloudBreakerRule()
+                .errorRatio(0.5)
+                .minCalls(4)
+                .openSeconds(1)
+                .halfOpenCalls(2);
+    }
+
+    /**
+     * 4 次调用，2 次出错（达到最少调用数与错误比例）
+     */
+    private static void trip(CloudBreakerEntryLocal entry) throws Exception {
+        for (int i = 0; i < 4; i++) {
+            BreakerCall call = (BreakerCall) entry.enter();
+            if (i % 2 == 1) {
+                call.error(new IllegalStateException());
+            }
+            call.close();
+        }
+    }
+
+    private static boolean blocked(CloudBreakerEntryLocal entry) throws Exception {
+        try {
+            entry.enter().close();
+            return false;
+        } catch (BreakerException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.cloud.impl.CloudLoadStrategyLeastActive;
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+/**
+ * 最少活跃策略：下线实例的统计会被移除
+ */
+public class CloudLoadStrategyLeastActiveTest {
+    @Test
+    public void test_prune() {
+        CloudLoadStrategyLeastActive strategy = new CloudLoadStrategyLeastActive();
+
+        Discovery d1 = buildDiscovery("demoapi", "a:8080", "b:8080", "c:8080");
+        call(strategy, d1, "a:8080", "b:8080", "c:8080");
+        assert strategy.statsSize() == 3;
+
+        //a 下线，d 上线
+        Discovery d2 = buildDiscovery("demoapi", "b:8080", "c:8080", "d:8080");
+        strategy.getServer(d2);
+        assert strategy.statsSize() == 2;
+
+        call(strategy, d2, "d:8080");
+        assert strategy.statsSize() == 3;
+    }
+
+    @Test
+    public void test_prune_shared() {
+        CloudLoadStrategyLeastActive strategy = new CloudLoadStrategyLeastActive();
+
+        //b 同时属于两个服务
+        call(strategy, buildDiscovery("demoapi", "a:8080", "b:8080"), "a:8080", "b:8080");
+        call(strategy, buildDiscovery("userapi", "b:8080", "c:8080"), "c:8080");
+        assert strategy.statsSize() == 3;
+
+        strategy.getServer(buildDiscovery("demoapi", "a:8080"));
+        assert strategy.statsSize() == 3; //b 还属于 userapi
+
+        strategy.getServer(buildDiscovery("userapi", "c:8080"));
+        assert strategy.statsSize() == 2;
+    }
+
+    @Test
+    public void test_prune_inflight() {
+        CloudLoadStrategyLeastActive strategy = new CloudLoadStrategyLeastActive();
+
+        Discovery d1 = buildDiscovery("demoapi", "a:8080", "b:8080");
+        strategy.getServer(d1);
+        strategy.onStart(uri("a:8080"));
+
+        strategy.getServer(buildDiscovery("demoapi", "b:8080", "c:8080"));
+        assert strategy.statsSize() == 0;
+
+        //调用结束时，不再重建下线实例的统计
+        strategy.onEnd(uri("a:8080"), 1_000_000L, true);
+        assert strategy.statsSize() == 0;
+    }
+
+    @Test
+    public void test_prune_in_place() {
+        CloudLoadStrategyLeastActive strategy = new CloudLoadStrategyLeastActive();
+
+        Discovery d1 = buildDiscovery("demoapi", "a:8080");
+        call(strategy, d1, "a:8080");
+
+        //同一个对象，原地增加实例
+        d1.instanceAdd(new Instance("demoapi", "b:8080"));
+        call(strategy, d1, "b:8080");
+        assert strategy.statsSize() == 2;
+    }
+
+    private static void call(CloudLoadStrategyLeastActive strategy, Discovery discovery, String... servers) {
+        strategy.getServer(discovery);
+
+        for (String server : servers) {
+            strategy.onStart(uri(server));
+            strategy.onEnd(uri(server), 1_000_000L, true);
+        }
+    }
+
+    private static String uri(String address) {
+        return "http://" + address;
+    }
+
+    private static Discovery buildDiscovery(String service, String... servers) {
+        Discovery discovery = new Discovery(service);
+        for (String server : servers) {
+            discovery.instanceAdd(new Instance(service, server));
+        }
+        return discovery;
+    }
+}
@@ -0,0 +1,29 @@
+package features;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.noear.solon.test.HttpTester;
+import org.noear.solon.test.SolonJUnit4ClassRunner;
+import org.noear.solon.test.SolonTest;
+import webapp.App;
+
+import java.io.IOException;
+
+@RunWith(SolonJUnit4ClassRunner.class)
+@SolonTest(App.class)
+public class HttpAsyncTest extends HttpTester {
+    @Test
+    public void test_future() throws IOException {
+        assert path("/demo2/async/future").get().equals("hello async");
+    }
+
+    @Test
+    public void test_ctx() throws IOException {
+        assert path("/demo2/async/ctx").get().equals("hello ctx");
+    }
+
+    @Test
+    public void test_timeout() throws IOException {
+        assert path("/demo2/async/timeout").get().equals("timeout");
+    }
+}
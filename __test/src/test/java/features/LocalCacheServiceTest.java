@@ -0,0 +1,76 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.data.cache.CacheTags;
+import org.noear.solon.data.cache.LocalCacheService;
+
+/**
+ * LocalCacheService（惰性过期，时间轮清理，容量上限）
+ */
+public class LocalCacheServiceTest {
+    @Test
+    public void test_expire() throws Exception {
+        LocalCacheService cacheService = new LocalCacheService();
+
+        cacheService.store("a", "1", 1);
+        cacheService.store("b", "2", 1);
+        cacheService.store("b", "2", 5);
+        assert "1".equals(cacheService.get("a"));
+
+        Thread.sleep(1100);
+
+        //惰性过期
+        assert cacheService.get("a") == null;
+        assert "2".equals(cacheService.get("b"));
+        assert cacheService.getExpiredCount() == 1;
+        assert cacheService.getHitCount() == 2;
+        assert cacheService.getMissCount() == 1;
+    }
+
+    @Test
+    public void test_maxSize() throws Exception {
+        LocalCacheService cacheService = new LocalCacheService(30, 100);
+
+        for (int i = 0; i < 100; i++) {
+            cacheService.store("hot" + i, i, 30);
+            cacheService.get("hot" + i);
+            cacheService.get("hot" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            cacheService.store("scan" + i, i, 30);
+        }
+
+        assert cacheService.size() == 100;
+        assert cacheService.getEvictionCount() == 1000;
+
+        //热点不会被一次性扫描挤出
+        int hot = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cacheService.get("hot" + i) != null) {
+                hot++;
+            }
+        }
+        assert hot > 90;
+    }
+
+    @Test
+    public void test_tags() throws Exception {
+        LocalCacheService cacheService = new LocalCacheService();
+        CacheTags cacheTags = new CacheTags(cacheService);
+
+        cacheService.store("a", "1", 30);
+        cacheService.store("b", "2", 30);
+        cacheTags.add("t", "a", 30);
+        cacheTags.add("t", "b", 30);
+        cacheTags.add("t", "b", 30);
+
+        assert cacheService.tagIndex().getAll("@T").size() == 2;
+
+        cacheTags.remove("t");
+
+        assert cacheService.get("a") == null;
+        assert cacheService.get("b") == null;
+        assert cacheService.tagIndex().getAll("@T").isEmpty();
+    }
+}
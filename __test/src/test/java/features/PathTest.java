@@ -8,6 +8,9 @@ import org.noear.solon.web.staticfiles.StaticMappings;
 import org.noear.solon.web.staticfiles.repository.FileStaticRepository;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
 
 public class PathTest {
     @Test
@@ -39,4 +42,56 @@ public class PathTest {
 
         assert pathAnalyzer.matches("/demo2/intercept/");
     }
+
+    @Test
+    public void test5() {
+        PathAnalyzer pathAnalyzer = PathAnalyzer.get("/demo2/user/{id}/edit");
+
+        Map<String, String> vars = new HashMap<>();
+        assert pathAnalyzer.extract("/demo2/user/12/edit", vars::put);
+        assert "12".equals(vars.get("id"));
+
+        assert pathAnalyzer.matches("/demo2/user/12/edit");
+        assert pathAnalyzer.matches("/demo2/user/1/2/edit") == false;
+        assert pathAnalyzer.matches("/demo2/user//edit") == false;
+    }
+
+    @Test
+    public void test5_var_any() {
+        //{x_} 可跨段；{_} 只是普通变量（快速匹配与正则要一致）
+        PathAnalyzer pathAnalyzer = PathAnalyzer.get("/demo2/file/{path_}");
+        assert pathAnalyzer.matches("/demo2/file/a/b");
+        assert pathAnalyzer.matcher("/demo2/file/a/b").find();
+
+        pathAnalyzer = PathAnalyzer.get("/demo2/file/{_}");
+        assert pathAnalyzer.matches("/demo2/file/a");
+        assert pathAnalyzer.matches("/demo2/file/a/b") == false;
+        assert pathAnalyzer.matcher("/demo2/file/a/b").find() == false;
+
+        Map<String, String> vars = new HashMap<>();
+        assert pathAnalyzer.extract("/demo2/file/a", vars::put);
+        assert "a".equals(vars.get("_"));
+    }
+
+    @Test
+    public void test6() {
+        for (String expr : new String[]{"/demo2/user", "/demo2/**", "/demo2/{id}", "/demo2/{id_}", "/demo2/{a}/{b}", "/demo2/*.html"}) {
+            PathAnalyzer pathAnalyzer = PathAnalyzer.get(expr);
+
+            for (String uri : new String[]{"/demo2/user", "/DEMO2/User", "/demo2/", "/demo2/a/b", "/demo2/a.html", "/demo3/a"}) {
+                Matcher m = pathAnalyzer.matcher(uri);
+                boolean found = m.find();
+
+                Map<String, String> vars = new HashMap<>();
+                assert pathAnalyzer.matches(uri) == found;
+                assert pathAnalyzer.extract(uri, vars::put) == found;
+
+                if (found) {
+                    for (int i = 0; i < pathAnalyzer.keys().size(); i++) {
+                        assert m.group(i + 1).equals(vars.get(pathAnalyzer.keys().get(i)));
+                    }
+                }
+            }
+        }
+    }
 }
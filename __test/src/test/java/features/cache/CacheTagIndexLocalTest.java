@@ -0,0 +1,96 @@
+package features.cache;
+
+import org.junit.Test;
+import org.noear.solon.data.cache.CacheTagIndexLocal;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 标签索引：并发 add 与 removeAll，成员不能丢（要么被 removeAll 取走，要么还在索引里）
+ */
+public class CacheTagIndexLocalTest {
+    @Test
+    public void test_add_removeAll() throws Exception {
+        CacheTagIndexLocal index = new CacheTagIndexLocal();
+
+        int threads = 4;
+        int perThread = 20_000;
+
+        Set<String> removed = ConcurrentHashMap.newKeySet();
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch adders = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int n = t;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        index.add("tag", n + ":" + i, 60);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    adders.countDown();
+                }
+            }).start();
+        }
+
+        Thread remover = new Thread(() -> {
+            while (done.get() == false) {
+                removed.addAll(index.removeAll("tag"));
+            }
+        });
+        remover.start();
+
+        start.countDown();
+        adders.await();
+        done.set(true);
+        remover.join();
+
+        removed.addAll(index.removeAll("tag"));
+
+        assert removed.size() == threads * perThread;
+    }
+
+    @Test
+    public void test_getAll_expired() throws Exception {
+        CacheTagIndexLocal index = new CacheTagIndexLocal();
+
+        index.add("tag", "a", 60);
+        index.add("tag", "b", 1);
+
+        Thread.sleep(1100); //b 已过期
+
+        assert index.getAll("tag").size() == 1;
+        assert index.getAll("tag").contains("a");
+        assert index.getAll("none").isEmpty();
+
+        assert index.removeAll("tag").size() == 1;
+        assert index.getAll("tag").isEmpty();
+    }
+
+    @Test
+    public void test_seconds_zero() throws Exception {
+        //0 为服务默认时效（@Cache 的默认值），不能当作已过期
+        CacheTagIndexLocal index = new CacheTagIndexLocal();
+
+        index.add("tag", "a", 0);
+        index.add("tag", "b", 1);
+        index.add("tag", "b", 0); //保留更长的（不过期）
+
+        for (int i = 0; i < 2048; i++) {
+            index.add("tag", "k" + i, 60); //触发按步清理
+        }
+
+        Thread.sleep(1100);
+
+        assert index.getAll("tag").contains("a");
+        assert index.getAll("tag").contains("b");
+        assert index.removeAll("tag").size() == 2050;
+    }
+}
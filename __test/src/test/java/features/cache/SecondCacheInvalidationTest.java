@@ -0,0 +1,76 @@
+package features.cache;
+
+import org.junit.Test;
+import org.noear.solon.data.cache.CacheInvalidationChannelLocal;
+import org.noear.solon.data.cache.CacheService;
+import org.noear.solon.data.cache.LocalCacheService;
+import org.noear.solon.data.cache.SecondCacheService;
+
+/**
+ * 二级缓存的跨节点失效（两个节点共用一个本地失效通道 + 一个二级缓存）
+ */
+public class SecondCacheInvalidationTest {
+    @Test
+    public void test_invalidate() throws Exception {
+        CacheInvalidationChannelLocal channel = new CacheInvalidationChannelLocal();
+        CacheService cache2 = new LocalCacheService();
+
+        SecondCacheService node1 = new SecondCacheService(new LocalCacheService(), cache2, 300, channel);
+        SecondCacheService node2 = new SecondCacheService(new LocalCacheService(), cache2, 300, channel);
+
+        try {
+            node1.store("user:1", "a", 300);
+            assert "a".equals(node2.get("user:1")); //进入 node2 的一级缓存
+
+            node1.store("user:1", "b", 300);
+            assert awaitValue(node2, "user:1", "b");
+
+            node1.remove("user:1");
+            assert awaitValue(node2, "user:1", null);
+        } finally {
+            node1.close();
+            node2.close();
+        }
+    }
+
+    @Test
+    public void test_close() throws Exception {
+        CacheInvalidationChannelLocal channel = new CacheInvalidationChannelLocal();
+        CacheService cache2 = new LocalCacheService();
+
+        SecondCacheService node1 = new SecondCacheService(new LocalCacheService(), cache2, 300, channel);
+        SecondCacheService node2 = new SecondCacheService(new LocalCacheService(), cache2, 300, channel);
+        SecondCacheService node3 = new SecondCacheService(new LocalCacheService(), cache2, 300, channel);
+
+        try {
+            node1.store("user:2", "a", 300);
+            assert "a".equals(node2.get("user:2"));
+            assert "a".equals(node3.get("user:2"));
+
+            node2.close();
+
+            node1.store("user:2", "b", 300);
+            assert awaitValue(node3, "user:2", "b"); //node3 收到了
+
+            assert "a".equals(node2.get("user:2")); //node2 已取消订阅，一级缓存不变
+        } finally {
+            node1.close();
+            node3.close();
+        }
+    }
+
+    private static boolean awaitValue(CacheService cache, String key, Object expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+
+        while (System.currentTimeMillis() < deadline) {
+            Object val = cache.get(key);
+            if (expected == null ? val == null : expected.equals(val)) {
+                return true;
+            }
+
+            Thread.sleep(10);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,119 @@
+package features.core;
+
+import org.junit.Test;
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.route.RoutingDefault;
+import org.noear.solon.core.route.RoutingTable;
+import org.noear.solon.core.route.RoutingTableDefault;
+import org.noear.solon.core.route.RoutingTableTrie;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * RoutingTableTrie 的匹配结果（与 RoutingTableDefault 对比）
+ */
+public class RoutingTableTrieTest {
+    static final String[] routes = {"/a/b", "/a/{x}", "/a/**", "/**", "/A/c", "/a/b/", "/",
+            "/u/*.html", "/u/x.html", "/v/{id}/edit", "/v/{id_}", "/q/**/z", "/x/b*", "/ab"};
+
+    static final String[] paths = {"/a/b", "/A/B", "/a/c", "/a/", "/a", "/", "/u/x.html", "/u/y.html",
+            "/U/X.HTML", "/v/1/edit", "/v/1/2/3", "/q/1/2/z", "/x/bbb", "/ab", "/abc", "/a/b/", "/zz"};
+
+    private void fill(RoutingTable<String> table, MethodType method, String... list) {
+        int i = 0;
+        for (String p : list) {
+            RoutingDefault<String> routing = new RoutingDefault<>(p, method, (i++) % 3, p);
+
+            if (p.contains("*") || p.contains("{")) {
+                table.add(routing);
+            } else {
+                table.add(0, routing);
+            }
+        }
+    }
+
+    @Test
+    public void test_same_as_default() {
+        for (MethodType m : Arrays.asList(MethodType.GET, MethodType.HTTP, MethodType.ALL)) {
+            RoutingTable<String> table1 = new RoutingTableDefault<>();
+            RoutingTable<String> table2 = new RoutingTableTrie<>();
+
+            fill(table1, m, routes);
+            fill(table2, m, routes);
+
+            for (String path : paths) {
+                for (MethodType m2 : Arrays.asList(MethodType.GET, MethodType.POST, MethodType.SOCKET)) {
+                    assert Objects.equals(table1.matchOne(path, m2), table2.matchOne(path, m2));
+                    assert table1.matchAll(path, m2).equals(table2.matchAll(path, m2));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_remove() {
+        RoutingTable<String> table = new RoutingTableTrie<>();
+        fill(table, MethodType.GET, "/a/b", "/a/{x}");
+
+        assert "/a/b".equals(table.matchOne("/a/b", MethodType.GET));
+
+        table.remove("/a/b");
+        assert "/a/{x}".equals(table.matchOne("/a/b", MethodType.GET));
+
+        table.clear();
+        assert table.matchOne("/a/b", MethodType.GET) == null;
+    }
+
+    @Test
+    public void test_subclass() {
+        //重写了 matches 的子类，不能按路径建树
+        RoutingTable<String> table = new RoutingTableTrie<>();
+        table.add(new RoutingDefault<String>("/a/b", MethodType.GET, "any") {
+            @Override
+            public boolean matches(MethodType method2, String path2) {
+                return true;
+            }
+        });
+
+        assert "any".equals(table.matchOne("/x/y", MethodType.GET));
+        assert table.matchAll("/x/y", MethodType.POST).size() == 1;
+    }
+
+    @Test
+    public void test_matchAll_cached() {
+        RoutingTable<String> table = new RoutingTableTrie<>();
+        fill(table, MethodType.GET, "/a/**");
+
+        assert table.matchAll("/a/b", MethodType.GET).size() == 1;
+        assert table.matchAll("/a/b", MethodType.GET) == table.matchAll("/a/b", MethodType.GET);
+
+        fill(table, MethodType.GET, "/a/b");
+        assert table.matchAll("/a/b", MethodType.GET).size() == 2;
+
+        table.remove("/a/");
+        assert table.matchAll("/a/b", MethodType.GET).isEmpty();
+    }
+
+    @Test
+    public void test_matchAll_shape() {
+        RoutingTable<String> table1 = new RoutingTableDefault<>();
+        RoutingTable<String> table2 = new RoutingTableTrie<>();
+        fill(table1, MethodType.GET, "/**", "/user/{id}", "/user/1/*", "/user/2");
+        fill(table2, MethodType.GET, "/**", "/user/{id}", "/user/1/*", "/user/2");
+
+        //同一形态（变量值不同），共用一个结果
+        List<String> list1 = table2.matchAll("/user/3", MethodType.GET);
+        assert list1.size() == 2;
+        assert list1 == table2.matchAll("/user/4", MethodType.GET);
+
+        //走到不同的节点，或匹配的记录不同，则是不同的结果
+        for (String path : Arrays.asList("/user/2", "/user/1/x", "/user/3/x", "/user/1", "/user/3")) {
+            assert table1.matchAll(path, MethodType.GET).equals(table2.matchAll(path, MethodType.GET));
+        }
+
+        assert table2.matchAll("/user/2", MethodType.GET).size() == 3;
+        assert table2.matchAll("/user/3/x", MethodType.GET).size() == 1;
+    }
+}
@@ -6,6 +6,8 @@ import org.noear.nami.Result;
 import org.noear.nami.coder.fastjson2.Fastjson2Decoder;
 import org.noear.nami.coder.fastjson2.Fastjson2Encoder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -53,4 +55,38 @@ public class NamiCoderTest_fastjson2 {
 
         assert usr_obj == null;
     }
+
+    @Test
+    public void test_fastjson2_stream_err() {
+        //流式返回体（异常）
+        Result err_rst = new Result(200, new ByteArrayInputStream(json_err.getBytes(StandardCharsets.UTF_8)));
+        try {
+            Fastjson2Decoder.instance.decode(err_rst, UserModel.class);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            assert true;
+        }
+    }
+
+    @Test
+    public void test_fastjson2_stream_bean() throws Exception {
+        //流式编码，再流式解码
+        UserModel usr = new UserModel();
+        usr.id = 1;
+        usr.name = "noear";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Fastjson2Encoder.instance.encode(usr, out);
+
+        Result usr_rst = new Result(200, new ByteArrayInputStream(out.toByteArray()));
+        Object usr_obj = Fastjson2Decoder.instance.decode(usr_rst, UserModel.class);
+
+        assert usr_obj instanceof UserModel;
+        assert ((UserModel) usr_obj).id == 1;
+        assert "noear".equals(((UserModel) usr_obj).name);
+
+        //null
+        usr_rst = new Result(200, new ByteArrayInputStream("null".getBytes(StandardCharsets.UTF_8)));
+        assert Fastjson2Decoder.instance.decode(usr_rst, UserModel.class) == null;
+    }
 }
@@ -7,6 +7,8 @@ import org.noear.nami.coder.jackson.JacksonEncoder;
 import org.noear.nami.Result;
 import org.noear.snack.ONode;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -104,4 +106,35 @@ public class NamiCoderTest_jackjson {
 
         assert usr_obj == null;
     }
+
+    @Test
+    public void test_jackjson_stream_err() {
+        //流式返回体（异常）
+        IllegalArgumentException err = ONode.deserialize(json_err);
+        Result err_rst = new Result(200, new ByteArrayInputStream(JacksonEncoder.instance.encode(err)));
+        try {
+            JacksonDecoder.instance.decode(err_rst, UserModel.class);
+            assert false;
+        } catch (RuntimeException e) {
+            assert true;
+        }
+    }
+
+    @Test
+    public void test_jackjson_stream_bean() throws Exception {
+        //流式编码，再流式解码
+        UserModel usr = new UserModel();
+        usr.id = 1;
+        usr.name = "noear";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JacksonEncoder.instance.encode(usr, out);
+
+        Result usr_rst = new Result(200, new ByteArrayInputStream(out.toByteArray()));
+        Object usr_obj = JacksonDecoder.instance.decode(usr_rst, UserModel.class);
+
+        assert usr_obj instanceof UserModel;
+        assert ((UserModel) usr_obj).id == 1;
+        assert "noear".equals(((UserModel) usr_obj).name);
+    }
 }
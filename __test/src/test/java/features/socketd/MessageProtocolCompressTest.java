@@ -0,0 +1,107 @@
+package features.socketd;
+
+import org.junit.Test;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.protocol.MessageProtocolBase;
+import org.noear.solon.socketd.protocol.MessageProtocolCompress;
+import org.noear.solon.socketd.protocol.compress.DeflateCodec;
+import org.noear.solon.socketd.protocol.util.GzipUtil;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+
+/**
+ * MessageProtocolCompress（默认旧格式；设置编解码器后只压缩主体）
+ */
+public class MessageProtocolCompressTest {
+    private byte[] buildJson() {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            buf.append("{\"id\":").append(i).append(",\"name\":\"noear\",\"label\":\"中文\"},");
+        }
+        return buf.toString().getBytes();
+    }
+
+    @Test
+    public void test_body() throws Throwable {
+        byte[] dictionary = "{\"id\":,\"name\":\"noear\",\"label\":\"中文\"}".getBytes();
+        MessageProtocolCompress protocol = new MessageProtocolCompress(64, MessageProtocolBase.instance, new DeflateCodec(dictionary));
+
+        byte[] body = buildJson();
+        Message msg = new Message(MessageFlag.message, "key1", "tcp://localhost/demo", "a=1", body);
+
+        ByteBuffer buffer = protocol.encode(msg);
+        assert buffer.remaining() < body.length;
+
+        Message msg2 = protocol.decode(buffer);
+        assert msg2.flag() == MessageFlag.message;
+        assert "key1".equals(msg2.key());
+        assert "a=1".equals(msg2.header());
+        assert Arrays.equals(body, msg2.body());
+
+        assert protocol.getStats().getCompressCount() == 1;
+        assert protocol.getStats().getRatio() < 1;
+    }
+
+    @Test
+    public void test_legacy() throws Throwable {
+        MessageProtocolCompress protocol = new MessageProtocolCompress(64);
+
+        byte[] body = buildJson();
+        Message msg = new Message(MessageFlag.message, "key1", "tcp://localhost/demo", "a=1", body);
+
+        //旧格式：整帧 gzip 后放入容器包
+        byte[] bytes = GzipUtil.compress(MessageProtocolBase.instance.encode(msg).array());
+        ByteBuffer buffer = MessageProtocolBase.instance.encode(Message.wrapContainer(bytes));
+
+        Message msg2 = protocol.decode(buffer);
+        assert "key1".equals(msg2.key());
+        assert Arrays.equals(body, msg2.body());
+    }
+
+    @Test
+    public void test_default_compatible() throws Throwable {
+        //默认为旧格式（旧版本可以解码）
+        MessageProtocolCompress protocol = new MessageProtocolCompress(64);
+
+        Message small = new Message(MessageFlag.message, "key1", "tcp://localhost/demo", "a=1", "hello".getBytes());
+        assert Arrays.equals(MessageProtocolBase.instance.encode(small).array(), protocol.encode(small).array());
+
+        byte[] body = buildJson();
+        Message msg = new Message(MessageFlag.message, "key1", "tcp://localhost/demo", "a=1", body);
+
+        //按旧版本的方式解码
+        Message msg2 = MessageProtocolBase.instance.decode(protocol.encode(msg));
+        assert msg2.flag() == MessageFlag.container;
+
+        Message msg3 = MessageProtocolBase.instance.decode(ByteBuffer.wrap(GzipUtil.uncompress(msg2.body())));
+        assert "key1".equals(msg3.key());
+        assert Arrays.equals(body, msg3.body());
+    }
+
+    @Test
+    public void test_codec_id() throws Throwable {
+        DeflateCodec codec1 = new DeflateCodec("{\"id\":".getBytes());
+        DeflateCodec codec2 = new DeflateCodec("{\"name\":".getBytes());
+
+        assert DeflateCodec.instance.id() == 1;
+        assert codec1.id() > 1 && codec1.id() <= 255;
+        assert codec1.id() == new DeflateCodec("{\"id\":".getBytes()).id();
+        assert codec1.id() != codec2.id();
+
+        //字典不一致的，不能解码
+        byte[] body = buildJson();
+        byte[] data = codec1.compress(body, 0);
+
+        try {
+            codec2.uncompress(data, 0, data.length, body.length);
+            assert false;
+        } catch (DataFormatException e) {
+            assert true;
+        }
+
+        assert Arrays.equals(body, codec1.uncompress(data, 0, data.length, body.length));
+    }
+}
@@ -0,0 +1,59 @@
+package features.socketd;
+
+import org.junit.Test;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.protocol.MessageProtocolBase;
+import org.noear.solon.socketd.protocol.MessageProtocolV2;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * MessageProtocolV2 编解码（与 MessageProtocolBase 互通）
+ */
+public class MessageProtocolV2Test {
+    private Message build(String key, String body) {
+        return new Message(MessageFlag.message, key, "tcp://localhost/demo/" + key, "a=1&b=" + key, body.getBytes());
+    }
+
+    @Test
+    public void test_compatible() throws Throwable {
+        for (String key : new String[]{"", "abc", "中文", "emoji😀"}) {
+            Message msg = build(key, "Hello 世界!");
+
+            ByteBuffer b1 = MessageProtocolBase.instance.encode(msg);
+            ByteBuffer b2 = MessageProtocolV2.instance.encode(msg);
+            assert b1.equals(b2);
+
+            Message msg2 = MessageProtocolV2.instance.decode(b1);
+            assert key.equals(msg2.key());
+            assert msg.resourceDescriptor().equals(msg2.resourceDescriptor());
+            assert msg.header().equals(msg2.header());
+            assert Arrays.equals(msg.body(), msg2.body());
+        }
+    }
+
+    @Test
+    public void test_encodeTo() throws Throwable {
+        Message msg = build("中文", "Hello 世界!");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MessageProtocolV2.instance.encodeTo(msg, buf -> {
+            out.write(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+        });
+
+        ByteBuffer b1 = MessageProtocolBase.instance.encode(msg);
+        assert Arrays.equals(b1.array(), out.toByteArray());
+    }
+
+    @Test
+    public void test_container() throws Throwable {
+        Message msg = new Message(MessageFlag.container, "xyz".getBytes());
+
+        Message msg2 = MessageProtocolV2.instance.decode(MessageProtocolV2.instance.encode(msg));
+        assert msg2.flag() == MessageFlag.container;
+        assert "xyz".equals(msg2.bodyAsString());
+    }
+}
@@ -0,0 +1,47 @@
+package features.socketd;
+
+import org.junit.Test;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.socketd.RequestManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * RequestManager（时间轮过期，按会话清理）
+ */
+public class RequestManagerTest {
+    @Test
+    public void test_timeout() throws Exception {
+        Message message = Message.wrap("hello");
+        CompletableFuture<Message> future = new CompletableFuture<>();
+
+        long timeoutCount = RequestManager.getTimeoutCount();
+        RequestManager.register(null, message, future, 1);
+        assert RequestManager.get(message.key()) == future;
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            assert false;
+        } catch (ExecutionException e) {
+            assert e.getCause() instanceof TimeoutException;
+        }
+
+        assert RequestManager.get(message.key()) == null;
+        assert RequestManager.getTimeoutCount() == timeoutCount + 1;
+    }
+
+    @Test
+    public void test_remove() throws Exception {
+        Message message = Message.wrap("hello");
+        CompletableFuture<Message> future = new CompletableFuture<>();
+
+        RequestManager.register(null, message, future, 1);
+        RequestManager.remove(message.key());
+
+        Thread.sleep(1500);
+        assert future.isDone() == false;
+    }
+}
@@ -1,19 +1,94 @@
 package org.noear.nami.channel.http.okhttp;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
+import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSink;
 import org.noear.nami.*;
 import org.noear.nami.common.Constants;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Http 通道
  * */
 public class HttpChannel implements Channel {
     public static final HttpChannel instance = new HttpChannel();
 
+    /**
+     * 响应体超过此大小（或长度未知）时，且解码器支持流式，则直接把响应流交给结果
+     */
+    private static final long STREAM_THRESHOLD = 64 * 1024;
+
     @Override
     public Result call(Context ctx) throws Throwable {
+        Call call = buildCall(ctx);
+
+        if (call == null) {
+            return null;
+        }
+
+        return buildResult(ctx, call.execute());
+    }
+
+    /**
+     * 异步调用（okhttp 入队执行，不占用调用线程；取消时，同时取消请求）
+     *
+     * @since 2.3
+     */
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        try {
+            Call call = buildCall(ctx);
+
+            if (call == null) {
+                future.complete(null);
+                return future;
+            }
+
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    future.completeExceptionally(e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try {
+                        Result result = buildResult(ctx, response);
+
+                        if (future.complete(result) == false) {
+                            //已被取消的（比如对冲请求），释放响应
+                            result.close();
+                        }
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+            });
+
+            future.whenComplete((r, e) -> {
+                if (future.isCancelled()) {
+                    call.cancel();
+                }
+            });
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * 构建请求调用（为 null 时，表示没有可发送的内容）
+     */
+    private Call buildCall(Context ctx) throws Exception {
         pretreatment(ctx);
 
         //0.检测method
@@ -46,40 +121,53 @@ public class HttpChannel implements Channel {
 
         //0.开始构建http
         HttpUtils http = HttpUtils.http(url).headers(ctx.headers).timeout(ctx.config.getTimeout());
-        Response response = null;
         Encoder encoder = ctx.config.getEncoder();
 
-        //1.执行并返回
+        //1.构建调用
         if (is_get || ctx.args.size() == 0) {
-            response = http.exec(Constants.METHOD_GET);
+            return http.call(Constants.METHOD_GET);
         } else {
             if (encoder == null) {
                 String ct0 = ctx.headers.getOrDefault(Constants.HEADER_CONTENT_TYPE, "");
 
                 if (ct0.length() == 0) {
-                    response = http.data(ctx.args).exec(ctx.action);
+                    return http.data(ctx.args).call(ctx.action);
                 } else {
                     encoder = NamiManager.getEncoder(ct0);
                 }
-            } else {
-                encoder = ctx.config.getEncoder();
             }
         }
 
-        if (response == null && encoder != null) {
+        if (encoder != null) {
+            if (encoder.streamable() && ctx.body != null) {
+                //流式写入（不需要先序列化为完整的字节）
+                return http.body(new StreamBody(encoder, ctx.body)).call(ctx.action);
+            }
+
             byte[] bytes = encoder.encode(ctx.body);
 
             if (bytes != null) {
-                response = http.bodyRaw(bytes, encoder.enctype()).exec(ctx.action);
+                return http.bodyRaw(bytes, encoder.enctype()).call(ctx.action);
             }
         }
 
-        if (response == null) {
-            return null;
-        }
+        return null;
+    }
 
+    /**
+     * 构建结果
+     */
+    private Result buildResult(Context ctx, Response response) throws IOException {
         //2.构建结果
-        Result result = new Result(response.code(), response.body().bytes());
+        Result result;
+        long contentLength = response.body().contentLength();
+
+        if (ctx.config.getDecoder().streamable() && (contentLength < 0 || contentLength > STREAM_THRESHOLD)) {
+            //流式读取（由解码器边读边解；解码后关闭）
+            result = new Result(response.code(), response.body().byteStream());
+        } else {
+            result = new Result(response.code(), response.body().bytes());
+        }
 
         //2.1.设置头
         for (int i = 0, len = response.headers().size(); i < len; i++) {
@@ -116,4 +204,30 @@ public class HttpChannel implements Channel {
             }
         }
     }
+
+    /**
+     * 流式请求体（每次写入时，由编码器直接写到连接上；支持重试时重写）
+     */
+    static class StreamBody extends RequestBody {
+        private final Encoder encoder;
+        private final Object body;
+        private final MediaType contentType;
+
+        StreamBody(Encoder encoder, Object body) {
+            this.encoder = encoder;
+            this.body = body;
+            this.contentType = MediaType.parse(encoder.enctype());
+        }
+
+        @Override
+        public MediaType contentType() {
+            return contentType;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            encoder.encode(body, sink.outputStream());
+            sink.flush();
+        }
+    }
 }
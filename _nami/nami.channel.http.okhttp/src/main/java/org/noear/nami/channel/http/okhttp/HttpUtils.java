@@ -110,6 +110,13 @@ class HttpUtils {
         return this;
     }
 
+    //@XNote("设置BODY提交（比如流式写入）")
+    public HttpUtils body(RequestBody body) {
+        _body = body;
+
+        return this;
+    }
+
     public HttpUtils timeout(int timeoutSeconds) {
         if (timeoutSeconds > 0) {
             _builder.tag(TimeoutProps.class, new TimeoutProps(timeoutSeconds));
@@ -121,6 +128,11 @@ class HttpUtils {
 
     //@XNote("执行请求，返回响应对象")
     public Response exec(String mothod) throws Exception {
+        return call(mothod).execute();
+    }
+
+    //@XNote("构建请求调用（可同步执行，或异步入队）")
+    public Call call(String mothod) {
         if (_form != null) {
             FormBody.Builder fb = new FormBody.Builder(_charset);
 
@@ -143,8 +155,7 @@ class HttpUtils {
             default: throw new IllegalStateException("This method is not supported");
         }
 
-        Call call = _client.newCall(_builder.build());
-        return call.execute();
+        return _client.newCall(_builder.build());
     }
 
     private void tryInitForm(){
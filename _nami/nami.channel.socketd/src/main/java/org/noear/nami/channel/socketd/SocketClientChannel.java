@@ -10,6 +10,7 @@ import org.noear.solon.socketd.SocketD;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author noear 2021/1/1 created
@@ -48,4 +49,25 @@ public class SocketClientChannel extends SocketChannelBase implements Channel {
 
         return channel.call(ctx);
     }
+
+    /**
+     * 异步调用
+     *
+     * @since 2.3
+     */
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        try {
+            pretreatment(ctx);
+
+            URI uri = URI.create(ctx.url);
+            SocketChannel channel = get(uri);
+
+            return channel.callAsync(ctx);
+        } catch (Throwable e) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
 }
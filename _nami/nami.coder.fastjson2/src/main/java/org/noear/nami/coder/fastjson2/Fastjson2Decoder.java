@@ -8,6 +8,7 @@ import org.noear.nami.Result;
 import org.noear.nami.common.Constants;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.InputStream;
 import java.lang.reflect.Type;
 
 
@@ -19,6 +20,11 @@ public class Fastjson2Decoder implements Decoder {
 
     public static final Fastjson2Decoder instance = new Fastjson2Decoder();
 
+    /**
+     * 流式解码时，用于识别异常的预读大小（异常的 stackTrace 紧跟在 @type、message 之后，只需预读一小段）
+     */
+    static final int PEEK_SIZE = 2 * 1024;
+
 
     @Override
     public String enctype() {
@@ -27,6 +33,10 @@ public class Fastjson2Decoder implements Decoder {
 
     @Override
     public <T> T decode(Result rst, Type type) {
+        if (rst.bodyIsStream()) {
+            return decodeStream(rst, type);
+        }
+
         String str = rst.bodyAsString();
 
         Object returnVal = null;
@@ -59,6 +69,39 @@ public class Fastjson2Decoder implements Decoder {
         }
     }
 
+    /**
+     * 流式解码（边读边解，不需要先读为完整的字符串）
+     */
+    private <T> T decodeStream(Result rst, Type type) {
+        Object returnVal = null;
+        try {
+            InputStream in = rst.bodyAsStream();
+
+            if (rst.bodyPeek(PEEK_SIZE).contains("\"stackTrace\":[{")) {
+                returnVal = JSON.parseObject(in, Throwable.class, JSONReader.Feature.SupportAutoType);
+            } else {
+                returnVal = JSON.parseObject(in, type, JSONReader.Feature.SupportAutoType);
+            }
+        } catch (Throwable ex) {
+            returnVal = ex;
+        }
+
+        if (returnVal != null && returnVal instanceof Throwable) {
+            if (returnVal instanceof RuntimeException) {
+                throw (RuntimeException) returnVal;
+            } else {
+                throw new RuntimeException((Throwable) returnVal);
+            }
+        } else {
+            return (T) returnVal;
+        }
+    }
+
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
     @Override
     public void pretreatment(Context ctx) {
         ctx.headers.put(Constants.HEADER_SERIALIZATION, Constants.AT_TYPE_JSON);
@@ -6,6 +6,8 @@ import org.noear.nami.Context;
 import org.noear.nami.Encoder;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
 
@@ -30,6 +32,18 @@ public class Fastjson2Encoder implements Encoder {
                 .getBytes(StandardCharsets.UTF_8);
     }
 
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        JSON.writeTo(out, obj,
+                JSONWriter.Feature.BrowserCompatible,
+                JSONWriter.Feature.ReferenceDetection);
+    }
+
     @Override
     public void pretreatment(Context ctx) {
 
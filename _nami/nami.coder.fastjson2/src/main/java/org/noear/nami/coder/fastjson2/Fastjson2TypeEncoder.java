@@ -6,6 +6,8 @@ import org.noear.nami.Context;
 import org.noear.nami.Encoder;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
 
@@ -31,6 +33,19 @@ public class Fastjson2TypeEncoder implements Encoder {
 
     }
 
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        JSON.writeTo(out, obj,
+                JSONWriter.Feature.BrowserCompatible,
+                JSONWriter.Feature.WriteClassName,
+                JSONWriter.Feature.ReferenceDetection);
+    }
+
     @Override
     public void pretreatment(Context ctx) {
 
@@ -8,6 +8,7 @@ import org.noear.nami.common.Constants;
 import org.noear.nami.common.ContentTypes;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -27,6 +28,10 @@ public class HessianDecoder implements Decoder {
 
     @Override
     public <T> T decode(Result rst, Type type) {
+        if (rst.bodyIsStream()) {
+            return decodeStream(rst, type);
+        }
+
         Hessian2Input hi = new Hessian2Input(new ByteArrayInputStream(rst.body()));
 
         Object returnVal = null;
@@ -51,6 +56,42 @@ public class HessianDecoder implements Decoder {
         }
     }
 
+    /**
+     * 流式解码（边读边解，不需要先读为完整的字节）
+     */
+    private <T> T decodeStream(Result rst, Type type) {
+        Object returnVal = null;
+        try {
+            InputStream in = rst.bodyAsStream();
+
+            //空的返回体
+            in.mark(1);
+            if (in.read() < 0) {
+                return null;
+            }
+            in.reset();
+
+            returnVal = new Hessian2Input(in).readObject();
+        } catch (Throwable ex) {
+            returnVal = ex;
+        }
+
+        if (returnVal != null && returnVal instanceof Throwable) {
+            if (returnVal instanceof RuntimeException) {
+                throw (RuntimeException) returnVal;
+            } else {
+                throw new RuntimeException((Throwable) returnVal);
+            }
+        } else {
+            return (T) returnVal;
+        }
+    }
+
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
     @Override
     public void pretreatment(Context ctx) {
         ctx.headers.put(Constants.HEADER_SERIALIZATION, Constants.AT_HESSIAN);
@@ -6,6 +6,8 @@ import org.noear.nami.Encoder;
 import org.noear.nami.common.ContentTypes;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Hessian 编码器
@@ -38,6 +40,20 @@ public class HessianEncoder implements Encoder {
         return out.toByteArray();
     }
 
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        Hessian2Output ho = new Hessian2Output(out);
+
+        //只刷出，不关闭 out
+        ho.writeObject(obj);
+        ho.flush();
+    }
+
     @Override
     public void pretreatment(Context ctx) {
 
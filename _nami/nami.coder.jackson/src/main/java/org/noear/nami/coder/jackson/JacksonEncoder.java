@@ -1,6 +1,7 @@
 package org.noear.nami.coder.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -8,6 +9,9 @@ import org.noear.nami.Context;
 import org.noear.nami.Encoder;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * @author noear
  * @since 1.2
@@ -20,6 +24,8 @@ public class JacksonEncoder implements Encoder {
     public JacksonEncoder() {
         mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper.registerModule(new JavaTimeModule());
+        //流式写入时，不关闭目标流（由通道管理）
+        mapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
         // 允许使用未带引号的字段名
         mapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
         // 允许使用单引号
@@ -40,6 +46,16 @@ public class JacksonEncoder implements Encoder {
         }
     }
 
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        mapper.writeValue(out, obj);
+    }
+
     @Override
     public void pretreatment(Context ctx) {
 
@@ -2,6 +2,7 @@ package org.noear.nami.coder.jackson;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -10,6 +11,9 @@ import org.noear.nami.Context;
 import org.noear.nami.Encoder;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * @author noear
  * @since 1.2
@@ -27,6 +31,8 @@ public class JacksonTypeEncoder implements Encoder {
                 mapper_type.getPolymorphicTypeValidator(),
                 ObjectMapper.DefaultTyping.OBJECT_AND_NON_CONCRETE, "@type");
         mapper_type.registerModule(new JavaTimeModule());
+        //流式写入时，不关闭目标流（由通道管理）
+        mapper_type.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
     }
 
     @Override
@@ -43,6 +49,16 @@ public class JacksonTypeEncoder implements Encoder {
         }
     }
 
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        mapper_type.writeValue(out, obj);
+    }
+
     @Override
     public void pretreatment(Context ctx) {
 
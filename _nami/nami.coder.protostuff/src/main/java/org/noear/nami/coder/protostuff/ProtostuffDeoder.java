@@ -6,6 +6,7 @@ import org.noear.nami.common.Constants;
 import org.noear.nami.Result;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.InputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -25,11 +26,24 @@ public class ProtostuffDeoder implements Decoder {
     public <T> T decode(Result rst, Type type) {
         Object returnVal = null;
         try {
-            if (rst.body().length == 0) {
-                return null;
-            }
+            if (rst.bodyIsStream()) {
+                //流式解码（边读边解）
+                InputStream in = rst.bodyAsStream();
+
+                in.mark(1);
+                if (in.read() < 0) {
+                    return null;
+                }
+                in.reset();
+
+                returnVal = ProtostuffUtil.deserialize(in);
+            } else {
+                if (rst.body().length == 0) {
+                    return null;
+                }
 
-            returnVal = ProtostuffUtil.deserialize(rst.body());
+                returnVal = ProtostuffUtil.deserialize(rst.body());
+            }
 
         } catch (Throwable ex) {
             returnVal = ex;
@@ -46,6 +60,11 @@ public class ProtostuffDeoder implements Decoder {
         }
     }
 
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
     @Override
     public void pretreatment(Context ctx) {
         ctx.headers.put(Constants.HEADER_SERIALIZATION, Constants.AT_PROTOBUF);
@@ -4,6 +4,9 @@ import org.noear.nami.Context;
 import org.noear.nami.Encoder;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * @author noear
  * @since 1.2
@@ -21,6 +24,16 @@ public class ProtostuffEncoder implements Encoder {
         return ProtostuffUtil.serialize(obj);
     }
 
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        ProtostuffUtil.serialize(obj, out);
+    }
+
     @Override
     public void pretreatment(Context ctx) {
 
@@ -5,6 +5,10 @@ import io.protostuff.ProtostuffIOUtil;
 import io.protostuff.Schema;
 import io.protostuff.runtime.RuntimeSchema;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 /**
  * @author noear
  * @since 1.2
@@ -46,6 +50,23 @@ public class ProtostuffUtil {
         }
     }
 
+    //序列化对象到流（不关闭 out）
+    public static <T> void serialize(T obj, OutputStream out) throws IOException {
+        LinkedBuffer buffer = LinkedBuffer.allocate();
+
+        try {
+            ProtostuffIOUtil.writeTo(out, DataWrapper.builder(obj), WRAPPER_SCHEMA, buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    //从流反序列化
+    public static <T> T deserialize(InputStream in) throws IOException {
+        DataWrapper<T> wrapper = new DataWrapper<>();
+        ProtostuffIOUtil.mergeFrom(in, wrapper, WRAPPER_SCHEMA);
+        return wrapper.getData();
+    }
 
     //静态内部类
     public static class DataWrapper<T> {
@@ -5,6 +5,10 @@ import org.noear.nami.Encoder;
 import org.noear.nami.common.ContentTypes;
 import org.noear.snack.ONode;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
 public class SnackTypeEncoder implements Encoder {
@@ -20,6 +24,21 @@ public class SnackTypeEncoder implements Encoder {
         return ONode.serialize(obj).getBytes(StandardCharsets.UTF_8);
     }
 
+    @Override
+    public boolean streamable() {
+        return true;
+    }
+
+    /**
+     * 序列化到流（snack3 只能先生成字符串；省掉的是转字节的那份复制）
+     */
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(ONode.serialize(obj));
+        writer.flush();
+    }
+
     @Override
     public void pretreatment(Context ctx) {
 
@@ -1,5 +1,7 @@
 package org.noear.nami;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Nami 执行通道
  *
@@ -8,4 +10,27 @@ package org.noear.nami;
  * */
 public interface Channel {
     Result call(Context ctx) throws Throwable;
+
+    /**
+     * 异步调用（默认在 NamiGlobal 的异步执行器里同步调用；有原生异步的通道，需重写）
+     *
+     * @since 2.3
+     */
+    default CompletableFuture<Result> callAsync(Context ctx) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        try {
+            NamiGlobal.getAsyncExecutor().execute(() -> {
+                try {
+                    future.complete(call(ctx));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
 }
@@ -19,6 +19,15 @@ public interface Decoder {
      * */
     <T> T decode(Result rst, Type clz);
 
+    /**
+     * 是否支持流式反序列化（通道据此决定，是否把响应流直接交给结果；由 Result::bodyAsStream 读取）
+     *
+     * @since 2.3
+     */
+    default boolean streamable() {
+        return false;
+    }
+
     /**
      * 预处理
      * */
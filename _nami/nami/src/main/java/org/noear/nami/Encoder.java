@@ -1,5 +1,8 @@
 package org.noear.nami;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Nami - 编码器
  *
@@ -17,6 +20,28 @@ public interface Encoder {
      * */
     byte[] encode(Object obj);
 
+    /**
+     * 是否支持流式序列化（通道据此决定，是否直接写入请求流）
+     *
+     * @since 2.3
+     */
+    default boolean streamable() {
+        return false;
+    }
+
+    /**
+     * 序列化到流（不要关闭 out）
+     *
+     * @since 2.3
+     */
+    default void encode(Object obj, OutputStream out) throws IOException {
+        byte[] bytes = encode(obj);
+
+        if (bytes != null) {
+            out.write(bytes);
+        }
+    }
+
     /**
      * 预处理
      * */
@@ -3,6 +3,7 @@ package org.noear.nami;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Nami - 调用者
@@ -13,6 +14,8 @@ import java.util.List;
 public class Invocation extends Context {
     private List<Filter> filters = new ArrayList<>();
     private int index;
+    boolean async;
+    private CompletableFuture<Result> future;
 
     public Invocation(Config config, Object proxy, Method method, String action, String url, Filter actuator) {
         super(config, proxy, method, action, url);
@@ -22,10 +25,60 @@ public class Invocation extends Context {
         this.index = 0;
     }
 
+    /**
+     * 复制（用新的地址，从当前过滤器之后开始调用；用于重试或对冲请求）
+     */
+    private Invocation(Invocation from, String url) {
+        super(from.config, from.target, from.method, from.action, url);
+        this.headers.putAll(from.headers);
+        this.args.putAll(from.args);
+        this.body = from.body;
+        this.filters = from.filters;
+        this.index = from.index;
+        this.async = from.async;
+    }
+
     /**
      * 调用
      * */
     public Result invoke() throws Throwable {
         return filters.get(index++).doFilter(this);
     }
+
+    /**
+     * 是否为异步调用（异步时，invoke() 返回 null；结果见 future()）
+     *
+     * <p>异步时 invoke() 在请求发出后即返回；需在完成时处理的（如计时、追踪），要挂接 future()</p>
+     *
+     * @since 2.3
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * 异步结果（由执行器设置；过滤器可在 invoke() 之后挂接完成处理）
+     *
+     * @since 2.3
+     */
+    public CompletableFuture<Result> future() {
+        return future;
+    }
+
+    /**
+     * @since 2.3
+     */
+    public void futureSet(CompletableFuture<Result> future) {
+        this.future = future;
+    }
+
+    /**
+     * 分叉出一个新的调用（用新的地址，从当前过滤器之后开始；只在过滤器内，调用 invoke() 之前使用）
+     *
+     * @param url 请求地址
+     * @since 2.3
+     */
+    public Invocation fork(String url) {
+        return new Invocation(this, url);
+    }
 }
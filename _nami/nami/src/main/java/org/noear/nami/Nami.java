@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Nami（Solon rest * rpc client）
@@ -145,7 +146,53 @@ public class Nami {
     }
 
 
+    /**
+     * 异步呼叫（过滤器在发送前同步执行；结果由通道异步完成）
+     *
+     * @since 2.3
+     */
+    public CompletableFuture<Result> callAsync(Map<String, String> headers, Map args, Object body) {
+        try {
+            Invocation invocation = new Invocation(_config, _target, _method, _action, _url, this::callAsyncDo);
+            invocation.async = true;
+
+            if (headers != null) {
+                invocation.headers.putAll(headers);
+            }
+
+            if (args != null) {
+                invocation.args.putAll(args);
+            }
+
+            if (body != null) {
+                invocation.body = body;
+            }
+
+            Result result = invocation.invoke();
+
+            if (invocation.future() == null) {
+                //被过滤器拦截（没有到达通道）
+                return CompletableFuture.completedFuture(result);
+            } else {
+                return invocation.future();
+            }
+        } catch (Throwable ex) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
     private Result callDo(Invocation inv) throws Throwable {
+        return prepareDo(inv).call(inv);
+    }
+
+    private Result callAsyncDo(Invocation inv) throws Throwable {
+        inv.futureSet(prepareDo(inv).callAsync(inv));
+        return null;
+    }
+
+    private Channel prepareDo(Invocation inv) {
         Channel channel = _config.getChannel();
 
         if (channel == null) {
@@ -174,7 +221,7 @@ public class Nami {
 
         log.trace("Nami call: {}", inv.url);
 
-        return channel.call(inv);
+        return channel;
     }
 
     private Result _result;
@@ -198,12 +245,21 @@ public class Nami {
      * 获取结果（返序列化为object）
      */
     public <T> T getObject(Type returnType) {
-        if (_result == null) {
+        return getObject(_result, returnType);
+    }
+
+    /**
+     * 获取结果（返序列化为object；用于异步呼叫的结果）
+     *
+     * @since 2.3
+     */
+    public <T> T getObject(Result result, Type returnType) {
+        if (result == null) {
             return null;
         }
 
-        if (Void.TYPE.equals(returnType)) {
-            if (_result.body() == null || _result.body().length < 20) {
+        if (Void.TYPE.equals(returnType) || Void.class.equals(returnType)) {
+            if (result.body() == null || result.body().length < 20) {
                 return null;
             }
         }
@@ -215,7 +271,12 @@ public class Nami {
             decoder = NamiManager.getDecoder(ContentTypes.JSON_VALUE);
         }
 
-        return decoder.decode(_result, returnType);
+        try {
+            return decoder.decode(result, returnType);
+        } finally {
+            //流式返回体，解码后释放
+            result.close();
+        }
     }
 
     public static NamiBuilder builder() {
@@ -1,5 +1,9 @@
 package org.noear.nami;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Nami 全局设置
  *
@@ -23,6 +27,10 @@ public class NamiGlobal {
      * 写入超时（单位：秒）
      */
     static int writeTimeout = 10;
+    /**
+     * 异步执行器（用于没有原生异步的通道）
+     */
+    static volatile Executor asyncExecutor;
 
     /**
      * 最大连接数
@@ -75,4 +83,35 @@ public class NamiGlobal {
             writeTimeout = seconds;
         }
     }
+
+    /**
+     * 异步执行器（用于没有原生异步的通道；默认为缓存线程池）
+     *
+     * @since 2.3
+     */
+    public static Executor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            synchronized (NamiGlobal.class) {
+                if (asyncExecutor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    asyncExecutor = Executors.newCachedThreadPool(r -> {
+                        Thread t = new Thread(r, "nami-async-" + count.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+                }
+            }
+        }
+
+        return asyncExecutor;
+    }
+
+    /**
+     * @since 2.3
+     */
+    public static void setAsyncExecutor(Executor executor) {
+        if (executor != null) {
+            asyncExecutor = executor;
+        }
+    }
 }
@@ -1,16 +1,14 @@
 package org.noear.nami;
 
-import org.noear.nami.annotation.Mapping;
 import org.noear.nami.annotation.NamiClient;
 import org.noear.nami.common.*;
 
 import java.lang.reflect.*;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Nami - 调用处理程序
@@ -19,14 +17,12 @@ import java.util.regex.Pattern;
  * @since 1.0
  * */
 public class NamiHandler implements InvocationHandler {
-    private final static Pattern pathKeyExpr = Pattern.compile("\\{([^\\\\}]+)\\}");
-
     private final Config config;
     private final NamiClient client;
 
     private final Map<String, String> headers0 = new LinkedHashMap<>();
     private final Class<?> clz0;
-    private final Map<String, Map> pathKeysCached = new LinkedHashMap<>();
+    private final Map<Method, MethodPlan> plans = new ConcurrentHashMap<>();
 
     /**
      * @param config 配置
@@ -141,49 +137,13 @@ public class NamiHandler implements InvocationHandler {
             return MethodHandlerUtils.invokeObject(clz0,proxy, method, vals);
         }
 
-        MethodWrap methodWrap = MethodWrap.get(method);
-
-        //构建 headers
-        Map<String, String> headers = new HashMap<>(headers0);
-
-        //构建 args
-        Map<String, Object> args = new LinkedHashMap<>();
-        Object body = null;
-        Parameter[] names = methodWrap.getParameters();
-        for (int i = 0, len = names.length; i < len; i++) {
-            if (vals[i] != null) {
-                args.put(names[i].getName(), vals[i]);
-            }
-        }
-
-        //确定body及默认编码
-        if (methodWrap.getBodyName() != null) {
-            body = args.get(methodWrap.getBodyName());
-
-            if (config.getEncoder() == null) {
-                headers.putIfAbsent(Constants.HEADER_CONTENT_TYPE, methodWrap.getBodyAnno().contentType());
-            }
+        MethodPlan plan = plans.get(method);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(method, this::buildPlan);
         }
 
-        //构建 fun
-        String fun = method.getName();
-        String act = null;
-
-        //处理mapping
-        Mapping mapping = methodWrap.getMappingAnno();
-        if (mapping != null) {
-            if (methodWrap.getAct() != null) {
-                act = methodWrap.getAct();
-            }
-
-            if (methodWrap.getFun() != null) {
-                fun = methodWrap.getFun();
-            }
-
-            if (methodWrap.getMappingHeaders() != null) {
-                headers.putAll(methodWrap.getMappingHeaders());
-            }
-        }
+        //构建 headers
+        Map<String, String> headers = plan.buildHeaders(config.getEncoder() == null);
 
         //处理附加信息
         Map<String, String> contextMap = NamiAttachment.getData();
@@ -191,6 +151,10 @@ public class NamiHandler implements InvocationHandler {
             headers.putAll(contextMap);
         }
 
+        //构建 args, body, fun
+        Map<String, Object> args = plan.buildArgs(vals);
+        Object body = (plan.getBodyIndex() < 0 ? null : vals[plan.getBodyIndex()]);
+        String fun = plan.buildFun(vals);
 
         //构建 url
         String url = null;
@@ -217,74 +181,51 @@ public class NamiHandler implements InvocationHandler {
                 if (idx > 0) {
                     url = url.substring(0, idx);
                 }
-
-                if (config.getPath().endsWith("/")) {
-                    fun = config.getPath() + fun;
-                } else {
-                    fun = config.getPath() + "/" + fun;
-                }
             }
-
         } else {
             url = config.getUrl();
         }
 
-        if (fun != null && fun.indexOf("{") > 0) {
-            //
-            //处理Path参数
-            //
-            Map<String, String> pathKeys = buildPathKeys(fun);
-
-            for (Map.Entry<String, String> kv : pathKeys.entrySet()) {
-                //
-                //处理path参数不为String类型时报错的问题
-                //String val = (String) args.get(kv.getValue());
-                //
-                Object arg = args.get(kv.getValue());
-
-                if (arg != null) {
-                    String val = arg.toString();
-                    fun = fun.replace(kv.getKey(), val);
-                    args.remove(kv.getValue());
-                }
-            }
-        }
+        Nami nami = new Nami(config)
+                .method(proxy, method)
+                .action(plan.getAct())
+                .url(url, fun);
 
         //确定返回类型
-        Type type = method.getGenericReturnType();
-        if (type == null) {
-            type = method.getReturnType();
-        }
+        Type type = plan.getReturnType();
 
+        if (plan.isReturnAsync()) {
+            //异步调用（CompletableFuture, CompletionStage）
+            CompletableFuture<Result> source = nami.callAsync(headers, args, body);
+            CompletableFuture<Object> future = source.thenApply(r -> nami.getObject(r, type));
+
+            //取消时，同时取消通道的调用
+            future.whenComplete((r, e) -> {
+                if (future.isCancelled()) {
+                    source.cancel(true);
+                }
+            });
+
+            return future;
+        }
 
         //执行调用
-        Object rst = new Nami(config)
-                .method(proxy, method)
-                .action(act)
-                .url(url, fun)
-                .call(headers, args, body)
+        Object rst = nami.call(headers, args, body)
                 .getObject(type);
 
         return rst;//调试时，方便看
     }
 
-    private Map<String, String> buildPathKeys(String path) {
-        Map<String, String> pathKeys = pathKeysCached.get(path);
-        if (pathKeys == null) {
-            synchronized (path.intern()) {
-                pathKeys = pathKeysCached.get(path);
-                if (pathKeys == null) {
-                    pathKeys = new LinkedHashMap<>();
-
-                    Matcher pm = pathKeyExpr.matcher(path);
-
-                    while (pm.find()) {
-                        pathKeys.put(pm.group(), pm.group(1));
-                    }
-                }
-            }
+    /**
+     * 构建调用计划（每个函数一次）
+     */
+    private MethodPlan buildPlan(Method method) {
+        String funPrefix = null;
+        if (TextUtils.isEmpty(config.getUrl())) {
+            //用 upstream 时，才加 path
+            funPrefix = config.getPath();
         }
 
-        return pathKeys;
+        return new MethodPlan(MethodWrap.get(method), headers0, funPrefix);
     }
 }
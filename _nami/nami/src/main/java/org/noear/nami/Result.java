@@ -1,5 +1,6 @@
 package org.noear.nami;
 
+import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
@@ -13,7 +14,7 @@ import java.util.Map;
  * @author noear
  * @since 1.2
  * */
-public class Result {
+public class Result implements Closeable {
     /**
      * 状态码
      */
@@ -30,6 +31,10 @@ public class Result {
      * 返回体
      */
     private byte[] body;
+    /**
+     * 返回体的流形式（未读完前有效）
+     */
+    private InputStream bodyStream;
     /**
      * 返回体的字符串形式
      */
@@ -52,6 +57,18 @@ public class Result {
         this.body = body;
     }
 
+    /**
+     * 流式返回体（读取后由 close 关闭；需要时才读为字节）
+     *
+     * @since 2.3
+     */
+    public Result(int code, InputStream bodyStream) {
+        this();
+        this.code = code;
+        this.charset = StandardCharsets.UTF_8;
+        this.bodyStream = (bodyStream.markSupported() ? bodyStream : new BufferedInputStream(bodyStream));
+    }
+
     //////////////////
     //////////////////
     //////////////////
@@ -106,14 +123,115 @@ public class Result {
      * 返回体
      */
     public byte[] body() {
+        if (bodyStream != null) {
+            //流式返回体，需要时才读为字节
+            try (InputStream in = bodyStream) {
+                bodyStream = null;
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buf = new byte[8192];
+                int len;
+                while ((len = in.read(buf)) > 0) {
+                    out.write(buf, 0, len);
+                }
+
+                body = out.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
         return body;
     }
 
+    /**
+     * 返回体是否为流（还没有读为字节）
+     *
+     * @since 2.3
+     */
+    public boolean bodyIsStream() {
+        return bodyStream != null;
+    }
+
+    /**
+     * 返回体流形式（支持 mark/reset；状态码 >= 400 时，与 bodyAsString 一样抛出异常）
+     *
+     * @since 2.3
+     */
+    public InputStream bodyAsStream() {
+        if (code >= 400) {
+            bodyAsString();
+        }
+
+        if (bodyStream != null) {
+            return bodyStream;
+        }
+
+        if (body != null) {
+            return new ByteArrayInputStream(body);
+        }
+
+        if (bodyString != null) {
+            return new ByteArrayInputStream(bodyString.getBytes(charset == null ? Charset.defaultCharset() : charset));
+        }
+
+        return null;
+    }
+
+    /**
+     * 预读返回体的开头（不消费返回体；用于识别内容，比如异常）
+     *
+     * @param limit 最多预读的字节数
+     * @since 2.3
+     */
+    public String bodyPeek(int limit) {
+        if (bodyStream == null) {
+            byte[] bytes = body();
+
+            if (bytes == null) {
+                //已读为字符串（按字符数近似限制）
+                if (bodyString == null || bodyString.length() <= limit) {
+                    return bodyString;
+                } else {
+                    return bodyString.substring(0, limit);
+                }
+            } else {
+                return newString(bytes, Math.min(bytes.length, limit));
+            }
+        }
+
+        try {
+            byte[] buf = new byte[limit];
+            int len = 0;
+            int n;
+
+            bodyStream.mark(limit);
+            while (len < limit && (n = bodyStream.read(buf, len, limit - len)) > 0) {
+                len += n;
+            }
+            bodyStream.reset();
+
+            return newString(buf, len);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String newString(byte[] bytes, int len) {
+        if (charset == null) {
+            return new String(bytes, 0, len);
+        } else {
+            return new String(bytes, 0, len, charset);
+        }
+    }
+
     /**
      * 返回体字符形式
      */
     public String bodyAsString() {
         if (bodyString == null) {
+            body();
+
             if (charset == null) {
                 bodyString = new String(body);
             } else {
@@ -130,4 +248,21 @@ public class Result {
             return bodyString;
         }
     }
+
+    /**
+     * 关闭（流式返回体没读完时，释放连接）
+     *
+     * @since 2.3
+     */
+    @Override
+    public void close() {
+        if (bodyStream != null) {
+            try {
+                bodyStream.close();
+            } catch (IOException ignore) {
+            }
+
+            bodyStream = null;
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package org.noear.nami.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 延时直方图（对数线性分桶，单位微秒，误差约 12%；统计最近两个窗口）
+ *
+ * <pre><code>
+ * 1.每个 2 的幂区间，再分 8 个桶；记录只是一次原子加
+ * 2.窗口到期时轮换（当前 -> 上一个），读取时合并两个窗口
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final long windowNanos;
+    private volatile Window current;
+    private volatile Window previous;
+
+    /**
+     * @param windowMillis 窗口时长（毫秒）
+     */
+    public LatencyHistogram(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.current = new Window(System.nanoTime());
+    }
+
+    /**
+     * 记录一次延时
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        Window window = window(System.nanoTime());
+
+        window.counts.incrementAndGet(index(Math.max(nanos / 1000L, 0L)));
+        window.total.incrementAndGet();
+    }
+
+    /**
+     * 样本数（最近两个窗口）
+     */
+    public long count() {
+        Window window = window(System.nanoTime());
+        Window prev = previous;
+
+        return window.total.get() + (prev == null ? 0L : prev.total.get());
+    }
+
+    /**
+     * 百分位值（纳秒；没有样本时为 0）
+     *
+     * @param percentile 百分位（如：95, 99.9）
+     */
+    public long percentile(double percentile) {
+        Window window = window(System.nanoTime());
+        Window prev = previous;
+
+        long total = window.total.get() + (prev == null ? 0L : prev.total.get());
+        if (total == 0) {
+            return 0L;
+        }
+
+        long rank = (long) Math.ceil(total * Math.min(percentile, 100D) / 100D);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += window.counts.get(i);
+            if (prev != null) {
+                seen += prev.counts.get(i);
+            }
+
+            if (seen >= rank && seen > 0) {
+                return upper(i) * 1000L;
+            }
+        }
+
+        return upper(BUCKET_COUNT - 1) * 1000L;
+    }
+
+    private Window window(long now) {
+        Window window = current;
+
+        if (now - window.start >= windowNanos) {
+            synchronized (this) {
+                window = current;
+
+                if (now - window.start >= windowNanos) {
+                    //超过两个窗口没有记录的，上一个窗口也作废
+                    previous = (now - window.start < windowNanos * 2 ? window : null);
+                    current = window = new Window(now);
+                }
+            }
+        }
+
+        return window;
+    }
+
+    /**
+     * 值所在的桶
+     */
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * 桶的上界
+     */
+    static long upper(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+
+        int exp = index / SUB_COUNT + SUB_BITS - 1;
+        int sub = index % SUB_COUNT;
+
+        return ((SUB_COUNT + sub + 1L) << (exp - SUB_BITS)) - 1L;
+    }
+
+    static class Window {
+        final long start;
+        final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        final AtomicLong total = new AtomicLong();
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package org.noear.nami.common;
+
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * 函数调用计划（每个接口函数编译一次；不可变，可并发使用）
+ *
+ * <pre><code>
+ * 1.静态头：客户端头 + 默认内容类型（有 body 时）+ 映射头，合并为只读 Map
+ * 2.fun 模板：按 {name} 切分为片段与参数位置；每次调用只写入参数值
+ * 3.参数名、body 位置、返回类型，预先确定
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class MethodPlan {
+    private final MethodWrap methodWrap;
+    private final String act;
+    private final String[] argNames;
+    private final int bodyIndex;
+    private final Map<String, String> headers;
+    private final Map<String, String> headersWithBodyType;
+
+    private final String fun;
+    private final String[] funSegments;
+    private final int[] funArgIndexes;
+    private final boolean[] pathArgs;
+
+    /**
+     * @param methodWrap 函数包装
+     * @param headers0   客户端头
+     * @param funPrefix  fun 的前缀路径（可为 null）
+     */
+    public MethodPlan(MethodWrap methodWrap, Map<String, String> headers0, String funPrefix) {
+        this.methodWrap = methodWrap;
+
+        //参数
+        Parameter[] parameters = methodWrap.getParameters();
+        argNames = new String[parameters.length];
+        int bodyIdx = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            argNames[i] = parameters[i].getName();
+
+            if (argNames[i].equals(methodWrap.getBodyName())) {
+                bodyIdx = i;
+            }
+        }
+        bodyIndex = bodyIdx;
+
+        //头
+        Map<String, String> tmp = new LinkedHashMap<>(headers0);
+        Map<String, String> tmp2 = new LinkedHashMap<>(headers0);
+        if (methodWrap.getBodyName() != null) {
+            tmp2.putIfAbsent(Constants.HEADER_CONTENT_TYPE, methodWrap.getBodyAnno().contentType());
+        }
+
+        if (methodWrap.getMappingAnno() != null && methodWrap.getMappingHeaders() != null) {
+            tmp.putAll(methodWrap.getMappingHeaders());
+            tmp2.putAll(methodWrap.getMappingHeaders());
+        }
+
+        headers = Collections.unmodifiableMap(tmp);
+        headersWithBodyType = Collections.unmodifiableMap(tmp2);
+
+        //fun
+        String fun0 = methodWrap.getMethod().getName();
+        String act0 = null;
+        if (methodWrap.getMappingAnno() != null) {
+            act0 = methodWrap.getAct();
+
+            if (methodWrap.getFun() != null) {
+                fun0 = methodWrap.getFun();
+            }
+        }
+        act = act0;
+
+        if (TextUtils.isNotEmpty(funPrefix)) {
+            if (funPrefix.endsWith("/")) {
+                fun0 = funPrefix + fun0;
+            } else {
+                fun0 = funPrefix + "/" + fun0;
+            }
+        }
+
+        fun = fun0;
+
+        //fun 模板（{name} 为路径参数）
+        List<String> segments = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        pathArgs = new boolean[argNames.length];
+
+        int start = 0;
+        int idx = fun0.indexOf('{');
+        while (idx > 0) {
+            int end = fun0.indexOf('}', idx);
+            if (end < 0) {
+                break;
+            }
+
+            int argIdx = indexOf(argNames, fun0.substring(idx + 1, end));
+            if (argIdx >= 0) {
+                segments.add(fun0.substring(start, idx));
+                indexes.add(argIdx);
+                pathArgs[argIdx] = true;
+                start = end + 1;
+            }
+
+            idx = fun0.indexOf('{', end);
+        }
+
+        if (indexes.size() > 0) {
+            segments.add(fun0.substring(start));
+            funSegments = segments.toArray(new String[0]);
+            funArgIndexes = new int[indexes.size()];
+            for (int i = 0; i < funArgIndexes.length; i++) {
+                funArgIndexes[i] = indexes.get(i);
+            }
+        } else {
+            funSegments = null;
+            funArgIndexes = null;
+        }
+    }
+
+    public MethodWrap getMethodWrap() {
+        return methodWrap;
+    }
+
+    /**
+     * 动作（为 null 时，用默认）
+     */
+    public String getAct() {
+        return act;
+    }
+
+    /**
+     * body 的参数位置（-1 表示没有）
+     */
+    public int getBodyIndex() {
+        return bodyIndex;
+    }
+
+    /**
+     * 返回类型（异步时，为元素类型）
+     */
+    public Type getReturnType() {
+        return methodWrap.getReturnType();
+    }
+
+    /**
+     * 是否异步返回
+     */
+    public boolean isReturnAsync() {
+        return methodWrap.isReturnAsync();
+    }
+
+    /**
+     * 构建头（静态头的副本，调用时可再写入）
+     *
+     * @param encoderAbsent 是否没有指定编码器（是则使用 body 的默认内容类型）
+     */
+    public Map<String, String> buildHeaders(boolean encoderAbsent) {
+        return new HashMap<>(encoderAbsent ? headersWithBodyType : headers);
+    }
+
+    /**
+     * 构建参数（去掉 null 值，以及已写入 fun 的路径参数）
+     */
+    public Map<String, Object> buildArgs(Object[] vals) {
+        Map<String, Object> args = new LinkedHashMap<>(capacity(argNames.length));
+
+        for (int i = 0; i < argNames.length; i++) {
+            if (vals[i] != null && pathArgs[i] == false) {
+                args.put(argNames[i], vals[i]);
+            }
+        }
+
+        return args;
+    }
+
+    /**
+     * 构建 fun（写入路径参数；参数为 null 的，保留 {name}）
+     */
+    public String buildFun(Object[] vals) {
+        if (funSegments == null) {
+            return fun;
+        }
+
+        StringBuilder buf = new StringBuilder(fun.length() + 16 * funArgIndexes.length);
+
+        for (int i = 0; i < funArgIndexes.length; i++) {
+            buf.append(funSegments[i]);
+
+            Object val = vals[funArgIndexes[i]];
+            if (val == null) {
+                buf.append('{').append(argNames[funArgIndexes[i]]).append('}');
+            } else {
+                buf.append(val);
+            }
+        }
+
+        buf.append(funSegments[funSegments.length - 1]);
+
+        return buf.toString();
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75F + 1.0F);
+    }
+}
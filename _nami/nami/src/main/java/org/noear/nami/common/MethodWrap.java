@@ -5,8 +5,14 @@ import org.noear.nami.annotation.Mapping;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 函数包装器（预处理并缓存）
@@ -15,18 +21,12 @@ import java.util.Map;
  * @since 1.2
  */
 public class MethodWrap {
-    private static final Map<Method, MethodWrap> cached = new HashMap<>();
+    private static final Map<Method, MethodWrap> cached = new ConcurrentHashMap<>();
 
     public static MethodWrap get(Method method) {
         MethodWrap mw = cached.get(method);
         if (mw == null) {
-            synchronized (method) {
-                mw = cached.get(method);
-                if (mw == null) {
-                    mw = new MethodWrap(method);
-                    cached.put(method, mw);
-                }
-            }
+            mw = cached.computeIfAbsent(method, MethodWrap::new);
         }
 
         return mw;
@@ -38,6 +38,29 @@ public class MethodWrap {
         this.parameters = m.getParameters();
         this.mappingAnno = m.getAnnotation(Mapping.class);
 
+        //确定返回类型（异步时，为元素类型）
+        Type type = m.getGenericReturnType();
+        if (type == null) {
+            type = m.getReturnType();
+        }
+
+        Class<?> rawType = m.getReturnType();
+        if (rawType == CompletableFuture.class || rawType == CompletionStage.class) {
+            returnAsync = true;
+
+            if (type instanceof ParameterizedType) {
+                type = ((ParameterizedType) type).getActualTypeArguments()[0];
+
+                if (type instanceof WildcardType) {
+                    type = ((WildcardType) type).getUpperBounds()[0];
+                }
+            } else {
+                type = Object.class;
+            }
+        }
+
+        this.returnType = type;
+
         for (Parameter p1 : parameters) {
             bodyAnno = p1.getAnnotation(Body.class);
             if (bodyAnno != null) {
@@ -81,6 +104,8 @@ public class MethodWrap {
     private Map<String,String> mappingHeaders;
     private String act;
     private String fun;
+    private Type returnType;
+    private boolean returnAsync;
 
     public Method getMethod() {
         return method;
@@ -113,4 +138,22 @@ public class MethodWrap {
     public String getFun() {
         return fun;
     }
+
+    /**
+     * 返回类型（异步时，为元素类型）
+     *
+     * @since 2.3
+     */
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * 是否异步返回（CompletableFuture 或 CompletionStage）
+     *
+     * @since 2.3
+     */
+    public boolean isReturnAsync() {
+        return returnAsync;
+    }
 }
@@ -0,0 +1,548 @@
+package org.noear.nami.common;
+
+import org.noear.nami.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 上游容错过滤器（对冲请求，重试预算，异常实例摘除；只对使用 upstream 的客户端生效）
+ *
+ * <pre><code>
+ * 1.对冲：调用超过上游延时的 hedgePercentile 百分位（不少于 hedgeMinMillis）还没返回，向另一个实例再发一次；先成功的为准
+ * 2.重试：失败（异常或状态码 >= 500）时换实例重试，最多 retryTimes 次；对冲与重试共用预算（retryRatio 的流量 + 每秒 retryMinPerSecond 次）
+ * 3.摘除：连续错误 ejectErrors 次，或中位延时超过上游中位延时的 ejectLatencyFactor 倍，摘除 ejectMillis（被摘除的不超过 ejectMaxPercent%）
+ * 4.对冲与重试只用于幂等请求（默认：GET, HEAD, OPTIONS, PUT, DELETE；可用 idempotent(..) 定制）
+ *
+ * 配置示例（hedgePercentile、ejectLatencyFactor 默认为 0，即不对冲、不按延时摘除；需要时显式配置）：
+ *
+ * solon.cloud.resilience:
+ *   hedgePercentile: 95       #0 表示不对冲
+ *   hedgeMinMillis: 5
+ *   retryTimes: 1
+ *   retryRatio: 0.1
+ *   retryMinPerSecond: 10
+ *   ejectErrors: 5            #0 表示不按错误摘除
+ *   ejectLatencyFactor: 3     #0 表示不按延时摘除
+ *   ejectMillis: 30000
+ *   ejectMaxPercent: 50
+ *   minSamples: 20            #延时样本少于此数时，不对冲，也不按延时摘除
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class ResilienceFilter implements Filter {
+    static final Logger log = LoggerFactory.getLogger(ResilienceFilter.class);
+    static final Set<String> IDEMPOTENT_ACTIONS = new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "PUT", "DELETE"));
+
+    private static volatile ScheduledExecutorService scheduler;
+
+    double hedgePercentile;
+    long hedgeMinMillis = 5;
+    int retryTimes = 1;
+    double retryRatio = 0.1;
+    int retryMinPerSecond = 10;
+    int ejectErrors = 5;
+    double ejectLatencyFactor;
+    long ejectMillis = 30_000;
+    int ejectMaxPercent = 50;
+    int minSamples = 20;
+    Predicate<Invocation> idempotent = inv -> IDEMPOTENT_ACTIONS.contains(inv.action);
+
+    private final Map<Config, UpstreamStats> statsMap = new ConcurrentHashMap<>();
+
+    public ResilienceFilter hedge(double percentile, long minMillis) {
+        this.hedgePercentile = percentile;
+        this.hedgeMinMillis = minMillis;
+        return this;
+    }
+
+    public ResilienceFilter retry(int times, double ratio, int minPerSecond) {
+        this.retryTimes = times;
+        this.retryRatio = ratio;
+        this.retryMinPerSecond = minPerSecond;
+        return this;
+    }
+
+    public ResilienceFilter ejectErrors(int errors) {
+        this.ejectErrors = errors;
+        return this;
+    }
+
+    public ResilienceFilter ejectLatencyFactor(double factor) {
+        this.ejectLatencyFactor = factor;
+        return this;
+    }
+
+    public ResilienceFilter ejectMillis(long millis, int maxPercent) {
+        this.ejectMillis = millis;
+        this.ejectMaxPercent = maxPercent;
+        return this;
+    }
+
+    public ResilienceFilter minSamples(int minSamples) {
+        this.minSamples = minSamples;
+        return this;
+    }
+
+    public ResilienceFilter idempotent(Predicate<Invocation> idempotent) {
+        if (idempotent != null) {
+            this.idempotent = idempotent;
+        }
+        return this;
+    }
+
+    /**
+     * 上游统计（按客户端配置）
+     */
+    public UpstreamStats getStats(Config config) {
+        UpstreamStats stats = statsMap.get(config);
+
+        if (stats == null) {
+            stats = statsMap.computeIfAbsent(config, k -> new UpstreamStats());
+        }
+
+        return stats;
+    }
+
+    @Override
+    public Result doFilter(Invocation inv) throws Throwable {
+        Supplier<String> upstream = inv.config.getUpstream();
+
+        if (upstream == null || TextUtils.isNotEmpty(inv.config.getUrl())) {
+            //固定地址的，没有别的实例可选
+            return inv.invoke();
+        }
+
+        UpstreamStats stats = getStats(inv.config);
+        stats.onRequest();
+
+        Attempts attempts = new Attempts(inv, upstream, stats, idempotent.test(inv));
+        attempts.start(inv.url);
+
+        if (attempts.hedging && attempts.result.isDone() == false) {
+            //延时达到百分位还没返回，发出对冲请求
+            long delay = Math.max(stats.latency.percentile(hedgePercentile), hedgeMinMillis * 1_000_000L);
+            getScheduler().schedule(attempts::hedge, delay, TimeUnit.NANOSECONDS);
+        }
+
+        if (inv.isAsync()) {
+            inv.futureSet(attempts.result);
+            return null;
+        }
+
+        try {
+            return attempts.result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 记录一次调用（并检测是否需要摘除）
+     */
+    private void record(UpstreamStats stats, UpstreamServer server, long nanos, boolean succeeded, boolean cancelled) {
+        stats.latency.record(nanos);
+        stats.onServer(server.key());
+
+        if (cancelled) {
+            //被对冲取消的，只记延时（实际延时不会更短）
+            server.latency().record(nanos);
+        } else {
+            int errors = server.record(nanos, succeeded);
+
+            if (ejectErrors > 0 && errors >= ejectErrors) {
+                eject(stats, server, "consecutive errors: " + errors);
+                return;
+            }
+        }
+
+        if (ejectLatencyFactor > 0 && server.tryCheck(1000)) {
+            if (server.latency().count() >= minSamples && stats.latency.count() >= minSamples) {
+                long p50 = server.latency().percentile(50);
+                long p50Upstream = stats.latency.percentile(50);
+
+                if (p50 > p50Upstream * ejectLatencyFactor) {
+                    eject(stats, server, "p50 latency: " + (p50 / 1_000_000L) + "ms");
+                }
+            }
+        }
+    }
+
+    private void eject(UpstreamStats stats, UpstreamServer server, String reason) {
+        //检测与摘除要一起完成（否则并发时，会超出 ejectMaxPercent）
+        synchronized (stats) {
+            if (server.isEjected()) {
+                return;
+            }
+
+            int ejected = 0;
+            for (String key : stats.servers.keySet()) {
+                if (UpstreamServer.isEjected(key)) {
+                    ejected++;
+                }
+            }
+
+            //保留足够的实例（只有一个实例时，不摘除）
+            if ((ejected + 1) * 100 > stats.servers.size() * ejectMaxPercent) {
+                return;
+            }
+
+            server.eject(ejectMillis);
+        }
+
+        log.warn("Nami upstream server ejected: {}, {}", server.key(), reason);
+    }
+
+    private static ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            synchronized (ResilienceFilter.class) {
+                if (scheduler == null) {
+                    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread t = new Thread(r, "nami-hedge");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                }
+            }
+        }
+
+        return scheduler;
+    }
+
+    /**
+     * 一次调用的所有尝试（首次，对冲，重试；先成功的为准）
+     */
+    class Attempts {
+        final Invocation inv;
+        final Supplier<String> upstream;
+        final UpstreamStats stats;
+        final boolean idempotent;
+        final boolean hedging;
+        final CompletableFuture<Result> result = new CompletableFuture<>();
+
+        private final List<CompletableFuture<Result>> pending = new ArrayList<>();
+        private final Set<String> tried = new HashSet<>();
+        private int retries;
+        private Throwable lastError;
+        private Result lastResult;
+
+        Attempts(Invocation inv, Supplier<String> upstream, UpstreamStats stats, boolean idempotent) {
+            this.inv = inv;
+            this.upstream = upstream;
+            this.stats = stats;
+            this.idempotent = idempotent;
+            this.hedging = idempotent && hedgePercentile > 0 && stats.latency.count() >= minSamples;
+
+            //调用方取消时，取消所有进行中的尝试
+            result.whenComplete((r, e) -> {
+                if (result.isCancelled()) {
+                    cancelPending();
+                }
+            });
+        }
+
+        /**
+         * 发出一次尝试
+         */
+        void start(String url) {
+            CompletableFuture<Result> slot = new CompletableFuture<>();
+
+            synchronized (this) {
+                pending.add(slot);
+            }
+
+            start(url, slot);
+        }
+
+        /**
+         * 发出一次尝试（占位已登记到 pending；结果转到占位上）
+         */
+        private void start(String url, CompletableFuture<Result> slot) {
+            UpstreamServer server = UpstreamServer.get(url);
+            CompletableFuture<Result> future;
+            long start = System.nanoTime();
+
+            synchronized (this) {
+                tried.add(server.key());
+            }
+
+            slot.whenComplete((r, e) -> onComplete(slot, server, System.nanoTime() - start, r, e));
+
+            try {
+                future = send(inv.fork(url));
+            } catch (Throwable e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+
+            CompletableFuture<Result> future0 = future;
+
+            future.whenComplete((r, e) -> {
+                if (e != null) {
+                    slot.completeExceptionally(e);
+                } else if (slot.complete(r) == false && r != null) {
+                    //占位已被取消的，释放结果
+                    r.close();
+                }
+            });
+
+            //占位被取消时，取消进行中的尝试
+            slot.whenComplete((r, e) -> {
+                if (slot.isCancelled()) {
+                    future0.cancel(true);
+                }
+            });
+        }
+
+        /**
+         * 对冲（首次尝试还没返回时）
+         */
+        void hedge() {
+            String url;
+            CompletableFuture<Result> slot = new CompletableFuture<>();
+
+            synchronized (this) {
+                if (result.isDone() || pending.isEmpty()) {
+                    return;
+                }
+
+                url = nextUrl();
+                if (url == null || stats.tryRetry(retryRatio, retryMinPerSecond) == false) {
+                    return;
+                }
+
+                //与检查在同一锁内登记（首次尝试此时失败的，会等对冲，而不是直接重试或失败）
+                pending.add(slot);
+            }
+
+            start(url, slot);
+        }
+
+        private CompletableFuture<Result> send(Invocation fork) throws Throwable {
+            if (inv.isAsync()) {
+                Result r = fork.invoke();
+                return fork.future() == null ? CompletableFuture.completedFuture(r) : fork.future();
+            }
+
+            if (hedging) {
+                //同步调用要对冲时，尝试放到异步执行器里（调用线程等待先成功的）
+                CompletableFuture<Result> future = new CompletableFuture<>();
+                Executor executor = NamiGlobal.getAsyncExecutor();
+                Runnable task = () -> {
+                    try {
+                        Result r = fork.invoke();
+
+                        if (future.complete(r) == false && r != null) {
+                            //已被取消的，释放结果
+                            r.close();
+                        }
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                };
+
+                if (executor instanceof ExecutorService) {
+                    Future<?> running = ((ExecutorService) executor).submit(task);
+
+                    //被取消时（对冲输了，或调用方取消），中断执行中的调用（okhttp 在读写间隙检测中断，并中止请求）
+                    future.whenComplete((r, e) -> {
+                        if (future.isCancelled()) {
+                            running.cancel(true);
+                        }
+                    });
+                } else {
+                    executor.execute(task);
+                }
+
+                return future;
+            } else {
+                return CompletableFuture.completedFuture(fork.invoke());
+            }
+        }
+
+        private void onComplete(CompletableFuture<Result> future, UpstreamServer server, long nanos, Result r, Throwable e) {
+            boolean succeeded = (e == null && (r == null || r.code() < 500));
+
+            record(stats, server, nanos, succeeded, future.isCancelled());
+
+            String url = null;
+
+            synchronized (this) {
+                pending.remove(future);
+
+                if (result.isDone()) {
+                    //已有结果的，后到的丢弃
+                    if (r != null) {
+                        r.close();
+                    }
+                    return;
+                }
+
+                if (succeeded == false) {
+                    if (lastResult != null) {
+                        lastResult.close();
+                    }
+
+                    lastError = (e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                    lastResult = r;
+
+                    if (pending.size() > 0) {
+                        //还有进行中的尝试，等它
+                        return;
+                    }
+
+                    if (idempotent && retries < retryTimes) {
+                        url = nextUrl();
+
+                        if (url != null && stats.tryRetry(retryRatio, retryMinPerSecond)) {
+                            retries++;
+                        } else {
+                            url = null;
+                        }
+                    }
+                }
+            }
+
+            if (succeeded) {
+                result.complete(r);
+                cancelPending();
+            } else if (url != null) {
+                start(url);
+            } else if (lastError != null) {
+                result.completeExceptionally(lastError);
+            } else {
+                result.complete(lastResult);
+            }
+        }
+
+        /**
+         * 另一个实例的地址（没试过，且没被摘除的）
+         */
+        private String nextUrl() {
+            String rest = inv.url.substring(UpstreamServer.key(inv.url).length());
+
+            for (int i = 0; i < 5; i++) {
+                String server = upstream.get();
+
+                if (server == null) {
+                    break;
+                }
+
+                String key = UpstreamServer.key(server);
+                if (tried.contains(key) || UpstreamServer.isEjected(key)) {
+                    continue;
+                }
+
+                return key + rest;
+            }
+
+            return null;
+        }
+
+        private void cancelPending() {
+            List<CompletableFuture<Result>> list;
+
+            synchronized (this) {
+                list = new ArrayList<>(pending);
+            }
+
+            for (CompletableFuture<Result> future : list) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 上游统计（延时直方图，实例集合，重试预算）
+     */
+    public static class UpstreamStats {
+        private static final long WINDOW_NANOS = 10_000_000_000L;
+        /**
+         * 实例超过此时长没有调用（且没被摘除），视为已下线
+         */
+        private static final long SERVER_IDLE_NANOS = 600_000_000_000L;
+
+        final LatencyHistogram latency = new LatencyHistogram(10_000);
+        final Map<String, Long> servers = new ConcurrentHashMap<>();
+
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private volatile long prevRequests;
+        private volatile long prevRetries;
+        private volatile long windowStart = System.nanoTime();
+
+        /**
+         * 延时直方图
+         */
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        /**
+         * 见过的实例
+         */
+        public Set<String> servers() {
+            return Collections.unmodifiableSet(servers.keySet());
+        }
+
+        void onServer(String key) {
+            servers.put(key, System.nanoTime());
+        }
+
+        void onRequest() {
+            rotate();
+            requests.incrementAndGet();
+        }
+
+        /**
+         * 尝试占用一次重试（或对冲）预算
+         */
+        boolean tryRetry(double ratio, int minPerSecond) {
+            rotate();
+
+            long req = requests.get() + prevRequests;
+            long ret = retries.get() + prevRetries;
+
+            if (ret + 1 > req * ratio + minPerSecond * (WINDOW_NANOS / 1_000_000_000L)) {
+                return false;
+            }
+
+            retries.incrementAndGet();
+            return true;
+        }
+
+        private void rotate() {
+            long now = System.nanoTime();
+
+            if (now - windowStart >= WINDOW_NANOS) {
+                synchronized (this) {
+                    long elapsed = now - windowStart;
+
+                    if (elapsed >= WINDOW_NANOS) {
+                        //超过两个窗口没有请求的，上一个窗口也作废
+                        boolean keep = elapsed < WINDOW_NANOS * 2;
+                        prevRequests = keep ? requests.getAndSet(0) : 0L;
+                        prevRetries = keep ? retries.getAndSet(0) : 0L;
+
+                        if (keep == false) {
+                            requests.set(0);
+                            retries.set(0);
+                        }
+
+                        windowStart = now;
+
+                        //清掉已下线的实例（上游不再给出的，不会再有调用）
+                        servers.entrySet().removeIf(kv -> now - kv.getValue() > SERVER_IDLE_NANOS && UpstreamServer.isEjected(kv.getKey()) == false);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -28,13 +28,26 @@ public class UpstreamFixed implements Supplier<String> {
     @Override
     public String get() {
         if (server1 == null) {
-            if (tmp.hasNext() == false) {
-                tmp = servers.iterator();
+            //跳过被摘除的实例（都被摘除时，照常轮询）
+            for (int i = 1; i < servers.size(); i++) {
+                String server = next();
+
+                if (UpstreamServer.isEjected(server) == false) {
+                    return server;
+                }
             }
 
-            return tmp.next();
+            return next();
         } else {
             return server1;
         }
     }
+
+    private String next() {
+        if (tmp.hasNext() == false) {
+            tmp = servers.iterator();
+        }
+
+        return tmp.next();
+    }
 }
@@ -0,0 +1,199 @@
+package org.noear.nami.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 上游服务实例的统计与摘除状态（按 scheme://host:port 区分；全局共享）
+ *
+ * <pre><code>
+ * 1.由 ResilienceFilter 记录每次调用的延时与结果
+ * 2.被摘除的实例，负载器在到期前跳过（UpstreamFixed 已接入；CloudLoadBalance 由 solon.cloud 接入）
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class UpstreamServer {
+    private static final Map<String, UpstreamServer> servers = new ConcurrentHashMap<>();
+    private static final Map<String, Long> ejected = new ConcurrentHashMap<>();
+
+    /**
+     * 获取实例统计
+     *
+     * @param server 服务地址（或请求地址）
+     */
+    public static UpstreamServer get(String server) {
+        String key = key(server);
+        UpstreamServer tmp = servers.get(key);
+
+        if (tmp == null) {
+            tmp = servers.computeIfAbsent(key, k -> new UpstreamServer(k));
+        }
+
+        return tmp;
+    }
+
+    /**
+     * 是否被摘除（到期自动恢复）
+     *
+     * @param server 服务地址（或请求地址）
+     */
+    public static boolean isEjected(String server) {
+        if (ejected.isEmpty() || server == null) {
+            return false;
+        }
+
+        String key = key(server);
+        Long until = ejected.get(key);
+
+        if (until == null) {
+            return false;
+        }
+
+        if (until > System.currentTimeMillis()) {
+            return true;
+        } else {
+            ejected.remove(key, until);
+            return false;
+        }
+    }
+
+    /**
+     * 被摘除的实例数
+     */
+    public static int ejectedCount() {
+        int count = 0;
+        long now = System.currentTimeMillis();
+
+        for (Long until : ejected.values()) {
+            if (until > now) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * 取实例的键（127.0.0.1:8080 -> http://127.0.0.1:8080；http://127.0.0.1:8080/demo/hello -> http://127.0.0.1:8080）
+     */
+    public static String key(String server) {
+        int idx = server.indexOf("://");
+        int start;
+
+        if (idx < 0) {
+            server = "http://" + server;
+            start = 7;
+        } else {
+            start = idx + 3;
+        }
+
+        int end = server.indexOf('/', start);
+        if (end < 0) {
+            return server;
+        } else {
+            return server.substring(0, end);
+        }
+    }
+
+    ////////////////
+
+    private final String key;
+    private final LatencyHistogram latency = new LatencyHistogram(10_000);
+    private final AtomicInteger consecutiveErrors = new AtomicInteger();
+    private final AtomicInteger ejections = new AtomicInteger();
+    private volatile long ejectedAt;
+    private volatile long checked;
+
+    private UpstreamServer(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 实例的键（scheme://host:port）
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * 延时直方图
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * 连续错误数
+     */
+    public int consecutiveErrors() {
+        return consecutiveErrors.get();
+    }
+
+    /**
+     * 是否被摘除
+     */
+    public boolean isEjected() {
+        return isEjected(key);
+    }
+
+    /**
+     * 记录一次调用
+     *
+     * @return 连续错误数
+     */
+    public int record(long nanos, boolean succeeded) {
+        latency.record(nanos);
+
+        if (succeeded) {
+            consecutiveErrors.set(0);
+            return 0;
+        } else {
+            return consecutiveErrors.incrementAndGet();
+        }
+    }
+
+    /**
+     * 摘除（时长随连续摘除的次数递增，最多 10 倍；长时间没被摘除的，重新计数）
+     *
+     * @param baseMillis 基础时长（毫秒）
+     */
+    public void eject(long baseMillis) {
+        long now = System.currentTimeMillis();
+
+        if (now - ejectedAt > baseMillis * 20) {
+            ejections.set(0);
+        }
+
+        int times = Math.min(ejections.incrementAndGet(), 10);
+
+        ejectedAt = now;
+        consecutiveErrors.set(0);
+        ejected.put(key, now + baseMillis * times);
+    }
+
+    /**
+     * 恢复（同时清掉摘除次数）
+     */
+    public void restore() {
+        ejected.remove(key);
+        ejections.set(0);
+    }
+
+    /**
+     * 尝试占用一次检测（每个间隔最多一次；用于限制延时检测的频率）
+     */
+    boolean tryCheck(long intervalMillis) {
+        long now = System.currentTimeMillis();
+        long last = checked;
+
+        if (now - last < intervalMillis) {
+            return false;
+        }
+
+        checked = now;
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.*;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 异步调用（返回 CompletableFuture）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class NamiAsyncTest {
+    public interface DemoService {
+        CompletableFuture<String> hello(String name);
+    }
+
+    /**
+     * 由测试手动完成的通道
+     */
+    static class ManualChannel implements Channel {
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        @Override
+        public Result call(Context ctx) throws Throwable {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Result> callAsync(Context ctx) {
+            return future;
+        }
+    }
+
+    static class StringDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return "text/plain";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) rst.bodyAsString();
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    }
+
+    private DemoService create(ManualChannel channel) {
+        return Nami.builder()
+                .url("http://localhost:8080/demo")
+                .channel(channel)
+                .decoder(new StringDecoder())
+                .create(DemoService.class);
+    }
+
+    @Test
+    public void test_complete() throws Exception {
+        ManualChannel channel = new ManualChannel();
+        CompletableFuture<String> future = create(channel).hello("noear");
+
+        assert future.isDone() == false;
+
+        channel.future.complete(new Result(200, "hello".getBytes(StandardCharsets.UTF_8)));
+
+        assert "hello".equals(future.get());
+    }
+
+    @Test
+    public void test_exception() throws Exception {
+        ManualChannel channel = new ManualChannel();
+        CompletableFuture<String> future = create(channel).hello("noear");
+
+        channel.future.completeExceptionally(new IllegalStateException("down"));
+
+        try {
+            future.get();
+            assert false;
+        } catch (ExecutionException e) {
+            assert e.getCause() instanceof IllegalStateException;
+        }
+    }
+
+    @Test
+    public void test_cancel() throws Exception {
+        ManualChannel channel = new ManualChannel();
+        CompletableFuture<String> future = create(channel).hello("noear");
+
+        assert future.cancel(true);
+
+        //取消需传递到通道的调用
+        assert channel.future.isCancelled();
+    }
+}
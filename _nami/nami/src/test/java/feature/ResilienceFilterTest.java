@@ -0,0 +1,207 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.*;
+import org.noear.nami.common.ResilienceFilter;
+import org.noear.nami.common.UpstreamServer;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 上游容错过滤器（对冲，重试预算，摘除与恢复）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class ResilienceFilterTest {
+    public interface DemoService {
+        String hello();
+    }
+
+    /**
+     * 按实例设定延时或失败的通道（返回实例地址）
+     */
+    static class DemoChannel implements Channel {
+        final Map<String, Long> delays = new ConcurrentHashMap<>();
+        final Map<String, Boolean> failures = new ConcurrentHashMap<>();
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public Result call(Context ctx) throws Throwable {
+            String server = UpstreamServer.key(ctx.url);
+
+            long delay = delays.getOrDefault(server, 0L);
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }
+
+            if (failures.getOrDefault(server, false)) {
+                throw new IllegalStateException("down: " + server);
+            }
+
+            return new Result(200, server.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    static class StringDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return "text/plain";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) rst.bodyAsString();
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    }
+
+    /**
+     * 轮询的上游（可指定下一个）
+     */
+    static class RoundRobin implements Supplier<String> {
+        final String[] servers;
+        final AtomicInteger index = new AtomicInteger();
+
+        RoundRobin(String... servers) {
+            this.servers = servers;
+        }
+
+        @Override
+        public String get() {
+            return servers[Math.abs(index.getAndIncrement() % servers.length)];
+        }
+
+        void next(int i) {
+            index.set(i);
+        }
+    }
+
+    private DemoService create(RoundRobin upstream, DemoChannel channel, ResilienceFilter filter) {
+        return Nami.builder()
+                .upstream(upstream)
+                .channel(channel)
+                .decoder(new StringDecoder())
+                .filterAdd(filter)
+                .create(DemoService.class);
+    }
+
+    @Test
+    public void test_hedge() throws Exception {
+        String a = "http://127.0.0.1:19101";
+        String b = "http://127.0.0.1:19102";
+
+        RoundRobin upstream = new RoundRobin(a, b);
+        DemoChannel channel = new DemoChannel();
+        ResilienceFilter filter = new ResilienceFilter()
+                .hedge(50, 20)
+                .retry(0, 0, 10)
+                .ejectErrors(0)
+                .minSamples(4)
+                .idempotent(inv -> true);
+
+        DemoService service = create(upstream, channel, filter);
+
+        //预热（攒够延时样本）
+        for (int i = 0; i < 4; i++) {
+            service.hello();
+        }
+
+        //a 变慢，首次尝试发往 a；到时发出对冲，以 b 为准，并中断 a
+        channel.delays.put(a, 5000L);
+        upstream.next(0);
+
+        long start = System.currentTimeMillis();
+        String rst = service.hello();
+        long times = System.currentTimeMillis() - start;
+
+        assert b.equals(rst);
+        assert times < 2000;
+        assert channel.interrupted.await(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void test_retry_budget() {
+        String a = "http://127.0.0.1:19201";
+        String b = "http://127.0.0.1:19202";
+
+        RoundRobin upstream = new RoundRobin(a, b);
+        DemoChannel channel = new DemoChannel();
+        ResilienceFilter filter = new ResilienceFilter()
+                .retry(1, 0, 1) //每个窗口（10秒）最多 10 次
+                .ejectErrors(0)
+                .idempotent(inv -> true);
+
+        DemoService service = create(upstream, channel, filter);
+        channel.failures.put(a, true);
+
+        int succeeded = 0;
+        int failed = 0;
+
+        for (int i = 0; i < 15; i++) {
+            upstream.next(0);
+
+            try {
+                assert b.equals(service.hello());
+                succeeded++;
+            } catch (IllegalStateException e) {
+                failed++;
+            }
+        }
+
+        //预算用完后，不再重试
+        assert succeeded == 10;
+        assert failed == 5;
+    }
+
+    @Test
+    public void test_eject_recover() throws Exception {
+        String a = "http://127.0.0.1:19301";
+        String b = "http://127.0.0.1:19302";
+        String c = "http://127.0.0.1:19303";
+
+        RoundRobin upstream = new RoundRobin(a, b, c);
+        DemoChannel channel = new DemoChannel();
+        ResilienceFilter filter = new ResilienceFilter()
+                .retry(0, 0, 0)
+                .ejectErrors(2)
+                .ejectMillis(300, 50);
+
+        DemoService service = create(upstream, channel, filter);
+        channel.failures.put(a, true);
+        channel.failures.put(b, true);
+
+        //每个实例各两轮：a, b 连续失败两次
+        for (int i = 0; i < 6; i++) {
+            try {
+                service.hello();
+            } catch (IllegalStateException ignore) {
+            }
+        }
+
+        //a 被摘除；b 再摘除，会超过 50%，所以保留
+        assert UpstreamServer.isEjected(a);
+        assert UpstreamServer.isEjected(b) == false;
+        assert UpstreamServer.isEjected(c) == false;
+
+        //到期后自动恢复
+        Thread.sleep(400);
+        assert UpstreamServer.isEjected(a) == false;
+    }
+}
@@ -0,0 +1,89 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.Result;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 流式返回体
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class ResultTest {
+    static class TrackedStream extends ByteArrayInputStream {
+        boolean closed;
+
+        TrackedStream(String str) {
+            super(str.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    @Test
+    public void test_peek() throws Exception {
+        Result rst = new Result(200, new TrackedStream("{\"id\":1,\"name\":\"noear\"}"));
+
+        assert rst.bodyIsStream();
+        assert "{\"id\"".equals(rst.bodyPeek(5));
+
+        //预读不消费返回体
+        InputStream in = rst.bodyAsStream();
+        assert in.read() == '{';
+        assert in.read() == '"';
+    }
+
+    @Test
+    public void test_peek_over() {
+        Result rst = new Result(200, new TrackedStream("hello"));
+
+        assert "hello".equals(rst.bodyPeek(1024));
+        assert "hello".equals(rst.bodyAsString());
+    }
+
+    @Test
+    public void test_body() {
+        TrackedStream stream = new TrackedStream("hello");
+        Result rst = new Result(200, stream);
+
+        assert "hello".equals(new String(rst.body(), StandardCharsets.UTF_8));
+        assert rst.bodyIsStream() == false;
+        assert stream.closed;
+
+        //读为字节后，仍可按流或字符串读取
+        assert "hello".equals(rst.bodyAsString());
+        assert "he".equals(rst.bodyPeek(2));
+    }
+
+    @Test
+    public void test_error() {
+        Result rst = new Result(500, new TrackedStream("down"));
+
+        try {
+            rst.bodyAsStream();
+            assert false;
+        } catch (IllegalStateException e) {
+            assert e.getMessage().contains("down");
+        }
+    }
+
+    @Test
+    public void test_close() {
+        TrackedStream stream = new TrackedStream("hello");
+        Result rst = new Result(200, stream);
+
+        rst.close();
+
+        assert stream.closed;
+        assert rst.bodyIsStream() == false;
+    }
+}
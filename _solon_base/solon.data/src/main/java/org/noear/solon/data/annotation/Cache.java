@@ -38,4 +38,13 @@ public @interface Cache {
      * */
     @Note("缓存标签，多个以逗号隔开")
     String tags() default "";
+
+    /**
+     * 提前刷新秒数（到期前的这段时间内，先返回旧值，并在后台刷新一次；需要同时指定 seconds）
+     * <p>开启后，缓存里存的是带刷新时间的包装值（直接读缓存的，需注意）</p>
+     *
+     * @since 2.3
+     * */
+    @Note("提前刷新秒数，0表示不提前刷新")
+    int refreshAhead() default 0;
 }
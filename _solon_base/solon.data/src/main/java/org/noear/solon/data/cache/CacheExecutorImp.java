@@ -2,12 +2,23 @@ package org.noear.solon.data.cache;
 
 import org.noear.solon.Utils;
 import org.noear.solon.core.aspect.Invocation;
+import org.noear.solon.core.event.EventBus;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextUtil;
+import org.noear.solon.core.util.RunUtil;
 import org.noear.solon.data.annotation.Cache;
 import org.noear.solon.data.annotation.CachePut;
 import org.noear.solon.data.annotation.CacheRemove;
 import org.noear.solon.data.util.InvKeys;
 import org.noear.solon.core.util.SupplierEx;
 
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+
 /**
  * 缓存执行器
  *
@@ -17,6 +28,28 @@ import org.noear.solon.core.util.SupplierEx;
 public class CacheExecutorImp {
     public static final CacheExecutorImp global = new CacheExecutorImp();
 
+    /**
+     * 进行中的加载（单飞：同一个 key 并发未命中时共享结果）
+     */
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * 时钟（毫秒）
+     */
+    private final LongSupplier clock;
+
+    public CacheExecutorImp() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 时钟（毫秒；用于判断提前刷新，可替换以便测试）
+     * @since 2.3
+     */
+    public CacheExecutorImp(LongSupplier clock) {
+        this.clock = clock;
+    }
+
     /**
      * 添加缓存
      *
@@ -40,43 +73,175 @@ public class CacheExecutorImp {
         }
 
 
-        Object result = null;
         CacheService cs = CacheLib.cacheServiceGet(anno.service());
 
-        String keyLock = key + ":lock";
+        //1.从缓存获取（命中时不加锁）
+        //
+        Object result = cs.get(key);
 
-        synchronized (keyLock.intern()) {
+        if (result != null) {
+            if (result instanceof RefreshAheadValue) {
+                //已进入提前刷新期时，返回旧值，并在后台刷新一次（刷新时间与值存在一起，不需要再查一次）
+                RefreshAheadValue tmp = (RefreshAheadValue) result;
 
-            //1.从缓存获取
-            //
+                if (tmp.refreshTime <= clock.getAsLong()) {
+                    refreshAsync(anno, inv, executor, cs, key);
+                }
+
+                return tmp.value;
+            }
+
+            return result;
+        }
+
+        //2.未命中，同一个 key 只有一个线程执行调用，其它的等待共享结果
+        //
+        String flightKey = anno.service() + "@" + key;
+        Flight flight = new Flight();
+        Flight flight0 = flights.putIfAbsent(flightKey, flight);
+
+        if (flight0 != null) {
+            if (flight0.thread == Thread.currentThread()) {
+                //重入（同一线程）
+                return executor.get();
+            }
+
+            try {
+                return flight0.future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+
+        try {
+            //再检查一次（可能刚被别的线程存入）
             result = cs.get(key);
 
-            if (result == null) {
-                //2.执行调用，并返回
-                //
-                result = executor.get();
+            if (result instanceof RefreshAheadValue) {
+                result = ((RefreshAheadValue) result).value;
+            } else if (result == null) {
+                result = load(anno, inv, executor, cs, key);
+            }
 
-                if (result != null) {
-                    //3.不为null，则进行缓存
-                    //
-                    cs.store(key, result, anno.seconds());
+            flight.future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
 
-                    if (Utils.isNotEmpty(anno.tags())) {
-                        String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, result);
-                        CacheTags ct = new CacheTags(cs);
+    /**
+     * 执行调用，并存入缓存
+     */
+    private Object load(Cache anno, Invocation inv, SupplierEx executor, CacheService cs, String key) throws Throwable {
+        //2.执行调用，并返回
+        //
+        Object result = executor.get();
 
-                        //4.添加缓存标签
-                        for (String tag : tags.split(",")) {
-                            ct.add(tag, key, anno.seconds());
-                        }
-                    }
+        if (result != null) {
+            //3.不为null，则进行缓存
+            //
+            if (anno.refreshAhead() > 0 && anno.seconds() > anno.refreshAhead()) {
+                //带上提前刷新时间（先于缓存到期）
+                long refreshTime = clock.getAsLong() + (anno.seconds() - anno.refreshAhead()) * 1000L;
+                cs.store(key, new RefreshAheadValue(result, refreshTime, anno.refreshAhead()), anno.seconds());
+            } else {
+                cs.store(key, result, anno.seconds());
+            }
+
+            if (Utils.isNotEmpty(anno.tags())) {
+                String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, result);
+                CacheTags ct = new CacheTags(cs);
+
+                //4.添加缓存标签
+                for (String tag : tags.split(",")) {
+                    ct.add(tag, key, anno.seconds());
                 }
             }
+        }
 
-            return result;
+        return result;
+    }
+
+    /**
+     * 后台刷新（同一个 key 同时只有一个；带上调用方的上下文）
+     */
+    private void refreshAsync(Cache anno, Invocation inv, SupplierEx executor, CacheService cs, String key) {
+        String flightKey = anno.service() + "@" + key;
+        Flight flight = new Flight();
+
+        if (flights.putIfAbsent(flightKey, flight) != null) {
+            return;
+        }
+
+        Context ctx = ContextUtil.current();
+
+        try {
+            RunUtil.async(() -> {
+                flight.thread = Thread.currentThread();
+
+                if (ctx != null) {
+                    ContextUtil.currentSet(ctx);
+                }
+
+                try {
+                    flight.future.complete(load(anno, inv, executor, cs, key));
+                } catch (Throwable e) {
+                    flight.future.completeExceptionally(e);
+                    EventBus.pushTry(e);
+                } finally {
+                    flights.remove(flightKey, flight);
+
+                    if (ctx != null) {
+                        ContextUtil.currentRemove();
+                    }
+                }
+            });
+        } catch (Throwable e) {
+            flights.remove(flightKey, flight);
+            throw e;
         }
     }
 
+    /**
+     * 带提前刷新时间的缓存值（开启 refreshAhead 时，与值一起存入缓存）
+     */
+    static class RefreshAheadValue implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final Object value;
+        final long refreshTime;
+        final int refreshAhead;
+
+        RefreshAheadValue(Object value, long refreshTime, int refreshAhead) {
+            this.value = value;
+            this.refreshTime = refreshTime;
+            this.refreshAhead = refreshAhead;
+        }
+
+        /**
+         * 换成新值（保留提前刷新；有效秒数已知时，重算刷新时间）
+         */
+        RefreshAheadValue with(Object newValue, int seconds, long now) {
+            if (refreshAhead > 0 && seconds > refreshAhead) {
+                return new RefreshAheadValue(newValue, now + (seconds - refreshAhead) * 1000L, refreshAhead);
+            } else {
+                return new RefreshAheadValue(newValue, refreshTime, refreshAhead);
+            }
+        }
+    }
+
+    /**
+     * 进行中的加载
+     */
+    private static class Flight {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        volatile Thread thread = Thread.currentThread();
+    }
+
     /**
      * 清除移除
      *
@@ -128,7 +293,14 @@ public class CacheExecutorImp {
         //按 key 更新缓存
         if (Utils.isNotEmpty(anno.key())) {
             String key = InvKeys.buildByTmlAndInv(anno.key(), inv, rstValue);
-            cs.store(key, rstValue, anno.seconds());
+            Object temp = cs.get(key);
+
+            if (temp instanceof RefreshAheadValue) {
+                //原来是提前刷新的值，保持包装
+                cs.store(key, ((RefreshAheadValue) temp).with(rstValue, anno.seconds(), clock.getAsLong()), anno.seconds());
+            } else {
+                cs.store(key, rstValue, anno.seconds());
+            }
         }
 
         //按 tags 更新缓存
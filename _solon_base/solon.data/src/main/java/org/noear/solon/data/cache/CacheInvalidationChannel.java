@@ -0,0 +1,32 @@
+package org.noear.solon.data.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效通道（用于二级缓存在节点间通知一级缓存失效）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public interface CacheInvalidationChannel {
+    /**
+     * 发布失效消息
+     *
+     * @param message 消息（由 SecondCacheService 编码）
+     */
+    void publish(String message);
+
+    /**
+     * 订阅失效消息
+     *
+     * @param listener 监听者
+     */
+    void subscribe(Consumer<String> listener);
+
+    /**
+     * 取消订阅
+     *
+     * @param listener 监听者
+     */
+    void unsubscribe(Consumer<String> listener);
+}
@@ -0,0 +1,43 @@
+package org.noear.solon.data.cache;
+
+import org.noear.solon.core.event.EventBus;
+import org.noear.solon.core.util.RunUtil;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效通道本地实现（进程内回环；一般用于测试或单机）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CacheInvalidationChannelLocal implements CacheInvalidationChannel {
+    public static final CacheInvalidationChannel instance = new CacheInvalidationChannelLocal();
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String message) {
+        for (Consumer<String> listener : listeners) {
+            RunUtil.async(() -> {
+                try {
+                    listener.accept(message);
+                } catch (Throwable e) {
+                    EventBus.pushTry(e);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void unsubscribe(Consumer<String> listener) {
+        listeners.remove(listener);
+    }
+}
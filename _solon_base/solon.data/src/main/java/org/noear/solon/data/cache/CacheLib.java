@@ -46,6 +46,30 @@ public class CacheLib {
     }
 
 
+    ///////////////////////
+
+    private static CacheInvalidationChannel invalidationChannel = CacheInvalidationChannelLocal.instance;
+
+    /**
+     * 设置缓存失效通道（默认为进程内回环；有云端事件服务时，由 solon.cloud 替换）
+     *
+     * @since 2.3
+     * */
+    public static void invalidationChannelSet(CacheInvalidationChannel channel) {
+        if (channel != null) {
+            invalidationChannel = channel;
+        }
+    }
+
+    /**
+     * 获取缓存失效通道
+     *
+     * @since 2.3
+     * */
+    public static CacheInvalidationChannel invalidationChannelGet() {
+        return invalidationChannel;
+    }
+
     ///////////////////////
 
     private static Map<String, CacheFactory> cacheFactoryMap = new HashMap<>();
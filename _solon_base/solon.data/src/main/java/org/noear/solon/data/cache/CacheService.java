@@ -49,4 +49,13 @@ public interface CacheService {
 
         return (T) obj;
     }
+
+    /**
+     * 标签索引（没有时，标签以列表形式存入缓存）
+     *
+     * @since 2.3
+     */
+    default CacheTagIndex tagIndex() {
+        return null;
+    }
 }
@@ -0,0 +1,38 @@
+package org.noear.solon.data.cache;
+
+import java.util.Collection;
+
+/**
+ * 缓存标签索引（标签 -> 缓存键集合；成员按秒过期）
+ *
+ * <pre><code>
+ * 由缓存服务提供（CacheService::tagIndex），用原生集合操作代替 "读出列表-修改-写回"
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public interface CacheTagIndex {
+    /**
+     * 添加成员
+     *
+     * @param tagKey   标签键
+     * @param cacheKey 缓存键
+     * @param seconds  成员的有效秒数（<= 0 表示不过期，与 @Cache(seconds = 0) 用服务默认时效一样，由 removeAll 移除；重复添加时，保留更长的）
+     */
+    void add(String tagKey, String cacheKey, int seconds);
+
+    /**
+     * 获取所有（未过期的）成员
+     *
+     * @param tagKey 标签键
+     */
+    Collection<String> getAll(String tagKey);
+
+    /**
+     * 移除标签，并返回被移除的成员（之后新加入的成员不受影响）
+     *
+     * @param tagKey 标签键
+     */
+    Collection<String> removeAll(String tagKey);
+}
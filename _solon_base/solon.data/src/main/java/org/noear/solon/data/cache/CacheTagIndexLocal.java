@@ -0,0 +1,86 @@
+package org.noear.solon.data.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存标签索引的本地实现（并发集合；成员记录过期时间）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CacheTagIndexLocal implements CacheTagIndex {
+    /**
+     * 成员数每增加多少，清理一次过期成员
+     */
+    private static final int PRUNE_STEP = 1024;
+
+    //成员只在 tags.compute 内读写（按标签原子），避免并发的 removeAll 把成员集合摘走后，add 还写进旧集合
+    private final Map<String, Map<String, Long>> tags = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(String tagKey, String cacheKey, int seconds) {
+        long now = System.currentTimeMillis();
+        long expireAt = (seconds > 0 ? now + seconds * 1000L : Long.MAX_VALUE); //0 为服务默认时效（不可知），按不过期处理
+
+        tags.compute(tagKey, (k, members) -> {
+            if (members == null) {
+                members = new HashMap<>();
+            }
+
+            members.merge(cacheKey, expireAt, Math::max);
+
+            if (members.size() % PRUNE_STEP == 0) {
+                prune(members, now);
+            }
+
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    @Override
+    public Collection<String> getAll(String tagKey) {
+        long now = System.currentTimeMillis();
+        List<String> result = new ArrayList<>();
+
+        tags.computeIfPresent(tagKey, (k, members) -> {
+            prune(members, now);
+            result.addAll(members.keySet());
+
+            return members.isEmpty() ? null : members;
+        });
+
+        return result;
+    }
+
+    @Override
+    public Collection<String> removeAll(String tagKey) {
+        //移除后，不会再有 add 写入这个集合
+        Map<String, Long> members = tags.remove(tagKey);
+
+        if (members == null) {
+            return Collections.emptyList();
+        } else {
+            return members.keySet();
+        }
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        tags.clear();
+    }
+
+    /**
+     * 清理过期成员（需在 compute 内调用）
+     */
+    private static void prune(Map<String, Long> members, long now) {
+        members.values().removeIf(expireAt -> expireAt < now);
+    }
+}
@@ -1,20 +1,27 @@
 package org.noear.solon.data.cache;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * 缓存标签管理器
  *
+ * <pre><code>
+ * 缓存服务有标签索引时（CacheService::tagIndex），用索引的集合操作；否则以列表形式存入缓存
+ * </code></pre>
+ *
  * @author noear
  * @since 1.0
  * */
 public class CacheTags {
     private static final String TAG_SECONDS  ="{{s}}:";
     private CacheService _cache;
+    private CacheTagIndex _index;
 
     public CacheTags(CacheService caching) {
         _cache = caching;
+        _index = caching.tagIndex();
     }
 
     /**
@@ -26,6 +33,11 @@ public class CacheTags {
     public void add(String tag, String targetCacheKey, int refSeconds) {
         String tagKey = _tagKey(tag);
 
+        if (_index != null) {
+            _index.add(tagKey, targetCacheKey, refSeconds);
+            return;
+        }
+
         List<String> cacheKeyList = _get(tagKey);
         if (cacheKeyList.contains(targetCacheKey))
             return;
@@ -65,6 +77,14 @@ public class CacheTags {
     public CacheTags remove(String tag) {
         String tagKey = _tagKey(tag);
 
+        if (_index != null) {
+            for (String cacheKey : _index.removeAll(tagKey)) {
+                _cache.remove(cacheKey);
+            }
+
+            return this;
+        }
+
         List<String> cacheKeyList = _get(tagKey);
 
         for (String cacheKey : cacheKeyList) {
@@ -88,7 +108,7 @@ public class CacheTags {
     public void update(String tag, Object newValue, int seconds) {
         String tagKey = _tagKey(tag);
 
-        List<String> cacheKeyList = _get(tagKey);
+        Collection<String> cacheKeyList = (_index == null ? _get(tagKey) : _index.getAll(tagKey));
 
         for (String cacheKey : cacheKeyList) {
             if (cacheKey.startsWith(TAG_SECONDS) == false) {
@@ -101,9 +121,18 @@ public class CacheTags {
                         //如果值为null，则删除
                         _cache.remove(cacheKey);
                     } else {
-                        //类型一样才更新 //避免引起莫名的错
-                        if (newValue.getClass() == temp.getClass()) {
-                            _cache.store(cacheKey, newValue, seconds);
+                        //提前刷新的值，按原值比较类型，并保持包装
+                        if (temp instanceof CacheExecutorImp.RefreshAheadValue) {
+                            CacheExecutorImp.RefreshAheadValue tmp = (CacheExecutorImp.RefreshAheadValue) temp;
+
+                            if (tmp.value != null && newValue.getClass() == tmp.value.getClass()) {
+                                _cache.store(cacheKey, tmp.with(newValue, seconds, System.currentTimeMillis()), seconds);
+                            }
+                        } else {
+                            //类型一样才更新 //避免引起莫名的错
+                            if (newValue.getClass() == temp.getClass()) {
+                                _cache.store(cacheKey, newValue, seconds);
+                            }
                         }
                     }
                 }
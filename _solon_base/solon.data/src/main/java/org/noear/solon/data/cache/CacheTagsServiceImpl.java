@@ -6,6 +6,10 @@ import java.util.List;
 /**
  * 支持标签的缓存服务实现
  *
+ * <pre><code>
+ * 缓存服务有标签索引时（CacheService::tagIndex），用索引的集合操作（没有读改写的竞争）；否则以列表形式存入缓存
+ * </code></pre>
+ *
  * @author 胡高
  * @since 1.10
  */
@@ -14,9 +18,11 @@ public class CacheTagsServiceImpl implements CacheTagsService {
     private static final String TAG_SECONDS  ="{{s}}:";
 
     private CacheService _cache;
+    private CacheTagIndex _index;
 
     public CacheTagsServiceImpl(CacheService caching) {
         this._cache = caching;
+        this._index = caching.tagIndex();
     }
 
     /**
@@ -63,12 +69,24 @@ public class CacheTagsServiceImpl implements CacheTagsService {
         this._cache.remove(key);
     }
 
+    @Override
+    public CacheTagIndex tagIndex() {
+        return this._index;
+    }
+
     @Override
     public void removeTag(String... tags) {
         for (String tag : tags) {
 
             String tagKey = this._tagKey(tag);
 
+            if (this._index != null) {
+                for (String cacheKey : this._index.removeAll(tagKey)) {
+                    this._cache.remove(cacheKey);
+                }
+                continue;
+            }
+
             List<String> cacheKeyList = this._get(tagKey);
 
             for (String cacheKey : cacheKeyList) {
@@ -105,6 +123,12 @@ public class CacheTagsServiceImpl implements CacheTagsService {
     protected void update(String key, String tag, Object newValue, int refSeconds) {
         String tagKey = this._tagKey(tag);
 
+        if (this._index != null) {
+            //缓存已在 storeTag 里写入，只需登记成员
+            this._index.add(tagKey, key, refSeconds);
+            return;
+        }
+
         List<String> cacheKeyList = this._get(tagKey);
         if (cacheKeyList.contains(key)) {
             Object temp = this._cache.get(key);
@@ -1,37 +1,97 @@
 package org.noear.solon.data.cache;
 
 import org.noear.solon.Utils;
+import org.noear.solon.core.util.NamedThreadFactory;
 
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
 
 /**
  * 默认缓存服务
  *
+ * <pre><code>
+ * 1.过期时间存放在实体内，读取时检查（惰性过期）；后台按时间轮逐格清理
+ * 2.可限定最大数量（或权重）；超出时按采样 LRU 淘汰，并用 TinyLFU 频率草图决定新写入是否准入
+ * 3.配置：defSeconds（默认秒数），maxSize（最大数量；0 为不限）
+ * </code></pre>
+ *
  * @author noear
  * @since 1.0
  * */
 public class LocalCacheService implements CacheService {
+    /**
+     * 时间轮一格的时长（毫秒）
+     */
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 1024;
+    /**
+     * 淘汰时的采样数
+     */
+    private static final int EVICTION_SAMPLES = 8;
+
+    //清理线程（所有实例共用）
+    private static final ScheduledExecutorService _exec = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("solon-cache-sweeper-").daemon(true));
+
     public static final CacheService instance = new LocalCacheService();
 
     private int _defaultSeconds;
 
     //缓存存储器
-    private Map<String, Entity> _data = new ConcurrentHashMap<>();
-    //计划线程池（用于超时处理）
-    private static ScheduledExecutorService _exec = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, Entity> _data = new ConcurrentHashMap<>();
+
+    //时间轮（每格一个并发集合）
+    @SuppressWarnings("unchecked")
+    private final Set<Entity>[] _wheel = new Set[WHEEL_SIZE];
+    private final long _startMillis = System.currentTimeMillis();
+    private long _lastTick;
+
+    //容量限制
+    private long _maxWeight;
+    private ToIntFunction<Object> _weigher = v -> 1;
+    private final AtomicLong _weight = new AtomicLong();
+    private volatile FrequencySketch _sketch;
+    private final ReentrantLock _evictLock = new ReentrantLock();
+    private Iterator<Entity> _evictCursor;
+
+    //统计
+    private final LongAdder _hitCount = new LongAdder();
+    private final LongAdder _missCount = new LongAdder();
+    private final LongAdder _evictionCount = new LongAdder();
+    private final LongAdder _expiredCount = new LongAdder();
+
+    //标签索引
+    private final CacheTagIndexLocal _tagIndex = new CacheTagIndexLocal();
 
     public LocalCacheService() {
         this(30);
     }
 
     public LocalCacheService(int defSeconds) {
+        this(defSeconds, 0);
+    }
+
+    /**
+     * @param maxSize 最大数量（0 为不限）
+     * @since 2.3
+     */
+    public LocalCacheService(int defSeconds, long maxSize) {
         _defaultSeconds = defSeconds;
+        init();
+        setMaxSize(maxSize);
     }
 
     public LocalCacheService(Properties prop) {
         String defSeconds_str = prop.getProperty("defSeconds");
+        String maxSize_str = prop.getProperty("maxSize");
 
         if (Utils.isNotEmpty(defSeconds_str)) {
             _defaultSeconds = Integer.parseInt(defSeconds_str);
@@ -40,6 +100,48 @@ public class LocalCacheService implements CacheService {
         if (_defaultSeconds < 1) {
             _defaultSeconds = 30;
         }
+
+        init();
+
+        if (Utils.isNotEmpty(maxSize_str)) {
+            setMaxSize(Long.parseLong(maxSize_str));
+        }
+    }
+
+    private void init() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            _wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+
+        Sweeper sweeper = new Sweeper(this);
+        sweeper.future = _exec.scheduleWithFixedDelay(sweeper, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 设置最大数量（0 为不限）
+     *
+     * @since 2.3
+     */
+    public void setMaxSize(long maxSize) {
+        setMaxWeight(maxSize, v -> 1);
+    }
+
+    /**
+     * 设置最大权重（0 为不限）
+     *
+     * @param weigher 值的权重计算
+     * @since 2.3
+     */
+    public void setMaxWeight(long maxWeight, ToIntFunction<Object> weigher) {
+        _weigher = weigher;
+        _maxWeight = maxWeight;
+
+        if (maxWeight > 0) {
+            _sketch = new FrequencySketch((int) Math.min(maxWeight, 1 << 20));
+            evict(null);
+        } else {
+            _sketch = null;
+        }
     }
 
     /**
@@ -55,23 +157,36 @@ public class LocalCacheService implements CacheService {
             seconds = getDefalutSeconds();
         }
 
-        synchronized (key.intern()) {
-            Entity ent = _data.get(key);
-            if (ent == null) {
+        long now = System.currentTimeMillis();
+        long expireAt = now + seconds * 1000L;
+        int weight = (_maxWeight > 0 ? _weigher.applyAsInt(obj) : 1);
+
+        Entity ent = _data.compute(key, (k, old) -> {
+            if (old == null) {
                 //如果末存在，则新建实体
-                ent = new Entity(obj);
-                _data.put(key, ent);
+                old = new Entity(k);
             } else {
-                //如果已存储，取消超时处理，且更新值
-                ent.value = obj;
-                ent.futureDel();
+                //如果已存储，从时间轮移出
+                old.unlink();
             }
 
-            if (seconds > 0) {
-                //设定新的超时
-                ent.future = _exec.schedule(() -> {
-                    _data.remove(key);
-                }, seconds, TimeUnit.SECONDS);
+            _weight.addAndGet(weight - old.weight);
+
+            old.value = obj;
+            old.weight = weight;
+            old.expireAt = expireAt;
+            old.accessAt = now;
+            link(old);
+
+            return old;
+        });
+
+        FrequencySketch sketch = _sketch;
+        if (sketch != null) {
+            sketch.increment(key);
+
+            if (_weight.get() > _maxWeight) {
+                evict(ent);
             }
         }
     }
@@ -83,9 +198,33 @@ public class LocalCacheService implements CacheService {
      */
     @Override
     public Object get(String key) {
+        FrequencySketch sketch = _sketch;
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+
         Entity ent = _data.get(key);
 
-        return ent == null ? null : ent.value;
+        if (ent == null) {
+            _missCount.increment();
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (ent.expireAt <= now) {
+            //惰性过期
+            if (expire(ent, now)) {
+                _missCount.increment();
+                return null;
+            }
+        }
+
+        if (sketch != null && ent.accessAt != now) {
+            ent.accessAt = now;
+        }
+
+        _hitCount.increment();
+        return ent.value;
     }
 
     /**
@@ -95,13 +234,10 @@ public class LocalCacheService implements CacheService {
      */
     @Override
     public void remove(String key) {
-        synchronized (key.intern()) {
-            Entity ent = _data.remove(key);
-
-            if (ent != null) {
-                ent.futureDel();
-            }
-        }
+        _data.computeIfPresent(key, (k, ent) -> {
+            unlinkDo(ent);
+            return null;
+        });
     }
 
     /**
@@ -109,32 +245,341 @@ public class LocalCacheService implements CacheService {
      * */
     public void clear() {
         for (Entity ent : _data.values()) {
-            ent.futureDel();
+            _data.computeIfPresent(ent.key, (k, e) -> {
+                unlinkDo(e);
+                return null;
+            });
         }
 
-        _data.clear();
+        _tagIndex.clear();
+    }
+
+    @Override
+    public CacheTagIndex tagIndex() {
+        return _tagIndex;
     }
 
     public int getDefalutSeconds() {
         return _defaultSeconds;
     }
 
+    /**
+     * 数量
+     *
+     * @since 2.3
+     */
+    public int size() {
+        return _data.size();
+    }
+
+    /**
+     * 命中次数
+     *
+     * @since 2.3
+     */
+    public long getHitCount() {
+        return _hitCount.sum();
+    }
+
+    /**
+     * 未命中次数
+     *
+     * @since 2.3
+     */
+    public long getMissCount() {
+        return _missCount.sum();
+    }
+
+    /**
+     * 淘汰次数（超出容量）
+     *
+     * @since 2.3
+     */
+    public long getEvictionCount() {
+        return _evictionCount.sum();
+    }
+
+    /**
+     * 过期次数
+     *
+     * @since 2.3
+     */
+    public long getExpiredCount() {
+        return _expiredCount.sum();
+    }
+
+
+    private long currentTick(long now) {
+        return (now - _startMillis) / TICK_MILLIS;
+    }
+
+    /**
+     * 放入时间轮
+     */
+    private void link(Entity ent) {
+        //向上取整，保证清理时已过期
+        ent.deadlineTick = currentTick(ent.expireAt + TICK_MILLIS - 1);
+        ent.slot = _wheel[(int) (ent.deadlineTick & (WHEEL_SIZE - 1))];
+        ent.slot.add(ent);
+    }
+
+    private void unlinkDo(Entity ent) {
+        ent.unlink();
+        _weight.addAndGet(-ent.weight);
+    }
+
+    /**
+     * 过期移除（期间被重新保存的不移除）
+     */
+    private boolean expire(Entity ent, long now) {
+        boolean[] removed = new boolean[1];
+
+        _data.computeIfPresent(ent.key, (k, e) -> {
+            if (e == ent && e.expireAt <= now) {
+                unlinkDo(e);
+                removed[0] = true;
+                return null;
+            } else {
+                return e;
+            }
+        });
+
+        if (removed[0]) {
+            _expiredCount.increment();
+        }
+
+        return removed[0];
+    }
+
+    /**
+     * 清理（时间轮推进）
+     */
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        long tick = currentTick(now);
+
+        //最多转一圈
+        for (long t = Math.max(_lastTick + 1, tick - WHEEL_SIZE + 1); t <= tick; t++) {
+            for (Entity ent : _wheel[(int) (t & (WHEEL_SIZE - 1))]) {
+                if (ent.expireAt <= now) {
+                    if (expire(ent, now) == false) {
+                        //已不在存储器里的残留
+                        if (_data.get(ent.key) != ent) {
+                            ent.unlink();
+                        }
+                    }
+                }
+            }
+        }
+
+        _lastTick = tick;
+    }
+
+    /**
+     * 淘汰（采样 LRU + TinyLFU 准入）
+     *
+     * @param candidate 新写入的实体
+     */
+    private void evict(Entity candidate) {
+        if (_evictLock.tryLock() == false) {
+            //已有线程在淘汰
+            return;
+        }
+
+        try {
+            FrequencySketch sketch = _sketch;
+
+            while (sketch != null && _weight.get() > _maxWeight) {
+                Entity victim = sample(candidate);
+
+                if (victim == null) {
+                    victim = candidate;
+                } else if (candidate != null) {
+                    //准入：新写入的频率不高于受害者时，淘汰新写入的
+                    if (sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                        victim = candidate;
+                    }
+                    candidate = null;
+                }
+
+                if (victim == null) {
+                    break;
+                }
+
+                Entity victim2 = victim;
+                boolean[] removed = new boolean[1];
+                _data.computeIfPresent(victim2.key, (k, e) -> {
+                    if (e == victim2) {
+                        unlinkDo(e);
+                        removed[0] = true;
+                        return null;
+                    } else {
+                        return e;
+                    }
+                });
+
+                if (removed[0]) {
+                    _evictionCount.increment();
+                }
+
+                if (victim == candidate) {
+                    candidate = null;
+                }
+            }
+        } finally {
+            _evictLock.unlock();
+        }
+    }
+
+    /**
+     * 采样（从游标处取若干个，选最久未访问的；顺带清理过期的）
+     */
+    private Entity sample(Entity exclude) {
+        long now = System.currentTimeMillis();
+        Entity victim = null;
+        boolean restarted = false;
+
+        for (int i = 0; i < EVICTION_SAMPLES; i++) {
+            if (_evictCursor == null || _evictCursor.hasNext() == false) {
+                if (restarted) {
+                    break;
+                }
+
+                _evictCursor = _data.values().iterator();
+                restarted = true;
+
+                if (_evictCursor.hasNext() == false) {
+                    break;
+                }
+            }
+
+            Entity ent = _evictCursor.next();
+
+            if (ent == exclude) {
+                continue;
+            }
+
+            if (ent.expireAt <= now && expire(ent, now)) {
+                continue;
+            }
+
+            if (victim == null || ent.accessAt < victim.accessAt) {
+                victim = ent;
+            }
+        }
+
+        return victim;
+    }
+
 
     /**
      * 存储实体
      * */
     private static class Entity {
-        public Object value;
-        public Future future;
+        final String key;
+        volatile Object value;
+        volatile long expireAt;
+        volatile long accessAt;
+        int weight;
+
+        long deadlineTick;
+        Set<Entity> slot;
+
+        public Entity(String key) {
+            this.key = key;
+        }
+
+        protected void unlink() {
+            if (slot != null) {
+                slot.remove(this);
+                slot = null;
+            }
+        }
+    }
+
+    /**
+     * 清理任务（弱引用实例，实例回收后自动取消）
+     */
+    private static class Sweeper implements Runnable {
+        final WeakReference<LocalCacheService> ref;
+        volatile Future<?> future;
 
-        public Entity(Object val) {
-            this.value = val;
+        Sweeper(LocalCacheService service) {
+            this.ref = new WeakReference<>(service);
         }
 
-        protected void futureDel() {
-            if (future != null) {
-                future.cancel(true);
-                future = null;
+        @Override
+        public void run() {
+            LocalCacheService service = ref.get();
+
+            if (service == null) {
+                if (future != null) {
+                    future.cancel(false);
+                }
+            } else {
+                service.sweep();
+            }
+        }
+    }
+
+    /**
+     * 频率草图（4 行 count-min，计数上限 15；累计到一定次数后减半，以适应访问变化）
+     */
+    private static class FrequencySketch {
+        private final byte[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            //每个键 4 个计数，按容量的 16 倍分配以减少碰撞（最多 4m）
+            int size = Math.min(Integer.highestOneBit(Math.max(capacity, 64) - 1) << 5, 1 << 22);
+
+            this.table = new byte[size];
+            this.mask = size - 1;
+            this.sampleSize = size * 10;
+        }
+
+        private static int spread(int h, int i) {
+            h = h * (0x9E3779B9 + (i << 1));
+            return h ^ (h >>> 16);
+        }
+
+        int frequency(String key) {
+            int h = key.hashCode();
+            int freq = Integer.MAX_VALUE;
+
+            for (int i = 0; i < 4; i++) {
+                freq = Math.min(freq, table[spread(h, i) & mask]);
+            }
+
+            return freq;
+        }
+
+        void increment(String key) {
+            int h = key.hashCode();
+            boolean added = false;
+
+            for (int i = 0; i < 4; i++) {
+                int idx = spread(h, i) & mask;
+
+                if (table[idx] < 15) {
+                    table[idx]++;
+                    added = true;
+                }
+            }
+
+            //并发下的计数是近似的（可接受）
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            additions = 0;
+
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (byte) (table[i] >>> 1);
             }
         }
     }
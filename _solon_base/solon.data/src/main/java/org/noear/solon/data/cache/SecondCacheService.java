@@ -1,16 +1,54 @@
 package org.noear.solon.data.cache;
 
+import org.noear.solon.core.util.RunUtil;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
 /**
  * 二级缓存服务
  *
+ * <pre><code>
+ * 1.有失效通道时：二级缓存的写入与移除，会批量发布失效消息（节点id + 键）；其它节点收到后移除一级缓存
+ *   因此一级缓存可以缓冲更久（如几分钟）
+ * 2.原有的构造函数不带失效通道（与之前一致，一级缓存只靠 bufferSeconds 过期）；
+ *   要跨节点失效，需用带通道的构造函数，如：new SecondCacheService(cache1, cache2, 300, CacheLib.invalidationChannelGet())
+ * 3.不再使用时，需 close()（取消订阅，否则会一直被通道引用）
+ * </code></pre>
+ *
  * @author noear
  * @since 1.2
  * */
-public class SecondCacheService implements CacheService {
+public class SecondCacheService implements CacheService, Closeable {
+    /**
+     * 失效消息的合并延时（毫秒）
+     */
+    private static final long FLUSH_DELAY_MILLIS = 20;
+    /**
+     * 每条失效消息的最大键数
+     */
+    private static final int FLUSH_BATCH_SIZE = 500;
+
     private CacheService cache1;
     private CacheService cache2;
     private int bufferSeconds;
 
+    private final CacheInvalidationChannel channel;
+    private final Consumer<String> channelListener = this::onInvalidate;
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder l1HitCount = new LongAdder();
+    private final LongAdder l2HitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
 
     /**
      * @param cache1 一级缓存
@@ -23,18 +61,47 @@ public class SecondCacheService implements CacheService {
     /**
      * @param cache1 一级缓存
      * @param cache2 二级缓存
-     * @param bufferSeconds 缓冲秒数
+     * @param bufferSeconds 缓冲秒数（没有失效通道，一级缓存只靠它过期）
      * */
     public SecondCacheService(CacheService cache1, CacheService cache2, int bufferSeconds) {
+        this(cache1, cache2, bufferSeconds, null);
+    }
+
+    /**
+     * @param cache1 一级缓存
+     * @param cache2 二级缓存
+     * @param bufferSeconds 缓冲秒数
+     * @param channel 失效通道（如 CacheLib.invalidationChannelGet()）
+     * @since 2.3
+     * */
+    public SecondCacheService(CacheService cache1, CacheService cache2, int bufferSeconds, CacheInvalidationChannel channel) {
         this.cache1 = cache1;
         this.cache2 = cache2;
         this.bufferSeconds = bufferSeconds;
+        this.channel = channel;
+
+        if (channel != null) {
+            channel.subscribe(channelListener);
+        }
+    }
+
+    /**
+     * 关闭（取消失效通道的订阅）
+     *
+     * @since 2.3
+     */
+    @Override
+    public void close() {
+        if (channel != null) {
+            channel.unsubscribe(channelListener);
+        }
     }
 
     @Override
     public void store(String key, Object obj, int seconds) {
         cache1.store(key, obj, seconds);
         cache2.store(key, obj, seconds);
+        invalidate(key);
     }
 
     @Override
@@ -42,9 +109,17 @@ public class SecondCacheService implements CacheService {
         Object temp = cache1.get(key);
         if (temp == null) {
             temp = cache2.get(key);
-            if (bufferSeconds > 0 && temp != null) {
-                cache1.store(key, temp, bufferSeconds);
+            if (temp == null) {
+                missCount.increment();
+            } else {
+                l2HitCount.increment();
+
+                if (bufferSeconds > 0) {
+                    cache1.store(key, temp, bufferSeconds);
+                }
             }
+        } else {
+            l1HitCount.increment();
         }
         return temp;
     }
@@ -53,5 +128,125 @@ public class SecondCacheService implements CacheService {
     public void remove(String key) {
         cache2.remove(key);
         cache1.remove(key);
+        invalidate(key);
+    }
+
+    @Override
+    public CacheTagIndex tagIndex() {
+        //标签以二级缓存为准
+        return cache2.tagIndex();
+    }
+
+    /**
+     * 一级缓存命中次数
+     *
+     * @since 2.3
+     */
+    public long getL1HitCount() {
+        return l1HitCount.sum();
+    }
+
+    /**
+     * 二级缓存命中次数
+     *
+     * @since 2.3
+     */
+    public long getL2HitCount() {
+        return l2HitCount.sum();
+    }
+
+    /**
+     * 未命中次数
+     *
+     * @since 2.3
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 一级缓存命中率（一级命中 / 总命中）
+     *
+     * @since 2.3
+     */
+    public double getL1HitRatio() {
+        long l1 = l1HitCount.sum();
+        long total = l1 + l2HitCount.sum();
+
+        if (total == 0) {
+            return 0D;
+        } else {
+            return (double) l1 / total;
+        }
+    }
+
+    /**
+     * 登记失效键（合并后发布）
+     */
+    private void invalidate(String key) {
+        if (channel == null) {
+            return;
+        }
+
+        pendingKeys.add(key);
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            RunUtil.delay(this::flush, FLUSH_DELAY_MILLIS);
+        }
+    }
+
+    /**
+     * 发布失效消息（节点id\n键\n键...）
+     */
+    private void flush() {
+        flushScheduled.set(false);
+
+        StringBuilder buf = null;
+        int count = 0;
+
+        Iterator<String> iterator = pendingKeys.iterator();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            iterator.remove();
+
+            if (buf == null) {
+                buf = new StringBuilder(nodeId.length() + FLUSH_BATCH_SIZE * 32).append(nodeId);
+            }
+
+            buf.append('\n').append(key);
+
+            if (++count == FLUSH_BATCH_SIZE) {
+                channel.publish(buf.toString());
+                buf = null;
+                count = 0;
+            }
+        }
+
+        if (buf != null) {
+            channel.publish(buf.toString());
+        }
+    }
+
+    /**
+     * 收到失效消息（移除一级缓存）
+     */
+    private void onInvalidate(String message) {
+        int idx = message.indexOf('\n');
+        if (idx < 0) {
+            return;
+        }
+
+        if (message.regionMatches(0, nodeId, 0, idx) && idx == nodeId.length()) {
+            //自己发出的
+            return;
+        }
+
+        while (idx >= 0) {
+            int next = message.indexOf('\n', idx + 1);
+            String key = (next < 0 ? message.substring(idx + 1) : message.substring(idx + 1, next));
+
+            cache1.remove(key);
+            idx = next;
+        }
     }
 }
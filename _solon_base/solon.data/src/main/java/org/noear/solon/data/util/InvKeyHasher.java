@@ -0,0 +1,119 @@
+package org.noear.solon.data.util;
+
+/**
+ * 调用键哈希器（128 位 murmur3，直接按字符流式计算；非加密，只用于生成缓存键）
+ *
+ * @author noear
+ * @since 2.3
+ */
+class InvKeyHasher {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private long h1;
+    private long h2;
+    //当前块（16 字节）
+    private long k1;
+    private long k2;
+    private int pos;
+    private long length;
+
+    InvKeyHasher putChar(char c) {
+        long v = c & 0xFFFFL;
+
+        if (pos < 8) {
+            k1 |= v << (pos << 3);
+        } else {
+            k2 |= v << ((pos - 8) << 3);
+        }
+
+        pos += 2;
+        length += 2;
+
+        if (pos == 16) {
+            mixBlock();
+        }
+
+        return this;
+    }
+
+    InvKeyHasher putString(String str) {
+        for (int i = 0, len = str.length(); i < len; i++) {
+            putChar(str.charAt(i));
+        }
+
+        return this;
+    }
+
+    private void mixBlock() {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+
+        k1 = 0;
+        k2 = 0;
+        pos = 0;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        return k2;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * 输出为 32 位十六进制（与 md5 的长度一致）
+     */
+    String toHex() {
+        if (pos > 8) {
+            h2 ^= mixK2(k2);
+        }
+        if (pos > 0) {
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+
+        h1 += h2;
+        h2 += h1;
+
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+
+        h1 += h2;
+        h2 += h1;
+
+        char[] chars = new char[32];
+        for (int i = 0; i < 16; i++) {
+            chars[15 - i] = HEX[(int) (h1 >>> (i << 2)) & 0xF];
+            chars[31 - i] = HEX[(int) (h2 >>> (i << 2)) & 0xF];
+        }
+
+        return new String(chars);
+    }
+}
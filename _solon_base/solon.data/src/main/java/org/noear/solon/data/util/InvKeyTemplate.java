@@ -0,0 +1,214 @@
+package org.noear.solon.data.util;
+
+import org.noear.solon.core.aspect.Invocation;
+import org.noear.solon.core.wrap.ClassWrap;
+import org.noear.solon.core.wrap.FieldWrap;
+import org.noear.solon.core.wrap.ParamWrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 调用键模板（解析一次，之后按段拼接；不再每次走正则）
+ *
+ * <pre><code>
+ * ${name}      取参数
+ * ${.name}     取返回值的字段
+ * ${obj.name}  取参数的字段
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+class InvKeyTemplate {
+    /**
+     * 模板缓存上限（超出后不再缓存）
+     */
+    private static final int CACHED_LIMIT = 10000;
+    private static final Map<String, InvKeyTemplate> cached = new ConcurrentHashMap<>();
+
+    static InvKeyTemplate get(String tml) {
+        InvKeyTemplate kt = cached.get(tml);
+        if (kt == null) {
+            kt = new InvKeyTemplate(tml);
+
+            if (cached.size() < CACHED_LIMIT) {
+                InvKeyTemplate tmp = cached.putIfAbsent(tml, kt);
+                if (tmp != null) {
+                    kt = tmp;
+                }
+            }
+        }
+
+        return kt;
+    }
+
+    //literals.length == names.length + 1
+    private final String[] literals;
+    private final String[] names;
+    //names 中 '.' 的位置（没有为 -1）
+    private final int[] dots;
+    private final int sizeHint;
+
+    private InvKeyTemplate(String tml) {
+        List<String> literalList = new ArrayList<>();
+        List<String> nameList = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int len = tml.length();
+
+        while (i < len) {
+            int start = tml.indexOf("${", i);
+            if (start < 0) {
+                break;
+            }
+
+            int end = tml.indexOf('}', start + 2);
+            if (end < 0) {
+                break;
+            }
+
+            String name = tml.substring(start + 2, end);
+
+            if (isName(name)) {
+                literal.append(tml, i, start);
+                literalList.add(literal.toString());
+                nameList.add(name);
+                literal.setLength(0);
+                i = end + 1;
+            } else {
+                //不是变量，按字面量处理
+                literal.append(tml, i, start + 2);
+                i = start + 2;
+            }
+        }
+
+        literal.append(tml, i, len);
+        literalList.add(literal.toString());
+
+        this.literals = literalList.toArray(new String[0]);
+        this.names = nameList.toArray(new String[0]);
+        this.dots = new int[names.length];
+        for (int j = 0; j < names.length; j++) {
+            dots[j] = names[j].indexOf('.');
+        }
+        this.sizeHint = tml.length() + names.length * 8;
+    }
+
+    /**
+     * 是否为变量名（与 \w*\.?\w+ 一致）
+     */
+    private static boolean isName(String name) {
+        int dot = name.indexOf('.');
+
+        if (dot >= 0) {
+            if (name.indexOf('.', dot + 1) >= 0) {
+                return false;
+            }
+
+            return isWord(name, 0, dot, true) && isWord(name, dot + 1, name.length(), false);
+        } else {
+            return isWord(name, 0, name.length(), false);
+        }
+    }
+
+    private static boolean isWord(String str, int start, int end, boolean allowEmpty) {
+        if (start == end) {
+            return allowEmpty;
+        }
+
+        for (int i = start; i < end; i++) {
+            char c = str.charAt(i);
+            if (Character.isLetterOrDigit(c) == false || c > 0x7F) {
+                if (c != '_') {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 生成
+     */
+    String render(Invocation inv, Object rst) {
+        if (names.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder buf = new StringBuilder(sizeHint);
+
+        for (int i = 0; i < names.length; i++) {
+            buf.append(literals[i]);
+            buf.append(valueOf(inv, names[i], dots[i], rst));
+        }
+
+        buf.append(literals[names.length]);
+
+        return buf.toString();
+    }
+
+    private static String valueOf(Invocation inv, String name, int dot, Object rst) {
+        ParamWrap[] params = inv.method().getParamWraps();
+        Object[] args = inv.args();
+
+        int idx = indexOf(params, name);
+        if (idx >= 0) {
+            //说明从输入参数取值
+            return String.valueOf(args[idx]);
+        }
+
+        if (dot < 0) {
+            //如果缺少参数就出异常，容易发现问题
+            throw new IllegalArgumentException("Missing cache tag parameter: " + name);
+        }
+
+        //说明要从返回结果取值
+        Object obj;
+        String fieldKey = name.substring(dot + 1);
+
+        if (dot == 0) {
+            obj = rst;
+        } else {
+            idx = indexOf(params, name.substring(0, dot));
+            obj = (idx < 0 ? null : args[idx]);
+        }
+
+        if (obj == null) {
+            return "null";
+        }
+
+        Object valTmp;
+
+        if (obj instanceof Map) {
+            valTmp = ((Map) obj).get(fieldKey);
+        } else {
+            FieldWrap fw = ClassWrap.get(obj.getClass()).getFieldWrap(fieldKey);
+            if (fw == null) {
+                throw new IllegalArgumentException("Missing cache tag parameter (result field): " + name);
+            }
+
+            try {
+                valTmp = fw.getValue(obj);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        return valTmp == null ? "null" : valTmp.toString();
+    }
+
+    private static int indexOf(ParamWrap[] params, String name) {
+        for (int i = 0; i < params.length; i++) {
+            if (params[i].getName().equals(name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -1,22 +1,28 @@
 package org.noear.solon.data.util;
 
-import org.noear.solon.Utils;
 import org.noear.solon.core.aspect.Invocation;
-import org.noear.solon.core.wrap.ClassWrap;
-import org.noear.solon.core.wrap.FieldWrap;
+import org.noear.solon.core.wrap.ParamWrap;
 
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 拦截动作模板处理
  *
+ * <pre><code>
+ * 1.按调用生成的键：类名 + 函数名 + 参数，用 128 位 murmur3 哈希（不再用 md5）
+ * 2.按模板生成的键：模板解析一次并缓存（不再每次编译正则）
+ * </code></pre>
+ *
  * @author noear
  * @since 1.6
  */
 public class InvKeys {
+    /**
+     * 函数键前缀缓存（类名:函数名:）
+     */
+    private static final Map<Method, String> prefixCached = new ConcurrentHashMap<>();
 
     /**
      * 基于调用构建Key
@@ -26,17 +32,22 @@ public class InvKeys {
     public static String buildByInv(Invocation inv) {
         Method method = inv.method().getMethod();
 
-        StringBuilder keyB = new StringBuilder();
+        String prefix = prefixCached.computeIfAbsent(method, m -> m.getDeclaringClass().getName() + ":" + m.getName() + ":");
+
+        InvKeyHasher hasher = new InvKeyHasher();
+        hasher.putString(prefix);
 
-        keyB.append(method.getDeclaringClass().getName()).append(":");
-        keyB.append(method.getName()).append(":");
+        ParamWrap[] params = inv.method().getParamWraps();
+        Object[] args = inv.args();
 
-        inv.argsAsMap().forEach((k, v) -> {
-            keyB.append(k).append("_").append(v);
-        });
+        for (int i = 0; i < params.length; i++) {
+            hasher.putString(params[i].getName())
+                    .putChar('_')
+                    .putString(String.valueOf(args[i]));
+        }
 
-        //必须md5，不然会出现特殊符号
-        return Utils.md5(keyB.toString());
+        //必须哈希，不然会出现特殊符号
+        return hasher.toHex();
     }
 
     /**
@@ -61,71 +72,6 @@ public class InvKeys {
             return tml;
         }
 
-        Map map = inv.argsAsMap();
-        String str2 = tml;
-
-        //${name}
-        //${.name}
-        //${obj.name}
-        Pattern pattern = Pattern.compile("\\$\\{(\\w*\\.?\\w+)\\}");
-        Matcher m = pattern.matcher(tml);
-        while (m.find()) {
-            String mark = m.group(0);
-            String name = m.group(1);
-
-            if (map.containsKey(name)) {
-                //说明从输入参数取值
-                String val = String.valueOf(map.get(name));
-
-                str2 = str2.replace(mark, val);
-            } else if (name.contains(".")) {
-                //说明要从返回结果取值
-                Object obj;
-                String fieldKey = null;
-                String fieldVal = null;
-                if (name.startsWith(".")) {
-                    obj = rst;
-                    fieldKey = name.substring(1);
-                } else {
-                    String[] cf = name.split("\\.");
-                    obj = map.get(cf[0]);
-                    fieldKey = cf[1];
-                }
-
-                if (obj != null) {
-                    Object valTmp = null;
-
-                    if (obj instanceof Map) {
-                        valTmp = ((Map) obj).get(fieldKey);
-                    } else {
-                        FieldWrap fw = ClassWrap.get(obj.getClass()).getFieldWrap(fieldKey);
-                        if (fw == null) {
-                            throw new IllegalArgumentException("Missing cache tag parameter (result field): " + name);
-                        }
-
-                        try {
-                            valTmp = fw.getValue(obj);
-                        } catch (ReflectiveOperationException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-
-                    if (valTmp != null) {
-                        fieldVal = valTmp.toString();
-                    }
-                }
-
-                if (fieldVal == null) {
-                    fieldVal = "null";
-                }
-
-                str2 = str2.replace(mark, fieldVal);
-            } else {
-                //如果缺少参数就出异常，容易发现问题
-                throw new IllegalArgumentException("Missing cache tag parameter: " + name);
-            }
-        }
-
-        return str2;
+        return InvKeyTemplate.get(tml).render(inv, rst);
     }
 }
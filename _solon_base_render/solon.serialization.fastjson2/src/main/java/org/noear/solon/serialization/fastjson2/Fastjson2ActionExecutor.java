@@ -6,7 +6,9 @@ import org.noear.solon.core.handle.ActionExecutorDefault;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.wrap.ParamWrap;
 
+import java.io.InputStream;
 import java.lang.reflect.ParameterizedType;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.List;
 
@@ -35,6 +37,24 @@ public class Fastjson2ActionExecutor extends ActionExecutorDefault {
         }
     }
 
+    /**
+     * 从流直接转换
+     *
+     * @since 2.3
+     */
+    @Override
+    protected Object readBody(ParamWrap p, InputStream in, Charset charset) throws Exception {
+        ParameterizedType gp = p.getGenericType();
+
+        try (JSONReader reader = JSONReader.of(in, charset, config)) {
+            if (gp != null) {
+                return reader.read(gp);
+            } else {
+                return reader.read(p.getType());
+            }
+        }
+    }
+
     @Override
     protected Object changeBody(Context ctx) throws Exception {
         String json = ctx.bodyNew();
@@ -7,7 +7,10 @@ import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.wrap.ParamWrap;
 import org.noear.solon.serialization.gson.impl.DateReadAdapter;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.ParameterizedType;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -51,6 +54,23 @@ public class GsonActionExecutor extends ActionExecutorDefault {
         }
     }
 
+    /**
+     * 从流直接转换
+     *
+     * @since 2.3
+     */
+    @Override
+    protected Object readBody(ParamWrap p, InputStream in, Charset charset) throws Exception {
+        ParameterizedType gp = p.getGenericType();
+        InputStreamReader reader = new InputStreamReader(in, charset);
+
+        if (gp != null) {
+            return gson().fromJson(reader, gp);
+        } else {
+            return gson().fromJson(reader, p.getType());
+        }
+    }
+
     @Override
     protected Object changeBody(Context ctx) throws Exception {
         String json = ctx.bodyNew();
@@ -10,8 +10,14 @@ import org.noear.solon.core.handle.ActionExecutorDefault;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.wrap.ParamWrap;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author noear
@@ -21,6 +27,7 @@ public class JacksonActionExecutor extends ActionExecutorDefault {
     private static final String label = "/json";
 
     private final ObjectMapper mapper_type = new ObjectMapper();
+    private final Map<ParamWrap, ObjectReader> readerCached = new ConcurrentHashMap<>();
 
     public ObjectMapper config(){
         return mapper_type;
@@ -50,6 +57,22 @@ public class JacksonActionExecutor extends ActionExecutorDefault {
         }
     }
 
+    /**
+     * 从流直接转换（ObjectReader 按参数缓存）
+     *
+     * @since 2.3
+     */
+    @Override
+    protected Object readBody(ParamWrap p, InputStream in, Charset charset) throws Exception {
+        ObjectReader reader = readerCached.computeIfAbsent(p, k -> mapper_type.readerFor(new TypeReferenceImp<>(k)));
+
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return reader.readValue(in);
+        } else {
+            return reader.readValue(new InputStreamReader(in, charset));
+        }
+    }
+
     @Override
     protected Object changeBody(Context ctx) throws Exception {
         String json = ctx.bodyNew();
@@ -3,9 +3,12 @@ package features;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import features2.model.UserDo;
 import org.noear.solon.Solon;
+import org.noear.solon.annotation.Body;
 import org.noear.solon.annotation.Controller;
 import org.noear.solon.annotation.Mapping;
+import org.noear.solon.core.handle.Context;
 import org.noear.solon.serialization.JsonConverter;
 import org.noear.solon.serialization.jackson.JacksonRenderFactory;
 
@@ -15,6 +18,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -64,4 +68,15 @@ public class TestApp {
     public Object hello(String name) {
         return name;
     }
+
+    @Mapping("/body/user")
+    public Object bodyUser(@Body UserDo user, Context ctx) throws IOException {
+        //从 body 直接转换后，body 仍可获取
+        return user.getS0() + ":" + ctx.body().length();
+    }
+
+    @Mapping("/body/users")
+    public Object bodyUsers(@Body List<UserDo> users, String tag) {
+        return users.size() + ":" + users.get(1).getS0() + ":" + tag;
+    }
 }
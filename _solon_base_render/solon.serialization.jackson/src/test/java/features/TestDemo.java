@@ -38,4 +38,14 @@ public class TestDemo extends HttpTestBase {
         json = path("/hello").bodyJson("{\"name\":\"world\"}").post();
         assert "world".equals(json);
     }
+
+    @Test
+    public void body_test() throws Exception {
+        String body = "{\"s0\":\"world\"}";
+        String rst = path("/body/user").bodyJson(body).post();
+        assert ("world:" + body.length()).equals(rst);
+
+        rst = path("/body/users?tag=a").bodyJson("[{\"s0\":\"x\"},{\"s0\":\"y\"}]").post();
+        assert "2:y:a".equals(rst);
+    }
 }
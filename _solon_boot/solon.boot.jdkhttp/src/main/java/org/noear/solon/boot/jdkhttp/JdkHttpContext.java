@@ -417,6 +417,16 @@ public class JdkHttpContext extends ContextBase {
         sendHeaders(true);
     }
 
+    @Override
+    public boolean asyncSupported() {
+        return true;
+    }
+
+    @Override
+    protected void asyncCompleteDo() {
+        _exchange.close();
+    }
+
     private boolean _allows_write = true;
     private boolean _headers_sent = false;
 
@@ -9,24 +9,51 @@ import org.noear.solon.core.handle.Handler;
 import java.io.IOException;
 
 public class JdkHttpContextHandler implements HttpHandler {
+    private static final ThreadLocal<Boolean> rejectedLocal = new ThreadLocal<>();
+
+    /**
+     * 以拒绝状态运行（执行器满时，由分发线程直接回应 503）
+     */
+    static void runRejected(Runnable task) {
+        rejectedLocal.set(Boolean.TRUE);
+        try {
+            task.run();
+        } finally {
+            rejectedLocal.remove();
+        }
+    }
+
     private final Handler handler;
     public JdkHttpContextHandler(Handler handler){
         this.handler = handler;
     }
     @Override
     public void handle(HttpExchange exchange) {
+        boolean async = false;
+
         try {
-            handleDo(exchange);
+            if (rejectedLocal.get() != null) {
+                exchange.getResponseHeaders().set("Connection", "close");
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            async = handleDo(exchange);
         } catch (Throwable e) {
             //context 初始化时，可能会出错
             //
             EventBus.pushTry(e);
         } finally {
-            exchange.close();
+            if (async == false) {
+                exchange.close();
+            }
         }
     }
 
-    protected void handleDo(HttpExchange exchange) throws IOException {
+    /**
+     * @return 是否已开始异步（由上下文在异步完成时关闭）
+     */
+    protected boolean handleDo(HttpExchange exchange) throws IOException {
         JdkHttpContext ctx = new JdkHttpContext(exchange); //这里可能会有异常
 
         try {
@@ -40,6 +67,10 @@ public class JdkHttpContextHandler implements HttpHandler {
 
             handler.handle(ctx);
 
+            if (ctx.asyncStarted()) {
+                return true;
+            }
+
             if (ctx.getHandled() || ctx.status() >= 200) {
                 ctx.commit();
             } else {
@@ -51,5 +82,7 @@ public class JdkHttpContextHandler implements HttpHandler {
 
             exchange.sendResponseHeaders(500, -1);
         }
+
+        return false;
     }
 }
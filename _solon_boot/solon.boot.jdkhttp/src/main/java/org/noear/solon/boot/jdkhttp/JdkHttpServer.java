@@ -14,6 +14,7 @@ import javax.net.ssl.SSLParameters;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Jdk Http Server（允许被复用）
@@ -62,7 +63,20 @@ public class JdkHttpServer implements ServerLifecycle {
         HttpContext httpContext = server.createContext("/", new JdkHttpContextHandler(handler));
         httpContext.getFilters().add(new ParameterFilter());
 
-        server.setExecutor(executor);
+        if (executor == null) {
+            server.setExecutor(null);
+        } else {
+            final Executor executor0 = executor;
+            server.setExecutor(task -> {
+                try {
+                    executor0.execute(task);
+                } catch (RejectedExecutionException e) {
+                    //拒绝时在当前线程直接回应 503（不进入业务处理）
+                    JdkHttpContextHandler.runRejected(task);
+                }
+            });
+        }
+
         server.start();
     }
 
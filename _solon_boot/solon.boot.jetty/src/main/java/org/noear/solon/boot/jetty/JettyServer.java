@@ -2,13 +2,15 @@ package org.noear.solon.boot.jetty;
 
 import org.eclipse.jetty.server.*;
 import org.eclipse.jetty.server.session.DefaultSessionIdManager;
-import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.noear.solon.Solon;
 import org.noear.solon.SolonApp;
 import org.noear.solon.boot.ServerLifecycle;
+import org.noear.solon.boot.executor.ExecutorMode;
+import org.noear.solon.boot.executor.ServerExecutor;
 import org.noear.solon.boot.jetty.websocket._SessionManagerImpl;
 import org.noear.solon.core.event.EventBus;
 import org.noear.solon.core.util.ClassUtil;
+import org.noear.solon.core.util.LogUtil;
 import org.noear.solon.socketd.SessionManager;
 
 import java.io.IOException;
@@ -41,7 +43,20 @@ class JettyServer extends JettyServerBase implements ServerLifecycle {
             maxThreads = props.getMaxThreads(false);
         }
 
-        QueuedThreadPool threadPool = new QueuedThreadPool(maxThreads, props.getCoreThreads(), (int) props.getIdleTimeout());
+        ExecutorMode mode = props.getExecutorMode();
+        if (mode == ExecutorMode.FORKJOIN || mode == ExecutorMode.VIRTUAL) {
+            //jetty 9 的选择器与接收器需要独占线程，只支持 pool 与 queue
+            LogUtil.global().warn("Server executor: jetty does not support " + mode.name().toLowerCase() + " mode, fallback to pool mode");
+            mode = ExecutorMode.POOL;
+        }
+
+        int queueSize = props.getQueueSize();
+        if (queueSize < 1) {
+            queueSize = maxThreads;
+        }
+
+        JettyThreadPool threadPool = new JettyThreadPool(mode, maxThreads, props.getCoreThreads(), (int) props.getIdleTimeout(), queueSize);
+        ServerExecutor.register(threadPool);
 
         _server = new Server(threadPool);
 
@@ -0,0 +1,53 @@
+package org.noear.solon.boot.jetty;
+
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.noear.solon.boot.executor.ExecutorMode;
+import org.noear.solon.boot.executor.ExecutorStats;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Jetty 线程池（提供队列深度与拒绝计数）
+ *
+ * @author noear
+ * @since 2.3
+ */
+class JettyThreadPool extends QueuedThreadPool implements ExecutorStats {
+    private final ExecutorMode mode;
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public JettyThreadPool(ExecutorMode mode, int maxThreads, int minThreads, int idleTimeout, int queueSize) {
+        super(maxThreads, minThreads, idleTimeout,
+                mode == ExecutorMode.QUEUE ? new BlockingArrayQueue<>(queueSize, 0, queueSize) : null);
+
+        this.mode = mode;
+        setName("jetty");
+    }
+
+    @Override
+    public void execute(Runnable job) {
+        try {
+            super.execute(job);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public ExecutorMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return getQueueSize();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
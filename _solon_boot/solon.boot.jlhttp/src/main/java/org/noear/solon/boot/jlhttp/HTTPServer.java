@@ -29,6 +29,7 @@ import java.io.*;
 import java.lang.annotation.*;
 import java.lang.reflect.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -1915,6 +1916,13 @@ public class HTTPServer {
         }
     }
 
+    /**
+     * 执行器拒绝时的回应
+     */
+    private static final byte[] REJECTED_RESPONSE = ("HTTP/1.1 503 Service Unavailable\r\n" +
+            "Content-Length: 0\r\n" +
+            "Connection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+
     /**
      * The {@code SocketHandlerThread} handles accepted sockets.
      */
@@ -1932,7 +1940,8 @@ public class HTTPServer {
                             execute(sock);
                         });
                     } catch (RejectedExecutionException e) {
-                        execute(sock);
+                        //拒绝时直接回应 503（不在监听线程上处理，避免阻塞接收）
+                        reject(sock);
                     } catch (Throwable e) {
                         //todo: 确保监听不死
                         log.error(e.getMessage(), e);
@@ -1944,6 +1953,20 @@ public class HTTPServer {
             }
         }
 
+        private void reject(Socket socket) {
+            try {
+                socket.setSoTimeout(socketTimeout);
+                OutputStream out = socket.getOutputStream();
+                out.write(REJECTED_RESPONSE);
+                out.flush();
+            } catch (Throwable e) {
+                //客户端可能已断开，不影响监听
+                log.debug("Reject response failed: " + e.getMessage(), e);
+            } finally {
+                close(socket);
+            }
+        }
+
         private void close(Socket socket){
             try{
                 socket.close();
@@ -3,6 +3,7 @@ package org.noear.solon.boot.smarthttp;
 import org.noear.solon.Solon;
 import org.noear.solon.SolonApp;
 import org.noear.solon.boot.ServerProps;
+import org.noear.solon.boot.executor.ExecutorMode;
 import org.noear.solon.boot.prop.impl.HttpServerProps;
 import org.noear.solon.boot.smarthttp.http.FormContentFilter;
 import org.noear.solon.core.*;
@@ -49,8 +50,8 @@ public final class XPluginImp implements Plugin {
         _server = new SmHttpServerComb();
         _server.enableWebSocket(app.enableWebSocket());
         _server.setCoreThreads(props.getCoreThreads());
-        if (props.isIoBound()) {
-            //如果是io密集型的，加二段线程池
+        if (props.isIoBound() || props.getExecutorMode() != ExecutorMode.POOL) {
+            //如果是io密集型的（或指定了执行器模式），加二段线程池
             _server.setWorkExecutor(props.getBioExecutor("smarthttp-"));
         }
 
@@ -18,15 +18,22 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class SmHttpContext extends ContextBase {
     private HttpRequest _request;
     private HttpResponse _response;
+    private final CompletableFuture<Object> _future;
     protected Map<String, List<UploadedFile>> _fileMap;
 
     public SmHttpContext(HttpRequest request, HttpResponse response) {
+        this(request, response, null);
+    }
+
+    public SmHttpContext(HttpRequest request, HttpResponse response, CompletableFuture<Object> future) {
         _request = request;
         _response = response;
+        _future = future;
         _fileMap = new HashMap<>();
     }
 
@@ -379,6 +386,16 @@ public class SmHttpContext extends ContextBase {
         sendHeaders(true);
     }
 
+    @Override
+    public boolean asyncSupported() {
+        return _future != null;
+    }
+
+    @Override
+    protected void asyncCompleteDo() {
+        _future.complete(this);
+    }
+
     private boolean _headers_sent = false;
     private boolean _allows_write = true;
 
@@ -12,7 +12,6 @@ import org.smartboot.http.server.HttpServerHandler;
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 
 public class SmHttpContextHandler extends HttpServerHandler {
@@ -36,29 +35,38 @@ public class SmHttpContextHandler extends HttpServerHandler {
                     handle0(request, response, future);
                 });
             } catch (RejectedExecutionException e) {
-                handle0(request, response, future);
+                //拒绝时直接回应 503（不在 io 线程上处理，避免阻塞选择器）
+                response.setHttpStatus(HttpStatus.SERVICE_UNAVAILABLE);
+                future.complete(this);
             }
         }
     }
 
     protected void handle0(HttpRequest request, HttpResponse response, CompletableFuture<Object> future) {
+        boolean async = false;
+
         try {
-            handleDo(request, response);
+            async = handleDo(request, response, future);
         } catch (Throwable e) {
             e.printStackTrace();
         } finally {
-            future.complete(this);
+            if (async == false) {
+                future.complete(this);
+            }
         }
     }
 
-    protected void handleDo(HttpRequest request, HttpResponse response) {
+    /**
+     * @return 是否已开始异步（由上下文在异步完成时结束请求）
+     */
+    protected boolean handleDo(HttpRequest request, HttpResponse response, CompletableFuture<Object> future) {
         try {
             if ("PRI".equals(request.getMethod())) {
                 response.setHttpStatus(HttpStatus.NOT_IMPLEMENTED);
-                return;
+                return false;
             }
 
-            SmHttpContext ctx = new SmHttpContext(request, response);
+            SmHttpContext ctx = new SmHttpContext(request, response, future);
 
             ctx.contentType("text/plain;charset=UTF-8");
             if (ServerProps.output_meta) {
@@ -67,6 +75,10 @@ public class SmHttpContextHandler extends HttpServerHandler {
 
             handler.handle(ctx);
 
+            if (ctx.asyncStarted()) {
+                return true;
+            }
+
             if (ctx.getHandled() || ctx.status() >= 200) {
                 ctx.commit();
             } else {
@@ -78,5 +90,7 @@ public class SmHttpContextHandler extends HttpServerHandler {
 
             response.setHttpStatus(HttpStatus.INTERNAL_SERVER_ERROR);
         }
+
+        return false;
     }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package org.noear.solon.boot.socketd.jdksocket;
 import org.noear.solon.Solon;
 import org.noear.solon.SolonApp;
 import org.noear.solon.boot.ServerProps;
+import org.noear.solon.boot.executor.ExecutorMode;
+import org.noear.solon.boot.executor.ServerExecutor;
 import org.noear.solon.boot.prop.impl.SocketServerProps;
 import org.noear.solon.core.*;
 import org.noear.solon.core.util.LogUtil;
@@ -49,7 +51,7 @@ public class XPluginImp implements Plugin {
 
 
         _server = new BioServer();
-        _server.setExecutor(props.getBioExecutor("jdksocket-"));
+        _server.setExecutor(ServerExecutor.create(props, "jdksocket-", getExecutorMode(props)));
         _server.start(_host, _port);
 
         final String _wrapHost = props.getWrapHost();
@@ -64,6 +66,20 @@ public class XPluginImp implements Plugin {
         LogUtil.global().info("Server:main: jdksocket-socketd: Started (" + solon_boot_ver() + ") @" + (time_end - time_start) + "ms");
     }
 
+    /**
+     * 执行器模式（每个连接独占一个线程做阻塞式读取；排队与工作窃取会让后来的连接一直等不到线程，不支持）
+     */
+    private static ExecutorMode getExecutorMode(SocketServerProps props) {
+        ExecutorMode mode = props.getExecutorMode();
+
+        if (mode == ExecutorMode.QUEUE || mode == ExecutorMode.FORKJOIN) {
+            LogUtil.global().warn("Server executor: jdksocket does not support " + mode.name().toLowerCase() + " mode, fallback to pool mode");
+            return ExecutorMode.POOL;
+        } else {
+            return mode;
+        }
+    }
+
     @Override
     public void stop() throws Throwable {
         if (_server == null) {
@@ -20,7 +20,7 @@ public class TomcatServer extends TomcatServerBase {
         Context context = _server.addContext("", null);//第二个参数与文档相关
         //2.添加 servlet
         String servletName = "solon";
-        Tomcat.addServlet(context, servletName, new TCHttpContextHandler());
+        Tomcat.addServlet(context, servletName, new TCHttpContextHandler()).setAsyncSupported(true);
         //3.建立 servlet 映射
         context.addServletMappingDecoded("/", servletName);//Servlet与对应uri映射
         //**************session time setting start Session时间相关*****************
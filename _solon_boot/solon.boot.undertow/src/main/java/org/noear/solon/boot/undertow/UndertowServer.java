@@ -11,6 +11,8 @@ import org.noear.solon.Utils;
 import org.noear.solon.boot.ServerConstants;
 import org.noear.solon.boot.ServerLifecycle;
 import org.noear.solon.boot.ServerProps;
+import org.noear.solon.boot.executor.ExecutorMode;
+import org.noear.solon.boot.executor.ServerExecutor;
 import org.noear.solon.boot.ssl.SslContextFactory;
 import org.noear.solon.boot.undertow.http.UtHandlerHandler;
 import org.noear.solon.boot.undertow.websocket.UtWsConnectionCallback;
@@ -50,11 +52,36 @@ public class UndertowServer extends UndertowServerBase implements ServerLifecycl
             _server.stop();
             _server = null;
         }
+
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
     }
 
     protected void setup(SolonApp app, String host, int port) throws Throwable {
+        if (props.getExecutorMode() != ExecutorMode.POOL) {
+            executor = (ServerExecutor) props.getBioExecutor("undertow-");
+        }
+
         HttpHandler httpHandler = buildHandler();
 
+        if (executor != null) {
+            //执行器饱和时，在 io 线程上直接回应 503
+            final HttpHandler httpHandler0 = httpHandler;
+            final ServerExecutor executor0 = executor;
+            httpHandler = exchange -> {
+                if (executor0.isSaturated()) {
+                    executor0.incrementRejected();
+                    exchange.setStatusCode(503);
+                    exchange.setPersistent(false);
+                    exchange.endExchange();
+                } else {
+                    httpHandler0.handleRequest(exchange);
+                }
+            };
+        }
+
         //************************** init server start******************
         Undertow.Builder builder = Undertow.builder();
 
@@ -121,7 +148,7 @@ public class UndertowServer extends UndertowServerBase implements ServerLifecycl
         DeploymentInfo builder = initDeploymentInfo();
 
         //添加servlet
-        builder.addServlet(new ServletInfo("ACTServlet", UtHandlerHandler.class).addMapping("/"));
+        builder.addServlet(new ServletInfo("ACTServlet", UtHandlerHandler.class).addMapping("/").setAsyncSupported(true));
         //builder.addInnerHandlerChainWrapper(h -> handler); //这个会使过滤器不能使用
 
 
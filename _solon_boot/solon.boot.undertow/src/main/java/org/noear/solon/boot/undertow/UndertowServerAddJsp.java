@@ -27,7 +27,7 @@ public class UndertowServerAddJsp extends UndertowServer {
         //添加jsp处理
         String fileRoot = getResourceRoot();
         builder.setResourceManager(new JspResourceManager(JarClassLoader.global(), fileRoot))
-                .addServlet(new ServletInfo("ACTServlet", UtHandlerHandler.class).addMapping("/"))
+                .addServlet(new ServletInfo("ACTServlet", UtHandlerHandler.class).addMapping("/").setAsyncSupported(true))
                 .addServlet(JspServletEx.createServlet("JSPServlet", "*.jsp"));
 
 
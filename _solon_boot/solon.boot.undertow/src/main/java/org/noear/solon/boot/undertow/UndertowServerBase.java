@@ -5,6 +5,7 @@ import io.undertow.servlet.util.DefaultClassIntrospector;
 import org.noear.solon.Solon;
 import org.noear.solon.boot.ServerLifecycle;
 import org.noear.solon.boot.ServerProps;
+import org.noear.solon.boot.executor.ServerExecutor;
 import org.noear.solon.boot.prop.impl.HttpServerProps;
 import org.noear.solon.boot.undertow.http.UtContainerInitializer;
 import org.noear.solon.boot.http.HttpServerConfigure;
@@ -20,6 +21,10 @@ import java.util.Set;
 
 abstract class UndertowServerBase implements ServerLifecycle, HttpServerConfigure {
     protected HttpServerProps props = new HttpServerProps();
+    /**
+     * 业务执行器（指定了执行器模式时才有）
+     */
+    protected ServerExecutor executor;
     protected boolean allowSsl = true;
     protected Set<Integer> addHttpPorts = new LinkedHashSet<>();
 
@@ -58,6 +63,11 @@ abstract class UndertowServerBase implements ServerLifecycle, HttpServerConfigur
         builder.addServletContainerInitializer(UtContainerInitializer.info());
         builder.setEagerFilterInit(true);
 
+        if (executor != null) {
+            //servlet 请求交给业务执行器处理
+            builder.setExecutor(executor);
+        }
+
         if (ServerProps.session_timeout > 0) {
             builder.setDefaultSessionTimeout(ServerProps.session_timeout);
         }
@@ -0,0 +1,42 @@
+package org.noear.solon.boot.executor;
+
+import org.noear.solon.Utils;
+
+/**
+ * 服务执行器模式
+ *
+ * @author noear
+ * @since 2.3
+ */
+public enum ExecutorMode {
+    /**
+     * 线程池（同步移交队列；默认）
+     */
+    POOL,
+    /**
+     * 有界队列线程池（满时拒绝，由适配器回应 503；jdksocket 不支持）
+     */
+    QUEUE,
+    /**
+     * 工作窃取池（ForkJoinPool；jetty, jdksocket 不支持）
+     */
+    FORKJOIN,
+    /**
+     * 每请求一个虚拟线程（JDK 21+；否则退回 POOL）
+     */
+    VIRTUAL;
+
+    public static ExecutorMode of(String name, ExecutorMode def) {
+        if (Utils.isEmpty(name)) {
+            return def;
+        }
+
+        for (ExecutorMode m : values()) {
+            if (m.name().equalsIgnoreCase(name)) {
+                return m;
+            }
+        }
+
+        return def;
+    }
+}
@@ -0,0 +1,29 @@
+package org.noear.solon.boot.executor;
+
+/**
+ * 服务执行器统计
+ *
+ * @author noear
+ * @since 2.3
+ */
+public interface ExecutorStats {
+    /**
+     * 名字（即线程名前缀）
+     */
+    String getName();
+
+    /**
+     * 模式
+     */
+    ExecutorMode getMode();
+
+    /**
+     * 队列深度（虚拟线程没有排队，为在途任务数）
+     */
+    int getQueueDepth();
+
+    /**
+     * 拒绝次数
+     */
+    long getRejectedCount();
+}
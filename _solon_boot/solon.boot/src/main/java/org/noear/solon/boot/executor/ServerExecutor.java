@@ -0,0 +1,257 @@
+package org.noear.solon.boot.executor;
+
+import org.noear.solon.boot.prop.ServerExecutorProps;
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.core.util.NamedThreadFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 服务执行器（按模式包装真实执行器，并提供队列深度与拒绝计数）
+ *
+ * <pre><code>
+ * 拒绝时抛出 RejectedExecutionException，由适配器回应 503（不再退回到 io 线程上处理）
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class ServerExecutor extends AbstractExecutorService implements ExecutorStats {
+    private static final Map<String, ExecutorStats> statsMap = new ConcurrentHashMap<>();
+
+    /**
+     * 登记统计
+     */
+    public static void register(ExecutorStats stats) {
+        statsMap.put(stats.getName(), stats);
+    }
+
+    /**
+     * 获取所有统计
+     */
+    public static Collection<ExecutorStats> statsAll() {
+        return Collections.unmodifiableCollection(statsMap.values());
+    }
+
+    /**
+     * 创建
+     */
+    public static ServerExecutor create(ServerExecutorProps props, String namePrefix) {
+        return create(props, namePrefix, props.getExecutorMode());
+    }
+
+    /**
+     * 创建（指定模式；用于不支持某些模式的适配器）
+     */
+    public static ServerExecutor create(ServerExecutorProps props, String namePrefix, ExecutorMode mode) {
+        ExecutorService real = null;
+
+        switch (mode) {
+            case QUEUE: {
+                int queueSize = props.getQueueSize();
+                if (queueSize < 1) {
+                    queueSize = props.getMaxThreads(true);
+                }
+
+                real = new ThreadPoolExecutor(props.getCoreThreads(), props.getMaxThreads(true),
+                        props.getIdleTimeout(), TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueSize),
+                        new NamedThreadFactory(namePrefix));
+                break;
+            }
+            case FORKJOIN: {
+                int parallelism = props.getMaxThreads(props.isIoBound());
+                AtomicInteger threadCount = new AtomicInteger(0);
+
+                real = new ForkJoinPool(parallelism, pool -> {
+                    ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    t.setName(namePrefix + threadCount.incrementAndGet());
+                    return t;
+                }, null, true);
+                break;
+            }
+            case VIRTUAL: {
+                real = newVirtualExecutor(namePrefix);
+                if (real == null) {
+                    LogUtil.global().warn("Server executor: virtual threads require JDK 21+, fallback to pool mode");
+                    mode = ExecutorMode.POOL;
+                }
+                break;
+            }
+        }
+
+        if (real == null) {
+            real = new ThreadPoolExecutor(props.getCoreThreads(), props.getMaxThreads(true),
+                    props.getIdleTimeout(), TimeUnit.MILLISECONDS,
+                    new SynchronousQueue<>(), //BlockingQueue //SynchronousQueue
+                    new NamedThreadFactory(namePrefix));
+        }
+
+        ServerExecutor executor = new ServerExecutor(namePrefix, mode, real, props.getQueueSize());
+        register(executor);
+        return executor;
+    }
+
+    /**
+     * 新建虚拟线程执行器（JDK 21+；编译目标为 8，所以用反射）
+     */
+    private static ExecutorService newVirtualExecutor(String namePrefix) {
+        try {
+            Class<?> builderClz = Class.forName("java.lang.Thread$Builder");
+
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClz.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            ThreadFactory factory = (ThreadFactory) builderClz.getMethod("factory").invoke(builder);
+
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (Throwable e) {
+            //低版本，或预览特性未开启
+            return null;
+        }
+    }
+
+
+    private final String name;
+    private final ExecutorMode mode;
+    private final ExecutorService real;
+    /**
+     * 排队上限（QUEUE 模式由队列自身限定；其它模式为 0 时不限）
+     */
+    private final int queueLimit;
+    private final LongAdder rejectedCount = new LongAdder();
+    private final AtomicInteger inflightCount = new AtomicInteger();
+
+    public ServerExecutor(String name, ExecutorMode mode, ExecutorService real, int queueLimit) {
+        this.name = name;
+        this.mode = mode;
+        this.real = real;
+        this.queueLimit = (mode == ExecutorMode.QUEUE ? 0 : queueLimit);
+    }
+
+    /**
+     * 真实执行器
+     */
+    public ExecutorService getReal() {
+        return real;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ExecutorMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        switch (mode) {
+            case FORKJOIN: {
+                ForkJoinPool pool = (ForkJoinPool) real;
+                return (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+            }
+            case VIRTUAL:
+                return inflightCount.get();
+            default:
+                return ((ThreadPoolExecutor) real).getQueue().size();
+        }
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 是否已饱和（供不能处理拒绝异常的适配器提前回应 503）
+     */
+    public boolean isSaturated() {
+        switch (mode) {
+            case POOL: {
+                ThreadPoolExecutor pool = (ThreadPoolExecutor) real;
+                return pool.getActiveCount() >= pool.getMaximumPoolSize();
+            }
+            case QUEUE: {
+                ThreadPoolExecutor pool = (ThreadPoolExecutor) real;
+                return pool.getQueue().remainingCapacity() == 0;
+            }
+            default:
+                return queueLimit > 0 && getQueueDepth() >= queueLimit;
+        }
+    }
+
+    /**
+     * 增加拒绝计数（适配器自行拒绝时）
+     */
+    public void incrementRejected() {
+        rejectedCount.increment();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (queueLimit > 0 && getQueueDepth() >= queueLimit) {
+            rejectedCount.increment();
+            throw new RejectedExecutionException("Server executor queue is full: " + name);
+        }
+
+        try {
+            if (mode == ExecutorMode.VIRTUAL) {
+                inflightCount.incrementAndGet();
+                try {
+                    real.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            inflightCount.decrementAndGet();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inflightCount.decrementAndGet();
+                    throw e;
+                }
+            } else {
+                real.execute(task);
+            }
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        real.shutdown();
+        statsMap.remove(name, this);
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        statsMap.remove(name, this);
+        return real.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return real.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return real.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return real.awaitTermination(timeout, unit);
+    }
+}
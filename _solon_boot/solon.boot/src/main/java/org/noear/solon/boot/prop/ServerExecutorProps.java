@@ -1,6 +1,7 @@
 package org.noear.solon.boot.prop;
 
-import org.noear.solon.core.util.NamedThreadFactory;
+import org.noear.solon.boot.executor.ExecutorMode;
+import org.noear.solon.boot.executor.ServerExecutor;
 
 import java.util.concurrent.*;
 
@@ -28,12 +29,27 @@ public interface ServerExecutorProps {
     long getIdleTimeout();
 
     /**
-     * 获取一个执行器（Bio 一级执行器）
+     * 执行器模式
+     *
+     * @since 2.3
+     */
+    default ExecutorMode getExecutorMode() {
+        return ExecutorMode.POOL;
+    }
+
+    /**
+     * 排队上限（0 表示默认）
+     *
+     * @since 2.3
+     */
+    default int getQueueSize() {
+        return 0;
+    }
+
+    /**
+     * 获取一个执行器（Bio 一级执行器；按执行器模式构建）
      */
     default ExecutorService getBioExecutor(String namePrefix) {
-        return new ThreadPoolExecutor(getCoreThreads(), getMaxThreads(true),
-                getIdleTimeout(), TimeUnit.MILLISECONDS,
-                new SynchronousQueue<>(), //BlockingQueue //SynchronousQueue
-                new NamedThreadFactory(namePrefix));
+        return ServerExecutor.create(this, namePrefix);
     }
 }
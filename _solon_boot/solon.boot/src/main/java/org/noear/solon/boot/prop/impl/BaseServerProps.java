@@ -2,6 +2,7 @@ package org.noear.solon.boot.prop.impl;
 
 import org.noear.solon.Solon;
 import org.noear.solon.Utils;
+import org.noear.solon.boot.executor.ExecutorMode;
 import org.noear.solon.boot.prop.ServerExecutorProps;
 import org.noear.solon.boot.prop.ServerSignalProps;
 
@@ -20,6 +21,8 @@ public abstract class BaseServerProps implements ServerSignalProps, ServerExecut
     private String PROP_CORE_THREADS = "server.@@.coreThreads";
     private String PROP_MAX_THREADS = "server.@@.maxThreads";
     private String PROP_IDLE_TIMEOUT = "server.@@.idleTimeout";
+    private String PROP_EXECUTOR = "server.@@.executor";
+    private String PROP_QUEUE_SIZE = "server.@@.queueSize";
 
     private String name;
     private int port;
@@ -31,6 +34,8 @@ public abstract class BaseServerProps implements ServerSignalProps, ServerExecut
     private int coreThreads;
     private int maxThreads;
     private long idleTimeout;
+    private ExecutorMode executorMode;
+    private int queueSize;
 
     protected BaseServerProps(String signalName, int portBase) {
         PROP_NAME = PROP_NAME.replace("@@", signalName);
@@ -44,6 +49,8 @@ public abstract class BaseServerProps implements ServerSignalProps, ServerExecut
         PROP_CORE_THREADS = PROP_CORE_THREADS.replace("@@", signalName);
         PROP_MAX_THREADS = PROP_MAX_THREADS.replace("@@", signalName);
         PROP_IDLE_TIMEOUT = PROP_IDLE_TIMEOUT.replace("@@", signalName);
+        PROP_EXECUTOR = PROP_EXECUTOR.replace("@@", signalName);
+        PROP_QUEUE_SIZE = PROP_QUEUE_SIZE.replace("@@", signalName);
 
         //
         initSignalProps(portBase);
@@ -126,6 +133,10 @@ public abstract class BaseServerProps implements ServerSignalProps, ServerExecut
         ioBound = Solon.cfg().getBool(PROP_IO_BOUND, true);
         idleTimeout = Solon.cfg().getLong(PROP_IDLE_TIMEOUT, 0L);
 
+        //支持：pool, queue, forkjoin, virtual
+        executorMode = ExecutorMode.of(Solon.cfg().get(PROP_EXECUTOR), ExecutorMode.POOL);
+        queueSize = Solon.cfg().getInt(PROP_QUEUE_SIZE, 0);
+
         //支持：16 或 x16（倍数）
         String coreThreadsStr = Solon.cfg().get(PROP_CORE_THREADS);
         if (Utils.isNotEmpty(coreThreadsStr)) {
@@ -209,4 +220,20 @@ public abstract class BaseServerProps implements ServerSignalProps, ServerExecut
             return 60000;
         }
     }
+
+    /**
+     * 执行器模式
+     */
+    @Override
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    /**
+     * 排队上限
+     */
+    @Override
+    public int getQueueSize() {
+        return queueSize;
+    }
 }
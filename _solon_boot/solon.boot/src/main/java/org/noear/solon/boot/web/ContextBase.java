@@ -3,9 +3,16 @@ package org.noear.solon.boot.web;
 import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.boot.ServerProps;
+import org.noear.solon.core.event.EventBus;
 import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextAsyncListener;
+import org.noear.solon.core.util.RunUtil;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author noear
@@ -199,4 +206,109 @@ public abstract class ContextBase extends Context {
     //一些特殊的boot才有效
     protected void commit() throws IOException {
     }
+
+
+    private List<ContextAsyncListener> asyncListeners;
+    private AtomicBoolean asyncCompleted; //不为 null，表示已开始异步
+    private ScheduledFuture<?> asyncTimeoutFuture;
+
+    @Override
+    public boolean asyncStarted() {
+        return asyncCompleted != null;
+    }
+
+    @Override
+    public void asyncStart(long timeout, ContextAsyncListener listener) {
+        if (asyncSupported() == false) {
+            throw new UnsupportedOperationException("This context does not support asynchronous response");
+        }
+
+        if (asyncCompleted == null) {
+            asyncStartDo();
+
+            asyncListeners = new CopyOnWriteArrayList<>();
+            asyncCompleted = new AtomicBoolean();
+        }
+
+        if (listener != null) {
+            asyncListeners.add(listener);
+        }
+
+        if (timeout > 0) {
+            if (asyncTimeoutFuture != null) {
+                asyncTimeoutFuture.cancel(false);
+            }
+
+            asyncTimeoutFuture = RunUtil.delay(this::asyncTimeoutDo, timeout);
+        }
+    }
+
+    @Override
+    public void asyncComplete() {
+        if (asyncCompleted == null || asyncCompleted.compareAndSet(false, true) == false) {
+            return;
+        }
+
+        if (asyncTimeoutFuture != null) {
+            asyncTimeoutFuture.cancel(false);
+        }
+
+        try {
+            commit();
+        } catch (Throwable e) {
+            EventBus.pushTry(e);
+
+            for (ContextAsyncListener l : asyncListeners) {
+                try {
+                    l.onError(this, e);
+                } catch (Throwable e2) {
+                    EventBus.pushTry(e2);
+                }
+            }
+        } finally {
+            asyncCompleteDo();
+        }
+
+        for (ContextAsyncListener l : asyncListeners) {
+            try {
+                l.onComplete(this);
+            } catch (Throwable e) {
+                EventBus.pushTry(e);
+            }
+        }
+    }
+
+    private void asyncTimeoutDo() {
+        if (asyncCompleted.get()) {
+            return;
+        }
+
+        for (ContextAsyncListener l : asyncListeners) {
+            try {
+                l.onTimeout(this);
+            } catch (Throwable e) {
+                EventBus.pushTry(e);
+            }
+        }
+
+        if (asyncCompleted.get() == false) {
+            if (getRendered() == false) {
+                status(500);
+            }
+
+            asyncComplete();
+        }
+    }
+
+    /**
+     * 异步开始时的准备（由适配器挂起请求；超时由这里统一处理）
+     */
+    protected void asyncStartDo() {
+    }
+
+    /**
+     * 异步完成后的收尾（由适配器释放请求）
+     */
+    protected void asyncCompleteDo() {
+    }
 }
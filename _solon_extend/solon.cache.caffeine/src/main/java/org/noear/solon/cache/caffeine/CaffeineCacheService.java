@@ -5,6 +5,8 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.data.cache.CacheService;
+import org.noear.solon.data.cache.CacheTagIndex;
+import org.noear.solon.data.cache.CacheTagIndexLocal;
 
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -20,6 +22,7 @@ public class CaffeineCacheService implements CacheService {
     private String _cacheKeyHead;
     private int _defaultSeconds;
     private Cache<String, Object> _data;
+    private final CacheTagIndex _tagIndex = new CacheTagIndexLocal();
 
     public CaffeineCacheService(Properties prop) {
         this(prop, prop.getProperty("keyHeader"), 0);
@@ -69,6 +72,11 @@ public class CaffeineCacheService implements CacheService {
         return _data.getIfPresent(key);
     }
 
+    @Override
+    public CacheTagIndex tagIndex() {
+        return _tagIndex;
+    }
+
     @Override
     public <T> T getOrStore(String key, int seconds, Supplier supplier) {
         return (T) _data.get(key, (k) -> supplier.get());
@@ -4,6 +4,7 @@ import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.core.event.EventBus;
 import org.noear.solon.data.cache.CacheService;
+import org.noear.solon.data.cache.CacheTagIndex;
 import org.redisson.api.RedissonClient;
 
 import java.util.Properties;
@@ -18,6 +19,7 @@ public class RedissonCacheService implements CacheService {
     protected int _defaultSeconds;
 
     protected final RedissonClient client;
+    private CacheTagIndex _tagIndex;
 
     public RedissonCacheService(RedissonClient client, String keyHeader, int defSeconds){
         this.client = client;
@@ -101,6 +103,15 @@ public class RedissonCacheService implements CacheService {
         client.getBucket(newKey).delete();
     }
 
+    @Override
+    public CacheTagIndex tagIndex() {
+        if (_tagIndex == null) {
+            _tagIndex = new RedissonTagIndex(client, _cacheKeyHead);
+        }
+
+        return _tagIndex;
+    }
+
     protected String newKey(String key) {
         return _cacheKeyHead + ":" + Utils.md5(key);
     }
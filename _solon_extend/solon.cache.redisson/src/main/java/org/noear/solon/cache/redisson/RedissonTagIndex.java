@@ -0,0 +1,63 @@
+package org.noear.solon.cache.redisson;
+
+import org.noear.solon.Utils;
+import org.noear.solon.data.cache.CacheTagIndex;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Redisson 封装的缓存标签索引（用 RScoredSortedSet；分数为成员的过期时间）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class RedissonTagIndex implements CacheTagIndex {
+    private final RedissonClient client;
+    private final String keyHeader;
+
+    public RedissonTagIndex(RedissonClient client, String keyHeader) {
+        this.client = client;
+        this.keyHeader = keyHeader;
+    }
+
+    @Override
+    public void add(String tagKey, String cacheKey, int seconds) {
+        //0 为服务默认时效（不可知），按不过期处理
+        double expireAt = (seconds > 0 ? System.currentTimeMillis() + seconds * 1000L : Long.MAX_VALUE);
+
+        //保留更长的过期时间（与本地实现一致）
+        getSet(tagKey).addIfGreater(expireAt, cacheKey);
+    }
+
+    @Override
+    public Collection<String> getAll(String tagKey) {
+        RScoredSortedSet<String> set = getSet(tagKey);
+
+        //清理过期成员
+        set.removeRangeByScore(0, true, System.currentTimeMillis(), false);
+
+        return set.readAll();
+    }
+
+    @Override
+    public Collection<String> removeAll(String tagKey) {
+        RScoredSortedSet<String> set = getSet(tagKey);
+        Collection<String> members = set.readAll();
+
+        if (members.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        //只移除读到的成员（期间新加入的成员不受影响）
+        set.removeAll(members);
+
+        return members;
+    }
+
+    private RScoredSortedSet<String> getSet(String tagKey) {
+        return client.getScoredSortedSet(keyHeader + ":tags:" + Utils.md5(tagKey));
+    }
+}
@@ -36,17 +36,34 @@ public class NamiFilterTracing implements Filter {
             return inv.invoke();
         } else {
             Span span = buildSpan(inv);
+            boolean finishLater = false;
 
             try (Scope scope = tracer.activateSpan(span)) {
                 TracingMDC.inject(span);
 
-                return inv.invoke();
+                Result result = inv.invoke();
+
+                if (inv.isAsync() && inv.future() != null) {
+                    //异步调用，在完成时结束
+                    finishLater = true;
+                    inv.future().whenComplete((r, e) -> {
+                        if (e != null) {
+                            span.log(Utils.throwableToString(e));
+                        }
+                        span.finish();
+                    });
+                }
+
+                return result;
             } catch (Throwable e) {
                 span.log(Utils.throwableToString(e));
                 throw e;
             } finally {
                 TracingMDC.removeSpanId();
-                span.finish();
+
+                if (finishLater == false) {
+                    span.finish();
+                }
             }
         }
     }
@@ -7,4 +7,11 @@ public class CloudEventException extends RuntimeException{
     public CloudEventException(Throwable cause){
         super(cause);
     }
+
+    /**
+     * @since 2.3
+     */
+    public CloudEventException(String message){
+        super(message);
+    }
 }
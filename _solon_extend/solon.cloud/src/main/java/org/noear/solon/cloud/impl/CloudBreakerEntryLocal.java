@@ -0,0 +1,237 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.BreakerCall;
+import org.noear.solon.cloud.model.BreakerEntrySim;
+import org.noear.solon.cloud.model.BreakerException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.noear.solon.cloud.impl.CloudBreakerWindow.*;
+
+/**
+ * 本地断路器（无锁）
+ *
+ * <pre><code>
+ * 1.限流：每秒请求数（1 秒滑动窗口，10 个时间片），并发数
+ * 2.熔断：统计窗口内，错误比例或慢调用比例达到阀值时打开；openSeconds 后半开，放行 halfOpenCalls 个探测调用
+ *   探测全部成功则关闭；有一个失败（或慢）则重新打开
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CloudBreakerEntryLocal extends BreakerEntrySim {
+    static final int CLOSED = 0;
+    static final int OPEN = 1;
+    static final int HALF_OPEN = 2;
+    static final String[] STATE_NAMES = {"CLOSED", "OPEN", "HALF_OPEN"};
+
+    private final String name;
+    private final CloudBreakerWindow qpsWindow = new CloudBreakerWindow(1000, 10);
+    private volatile CloudBreakerWindow statWindow;
+    private volatile CloudBreakerRule rule;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private volatile long openUntil;
+    private final AtomicInteger probePermits = new AtomicInteger();
+    private final AtomicInteger probeSuccesses = new AtomicInteger();
+
+    public CloudBreakerEntryLocal(String name, CloudBreakerRule rule) {
+        this.name = name;
+        this.rule = rule;
+        this.statWindow = new CloudBreakerWindow(rule.windowSeconds * 1000L, 10);
+    }
+
+    /**
+     * 断路器名
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 获取规则
+     */
+    public CloudBreakerRule rule() {
+        return rule;
+    }
+
+    /**
+     * 更新规则
+     */
+    public void rule(CloudBreakerRule rule) {
+        if (rule.windowSeconds != this.rule.windowSeconds) {
+            statWindow = new CloudBreakerWindow(rule.windowSeconds * 1000L, 10);
+        }
+
+        this.rule = rule;
+    }
+
+    /**
+     * 重置阀值（整数配置时，为并发数）
+     */
+    @Override
+    public void reset(int value) {
+        rule(rule.copy().concurrency(value));
+    }
+
+    @Override
+    public AutoCloseable enter() throws BreakerException {
+        long now = System.currentTimeMillis();
+        CloudBreakerRule r = rule;
+        boolean probe = false;
+
+        int s = state.get();
+        if (s == OPEN) {
+            if (now < openUntil) {
+                throw block(now);
+            }
+
+            if (state.compareAndSet(OPEN, HALF_OPEN)) {
+                probeSuccesses.set(0);
+                probePermits.set(r.halfOpenCalls);
+            }
+
+            s = HALF_OPEN;
+        }
+
+        if (s == HALF_OPEN) {
+            if (probePermits.getAndDecrement() <= 0) {
+                throw block(now);
+            }
+
+            probe = true;
+        }
+
+        if (active.incrementAndGet() > r.concurrency && r.concurrency > 0) {
+            active.decrementAndGet();
+            throw blockProbe(now, probe);
+        }
+
+        if (r.qps > 0) {
+            //检查并计数（一次 CAS，不会超发）
+            if (qpsWindow.tryAdd(PASS, now, r.qps) == false) {
+                active.decrementAndGet();
+                throw blockProbe(now, probe);
+            }
+        } else {
+            qpsWindow.add(PASS, now);
+        }
+
+        return new Call(this, probe);
+    }
+
+    /**
+     * 获取统计
+     */
+    public CloudBreakerStats stats() {
+        long now = System.currentTimeMillis();
+        CloudBreakerWindow w = statWindow;
+
+        return new CloudBreakerStats(name,
+                STATE_NAMES[state.get()],
+                active.get(),
+                qpsWindow.sum(PASS, now),
+                w.sum(BLOCK, now),
+                w.sum(COMPLETE, now),
+                w.sum(ERROR, now),
+                w.sum(SLOW, now));
+    }
+
+    private BreakerException blockProbe(long now, boolean probe) {
+        if (probe) {
+            //归还探测名额
+            probePermits.incrementAndGet();
+        }
+
+        return block(now);
+    }
+
+    private BreakerException block(long now) {
+        statWindow.add(BLOCK, now);
+        return new BreakerException();
+    }
+
+    private void complete(Call call) {
+        active.decrementAndGet();
+
+        long now = System.currentTimeMillis();
+        CloudBreakerRule r = rule;
+        CloudBreakerWindow w = statWindow;
+        boolean slow = r.slowRatio > 0 && (System.nanoTime() - call.start) / 1_000_000L >= r.slowMillis;
+
+        w.add(COMPLETE, now);
+        if (call.failed) {
+            w.add(ERROR, now);
+        }
+        if (slow) {
+            w.add(SLOW, now);
+        }
+
+        if (call.probe) {
+            if (call.failed || slow) {
+                trip(HALF_OPEN, r, now);
+            } else if (probeSuccesses.incrementAndGet() >= r.halfOpenCalls) {
+                if (state.compareAndSet(HALF_OPEN, CLOSED)) {
+                    //恢复后重新统计
+                    w.reset();
+                }
+            }
+
+            return;
+        }
+
+        //只有出错或慢的时候，比例才会上升
+        if ((call.failed && r.errorRatio > 0) || slow) {
+            if (state.get() != CLOSED) {
+                return;
+            }
+
+            long total = w.sum(COMPLETE, now);
+            if (total < r.minCalls) {
+                return;
+            }
+
+            if ((r.errorRatio > 0 && w.sum(ERROR, now) >= r.errorRatio * total) ||
+                    (r.slowRatio > 0 && w.sum(SLOW, now) >= r.slowRatio * total)) {
+                trip(CLOSED, r, now);
+            }
+        }
+    }
+
+    private void trip(int expect, CloudBreakerRule r, long now) {
+        //先设时间，再改状态（读到 OPEN 时，时间已是新的）
+        openUntil = now + r.openSeconds * 1000L;
+        state.compareAndSet(expect, OPEN);
+    }
+
+    /**
+     * 一次调用
+     */
+    static class Call implements BreakerCall {
+        final CloudBreakerEntryLocal owner;
+        final long start = System.nanoTime();
+        final boolean probe;
+        boolean failed;
+        boolean closed;
+
+        Call(CloudBreakerEntryLocal owner, boolean probe) {
+            this.owner = owner;
+            this.probe = probe;
+        }
+
+        @Override
+        public void error(Throwable e) {
+            failed = true;
+        }
+
+        @Override
+        public void close() {
+            if (closed == false) {
+                closed = true;
+                owner.complete(this);
+            }
+        }
+    }
+}
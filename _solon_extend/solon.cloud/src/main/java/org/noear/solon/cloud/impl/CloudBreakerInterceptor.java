@@ -4,6 +4,7 @@ import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.cloud.CloudClient;
 import org.noear.solon.cloud.annotation.CloudBreaker;
+import org.noear.solon.cloud.model.BreakerCall;
 import org.noear.solon.cloud.model.BreakerException;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.aspect.Interceptor;
@@ -30,7 +31,15 @@ public class CloudBreakerInterceptor implements Interceptor {
             String name = Solon.cfg().getByParse(Utils.annoAlias(anno.value(), anno.name()));
 
             try (AutoCloseable entry = CloudClient.breaker().entry(name)) {
-                return inv.invoke();
+                try {
+                    return inv.invoke();
+                } catch (Throwable e) {
+                    if (entry instanceof BreakerCall) {
+                        //反馈异常（用于按错误比例熔断）
+                        ((BreakerCall) entry).error(e);
+                    }
+                    throw e;
+                }
             } catch (BreakerException ex) {
                 Context ctx = Context.current();
                 if (ctx != null) {
@@ -0,0 +1,136 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.core.Props;
+
+/**
+ * 本地断路器规则（值为 0 的，表示不启用）
+ *
+ * <pre><code>
+ * solon.cloud.local.breaker:
+ *   hello:
+ *     qps: 100            #每秒请求数（滑动窗口）
+ *     concurrency: 20     #并发数
+ *     errorRatio: 0.5     #错误比例（达到则熔断）
+ *     slowRatio: 0.5      #慢调用比例（达到则熔断）
+ *     slowMillis: 1000    #慢调用的时长
+ *     minCalls: 20        #统计窗口内的最少调用数（少于则不熔断）
+ *     windowSeconds: 10   #统计窗口
+ *     openSeconds: 5      #熔断时长（之后半开，放行探测调用）
+ *     halfOpenCalls: 3    #半开时的探测调用数（全部成功则恢复）
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CloudBreakerRule {
+    static final String[] FIELDS = {"qps", "concurrency", "errorRatio", "slowRatio", "slowMillis",
+            "minCalls", "windowSeconds", "openSeconds", "halfOpenCalls"};
+
+    int qps;
+    int concurrency;
+    double errorRatio;
+    double slowRatio;
+    long slowMillis = 1000;
+    int minCalls = 20;
+    int windowSeconds = 10;
+    int openSeconds = 5;
+    int halfOpenCalls = 3;
+
+    public CloudBreakerRule qps(int qps) {
+        this.qps = qps;
+        return this;
+    }
+
+    public CloudBreakerRule concurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public CloudBreakerRule errorRatio(double errorRatio) {
+        this.errorRatio = errorRatio;
+        return this;
+    }
+
+    public CloudBreakerRule slowRatio(double slowRatio, long slowMillis) {
+        this.slowRatio = slowRatio;
+        this.slowMillis = slowMillis;
+        return this;
+    }
+
+    public CloudBreakerRule minCalls(int minCalls) {
+        this.minCalls = minCalls;
+        return this;
+    }
+
+    public CloudBreakerRule windowSeconds(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+        return this;
+    }
+
+    public CloudBreakerRule openSeconds(int openSeconds) {
+        this.openSeconds = openSeconds;
+        return this;
+    }
+
+    public CloudBreakerRule halfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+        return this;
+    }
+
+    /**
+     * 复制
+     */
+    public CloudBreakerRule copy() {
+        return new CloudBreakerRule().bind(this);
+    }
+
+    /**
+     * 是否为规则字段（如 hello.qps）
+     */
+    static boolean isField(String key) {
+        int idx = key.lastIndexOf('.');
+        if (idx > 0) {
+            String name = key.substring(idx + 1);
+            for (String f : FIELDS) {
+                if (f.equals(name)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 从配置加载（前缀为断路器名）
+     */
+    CloudBreakerRule load(Props props, String name) {
+        String prefix = name + ".";
+
+        qps = props.getInt(prefix + "qps", qps);
+        concurrency = props.getInt(prefix + "concurrency", concurrency);
+        errorRatio = props.getDouble(prefix + "errorRatio", errorRatio);
+        slowRatio = props.getDouble(prefix + "slowRatio", slowRatio);
+        slowMillis = props.getLong(prefix + "slowMillis", slowMillis);
+        minCalls = props.getInt(prefix + "minCalls", minCalls);
+        windowSeconds = Math.max(1, props.getInt(prefix + "windowSeconds", windowSeconds));
+        openSeconds = Math.max(1, props.getInt(prefix + "openSeconds", openSeconds));
+        halfOpenCalls = Math.max(1, props.getInt(prefix + "halfOpenCalls", halfOpenCalls));
+
+        return this;
+    }
+
+    private CloudBreakerRule bind(CloudBreakerRule from) {
+        qps = from.qps;
+        concurrency = from.concurrency;
+        errorRatio = from.errorRatio;
+        slowRatio = from.slowRatio;
+        slowMillis = from.slowMillis;
+        minCalls = from.minCalls;
+        windowSeconds = from.windowSeconds;
+        openSeconds = from.openSeconds;
+        halfOpenCalls = from.halfOpenCalls;
+
+        return this;
+    }
+}
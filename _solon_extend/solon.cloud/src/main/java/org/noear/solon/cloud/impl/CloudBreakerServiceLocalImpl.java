@@ -6,8 +6,12 @@ import org.noear.solon.cloud.model.BreakerException;
 import org.noear.solon.cloud.service.CloudBreakerService;
 import org.noear.solon.core.Props;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 本地熔断服务
@@ -16,64 +20,141 @@ import java.util.Map;
  * sbc：并发链接数，Simultaneous Browser Connections
  * qps：每秒请求数，Query Per Second
  *
+ * <pre><code>
+ * solon.cloud.local.breaker:
+ *   root: 200          #整数配置：默认值（动态创建时用），由 create(name, value) 创建
+ *   main: 20           #整数配置
+ *   hello:             #规则配置：由内置的本地断路器处理（见 CloudBreakerRule）
+ *     qps: 100
+ *     errorRatio: 0.5
+ * </code></pre>
+ *
  * @author noear
  * @since 1.3
  */
-public abstract class CloudBreakerServiceLocalImpl implements CloudBreakerService {
+public class CloudBreakerServiceLocalImpl implements CloudBreakerService {
     static final String CONFIG_PREFIX = "solon.cloud.local.breaker";
     static final String CONFIG_DEF = "root";
 
-    private Map<String, BreakerEntrySim> breakers = new HashMap<>();
-    private int rootValue = 0;
+    private final Map<String, BreakerEntrySim> breakers = new ConcurrentHashMap<>();
+    private volatile int rootValue = 0;
+    private volatile CloudBreakerRule rootRule;
 
     public CloudBreakerServiceLocalImpl() {
         Props props = Solon.cfg().getProp(CONFIG_PREFIX);
 
         if (props.size() > 0) {
             //默认值
-            rootValue = props.getInt(CONFIG_DEF,0);
+            rootValue = props.getInt(CONFIG_DEF, 0);
 
             //初始化
             //
+            Set<String> ruleNames = new LinkedHashSet<>();
             for (Object k : props.keySet()) {
                 if (k instanceof String) {
                     String key = (String) k;
-                    int val = props.getInt(key, 0);
-                    if (val > 0) {
-                        breakers.put(key, create(key, val));
+
+                    if (CloudBreakerRule.isField(key)) {
+                        ruleNames.add(key.substring(0, key.lastIndexOf('.')));
+                    } else {
+                        int val = props.getInt(key, 0);
+                        if (val > 0) {
+                            breakers.put(key, create(key, val));
+                        }
                     }
                 }
             }
 
+            for (String name : ruleNames) {
+                loadRule(props, name);
+            }
+
             //增加配置变化监听
             //
             Solon.cfg().onChange((key, val) -> {
-                if (key.startsWith(CONFIG_PREFIX)) {
+                if (key.startsWith(CONFIG_PREFIX + ".")) {
                     String name = key.substring(CONFIG_PREFIX.length() + 1);
-                    BreakerEntrySim tmp = breakers.get(name);
-                    if (tmp != null) {
-                        tmp.reset(Integer.parseInt(val));
+
+                    if (CloudBreakerRule.isField(name)) {
+                        loadRule(Solon.cfg().getProp(CONFIG_PREFIX), name.substring(0, name.lastIndexOf('.')));
+                    } else {
+                        BreakerEntrySim tmp = breakers.get(name);
+                        if (tmp != null) {
+                            tmp.reset(Integer.parseInt(val));
+                        } else if (CONFIG_DEF.equals(name)) {
+                            rootValue = Integer.parseInt(val);
+                        }
                     }
                 }
             });
         }
     }
 
-    protected abstract BreakerEntrySim create(String name, int value);
+    /**
+     * 创建断路器（整数配置；默认为并发数）
+     */
+    protected BreakerEntrySim create(String name, int value) {
+        return new CloudBreakerEntryLocal(name, new CloudBreakerRule().concurrency(value));
+    }
+
+    /**
+     * 注册断路器（有则更新规则）
+     *
+     * @since 2.3
+     */
+    public void register(String name, CloudBreakerRule rule) {
+        breakers.compute(name, (k, tmp) -> {
+            if (tmp instanceof CloudBreakerEntryLocal) {
+                ((CloudBreakerEntryLocal) tmp).rule(rule);
+                return tmp;
+            } else {
+                return new CloudBreakerEntryLocal(k, rule);
+            }
+        });
+    }
+
+    /**
+     * 获取统计（仅内置的本地断路器）
+     *
+     * @since 2.3
+     */
+    public CloudBreakerStats stats(String name) {
+        BreakerEntrySim tmp = breakers.get(name);
+
+        if (tmp instanceof CloudBreakerEntryLocal) {
+            return ((CloudBreakerEntryLocal) tmp).stats();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * 获取所有统计（仅内置的本地断路器）
+     *
+     * @since 2.3
+     */
+    public List<CloudBreakerStats> stats() {
+        List<CloudBreakerStats> list = new ArrayList<>();
+
+        for (BreakerEntrySim tmp : breakers.values()) {
+            if (tmp instanceof CloudBreakerEntryLocal) {
+                list.add(((CloudBreakerEntryLocal) tmp).stats());
+            }
+        }
+
+        return list;
+    }
 
     @Override
     public AutoCloseable entry(String breakerName) throws BreakerException {
         BreakerEntrySim tmp = breakers.get(breakerName);
 
-        if(tmp == null && rootValue > 0) {
+        if (tmp == null) {
             //动态创建
-            synchronized (breakerName.intern()) {
-                tmp = breakers.get(breakerName);
-
-                if (tmp == null) {
-                    tmp = create(breakerName, rootValue);
-                    breakers.put(breakerName, tmp);
-                }
+            if (rootRule != null) {
+                tmp = breakers.computeIfAbsent(breakerName, k -> new CloudBreakerEntryLocal(k, rootRule.copy()));
+            } else if (rootValue > 0) {
+                tmp = breakers.computeIfAbsent(breakerName, k -> create(k, rootValue));
             }
         }
 
@@ -83,4 +164,19 @@ public abstract class CloudBreakerServiceLocalImpl implements CloudBreakerServic
             return tmp.enter();
         }
     }
+
+    private void loadRule(Props props, String name) {
+        if (CONFIG_DEF.equals(name)) {
+            CloudBreakerRule tmp = rootRule;
+            rootRule = (tmp == null ? new CloudBreakerRule() : tmp.copy()).load(props, name);
+        } else {
+            BreakerEntrySim tmp = breakers.get(name);
+
+            if (tmp instanceof CloudBreakerEntryLocal) {
+                register(name, ((CloudBreakerEntryLocal) tmp).rule().copy().load(props, name));
+            } else {
+                register(name, new CloudBreakerRule().load(props, name));
+            }
+        }
+    }
 }
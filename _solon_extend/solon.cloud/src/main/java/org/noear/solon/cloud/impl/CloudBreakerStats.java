@@ -0,0 +1,99 @@
+package org.noear.solon.cloud.impl;
+
+/**
+ * 本地断路器统计（快照）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CloudBreakerStats {
+    private final String name;
+    private final String state;
+    private final int active;
+    private final long qps;
+    private final long blocked;
+    private final long completed;
+    private final long errors;
+    private final long slowCalls;
+
+    public CloudBreakerStats(String name, String state, int active, long qps, long blocked, long completed, long errors, long slowCalls) {
+        this.name = name;
+        this.state = state;
+        this.active = active;
+        this.qps = qps;
+        this.blocked = blocked;
+        this.completed = completed;
+        this.errors = errors;
+        this.slowCalls = slowCalls;
+    }
+
+    /**
+     * 断路器名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 状态（CLOSED, OPEN, HALF_OPEN）
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * 当前并发数
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * 最近一秒的通过数
+     */
+    public long getQps() {
+        return qps;
+    }
+
+    /**
+     * 统计窗口内的拒绝数
+     */
+    public long getBlocked() {
+        return blocked;
+    }
+
+    /**
+     * 统计窗口内的完成数
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * 统计窗口内的错误数
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * 统计窗口内的慢调用数
+     */
+    public long getSlowCalls() {
+        return slowCalls;
+    }
+
+    /**
+     * 错误比例
+     */
+    public double getErrorRatio() {
+        return completed == 0 ? 0D : (double) errors / completed;
+    }
+
+    /**
+     * 慢调用比例
+     */
+    public double getSlowRatio() {
+        return completed == 0 ? 0D : (double) slowCalls / completed;
+    }
+}
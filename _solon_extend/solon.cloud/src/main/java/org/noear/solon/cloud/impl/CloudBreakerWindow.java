@@ -0,0 +1,129 @@
+package org.noear.solon.cloud.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 断路器滑动窗口（环形时间片；过期的时间片在写入时整体替换，无锁）
+ *
+ * @author noear
+ * @since 2.3
+ */
+class CloudBreakerWindow {
+    static final int PASS = 0;
+    static final int BLOCK = 1;
+    static final int COMPLETE = 2;
+    static final int ERROR = 3;
+    static final int SLOW = 4;
+    static final int TYPE_COUNT = 5;
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final long slotMillis;
+
+    /**
+     * @param windowMillis 窗口时长（毫秒）
+     * @param slotCount    时间片数量
+     */
+    CloudBreakerWindow(long windowMillis, int slotCount) {
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.slotMillis = Math.max(1L, windowMillis / slotCount);
+    }
+
+    /**
+     * 增加计数
+     */
+    void add(int type, long now) {
+        currentSlot(now / slotMillis).counts.incrementAndGet(type);
+    }
+
+    /**
+     * 没超过限制时增加计数（检查与增加为一次 CAS；只有当前时间片会被写入，其它时间片的计数不变）
+     *
+     * @return 是否增加了
+     */
+    boolean tryAdd(int type, long now, long limit) {
+        long epoch = now / slotMillis;
+        Slot current = currentSlot(epoch);
+        long others = 0;
+
+        for (int i = 0; i < slots.length(); i++) {
+            Slot slot = slots.get(i);
+
+            if (slot != null && slot != current && slot.epoch > epoch - slots.length()) {
+                others += slot.counts.get(type);
+            }
+        }
+
+        while (true) {
+            long count = current.counts.get(type);
+
+            if (others + count >= limit) {
+                return false;
+            }
+
+            if (current.counts.compareAndSet(type, count, count + 1)) {
+                //跨时间片的竞争：下一个时间片已启用（别的线程已按新时间计数），复核总数
+                Slot next = slots.get((int) ((epoch + 1) % slots.length()));
+                if (next != null && next.epoch > epoch && sum(type, next.epoch * slotMillis) > limit) {
+                    current.counts.decrementAndGet(type);
+                    return false;
+                }
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 窗口内的计数
+     */
+    long sum(int type, long now) {
+        long epoch = now / slotMillis;
+        long total = 0;
+
+        for (int i = 0; i < slots.length(); i++) {
+            Slot slot = slots.get(i);
+
+            if (slot != null && slot.epoch > epoch - slots.length()) {
+                total += slot.counts.get(type);
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * 清空
+     */
+    void reset() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private Slot currentSlot(long epoch) {
+        int idx = (int) (epoch % slots.length());
+
+        while (true) {
+            Slot slot = slots.get(idx);
+
+            if (slot != null && slot.epoch >= epoch) {
+                return slot;
+            }
+
+            Slot slotNew = new Slot(epoch);
+            if (slots.compareAndSet(idx, slot, slotNew)) {
+                return slotNew;
+            }
+        }
+    }
+
+    static class Slot {
+        final long epoch;
+        final AtomicLongArray counts = new AtomicLongArray(TYPE_COUNT);
+
+        Slot(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.CloudClient;
+import org.noear.solon.cloud.annotation.EventLevel;
+import org.noear.solon.cloud.model.Event;
+import org.noear.solon.data.cache.CacheInvalidationChannel;
+import org.noear.solon.data.cache.CacheLib;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效通道云端实现（基于云端事件服务；每个实例都会收到）
+ *
+ * <pre><code>
+ * 事件服务不能取消关注，所以只关注一次，再分发给本地的监听者
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CloudCacheInvalidationChannel implements CacheInvalidationChannel {
+    public static final String TOPIC = "SOLON_CACHE_INVALIDATION";
+
+    /**
+     * 注册为默认的缓存失效通道
+     */
+    public static void register() {
+        CacheLib.invalidationChannelSet(new CloudCacheInvalidationChannel(TOPIC));
+    }
+
+    private final String topic;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean attended = new AtomicBoolean();
+
+    public CloudCacheInvalidationChannel(String topic) {
+        this.topic = topic;
+    }
+
+    @Override
+    public void publish(String message) {
+        CloudClient.event().publish(new Event(topic, message));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+
+        if (attended.compareAndSet(false, true)) {
+            CloudClient.event().attention(EventLevel.instance, "", "", topic, "", event -> {
+                for (Consumer<String> l : listeners) {
+                    l.accept(event.content());
+                }
+                return true;
+            });
+        }
+    }
+
+    @Override
+    public void unsubscribe(Consumer<String> listener) {
+        listeners.remove(listener);
+    }
+}
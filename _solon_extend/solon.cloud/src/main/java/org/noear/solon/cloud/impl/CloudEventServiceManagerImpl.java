@@ -9,8 +9,8 @@ import org.noear.solon.cloud.exception.CloudEventException;
 import org.noear.solon.cloud.model.Event;
 import org.noear.solon.cloud.service.CloudEventServicePlus;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -88,6 +88,44 @@ public class CloudEventServiceManagerImpl implements CloudEventServiceManager {
      */
     @Override
     public boolean publish(Event event) throws CloudEventException {
+        return prepare(event).publish(event);
+    }
+
+    /**
+     * 批量发布事件（按通道分组后，交给各自的事件服务）
+     *
+     * @param events 事件集合
+     */
+    @Override
+    public boolean publishBatch(Collection<Event> events) throws CloudEventException {
+        Map<CloudEventServicePlus, List<Event>> groups = new LinkedHashMap<>();
+
+        for (Event event : events) {
+            groups.computeIfAbsent(prepare(event), k -> new ArrayList<>()).add(event);
+        }
+
+        boolean isOk = true;
+        for (Map.Entry<CloudEventServicePlus, List<Event>> kv : groups.entrySet()) {
+            isOk = kv.getKey().publishBatch(kv.getValue()) && isOk;
+        }
+
+        return isOk;
+    }
+
+    /**
+     * 异步发布事件
+     *
+     * @param event 事件
+     */
+    @Override
+    public CompletableFuture<Boolean> publishAsync(Event event) {
+        return prepare(event).publishAsync(event);
+    }
+
+    /**
+     * 准备事件（补充分组与键），并返回对应通道的事件服务
+     */
+    private CloudEventServicePlus prepare(Event event) {
         CloudEventServicePlus tmp = getOrThrow(event.channel());
 
         if (Utils.isEmpty(event.group())) {
@@ -98,7 +136,7 @@ public class CloudEventServiceManagerImpl implements CloudEventServiceManager {
             event.key(Utils.guid());
         }
 
-        return tmp.publish(event);
+        return tmp;
     }
 
     /**
@@ -5,6 +5,8 @@ import org.noear.solon.cloud.CloudClient;
 import org.noear.solon.core.LoadBalance;
 import org.noear.solon.cloud.model.Discovery;
 
+import java.util.function.Predicate;
+
 /**
  * 负载均衡
  *
@@ -30,6 +32,17 @@ public class CloudLoadBalance implements LoadBalance {
         }
     }
 
+    private static Predicate<String> ejected;
+
+    /**
+     * 设置实例摘除检测（被摘除的实例，在到期前跳过）
+     *
+     * @since 2.3
+     */
+    public static void setEjected(Predicate<String> ejected) {
+        CloudLoadBalance.ejected = ejected;
+    }
+
     ////////////////
 
     private final String service;
@@ -93,9 +106,22 @@ public class CloudLoadBalance implements LoadBalance {
                 if (discovery.clusterSize() == 0) {
                     return null;
                 } else {
-                    return getStrategy().getServer(discovery);
+                    return getServerDo(discovery);
                 }
             }
         }
     }
+
+    private String getServerDo(Discovery discovery) {
+        String server = getStrategy().getServer(discovery);
+
+        if (ejected != null) {
+            //跳过被摘除的实例（都被摘除时，照常返回）
+            for (int i = 1; i < discovery.clusterSize() && ejected.test(server); i++) {
+                server = getStrategy().getServer(discovery);
+            }
+        }
+
+        return server;
+    }
 }
@@ -3,29 +3,30 @@ package org.noear.solon.cloud.impl;
 import org.noear.solon.cloud.model.Discovery;
 import org.noear.solon.cloud.model.Instance;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * 默认负载策略
+ * 默认负载策略（轮询；计数器为 AtomicInteger，无锁）
  *
  * @author noear
  * @since 2.2
  */
 public class CloudLoadStrategyDefault implements CloudLoadStrategy {
-    private static final int indexMax = 99999999;
-
     @Override
     public String getServer(Discovery discovery) {
-        Instance instance;
+        Object attachment = discovery.attachment();
+        AtomicInteger counter;
 
-        synchronized (discovery.service().intern()) {
-            Integer index = discovery.attachment();
-            if (index == null || index > indexMax) {
-                index = 0;
-            }
-
-            instance = discovery.instanceGet(index++);
-            discovery.attachmentSet(index);
+        if (attachment instanceof AtomicInteger) {
+            counter = (AtomicInteger) attachment;
+        } else {
+            counter = new AtomicInteger();
+            discovery.attachmentSet(counter);
         }
 
+        //溢出后为负数，去掉符号位
+        Instance instance = discovery.instanceGet(counter.getAndIncrement() & Integer.MAX_VALUE);
+
         return instance.uri();
     }
 }
@@ -0,0 +1,90 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.nami.Filter;
+import org.noear.nami.Invocation;
+import org.noear.nami.NamiManager;
+import org.noear.nami.Result;
+
+/**
+ * Nami 负载反馈过滤器（为需要调用反馈的负载策略，记录调用的开始与结束）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CloudLoadStrategyFilter implements Filter {
+    /**
+     * 注册过滤器
+     */
+    public static void register() {
+        NamiManager.reg(new CloudLoadStrategyFilter());
+    }
+
+    @Override
+    public Result doFilter(Invocation inv) throws Throwable {
+        CloudLoadStrategy strategy = CloudLoadBalance.getStrategy();
+
+        if (strategy instanceof CloudLoadStrategyTracked) {
+            String server = getServer(inv.url);
+
+            if (server != null) {
+                CloudLoadStrategyTracked tracked = (CloudLoadStrategyTracked) strategy;
+                long start = System.nanoTime();
+
+                tracked.onStart(server);
+
+                if (inv.isAsync()) {
+                    //异步调用，在完成时结束
+                    Result result;
+                    try {
+                        result = inv.invoke();
+                    } catch (Throwable e) {
+                        tracked.onEnd(server, System.nanoTime() - start, false);
+                        throw e;
+                    }
+
+                    if (inv.future() == null) {
+                        tracked.onEnd(server, System.nanoTime() - start, true);
+                    } else {
+                        inv.future().whenComplete((r, e) -> {
+                            tracked.onEnd(server, System.nanoTime() - start, e == null && (r == null || r.code() < 500));
+                        });
+                    }
+
+                    return result;
+                }
+
+                boolean succeeded = false;
+                try {
+                    Result result = inv.invoke();
+                    succeeded = (result == null || result.code() < 500);
+                    return result;
+                } finally {
+                    tracked.onEnd(server, System.nanoTime() - start, succeeded);
+                }
+            }
+        }
+
+        return inv.invoke();
+    }
+
+    /**
+     * 取服务地址（http://127.0.0.1:8080/demo/hello -> http://127.0.0.1:8080）
+     */
+    private static String getServer(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        int idx = url.indexOf("://");
+        if (idx < 0) {
+            return null;
+        }
+
+        int end = url.indexOf('/', idx + 3);
+        if (end < 0) {
+            return url;
+        } else {
+            return url.substring(0, end);
+        }
+    }
+}
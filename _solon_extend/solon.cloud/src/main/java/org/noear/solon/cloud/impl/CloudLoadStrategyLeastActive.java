@@ -0,0 +1,239 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 最少活跃 + 峰值 EWMA 负载策略
+ *
+ * <pre><code>
+ * 1.按实例记录：进行中的调用数，延时的峰值 EWMA（慢了立即跟上，快了按时间衰减）
+ * 2.随机取两个实例，选代价小的：(ewma + 1) * (active + 1)
+ * 3.需要调用反馈（Nami 已自动接入；其它客户端可调用 onStart / onEnd）
+ * 4.按服务记录最近的实例列表；列表变化时，移除已下线（且不属于其它服务）的实例统计
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CloudLoadStrategyLeastActive implements CloudLoadStrategyTracked {
+    /**
+     * 衰减时间常数（纳秒）
+     */
+    private final double decayNanos;
+    /**
+     * 失败时的惩罚延时（纳秒）
+     */
+    private final long failurePenaltyNanos;
+
+    private final Map<String, Stats> statsMap = new ConcurrentHashMap<>();
+    private final Map<String, Members> membersMap = new ConcurrentHashMap<>();
+
+    public CloudLoadStrategyLeastActive() {
+        this(10_000, 1_000);
+    }
+
+    /**
+     * @param decayMillis          衰减时间常数（毫秒）
+     * @param failurePenaltyMillis 失败时的惩罚延时（毫秒）
+     */
+    public CloudLoadStrategyLeastActive(long decayMillis, long failurePenaltyMillis) {
+        this.decayNanos = decayMillis * 1_000_000D;
+        this.failurePenaltyNanos = failurePenaltyMillis * 1_000_000L;
+    }
+
+    @Override
+    public String getServer(Discovery discovery) {
+        refresh(discovery);
+
+        int size = discovery.clusterSize();
+
+        if (size == 1) {
+            return discovery.instanceGet(0).uri();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i1 = random.nextInt(size);
+        int i2 = random.nextInt(size - 1);
+        if (i2 >= i1) {
+            i2++;
+        }
+
+        Instance n1 = discovery.instanceGet(i1);
+        Instance n2 = discovery.instanceGet(i2);
+
+        if (cost(n1.uri()) <= cost(n2.uri())) {
+            return n1.uri();
+        } else {
+            return n2.uri();
+        }
+    }
+
+    @Override
+    public void onStart(String server) {
+        getStats(server).active.incrementAndGet();
+    }
+
+    @Override
+    public void onEnd(String server, long elapsedNanos, boolean succeeded) {
+        Stats stats = statsMap.get(server);
+
+        if (stats == null) {
+            //调用过程中，实例已下线（统计已移除）
+            return;
+        }
+
+        stats.active.decrementAndGet();
+
+        if (succeeded) {
+            stats.observe(elapsedNanos, decayNanos);
+        } else {
+            stats.observe(Math.max(elapsedNanos, failurePenaltyNanos), decayNanos);
+        }
+    }
+
+    private double cost(String server) {
+        Stats stats = statsMap.get(server);
+
+        if (stats == null) {
+            //没有记录的（新实例），优先
+            return 0D;
+        } else {
+            return (stats.ewma(decayNanos) + 1D) * (stats.active.get() + 1);
+        }
+    }
+
+    /**
+     * 统计的实例数量
+     */
+    public int statsSize() {
+        return statsMap.size();
+    }
+
+    /**
+     * 实例列表变化时（换了对象，或数量变了），移除下线实例的统计
+     */
+    private void refresh(Discovery discovery) {
+        Members members = membersMap.get(discovery.service());
+
+        if (members != null && members.discovery == discovery && members.size == discovery.clusterSize()) {
+            return;
+        }
+
+        synchronized (membersMap) {
+            members = membersMap.get(discovery.service());
+
+            if (members != null && members.discovery == discovery && members.size == discovery.clusterSize()) {
+                return;
+            }
+
+            Members membersNew = new Members(discovery);
+            membersMap.put(discovery.service(), membersNew);
+
+            if (members != null) {
+                for (String server : members.servers) {
+                    if (membersNew.servers.contains(server) == false && isMember(server) == false) {
+                        statsMap.remove(server);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isMember(String server) {
+        for (Members members : membersMap.values()) {
+            if (members.servers.contains(server)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Stats getStats(String server) {
+        Stats stats = statsMap.get(server);
+
+        if (stats == null) {
+            stats = statsMap.computeIfAbsent(server, k -> new Stats());
+        }
+
+        return stats;
+    }
+
+    /**
+     * 服务的实例列表
+     */
+    static class Members {
+        final Discovery discovery;
+        final int size;
+        final Set<String> servers = new HashSet<>();
+
+        Members(Discovery discovery) {
+            this.discovery = discovery;
+            this.size = discovery.clusterSize();
+
+            for (int i = 0; i < size; i++) {
+                servers.add(discovery.instanceGet(i).uri());
+            }
+        }
+    }
+
+    /**
+     * 实例统计
+     */
+    static class Stats {
+        final AtomicInteger active = new AtomicInteger();
+        /**
+         * 延时的 EWMA（double 的位）
+         */
+        final AtomicLong ewmaBits = new AtomicLong(Double.doubleToRawLongBits(0D));
+        volatile long stamp = System.nanoTime();
+
+        /**
+         * 当前值（按空闲时间衰减）
+         */
+        double ewma(double decayNanos) {
+            double ewma = Double.longBitsToDouble(ewmaBits.get());
+            long elapsed = System.nanoTime() - stamp;
+
+            if (elapsed > 0) {
+                ewma = ewma * Math.exp(-elapsed / decayNanos);
+            }
+
+            return ewma;
+        }
+
+        /**
+         * 记录一次延时（比当前值大，直接取峰值；否则按时间衰减加权）
+         */
+        void observe(long rtt, double decayNanos) {
+            long now = System.nanoTime();
+
+            while (true) {
+                long bits = ewmaBits.get();
+                double ewma = Double.longBitsToDouble(bits);
+                double ewmaNew;
+
+                if (rtt > ewma) {
+                    ewmaNew = rtt;
+                } else {
+                    double w = Math.exp(-Math.max(now - stamp, 0L) / decayNanos);
+                    ewmaNew = ewma * w + rtt * (1D - w);
+                }
+
+                if (ewmaBits.compareAndSet(bits, Double.doubleToRawLongBits(ewmaNew))) {
+                    stamp = now;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.noear.solon.cloud.impl;
+
+/**
+ * 需要调用反馈的负载策略（由 Nami 过滤器回调）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public interface CloudLoadStrategyTracked extends CloudLoadStrategy {
+    /**
+     * 调用开始
+     *
+     * @param server 服务地址（如 http://127.0.0.1:8080）
+     */
+    void onStart(String server);
+
+    /**
+     * 调用结束
+     *
+     * @param server       服务地址
+     * @param elapsedNanos 耗时（纳秒）
+     * @param succeeded    是否成功
+     */
+    void onEnd(String server, long elapsedNanos, boolean succeeded);
+}
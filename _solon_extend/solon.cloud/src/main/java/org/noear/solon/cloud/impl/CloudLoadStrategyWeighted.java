@@ -0,0 +1,110 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 平滑加权轮询负载策略（按 Instance::weight）
+ *
+ * <pre><code>
+ * 按 nginx 的平滑加权算法，为每个发现数据预先生成一轮调度序列；之后只用 AtomicInteger 取序（无锁）
+ * 权重转为整数（保留两位小数，再约分）；一轮超过 4096 个时按比例缩小
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CloudLoadStrategyWeighted implements CloudLoadStrategy {
+    private static final int SCHEDULE_MAX = 4096;
+
+    @Override
+    public String getServer(Discovery discovery) {
+        Object attachment = discovery.attachment();
+        Schedule schedule;
+
+        if (attachment instanceof Schedule) {
+            schedule = (Schedule) attachment;
+        } else {
+            schedule = new Schedule(discovery.cluster());
+            discovery.attachmentSet(schedule);
+        }
+
+        return schedule.next().uri();
+    }
+
+    /**
+     * 调度序列
+     */
+    static class Schedule {
+        final Instance[] sequence;
+        final AtomicInteger counter = new AtomicInteger();
+
+        Schedule(List<Instance> cluster) {
+            int size = cluster.size();
+            int[] weights = new int[size];
+            long total = 0;
+
+            for (int i = 0; i < size; i++) {
+                //没有权重的，按 0.01 算（不能完全排除）
+                weights[i] = (int) Math.max(1L, Math.round(cluster.get(i).weight() * 100));
+            }
+
+            int gcd = weights[0];
+            for (int w : weights) {
+                gcd = gcd(gcd, w);
+            }
+
+            for (int i = 0; i < size; i++) {
+                weights[i] = weights[i] / gcd;
+                total += weights[i];
+            }
+
+            if (total > SCHEDULE_MAX) {
+                //按比例缩小
+                double scale = (double) SCHEDULE_MAX / total;
+                total = 0;
+
+                for (int i = 0; i < size; i++) {
+                    weights[i] = (int) Math.max(1L, Math.round(weights[i] * scale));
+                    total += weights[i];
+                }
+            }
+
+            //平滑加权轮询
+            sequence = new Instance[(int) total];
+            int[] current = new int[size];
+
+            for (int n = 0; n < sequence.length; n++) {
+                int best = 0;
+
+                for (int i = 0; i < size; i++) {
+                    current[i] += weights[i];
+
+                    if (current[i] > current[best]) {
+                        best = i;
+                    }
+                }
+
+                current[best] -= total;
+                sequence[n] = cluster.get(best);
+            }
+        }
+
+        Instance next() {
+            return sequence[(counter.getAndIncrement() & Integer.MAX_VALUE) % sequence.length];
+        }
+
+        private static int gcd(int a, int b) {
+            while (b != 0) {
+                int t = a % b;
+                a = b;
+                b = t;
+            }
+
+            return a;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.nami.NamiManager;
+import org.noear.nami.common.ResilienceFilter;
+import org.noear.nami.common.UpstreamServer;
+import org.noear.solon.Solon;
+import org.noear.solon.core.Props;
+
+/**
+ * Nami 上游容错过滤器（对冲请求，重试预算，异常实例摘除；有 solon.cloud.resilience 配置时启用）
+ *
+ * <pre><code>
+ * solon.cloud.resilience:
+ *   hedgePercentile: 95
+ *   retryTimes: 1
+ *   ejectErrors: 5
+ *   ejectLatencyFactor: 3
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CloudResilienceFilter extends ResilienceFilter {
+    /**
+     * 注册过滤器（并让负载器跳过被摘除的实例）
+     */
+    public static void register() {
+        CloudLoadBalance.setEjected(UpstreamServer::isEjected);
+
+        Props props = Solon.cfg().getProp("solon.cloud.resilience");
+
+        if (props.size() > 0) {
+            NamiManager.reg(props.bindTo(new CloudResilienceFilter()));
+        }
+    }
+}
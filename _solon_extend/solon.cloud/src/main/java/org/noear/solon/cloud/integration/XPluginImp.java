@@ -8,6 +8,7 @@ import org.noear.solon.cloud.impl.*;
 import org.noear.solon.cloud.trace.NamiTraceFilter;
 import org.noear.solon.core.*;
 import org.noear.solon.core.bean.InitializingBean;
+import org.noear.solon.core.event.AppPluginLoadEndEvent;
 import org.noear.solon.core.runtime.NativeDetector;
 import org.noear.solon.core.util.ClassUtil;
 import org.noear.solon.core.util.LogUtil;
@@ -78,10 +79,29 @@ public class XPluginImp implements Plugin , InitializingBean {
             CloudManager.register(new CloudTraceServiceImpl());
         }
 
+        if (Solon.cfg().getProp("solon.cloud.local.breaker").size() > 0) {
+            //插件都启动后，仍没有断路器服务时，才设置默认的（避免创建两个，重复监听配置变化）
+            Solon.app().onEvent(AppPluginLoadEndEvent.class, e -> {
+                if (CloudClient.breaker() == null) {
+                    CloudManager.register(new CloudBreakerServiceLocalImpl());
+                }
+            });
+        }
+
         //有些场景会排除掉nami
         if (ClassUtil.loadClass("org.noear.nami.NamiManager") != null) {
             //注册Nami跟踪过滤器
             NamiTraceFilter.register();
+            //注册Nami上游容错过滤器（在负载反馈之前，以便每次尝试都有反馈）
+            CloudResilienceFilter.register();
+            //注册Nami负载反馈过滤器
+            CloudLoadStrategyFilter.register();
+        }
+
+        //有些场景没有 solon.data
+        if (CloudClient.event() != null && ClassUtil.loadClass("org.noear.solon.data.cache.CacheLib") != null) {
+            //注册缓存失效通道（用于二级缓存）
+            CloudCacheInvalidationChannel.register();
         }
 
         context.getBeanAsync(CloudLoadStrategy.class, bean -> {
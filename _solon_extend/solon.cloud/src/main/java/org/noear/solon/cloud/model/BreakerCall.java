@@ -0,0 +1,27 @@
+package org.noear.solon.cloud.model;
+
+/**
+ * 断路器调用（可反馈异常；用于按错误比例熔断）
+ *
+ * <p><code>
+ *     try(AutoCloseable entry = CloudClient.breaker().entry("test")){
+ *         try {
+ *             //业务处理
+ *         } catch (Throwable e) {
+ *             if (entry instanceof BreakerCall) {
+ *                 ((BreakerCall) entry).error(e);
+ *             }
+ *             throw e;
+ *         }
+ *     }
+ * </code></p>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public interface BreakerCall extends AutoCloseable {
+    /**
+     * 标记为出错
+     */
+    void error(Throwable e);
+}
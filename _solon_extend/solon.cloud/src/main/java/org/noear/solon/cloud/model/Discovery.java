@@ -16,7 +16,7 @@ public class Discovery implements Serializable {
     private String agent;
     private String policy;
 
-    private transient Object attachment;
+    private transient volatile Object attachment;
     /*
      * 附件（一般给策略使用）
      * */
@@ -91,6 +91,8 @@ public class Discovery implements Serializable {
      * */
     public Discovery instanceAdd(Instance instance){
         cluster.add(instance);
+        //集群变了，策略附件作废（按需重建）
+        attachment = null;
         return this;
     }
 
@@ -4,6 +4,10 @@ import org.noear.solon.cloud.CloudEventHandler;
 import org.noear.solon.cloud.annotation.EventLevel;
 import org.noear.solon.cloud.exception.CloudEventException;
 import org.noear.solon.cloud.model.Event;
+import org.noear.solon.core.util.RunUtil;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 云端事件服务（事件总线服务）
@@ -19,6 +23,43 @@ public interface CloudEventService {
      */
     boolean publish(Event event) throws CloudEventException;
 
+    /**
+     * 批量发布事件（默认逐个发布；适配插件可用原生批量或流水线发送）
+     *
+     * @param events 事件集合
+     * @return 是否全部成功
+     * @since 2.3
+     */
+    default boolean publishBatch(Collection<Event> events) throws CloudEventException {
+        boolean isOk = true;
+
+        for (Event event : events) {
+            isOk = publish(event) && isOk;
+        }
+
+        return isOk;
+    }
+
+    /**
+     * 异步发布事件（默认在异步线程里发布；适配插件可用原生的异步发送）
+     *
+     * @param event 事件
+     * @since 2.3
+     */
+    default CompletableFuture<Boolean> publishAsync(Event event) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        RunUtil.async(() -> {
+            try {
+                future.complete(publish(event));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
     /**
      * 关注事件（相当于订阅）
      *
@@ -10,11 +10,11 @@ import org.noear.solon.socketd.ProtocolManager;
 import org.noear.solon.socketd.SessionBase;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.URI;
-import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -155,10 +155,13 @@ public class BioSocketSession extends SessionBase {
             return;
         }
 
-        ByteBuffer buf = ProtocolManager.encode(message);
+        OutputStream out = real.getOutputStream();
 
-        real.getOutputStream().write(buf.array());
-        real.getOutputStream().flush();
+        ProtocolManager.encodeTo(message, buf -> {
+            out.write(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+        });
+
+        out.flush();
     }
 
     @Override
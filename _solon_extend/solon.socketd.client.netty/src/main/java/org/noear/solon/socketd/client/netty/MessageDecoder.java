@@ -15,20 +15,17 @@ class MessageDecoder extends ByteToMessageDecoder {
     protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> out) throws Exception {
         int len = byteBuf.readInt();
         if(len > 0) {
-            byte[] bytes = new byte[len - Integer.BYTES];
-            byteBuf.readBytes(bytes);
+            //一次读入整帧（不再二次复制）
+            byte[] bytes = new byte[len];
+            byteBuf.readBytes(bytes, Integer.BYTES, len - Integer.BYTES);
 
-            ByteBuffer byteBuffer = ByteBuffer.allocate(len);
-            byteBuffer.putInt(len);
-            byteBuffer.put(bytes);
-            byteBuffer.flip();
+            ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+            byteBuffer.putInt(0, len);
 
             Message message = ProtocolManager.decode(byteBuffer);
             if (message != null) {
                 out.add(message);
             }
-
-            byteBuffer.compact();
         }
         byteBuf.discardReadBytes();
     }
@@ -6,14 +6,11 @@ import io.netty.handler.codec.MessageToByteEncoder;
 import org.noear.solon.core.message.Message;
 import org.noear.solon.socketd.ProtocolManager;
 
-import java.nio.ByteBuffer;
-
 class MessageEncoder extends MessageToByteEncoder<Message> {
     @Override
     protected void encode(ChannelHandlerContext channelHandlerContext, Message message, ByteBuf byteBuf) throws Exception {
         if (message != null) {
-            ByteBuffer buf = ProtocolManager.encode(message);
-            byteBuf.writeBytes(buf.array());
+            ProtocolManager.encodeTo(message, byteBuf::writeBytes);
         }
     }
 }
@@ -8,10 +8,12 @@ import org.noear.solon.Utils;
 import org.noear.solon.core.message.Message;
 import org.noear.solon.core.message.MessageFlag;
 import org.noear.solon.core.message.Session;
+import org.noear.solon.socketd.RequestManager;
 import org.noear.solon.socketd.annotation.Handshake;
 import org.noear.solon.socketd.util.HeaderUtil;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -35,6 +37,73 @@ public class SocketChannel extends SocketChannelBase implements Channel {
      * */
     @Override
     public Result call(Context ctx) throws Throwable {
+        Message message = buildMessage(ctx);
+
+        //3.获取会话
+        Session session = getSession(ctx);
+
+        //4.发送消息
+        Message res = session.sendAndResponse(message, ctx.config.getTimeout());
+
+        return buildResult(res);
+    }
+
+    /**
+     * 异步调用（登记请求后发送，响应或超时时完成；不占用调用线程）
+     *
+     * @param ctx 上下文
+     * @since 2.3
+     * */
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        CompletableFuture<Message> request = new CompletableFuture<>();
+        String key = null;
+
+        try {
+            Message message = buildMessage(ctx);
+            Session session = getSession(ctx);
+            key = message.key();
+
+            //登记请求（响应时由监听器完成；超时或会话关闭时，以异常完成）
+            RequestManager.register(session, message, request, ctx.config.getTimeout());
+
+            try {
+                session.send(message);
+            } catch (Throwable e) {
+                RequestManager.remove(key);
+                throw e;
+            }
+        } catch (Throwable e) {
+            request.completeExceptionally(e);
+        }
+
+        //离开 io 线程，再构建结果
+        CompletableFuture<Result> future = request.thenApplyAsync(this::buildResult, NamiGlobal.getAsyncExecutor());
+
+        if (key != null) {
+            //取消时，移除登记的请求
+            String key2 = key;
+            future.whenComplete((r, e) -> {
+                if (future.isCancelled()) {
+                    RequestManager.remove(key2);
+                    request.cancel(false);
+                }
+            });
+        }
+
+        return future;
+    }
+
+    private Session getSession(Context ctx) {
+        Session session = sessions.get();
+        if (ctx.config.getHeartbeat() > 0) {
+            session.sendHeartbeatAuto(ctx.config.getHeartbeat());
+        }
+
+        return session;
+    }
+
+    private Message buildMessage(Context ctx) {
         pretreatment(ctx);
 
         if(ctx.config.getDecoder() == null){
@@ -44,7 +113,6 @@ public class SocketChannel extends SocketChannelBase implements Channel {
         //0.尝试解码器的过滤
         ctx.config.getDecoder().pretreatment(ctx);
 
-        Message message = null;
         String message_key = Message.guid();
         int flag = MessageFlag.message;
 
@@ -75,17 +143,10 @@ public class SocketChannel extends SocketChannelBase implements Channel {
         //2.构建消息
         ctx.headers.put(Constants.HEADER_CONTENT_TYPE, encoder.enctype());
         byte[] bytes = encoder.encode(ctx.body);
-        message = new Message(flag, message_key, ctx.url, HeaderUtil.encodeHeaderMap(ctx.headers), bytes);
-
-        //3.获取会话
-        Session session = sessions.get();
-        if(ctx.config.getHeartbeat() > 0){
-            session.sendHeartbeatAuto(ctx.config.getHeartbeat());
-        }
-
-        //4.发送消息
-        Message res = session.sendAndResponse(message, ctx.config.getTimeout());
+        return new Message(flag, message_key, ctx.url, HeaderUtil.encodeHeaderMap(ctx.headers), bytes);
+    }
 
+    private Result buildResult(Message res) {
         if (res == null) {
             return null;
         }
@@ -1,9 +1,11 @@
 package org.noear.solon.socketd;
 
 import org.noear.solon.core.message.Message;
+import org.noear.solon.core.util.ConsumerEx;
 import org.noear.solon.socketd.protocol.MessageProtocol;
 import org.noear.solon.socketd.protocol.MessageProtocolBase;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 
 /**
@@ -37,6 +39,22 @@ public class ProtocolManager {
         }
     }
 
+    /**
+     * 编码并分段写出（writer 需要同步消费完）
+     *
+     * @param message 消息
+     * @param writer  写出器
+     */
+    public static void encodeTo(Message message, ConsumerEx<ByteBuffer> writer) throws IOException {
+        try {
+            protocol.encodeTo(message, writer);
+        } catch (IOException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     /**
      * 解码
      *
@@ -1,12 +1,19 @@
 package org.noear.solon.socketd;
 
 import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.Session;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * 请求管理器（分片暂存；到时未响应的请求由时间轮置为超时；会话关闭时清理）
+ *
  * @author noear
  * @since 1.6
  */
@@ -16,10 +23,27 @@ public class RequestManager {
      * */
     public static int REQUEST_AND_RESPONSE_TIMEOUT_SECONDS = 30;
 
+    private static final int SHARD_COUNT = 16;
+
     /**
-     * 请求暂存处
+     * 请求暂存处（按 key 分片）
      * */
-    private static Map<String, CompletableFuture<Message>> requests = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private static final Map<String, Pending>[] shards = new Map[SHARD_COUNT];
+
+    static {
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    private static final LongAdder registeredCount = new LongAdder();
+    private static final LongAdder timeoutCount = new LongAdder();
+
+    private static Map<String, Pending> shard(String key) {
+        int h = key.hashCode();
+        return shards[(h ^ (h >>> 16)) & (SHARD_COUNT - 1)];
+    }
 
     /**
      * 注册请求
@@ -28,14 +52,136 @@ public class RequestManager {
      * @param future 回调
      * */
     public static void register(Message message, CompletableFuture<Message> future) {
-        requests.putIfAbsent(message.key(), future);
+        register(null, message, future, 0);
+    }
+
+    /**
+     * 注册请求
+     *
+     * @param session 会话（关闭时清理）
+     * @param message 请求消息
+     * @param future  回调
+     * @param timeout 超时（单位：秒；小于 1 时为默认）
+     * @since 2.3
+     */
+    public static void register(Session session, Message message, CompletableFuture<Message> future, int timeout) {
+        if (timeout < 1) {
+            timeout = REQUEST_AND_RESPONSE_TIMEOUT_SECONDS;
+        }
+
+        String key = message.key();
+        Pending pending = new Pending(session, future);
+
+        if (shard(key).putIfAbsent(key, pending) == null) {
+            registeredCount.increment();
+            pending.timeout = TimerHolder.timer.add(timeout * 1000L, () -> onTimeout(key, pending));
+        }
+    }
+
+    private static void onTimeout(String key, Pending pending) {
+        if (shard(key).remove(key, pending)) {
+            timeoutCount.increment();
+            pending.future.completeExceptionally(new TimeoutException("Request timeout: " + key));
+        }
     }
 
     public static CompletableFuture<Message> get(String key){
-        return requests.get(key);
+        Pending pending = shard(key).get(key);
+        return pending == null ? null : pending.future;
     }
 
     public static void remove(String key){
-        requests.remove(key);
+        Pending pending = shard(key).remove(key);
+        if (pending != null && pending.timeout != null) {
+            pending.timeout.cancel();
+        }
+    }
+
+    /**
+     * 移除会话的所有请求（置为异常）
+     *
+     * @since 2.3
+     */
+    public static void removeAll(Session session) {
+        for (Map<String, Pending> shard : shards) {
+            Iterator<Map.Entry<String, Pending>> iterator = shard.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                Pending pending = iterator.next().getValue();
+
+                if (session.equals(pending.session)) {
+                    iterator.remove();
+
+                    if (pending.timeout != null) {
+                        pending.timeout.cancel();
+                    }
+
+                    pending.future.completeExceptionally(new IOException("The session is closed"));
+                }
+            }
+        }
+    }
+
+    /**
+     * 待响应数量
+     *
+     * @since 2.3
+     */
+    public static int getPendingCount() {
+        int count = 0;
+        for (Map<String, Pending> shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    /**
+     * 注册总数
+     *
+     * @since 2.3
+     */
+    public static long getRegisteredCount() {
+        return registeredCount.sum();
+    }
+
+    /**
+     * 超时总数
+     *
+     * @since 2.3
+     */
+    public static long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * 超时率
+     *
+     * @since 2.3
+     */
+    public static double getTimeoutRate() {
+        long total = registeredCount.sum();
+        if (total == 0) {
+            return 0D;
+        } else {
+            return (double) timeoutCount.sum() / total;
+        }
+    }
+
+    static class Pending {
+        final Session session;
+        final CompletableFuture<Message> future;
+        volatile RequestTimer.Timeout timeout;
+
+        Pending(Session session, CompletableFuture<Message> future) {
+            this.session = session;
+            this.future = future;
+        }
+    }
+
+    /**
+     * 时间轮延迟创建（100ms 一格，512 格）
+     */
+    static class TimerHolder {
+        static final RequestTimer timer = new RequestTimer(100, 512);
     }
 }
@@ -0,0 +1,95 @@
+package org.noear.solon.socketd;
+
+import org.noear.solon.core.event.EventBus;
+import org.noear.solon.core.util.RunUtil;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 请求超时时间轮（每个槽一个并发集合；取消时直接移除，不用等到期）
+ *
+ * @author noear
+ * @since 2.3
+ */
+class RequestTimer {
+    private final long tickMillis;
+    private final Set<Timeout>[] wheel;
+    private final int mask;
+    private final long startNanos = System.nanoTime();
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    RequestTimer(long tickMillis, int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+
+        this.tickMillis = tickMillis;
+        this.wheel = new Set[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+
+        RunUtil.delayAndRepeat(this::advance, tickMillis);
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / 1000_000L / tickMillis;
+    }
+
+    /**
+     * 添加超时任务
+     */
+    Timeout add(long delayMillis, Runnable task) {
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        Timeout timeout = new Timeout(currentTick() + ticks, task);
+
+        timeout.slot = wheel[(int) (timeout.deadlineTick & mask)];
+        timeout.slot.add(timeout);
+
+        return timeout;
+    }
+
+    /**
+     * 推进（处理到期的槽）
+     */
+    synchronized void advance() {
+        long now = currentTick();
+
+        //最多转一圈
+        for (long t = Math.max(lastTick + 1, now - mask); t <= now; t++) {
+            Set<Timeout> slot = wheel[(int) (t & mask)];
+
+            for (Timeout timeout : slot) {
+                if (timeout.deadlineTick <= now && slot.remove(timeout)) {
+                    try {
+                        timeout.task.run();
+                    } catch (Throwable e) {
+                        EventBus.pushTry(e);
+                    }
+                }
+            }
+        }
+
+        lastTick = now;
+    }
+
+    static class Timeout {
+        final long deadlineTick;
+        final Runnable task;
+        Set<Timeout> slot;
+
+        Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * 取消
+         */
+        void cancel() {
+            slot.remove(this);
+        }
+    }
+}
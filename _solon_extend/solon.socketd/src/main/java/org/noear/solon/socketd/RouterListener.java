@@ -125,6 +125,9 @@ public class RouterListener implements Listener{
      * */
     @Override
     public void onClose(Session session) {
+        //清理未响应的请求
+        RequestManager.removeAll(session);
+
         executor.execute(() -> {
             onClose0(session);
         });
@@ -211,7 +211,7 @@ public abstract class SessionBase implements Session {
 
         //注册请求
         CompletableFuture<Message> request = new CompletableFuture<>();
-        RequestManager.register(message, request);
+        RequestManager.register(this, message, request, timeout);
 
         //发送消息
         send(message);
@@ -246,9 +246,9 @@ public abstract class SessionBase implements Session {
             throw new IllegalArgumentException("sendAndCallback message no key");
         }
 
-        //注册请求
+        //注册请求（超时或会话关闭时，以异常回调）
         CompletableFuture<Message> request = new CompletableFuture<>();
-        RequestManager.register(message, request);
+        RequestManager.register(this, message, request, 0);
 
         //等待响应
         request.whenCompleteAsync(callback);
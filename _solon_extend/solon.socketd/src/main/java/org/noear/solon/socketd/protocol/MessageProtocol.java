@@ -1,6 +1,7 @@
 package org.noear.solon.socketd.protocol;
 
 import org.noear.solon.core.message.Message;
+import org.noear.solon.core.util.ConsumerEx;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -14,5 +15,18 @@ import java.nio.ByteBuffer;
 public interface MessageProtocol {
     ByteBuffer encode(Message message) throws Exception;
 
+    /**
+     * 编码并分段写出（默认整体编码为一段；可重写为 头 + 主体切片 的聚合写）
+     *
+     * <pre><code>
+     * 写出的缓冲可能被复用，writer 需要同步消费完
+     * </code></pre>
+     *
+     * @since 2.3
+     */
+    default void encodeTo(Message message, ConsumerEx<ByteBuffer> writer) throws Throwable {
+        writer.accept(encode(message));
+    }
+
     Message decode(ByteBuffer buffer) throws Exception;
 }
@@ -2,37 +2,124 @@ package org.noear.solon.socketd.protocol;
 
 import org.noear.solon.core.message.MessageFlag;
 import org.noear.solon.core.message.Message;
+import org.noear.solon.core.util.ConsumerEx;
+import org.noear.solon.socketd.protocol.compress.CompressCodec;
+import org.noear.solon.socketd.protocol.compress.CompressStats;
+import org.noear.solon.socketd.protocol.compress.DeflateCodec;
 import org.noear.solon.socketd.protocol.util.GzipUtil;
 
 import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
 
 /**
- * 安全协议
+ * 压缩协议
+ *
+ * <pre><code>
+ * 1.默认为旧格式：整帧 gzip 后放入容器包（与旧版本互通；不压缩的帧与基础协议完全一致）
+ * 2.设置编解码器后（setCodec），改为只压缩主体：{flag | codecId << 16 + key + resourceDescriptor + header + (rawSize + 压缩数据)}
+ * 3.两种格式都能解码；新格式需要两端都升级后再启用（滚动升级时，先升级，再开启）
+ * 4.编解码器按编号查找（默认登记 DeflateCodec；带字典的需两端都登记）
+ * </code></pre>
  *
  * @author noear
  * @since 1.2
  * */
 public class MessageProtocolCompress implements MessageProtocol {
+    /**
+     * 编解码器编号在 flag 中的位移
+     */
+    private static final int CODEC_SHIFT = 16;
+
     protected MessageProtocol baseProtocol = MessageProtocolBase.instance;
     protected int allowCompressSize = 1024;
+    protected int maxUncompressSize = 1024 * 1024 * 64;
+    /**
+     * 编码用的编解码器（为 null 时，用旧格式）
+     */
+    protected CompressCodec codec;
 
-    public MessageProtocolCompress() {
+    private final Map<Integer, CompressCodec> codecMap = new ConcurrentHashMap<>();
+    private final CompressStats stats = new CompressStats();
 
+    public MessageProtocolCompress() {
+        addCodec(DeflateCodec.instance);
     }
 
     public MessageProtocolCompress(int allowCompressSize) {
+        this();
         this.allowCompressSize = allowCompressSize;
     }
 
     public MessageProtocolCompress(MessageProtocol baseProtocol) {
+        this();
         this.baseProtocol = baseProtocol;
     }
 
     public MessageProtocolCompress(int allowCompressSize, MessageProtocol baseProtocol) {
+        this();
         this.baseProtocol = baseProtocol;
         this.allowCompressSize = allowCompressSize;
     }
 
+    /**
+     * @param codec 编码用的编解码器（即开启新格式）
+     * @since 2.3
+     */
+    public MessageProtocolCompress(int allowCompressSize, MessageProtocol baseProtocol, CompressCodec codec) {
+        this(allowCompressSize, baseProtocol);
+        setCodec(codec);
+    }
+
+    /**
+     * 设置编码用的编解码器，即开启只压缩主体的新格式（同时登记用于解码；为 null 时回到旧格式）
+     *
+     * <pre><code>
+     * 旧版本不能解码新格式，需要通讯的两端都已升级后再开启
+     * </code></pre>
+     *
+     * @since 2.3
+     */
+    public void setCodec(CompressCodec codec) {
+        if (codec != null) {
+            addCodec(codec);
+        }
+
+        this.codec = codec;
+    }
+
+    /**
+     * 登记解码用的编解码器
+     *
+     * @since 2.3
+     */
+    public void addCodec(CompressCodec codec) {
+        if (codec.id() < 1 || codec.id() > 255) {
+            throw new IllegalArgumentException("The codec id must be between 1 and 255: " + codec.id());
+        }
+
+        codecMap.put(codec.id(), codec);
+    }
+
+    /**
+     * 设置解压后的大小上限
+     *
+     * @since 2.3
+     */
+    public void setMaxUncompressSize(int maxUncompressSize) {
+        this.maxUncompressSize = maxUncompressSize;
+    }
+
+    /**
+     * 获取统计
+     *
+     * @since 2.3
+     */
+    public CompressStats getStats() {
+        return stats;
+    }
+
     /**
      * 是否充许压缩
      */
@@ -41,14 +128,14 @@ public class MessageProtocolCompress implements MessageProtocol {
     }
 
     /**
-     * 压缩
+     * 压缩（旧格式）
      */
     public byte[] compress(byte[] bytes) throws Exception {
         return GzipUtil.compress(bytes);
     }
 
     /**
-     * 解压
+     * 解压（旧格式）
      */
     public byte[] uncompress(byte[] bytes) throws Exception {
         return GzipUtil.uncompress(bytes);
@@ -56,10 +143,33 @@ public class MessageProtocolCompress implements MessageProtocol {
 
     @Override
     public ByteBuffer encode(Message message) throws Exception {
+        if (codec == null) {
+            return encodeLegacy(message);
+        } else {
+            return baseProtocol.encode(compressBody(message, codec));
+        }
+    }
+
+    @Override
+    public void encodeTo(Message message, ConsumerEx<ByteBuffer> writer) throws Throwable {
+        if (codec == null) {
+            writer.accept(encodeLegacy(message));
+        } else {
+            baseProtocol.encodeTo(compressBody(message, codec), writer);
+        }
+    }
+
+    /**
+     * 旧格式编码（整帧 gzip 后放入容器包）
+     */
+    protected ByteBuffer encodeLegacy(Message message) throws Exception {
         ByteBuffer buffer = baseProtocol.encode(message);
 
         if (allowCompress(buffer.array().length)) {
+            long start = System.nanoTime();
             byte[] bytes = compress(buffer.array());
+            stats.recordCompress(buffer.array().length, bytes.length, System.nanoTime() - start);
+
             message = Message.wrapContainer(bytes);
 
             buffer = baseProtocol.encode(message);
@@ -68,12 +178,83 @@ public class MessageProtocolCompress implements MessageProtocol {
         return buffer;
     }
 
+    /**
+     * 压缩主体（不需要或没有收益时，返回原消息）
+     */
+    protected Message compressBody(Message message, CompressCodec codec) throws Exception {
+        byte[] body = message.body();
+
+        if (message.flag() == MessageFlag.container || allowCompress(body.length) == false) {
+            return message;
+        }
+
+        long start = System.nanoTime();
+        byte[] data = codec.compress(body, 4);
+        stats.recordCompress(body.length, data == null ? -1 : data.length, System.nanoTime() - start);
+
+        if (data == null) {
+            return message;
+        }
+
+        //rawSize
+        data[0] = (byte) (body.length >>> 24);
+        data[1] = (byte) (body.length >>> 16);
+        data[2] = (byte) (body.length >>> 8);
+        data[3] = (byte) body.length;
+
+        Message message2 = new Message(message.flag() | (codec.id() << CODEC_SHIFT),
+                message.key(),
+                message.resourceDescriptor(),
+                message.header(),
+                data);
+        message2.setCharset(message.getCharset());
+
+        return message2;
+    }
+
     @Override
     public Message decode(ByteBuffer buffer) throws Exception {
         Message message = baseProtocol.decode(buffer);
 
+        if (message == null) {
+            return null;
+        }
+
+        int codecId = message.flag() >>> CODEC_SHIFT;
+
+        if (codecId > 0) {
+            CompressCodec codec1 = codecMap.get(codecId);
+            if (codec1 == null) {
+                throw new DataFormatException("Unsupported compress codec: " + codecId);
+            }
+
+            byte[] data = message.body();
+            if (data.length < 4) {
+                throw new DataFormatException("The compressed body is incomplete");
+            }
+
+            int rawSize = ((data[0] & 0xFF) << 24) | ((data[1] & 0xFF) << 16) | ((data[2] & 0xFF) << 8) | (data[3] & 0xFF);
+            if (rawSize < 0 || rawSize > maxUncompressSize) {
+                throw new DataFormatException("The uncompressed size is out of limit: " + rawSize);
+            }
+
+            long start = System.nanoTime();
+            byte[] body = codec1.uncompress(data, 4, data.length - 4, rawSize);
+            stats.recordUncompress(System.nanoTime() - start);
+
+            return new Message(message.flag() & ((1 << CODEC_SHIFT) - 1),
+                    message.key(),
+                    message.resourceDescriptor(),
+                    message.header(),
+                    body);
+        }
+
         if (message.flag() == MessageFlag.container) {
+            //旧格式
+            long start = System.nanoTime();
             byte[] bytes = uncompress(message.body());
+            stats.recordUncompress(System.nanoTime() - start);
+
             buffer = ByteBuffer.wrap(bytes);
 
             message = baseProtocol.decode(buffer);
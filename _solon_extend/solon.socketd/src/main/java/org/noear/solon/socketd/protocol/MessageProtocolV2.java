@@ -0,0 +1,287 @@
+package org.noear.solon.socketd.protocol;
+
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.core.util.ConsumerEx;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 基础协议（第二代；与 MessageProtocolBase 的帧格式一致，可混用）
+ *
+ * <pre><code>
+ * 1.编码时直接把字符串写入缓冲（不再产生中间 byte[]）；encodeTo 可以 头 + 主体切片 的方式聚合写，头缓冲线程内复用
+ * 2.解码时直接在接收缓冲上解析字符串（不再分配临时缓冲）；主体只复制一次
+ * 3.启用：ProtocolManager.setProtocol(MessageProtocolV2.instance)
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ * */
+public class MessageProtocolV2 implements MessageProtocol {
+    public static final MessageProtocol instance = new MessageProtocolV2();
+
+    /**
+     * 头缓冲复用上限（超出的临时分配）
+     */
+    private static final int HEAD_BUFFER_LIMIT = 1024 * 64;
+    private static final ThreadLocal<ByteBuffer> headBufferLocal = ThreadLocal.withInitial(() -> ByteBuffer.allocate(512));
+
+    @Override
+    public ByteBuffer encode(Message message) throws Exception {
+        byte[] body = message.body();
+
+        if (message.flag() == MessageFlag.container) {
+            //length (flag + content + int.bytes)
+            int len = body.length + 4 + 4;
+
+            ByteBuffer buffer = ByteBuffer.allocate(len);
+            buffer.putInt(len);
+            buffer.putInt(message.flag());
+            buffer.put(body);
+            buffer.flip();
+
+            return buffer;
+        } else {
+            Charset charset = message.getCharset();
+            int headLen = headLength(message, charset);
+            int len = headLen + body.length;
+
+            ByteBuffer buffer = ByteBuffer.allocate(len);
+            putHead(buffer, message, charset, len);
+            buffer.put(body);
+            buffer.flip();
+
+            return buffer;
+        }
+    }
+
+    @Override
+    public void encodeTo(Message message, ConsumerEx<ByteBuffer> writer) throws Throwable {
+        byte[] body = message.body();
+        ByteBuffer head;
+
+        if (message.flag() == MessageFlag.container) {
+            head = headBuffer(8);
+            head.putInt(body.length + 4 + 4);
+            head.putInt(message.flag());
+        } else {
+            Charset charset = message.getCharset();
+            int headLen = headLength(message, charset);
+
+            head = headBuffer(headLen);
+            putHead(head, message, charset, headLen + body.length);
+        }
+
+        head.flip();
+        writer.accept(head);
+
+        if (body.length > 0) {
+            writer.accept(ByteBuffer.wrap(body));
+        }
+    }
+
+    /**
+     * 获取头缓冲（线程内复用）
+     */
+    private static ByteBuffer headBuffer(int size) {
+        if (size > HEAD_BUFFER_LIMIT) {
+            return ByteBuffer.allocate(size);
+        }
+
+        ByteBuffer buffer = headBufferLocal.get();
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2));
+            headBufferLocal.set(buffer);
+        }
+
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * 头长度 (len + flag + key + resourceDescriptor + header + 3 * '\n'.char)
+     */
+    private static int headLength(Message message, Charset charset) {
+        return 4 + 4 + 2 * 3
+                + byteLength(message.key(), charset)
+                + byteLength(message.resourceDescriptor(), charset)
+                + byteLength(message.header(), charset);
+    }
+
+    private static void putHead(ByteBuffer buffer, Message message, Charset charset, int len) {
+        //长度
+        buffer.putInt(len);
+        //flag
+        buffer.putInt(message.flag());
+
+        //key
+        putString(buffer, message.key(), charset);
+        buffer.putChar('\n');
+        //resourceDescriptor
+        putString(buffer, message.resourceDescriptor(), charset);
+        buffer.putChar('\n');
+        //header
+        putString(buffer, message.header(), charset);
+        buffer.putChar('\n');
+    }
+
+    /**
+     * 字符串编码后的字节数（utf-8 直接计算，与 String::getBytes 一致）
+     */
+    private static int byteLength(String str, Charset charset) {
+        if (charset != StandardCharsets.UTF_8) {
+            return str.getBytes(charset).length;
+        }
+
+        int n = 0;
+        for (int i = 0, len = str.length(); i < len; i++) {
+            char c = str.charAt(i);
+
+            if (c < 0x80) {
+                n += 1;
+            } else if (c < 0x800) {
+                n += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                n += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                n += 1; //无效代理对，按 '?' 处理
+            } else {
+                n += 3;
+            }
+        }
+
+        return n;
+    }
+
+    private static void putString(ByteBuffer buffer, String str, Charset charset) {
+        if (charset != StandardCharsets.UTF_8) {
+            buffer.put(str.getBytes(charset));
+            return;
+        }
+
+        for (int i = 0, len = str.length(); i < len; i++) {
+            char c = str.charAt(i);
+
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, str.charAt(++i));
+                buffer.put((byte) (0xF0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    @Override
+    public Message decode(ByteBuffer buffer) throws Exception {
+        int start = buffer.position();
+        int len0 = buffer.getInt();
+
+        if (len0 > (buffer.remaining() + 4)) {
+            return null;
+        }
+
+        int end = start + len0;
+        int flag = buffer.getInt();
+
+        if (flag == MessageFlag.container) {
+            return new Message(flag, null, null, null, decodeBody(buffer, end));
+        } else {
+            //key
+            String key = decodeString(buffer, end, 256);
+            if (key == null) {
+                return null;
+            }
+
+            //resourceDescriptor
+            String resourceDescriptor = decodeString(buffer, end, 512);
+            if (resourceDescriptor == null) {
+                return null;
+            }
+
+            //header
+            String header = decodeString(buffer, end, 0);
+            if (header == null) {
+                return null;
+            }
+
+            return new Message(flag, key, resourceDescriptor, header, decodeBody(buffer, end));
+        }
+    }
+
+    private static byte[] decodeBody(ByteBuffer buffer, int end) {
+        int len = end - buffer.position();
+        if (len < 1) {
+            return null;
+        }
+
+        byte[] body = new byte[len];
+        buffer.get(body, 0, len);
+        return body;
+    }
+
+    /**
+     * 解码字符串（直接在缓冲上查找 '\n'；与 MessageProtocolBase 一样忽略 0 字节）
+     */
+    private static String decodeString(ByteBuffer buffer, int end, int maxLen) {
+        int pos = buffer.position();
+        int nl = -1;
+        int zeros = 0;
+
+        for (int i = pos; i < end; i++) {
+            byte c = buffer.get(i);
+
+            if (c == 10) { //10:'\n'
+                nl = i;
+                break;
+            } else if (c == 0) {
+                zeros++;
+            } else if (maxLen > 0 && maxLen < (i - pos + 1 - zeros)) {
+                return null;
+            }
+        }
+
+        if (nl < 0) {
+            return null;
+        }
+
+        buffer.position(nl + 1);
+
+        int size = nl - pos - zeros;
+        if (size < 1) {
+            return "";
+        }
+
+        if (zeros == 1 && buffer.get(nl - 1) == 0) {
+            //常见情况：'\n' 按 char 写入，前面只有一个 0 字节
+            if (buffer.hasArray()) {
+                return new String(buffer.array(), buffer.arrayOffset() + pos, size, StandardCharsets.UTF_8);
+            }
+        }
+
+        byte[] bytes = new byte[size];
+        for (int i = pos, j = 0; i < nl; i++) {
+            byte c = buffer.get(i);
+            if (c != 0) {
+                bytes[j++] = c;
+            }
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
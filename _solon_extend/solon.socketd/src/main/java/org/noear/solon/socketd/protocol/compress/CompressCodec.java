@@ -0,0 +1,33 @@
+package org.noear.solon.socketd.protocol.compress;
+
+/**
+ * 压缩编解码器（可扩展为 lz4、zstd 等）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public interface CompressCodec {
+    /**
+     * 编号（1-255；写在帧标志的高位，两端需一致）
+     */
+    int id();
+
+    /**
+     * 压缩
+     *
+     * @param data     原始数据
+     * @param headroom 结果前面预留的字节数（由协议写入原始长度）
+     * @return 没有收益时为 null
+     */
+    byte[] compress(byte[] data, int headroom) throws Exception;
+
+    /**
+     * 解压
+     *
+     * @param data    压缩数据
+     * @param offset  偏移
+     * @param length  长度
+     * @param rawSize 原始长度
+     */
+    byte[] uncompress(byte[] data, int offset, int length, int rawSize) throws Exception;
+}
@@ -0,0 +1,117 @@
+package org.noear.solon.socketd.protocol.compress;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压缩统计（压缩率与耗时）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class CompressStats {
+    private final LongAdder compressCount = new LongAdder();
+    private final LongAdder compressSkipCount = new LongAdder();
+    private final LongAdder compressNanos = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder uncompressCount = new LongAdder();
+    private final LongAdder uncompressNanos = new LongAdder();
+
+    /**
+     * 记录压缩
+     *
+     * @param compressedSize 压缩后大小（没有收益而放弃时为 -1）
+     */
+    public void recordCompress(int rawSize, int compressedSize, long nanos) {
+        compressNanos.add(nanos);
+
+        if (compressedSize < 0) {
+            compressSkipCount.increment();
+        } else {
+            compressCount.increment();
+            rawBytes.add(rawSize);
+            compressedBytes.add(compressedSize);
+        }
+    }
+
+    /**
+     * 记录解压
+     */
+    public void recordUncompress(long nanos) {
+        uncompressCount.increment();
+        uncompressNanos.add(nanos);
+    }
+
+    /**
+     * 压缩次数
+     */
+    public long getCompressCount() {
+        return compressCount.sum();
+    }
+
+    /**
+     * 放弃压缩次数（没有收益）
+     */
+    public long getCompressSkipCount() {
+        return compressSkipCount.sum();
+    }
+
+    /**
+     * 压缩耗时（纳秒，含放弃的）
+     */
+    public long getCompressNanos() {
+        return compressNanos.sum();
+    }
+
+    /**
+     * 压缩前字节数
+     */
+    public long getRawBytes() {
+        return rawBytes.sum();
+    }
+
+    /**
+     * 压缩后字节数
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * 压缩率（压缩后 / 压缩前；没有数据时为 1）
+     */
+    public double getRatio() {
+        long raw = rawBytes.sum();
+        if (raw == 0) {
+            return 1D;
+        } else {
+            return (double) compressedBytes.sum() / raw;
+        }
+    }
+
+    /**
+     * 解压次数
+     */
+    public long getUncompressCount() {
+        return uncompressCount.sum();
+    }
+
+    /**
+     * 解压耗时（纳秒）
+     */
+    public long getUncompressNanos() {
+        return uncompressNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CompressStats{" +
+                "compressCount=" + getCompressCount() +
+                ", compressSkipCount=" + getCompressSkipCount() +
+                ", compressNanos=" + getCompressNanos() +
+                ", ratio=" + getRatio() +
+                ", uncompressCount=" + getUncompressCount() +
+                ", uncompressNanos=" + getUncompressNanos() +
+                '}';
+    }
+}
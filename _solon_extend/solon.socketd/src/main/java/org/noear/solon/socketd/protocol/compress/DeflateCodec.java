@@ -0,0 +1,143 @@
+package org.noear.solon.socketd.protocol.compress;
+
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate 编解码器（Deflater/Inflater 线程内复用；支持预置字典）
+ *
+ * <pre><code>
+ * 1.预置字典适合高度重复的小报文（如 json）；两端的字典需一致（zlib 格式自带字典校验）
+ * 2.编号由字典决定：没有字典为 1；有字典为 2-255（按字典的 adler32 取）
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class DeflateCodec implements CompressCodec {
+    public static final CompressCodec instance = new DeflateCodec();
+
+    /**
+     * 线程内缓存的输出缓冲上限（更大的只临时使用，用完即释放）
+     */
+    private static final int BUFFER_CACHED_MAX = 1024 * 64;
+
+    private final int id;
+    private final int level;
+    private final byte[] dictionary;
+    private final int dictionaryAdler;
+
+    private final ThreadLocal<Deflater> deflaterLocal;
+    private final ThreadLocal<Inflater> inflaterLocal = ThreadLocal.withInitial(Inflater::new);
+    private final ThreadLocal<byte[]> bufferLocal = ThreadLocal.withInitial(() -> new byte[1024 * 4]);
+
+    public DeflateCodec() {
+        this(Deflater.DEFAULT_COMPRESSION, null);
+    }
+
+    public DeflateCodec(byte[] dictionary) {
+        this(Deflater.DEFAULT_COMPRESSION, dictionary);
+    }
+
+    public DeflateCodec(int level, byte[] dictionary) {
+        this.level = level;
+        this.dictionary = dictionary;
+        this.deflaterLocal = ThreadLocal.withInitial(() -> new Deflater(level));
+
+        if (dictionary == null) {
+            this.dictionaryAdler = 0;
+            this.id = 1;
+        } else {
+            Adler32 adler32 = new Adler32();
+            adler32.update(dictionary);
+
+            this.dictionaryAdler = (int) adler32.getValue();
+            this.id = 2 + (int) (adler32.getValue() % 254);
+        }
+    }
+
+    @Override
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public byte[] compress(byte[] data, int headroom) throws Exception {
+        Deflater deflater = deflaterLocal.get();
+        deflater.reset();
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+
+        deflater.setInput(data);
+        deflater.finish();
+
+        //没有收益的上限（超出即放弃）
+        int limit = headroom + data.length;
+        byte[] buf = bufferLocal.get();
+        int n = headroom;
+
+        while (deflater.finished() == false) {
+            if (n == buf.length) {
+                if (buf.length >= limit) {
+                    return null;
+                }
+
+                buf = Arrays.copyOf(buf, Math.min(limit, buf.length * 2));
+
+                if (buf.length <= BUFFER_CACHED_MAX) {
+                    bufferLocal.set(buf);
+                }
+            }
+
+            n += deflater.deflate(buf, n, Math.min(buf.length, limit) - n);
+
+            if (n >= limit) {
+                return null;
+            }
+        }
+
+        return Arrays.copyOf(buf, n);
+    }
+
+    @Override
+    public byte[] uncompress(byte[] data, int offset, int length, int rawSize) throws Exception {
+        Inflater inflater = inflaterLocal.get();
+        inflater.reset();
+        inflater.setInput(data, offset, length);
+
+        byte[] out = new byte[rawSize];
+        int n = 0;
+
+        while (n < rawSize) {
+            int r = inflater.inflate(out, n, rawSize - n);
+
+            if (r == 0) {
+                if (inflater.needsDictionary()) {
+                    if (dictionary == null) {
+                        throw new DataFormatException("The compressed data needs a dictionary");
+                    }
+
+                    if (inflater.getAdler() != dictionaryAdler) {
+                        throw new DataFormatException("The compressed data needs a different dictionary");
+                    }
+
+                    inflater.setDictionary(dictionary);
+                } else if (inflater.finished() || inflater.needsInput()) {
+                    break;
+                }
+            }
+
+            n += r;
+        }
+
+        if (n != rawSize || inflater.finished() == false) {
+            throw new DataFormatException("The compressed data size does not match: " + n + "/" + rawSize);
+        }
+
+        return out;
+    }
+}
@@ -6,6 +6,7 @@ import org.noear.solon.boot.web.RedirectUtils;
 import org.noear.solon.core.NvMap;
 import org.noear.solon.core.handle.UploadedFile;
 
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -352,6 +353,24 @@ public class SolonServletContext extends ContextBase {
         sendHeaders();
     }
 
+    private AsyncContext _asyncContext;
+
+    @Override
+    public boolean asyncSupported() {
+        return _request.isAsyncSupported();
+    }
+
+    @Override
+    protected void asyncStartDo() {
+        _asyncContext = _request.startAsync();
+        _asyncContext.setTimeout(0L); //超时由 ContextBase 统一处理
+    }
+
+    @Override
+    protected void asyncCompleteDo() {
+        _asyncContext.complete();
+    }
+
     private boolean _headers_sent = false;
 
     private void sendHeaders() throws IOException {
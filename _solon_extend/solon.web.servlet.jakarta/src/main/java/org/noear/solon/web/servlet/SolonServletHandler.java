@@ -30,6 +30,11 @@ public class SolonServletHandler extends HttpServlet {
 
         Solon.app().tryHandle(ctx);
 
+        if (ctx.asyncStarted()) {
+            //异步时，由上下文在完成时提交
+            return;
+        }
+
         if (ctx.getHandled() || ctx.status() >= 200) {
             ctx.commit();
         }else{
@@ -19,7 +19,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.EOFException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -67,7 +72,7 @@ public class CloudEventServiceKafkaImp implements CloudEventServicePlus {
         Future<RecordMetadata> future = producer.send(new ProducerRecord<>(event.topic(), event.key(), event.content()));
         if (config.getTimeout() > 0 && event.qos() > 0) {
             try {
-                future.get(config.getTimeout(), TimeUnit.MICROSECONDS);
+                future.get(config.getTimeout(), TimeUnit.MILLISECONDS);
             } catch (Exception e) {
                 throw new CloudEventException(e);
             }
@@ -76,6 +81,75 @@ public class CloudEventServiceKafkaImp implements CloudEventServicePlus {
         return true;
     }
 
+    /**
+     * 批量发布（先全部发送，再等待需要确认的；与 publish 一样：timeout > 0 且 qos > 0 才等待，且共用一个超时）
+     */
+    @Override
+    public boolean publishBatch(Collection<Event> events) throws CloudEventException {
+        initProducer();
+
+        List<Future<RecordMetadata>> futures = new ArrayList<>(events.size());
+
+        for (Event event : events) {
+            if (Utils.isEmpty(event.key())) {
+                event.key(Utils.guid());
+            }
+
+            Future<RecordMetadata> future = producer.send(new ProducerRecord<>(event.topic(), event.key(), event.content()));
+
+            if (event.qos() > 0) {
+                futures.add(future);
+            }
+        }
+
+        if (config.getTimeout() > 0 && futures.size() > 0) {
+            long deadline = System.currentTimeMillis() + config.getTimeout();
+
+            try {
+                for (Future<RecordMetadata> future : futures) {
+                    future.get(Math.max(deadline - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+                }
+            } catch (ExecutionException e) {
+                throw new CloudEventException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CloudEventException(e);
+            } catch (Exception e) {
+                throw new CloudEventException(e);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 异步发布（由发送回调完成；初始化或发送出错，也由 future 返回，不直接抛出）
+     */
+    @Override
+    public CompletableFuture<Boolean> publishAsync(Event event) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        try {
+            initProducer();
+
+            if (Utils.isEmpty(event.key())) {
+                event.key(Utils.guid());
+            }
+
+            producer.send(new ProducerRecord<>(event.topic(), event.key(), event.content()), (metadata, e) -> {
+                if (e == null) {
+                    future.complete(true);
+                } else {
+                    future.completeExceptionally(new CloudEventException(e));
+                }
+            });
+        } catch (Throwable e) {
+            future.completeExceptionally(new CloudEventException(e));
+        }
+
+        return future;
+    }
+
     CloudEventObserverManger observerManger = new CloudEventObserverManger();
 
     @Override
@@ -1,10 +1,12 @@
 package org.noear.solon.cloud.extend.local;
 
+import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.cloud.CloudClient;
 import org.noear.solon.cloud.CloudManager;
 import org.noear.solon.cloud.CloudProps;
 import org.noear.solon.cloud.extend.local.impl.job.JobManager;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricHandler;
 import org.noear.solon.cloud.extend.local.service.*;
 import org.noear.solon.core.AopContext;
 import org.noear.solon.core.Plugin;
@@ -15,6 +17,8 @@ import org.noear.solon.core.util.LogUtil;
  * @since 1.11
  */
 public class XPluginImp implements Plugin {
+    private CloudEventServiceLocalImpl eventService;
+
     @Override
     public void start(AopContext context) throws Throwable {
         CloudProps cloudProps = new CloudProps(context,"local");
@@ -35,7 +39,11 @@ public class XPluginImp implements Plugin {
         }
 
         if (cloudProps.getEventEnable()) {
-            CloudManager.register(new CloudEventServiceLocalImpl(cloudProps));
+            eventService = new CloudEventServiceLocalImpl(cloudProps);
+            CloudManager.register(eventService);
+
+            //订阅完成后，恢复日志里未确认的事件
+            context.lifecycle(-99, eventService::recover);
         }
 
         if (cloudProps.getI18nEnable()) {
@@ -57,7 +65,19 @@ public class XPluginImp implements Plugin {
         }
 
         if (cloudProps.getMetricEnable()) {
-            CloudManager.register(new CloudMetricServiceLocalImpl());
+            CloudMetricServiceLocalImpl metricService = new CloudMetricServiceLocalImpl(cloudProps);
+            CloudManager.register(metricService);
+
+            //度量输出（可选）
+            String metricPath = cloudProps.getValue("metric.path");
+            if (Utils.isNotEmpty(metricPath)) {
+                String metricToken = cloudProps.getValue("metric.token");
+                if (Utils.isEmpty(metricToken)) {
+                    LogUtil.global().warn("The metric path has no token, anyone can read it: " + metricPath);
+                }
+
+                Solon.app().get(metricPath, new MetricHandler(metricService, metricToken));
+            }
         }
 
         if (cloudProps.getFileEnable()) {
@@ -74,5 +94,9 @@ public class XPluginImp implements Plugin {
     @Override
     public void stop() throws Throwable {
         JobManager.stop();
+
+        if (eventService != null) {
+            eventService.stop();
+        }
     }
 }
@@ -0,0 +1,27 @@
+package org.noear.solon.cloud.extend.local.impl.event;
+
+import org.noear.solon.cloud.model.Event;
+
+/**
+ * 事件实体（带日志编号，用于确认）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class EventEntity {
+    /**
+     * 日志编号（没有日志时，为 0）
+     */
+    public final long id;
+    /**
+     * 主题（分组 + 主题）
+     */
+    public final String topicNew;
+    public final Event event;
+
+    public EventEntity(long id, String topicNew, Event event) {
+        this.id = id;
+        this.topicNew = topicNew;
+        this.event = event;
+    }
+}
@@ -0,0 +1,346 @@
+package org.noear.solon.cloud.extend.local.impl.event;
+
+import org.noear.solon.cloud.model.Event;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * 事件日志（内存映射的追加文件；用于重启后继续派发未确认的事件）
+ *
+ * <pre><code>
+ * 1.记录：{len:int + type:byte + id:long + [event]}，len 最后写入；len 为 0 表示结束
+ * 2.打开时回放（发布 - 确认 = 待派发），并压缩重写；写满时也压缩（不够时扩容）
+ * 3.写入在页缓存里即生效（进程退出不丢失）；关闭时刷盘
+ * 4.压缩时，先解除映射并关闭，再替换文件（windows 下，映射中的文件不能被替换）
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class EventJournal implements Closeable {
+    private static final byte TYPE_PUBLISH = 1;
+    private static final byte TYPE_ACK = 2;
+    private static final int HEAD_SIZE = 4 + 1 + 8;
+
+    private final File file;
+    private final Map<Long, byte[]> pending = new LinkedHashMap<>();
+    private long lastId;
+    private int capacity;
+
+    private RandomAccessFile raf;
+    private MappedByteBuffer buffer;
+
+    /**
+     * @param file     日志文件
+     * @param capacity 初始容量（字节）
+     */
+    public EventJournal(File file, int capacity) throws IOException {
+        this.file = file;
+        this.capacity = capacity;
+
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        if (file.exists()) {
+            replay();
+        }
+
+        //重写（去掉已确认的记录）
+        compact(0);
+    }
+
+    /**
+     * 待派发的事件（按发布顺序）
+     */
+    public synchronized Map<Long, Event> pending() throws IOException {
+        Map<Long, Event> events = new LinkedHashMap<>();
+
+        for (Map.Entry<Long, byte[]> kv : pending.entrySet()) {
+            events.put(kv.getKey(), decode(kv.getValue()));
+        }
+
+        return events;
+    }
+
+    /**
+     * 待确认数量
+     */
+    public synchronized int pendingSize() {
+        return pending.size();
+    }
+
+    /**
+     * 追加发布记录
+     *
+     * @return 日志编号
+     */
+    public synchronized long append(Event event) throws IOException {
+        byte[] data = encode(event);
+        long id = ++lastId;
+
+        write(TYPE_PUBLISH, id, data);
+        pending.put(id, data);
+
+        return id;
+    }
+
+    /**
+     * 追加发布记录（批量）
+     *
+     * @return 日志编号
+     */
+    public synchronized long[] appendAll(List<Event> events) throws IOException {
+        long[] ids = new long[events.size()];
+
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = append(events.get(i));
+        }
+
+        return ids;
+    }
+
+    /**
+     * 追加确认记录（批量）
+     */
+    public synchronized void ack(List<EventEntity> list) throws IOException {
+        for (EventEntity entity : list) {
+            if (entity.id > 0 && pending.remove(entity.id) != null) {
+                write(TYPE_ACK, entity.id, null);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        release();
+    }
+
+    private void write(byte type, long id, byte[] data) throws IOException {
+        if (buffer == null) {
+            throw new IOException("The event journal is closed: " + file);
+        }
+
+        int size = HEAD_SIZE + (data == null ? 0 : data.length);
+
+        if (buffer.remaining() < size + 4) {
+            compact(size);
+        }
+
+        int pos = buffer.position();
+
+        buffer.position(pos + 4);
+        buffer.put(type);
+        buffer.putLong(id);
+        if (data != null) {
+            buffer.put(data);
+        }
+
+        //长度最后写（写了一半的记录，回放时会被忽略）
+        buffer.putInt(pos, size - 4);
+    }
+
+    /**
+     * 回放
+     */
+    private void replay() throws IOException {
+        try (RandomAccessFile raf0 = new RandomAccessFile(file, "r")) {
+            byte[] bytes = new byte[(int) raf0.length()];
+            raf0.readFully(bytes);
+
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+            int remaining = bytes.length;
+
+            while (remaining >= HEAD_SIZE) {
+                int len = input.readInt();
+                if (len < HEAD_SIZE - 4 || len > remaining - 4) {
+                    break;
+                }
+
+                byte type = input.readByte();
+                long id = input.readLong();
+                byte[] data = new byte[len - (HEAD_SIZE - 4)];
+                input.readFully(data);
+                remaining -= (len + 4);
+
+                if (type == TYPE_PUBLISH) {
+                    pending.put(id, data);
+                } else if (type == TYPE_ACK) {
+                    pending.remove(id);
+                }
+
+                if (id > lastId) {
+                    lastId = id;
+                }
+            }
+        }
+    }
+
+    /**
+     * 压缩（只保留待确认的发布记录）
+     *
+     * @param reserve 需要预留的字节
+     */
+    private void compact(int reserve) throws IOException {
+        int used = 0;
+        for (byte[] data : pending.values()) {
+            used += HEAD_SIZE + data.length;
+        }
+
+        //至少留一半空间，避免频繁压缩
+        while (capacity < (used + reserve + 4) * 2) {
+            capacity = capacity * 2;
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+
+        try (RandomAccessFile raf1 = new RandomAccessFile(tmp, "rw")) {
+            raf1.setLength(0);
+            raf1.setLength(capacity);
+
+            MappedByteBuffer buf1 = raf1.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            try {
+                for (Map.Entry<Long, byte[]> kv : pending.entrySet()) {
+                    buf1.putInt(HEAD_SIZE - 4 + kv.getValue().length);
+                    buf1.put(TYPE_PUBLISH);
+                    buf1.putLong(kv.getKey());
+                    buf1.put(kv.getValue());
+                }
+                buf1.force();
+            } finally {
+                unmap(buf1);
+            }
+        }
+
+        //旧文件：刷盘，解除映射，关闭（之后才能替换）
+        int oldCapacity = (buffer == null ? 0 : buffer.capacity());
+        int oldPosition = (buffer == null ? 0 : buffer.position());
+        release();
+
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            //替换失败，继续用旧文件
+            if (oldCapacity > 0) {
+                capacity = oldCapacity;
+                map(oldPosition);
+            }
+            throw e;
+        }
+
+        map(used);
+    }
+
+    private void map(int position) throws IOException {
+        raf = new RandomAccessFile(file, "rw");
+        buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.position(position);
+    }
+
+    private void release() throws IOException {
+        if (raf != null) {
+            buffer.force();
+            unmap(buffer);
+            buffer = null;
+
+            raf.close();
+            raf = null;
+        }
+    }
+
+    /**
+     * 解除映射（不然要等 gc；尽力而为）
+     */
+    private static void unmap(MappedByteBuffer buf) {
+        try {
+            //java 9+
+            Class<?> unsafeClz = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClz.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClz.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+
+            invokeCleaner.invoke(theUnsafe.get(null), buf);
+        } catch (NoSuchMethodException e) {
+            //java 8
+            try {
+                Method cleanerMethod = buf.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buf);
+
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            } catch (Throwable ignored) {
+            }
+        } catch (Throwable ignored) {
+        }
+    }
+
+    private static byte[] encode(Event event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + event.content().length() * 3);
+        DataOutputStream output = new DataOutputStream(bytes);
+
+        writeString(output, event.group());
+        writeString(output, event.topic());
+        writeString(output, event.content());
+        writeString(output, event.key());
+        writeString(output, event.tags());
+        output.writeLong(event.scheduled() == null ? -1L : event.scheduled().getTime());
+        output.writeInt(event.times());
+
+        return bytes.toByteArray();
+    }
+
+    private static Event decode(byte[] data) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+
+        String group = readString(input);
+        String topic = readString(input);
+        String content = readString(input);
+
+        Event event = new Event(topic, content)
+                .group(group)
+                .key(readString(input))
+                .tags(readString(input));
+
+        long scheduled = input.readLong();
+        if (scheduled >= 0) {
+            event.scheduled(new Date(scheduled));
+        }
+
+        event.times(input.readInt());
+
+        return event;
+    }
+
+    private static void writeString(DataOutputStream output, String str) throws IOException {
+        if (str == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int len = input.readInt();
+
+        if (len < 0) {
+            return null;
+        } else {
+            byte[] bytes = new byte[len];
+            input.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,30 +1,33 @@
 package org.noear.solon.cloud.extend.local.impl.event;
 
-import org.noear.solon.cloud.exception.CloudJobException;
+import org.noear.solon.cloud.exception.CloudEventException;
 import org.noear.solon.cloud.extend.local.service.CloudEventServiceLocalImpl;
-import org.noear.solon.cloud.model.Event;
 import org.noear.solon.core.event.EventBus;
 
 /**
+ * 延时（或重试）的事件：到时间后进入主题队列（在调度线程上执行，不能等待）
+ *
  * @author noear
  * @since 1.12
  */
 public class EventRunnable implements Runnable {
     CloudEventServiceLocalImpl eventService;
-    Event event;
+    EventEntity entity;
 
-    public EventRunnable(CloudEventServiceLocalImpl eventService, Event event) {
+    public EventRunnable(CloudEventServiceLocalImpl eventService, EventEntity entity) {
         this.eventService = eventService;
-        this.event = event;
+        this.entity = entity;
     }
 
     @Override
     public void run() {
         try {
-            //派发
-            eventService.distribute(event);
+            if (eventService.enqueue(entity, 0L) == false) {
+                //队列满了，稍后再试
+                eventService.requeue(entity);
+            }
         } catch (Throwable e) {
-            EventBus.pushTry(new CloudJobException(e));
+            EventBus.pushTry(new CloudEventException(e));
         }
     }
 }
@@ -0,0 +1,116 @@
+package org.noear.solon.cloud.extend.local.impl.event;
+
+import org.noear.solon.core.event.EventBus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 主题队列（有界；由固定数量的消费线程，按批取出派发）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class EventTopicQueue {
+    /**
+     * 停止时，等待消费线程的最长时间（毫秒）
+     */
+    private static final long STOP_WAIT_MILLIS = 1000L;
+
+    private final String topic;
+    private final BlockingQueue<EventEntity> queue;
+    private final int batchSize;
+    private final Consumer<List<EventEntity>> dispatcher;
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    /**
+     * @param topic       主题
+     * @param capacity    队列容量
+     * @param concurrency 消费线程数
+     * @param batchSize   每批最大数量
+     * @param dispatcher  批量派发
+     */
+    public EventTopicQueue(String topic, int capacity, int concurrency, int batchSize, Consumer<List<EventEntity>> dispatcher) {
+        this.topic = topic;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.dispatcher = dispatcher;
+
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(this::consume, "solon-event-" + topic + "-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+
+            consumers.add(thread);
+        }
+    }
+
+    /**
+     * 主题
+     */
+    public String topic() {
+        return topic;
+    }
+
+    /**
+     * 排队数量
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * 加入队列（满了等待，超时返回 false）
+     */
+    public boolean offer(EventEntity entity, long timeoutMillis) throws InterruptedException {
+        return queue.offer(entity, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止消费（等待当前批次结束，之后才能关闭日志）
+     */
+    public void stop() {
+        running = false;
+
+        for (Thread thread : consumers) {
+            thread.interrupt();
+        }
+
+        try {
+            for (Thread thread : consumers) {
+                thread.join(STOP_WAIT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        List<EventEntity> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                EventEntity first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                dispatcher.accept(batch);
+            } catch (InterruptedException e) {
+                break;
+            } catch (Throwable e) {
+                EventBus.pushTry(e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.noear.solon.cloud.extend.local.impl.metric;
+
+import org.noear.solon.Utils;
+import org.noear.solon.cloud.extend.local.service.CloudMetricServiceLocalImpl;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.Handler;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 度量输出（Prometheus 文本格式）
+ *
+ * <pre><code>
+ * solon_count{group="demo",category="api",item="hello"} 12
+ * solon_gauge{group="demo",category="pool",item="active"} 3
+ * solon_meter{group="demo",category="api",item="hello",quantile="0.99"} 230
+ * solon_meter_window{group="demo",category="api",item="hello",quantile="0.99"} 180
+ *
+ * 有令牌时，需要 header "Authorization: Bearer {token}"（或参数 token=xxx），否则返回 401
+ * 没有令牌时，不做验证（只适合内网；或由网关等控制访问）
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class MetricHandler implements Handler {
+    private final CloudMetricServiceLocalImpl metricService;
+    private final byte[] token;
+
+    public MetricHandler(CloudMetricServiceLocalImpl metricService) {
+        this(metricService, null);
+    }
+
+    /**
+     * @param token 访问令牌（为空时，不验证）
+     */
+    public MetricHandler(CloudMetricServiceLocalImpl metricService, String token) {
+        this.metricService = metricService;
+        this.token = (Utils.isEmpty(token) ? null : token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void handle(Context ctx) throws Throwable {
+        if (token != null && isAuthorized(ctx) == false) {
+            ctx.status(401);
+            return;
+        }
+
+        StringBuilder buf = new StringBuilder(4096);
+
+        for (MetricSnapshot s : metricService.snapshot()) {
+            String labels = labels(s);
+
+            switch (s.getType()) {
+                case MetricSnapshot.TYPE_COUNT:
+                    line(buf, "solon_count", labels, null, s.getValue());
+                    break;
+                case MetricSnapshot.TYPE_GAUGE:
+                    line(buf, "solon_gauge", labels, null, s.getValue());
+                    break;
+                default:
+                    stats(buf, "solon_meter", labels, s.getTotal());
+                    stats(buf, "solon_meter_window", labels, s.getWindow());
+                    line(buf, "solon_meter_window_rate", labels, null, s.getWindowRate());
+            }
+        }
+
+        ctx.contentType("text/plain; version=0.0.4; charset=utf-8");
+        ctx.output(buf.toString());
+    }
+
+    private boolean isAuthorized(Context ctx) {
+        String tmp = ctx.header("Authorization");
+
+        if (tmp != null && tmp.startsWith("Bearer ")) {
+            tmp = tmp.substring(7).trim();
+        } else {
+            tmp = ctx.param("token");
+        }
+
+        //常量时间比较
+        return tmp != null && MessageDigest.isEqual(token, tmp.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void stats(StringBuilder buf, String name, String labels, MetricStats stats) {
+        line(buf, name, labels, "0.5", stats.getP50());
+        line(buf, name, labels, "0.99", stats.getP99());
+        line(buf, name, labels, "0.999", stats.getP999());
+        line(buf, name + "_count", labels, null, stats.getCount());
+        line(buf, name + "_sum", labels, null, stats.getSum());
+        line(buf, name + "_min", labels, null, stats.getMin());
+        line(buf, name + "_max", labels, null, stats.getMax());
+    }
+
+    private static void line(StringBuilder buf, String name, String labels, String quantile, Object value) {
+        buf.append(name).append('{').append(labels);
+        if (quantile != null) {
+            buf.append(",quantile=\"").append(quantile).append('"');
+        }
+        buf.append("} ").append(value).append('\n');
+    }
+
+    private static String labels(MetricSnapshot s) {
+        return "group=\"" + escape(s.getGroup()) +
+                "\",category=\"" + escape(s.getCategory()) +
+                "\",item=\"" + escape(s.getItem()) + "\"";
+    }
+
+    private static String escape(String str) {
+        if (str == null) {
+            return "";
+        }
+
+        return str.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
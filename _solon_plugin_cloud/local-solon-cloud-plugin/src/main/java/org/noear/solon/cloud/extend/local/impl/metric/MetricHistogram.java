@@ -0,0 +1,100 @@
+package org.noear.solon.cloud.extend.local.impl.metric;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 直方图（无锁；对数-线性分桶，类 HDR）
+ *
+ * <pre><code>
+ * 1.小于 16 的值，一值一桶；之后每个 2 的幂区间再分 16 个子桶（相对误差约 3%）
+ * 2.覆盖 0 ~ Long.MAX_VALUE，共 960 个桶；负值按 0 记
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class MetricHistogram {
+    static final int SUB_BITS = 4;
+    static final int SUB_COUNT = 1 << SUB_BITS;
+    static final int BUCKET_COUNT = (63 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * 记录一个值
+     */
+    public void record(long val) {
+        if (val < 0) {
+            val = 0;
+        }
+
+        buckets.incrementAndGet(indexOf(val));
+        count.increment();
+        sum.add(val);
+
+        long tmp;
+        while (val < (tmp = min.get())) {
+            if (min.compareAndSet(tmp, val)) {
+                break;
+            }
+        }
+
+        while (val > (tmp = max.get())) {
+            if (max.compareAndSet(tmp, val)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 累加到统计（用于窗口合并）
+     */
+    public void addTo(MetricStats stats) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long n = buckets.get(i);
+            if (n > 0) {
+                stats.buckets[i] += n;
+            }
+        }
+
+        stats.count += count.sum();
+        stats.sum += sum.sum();
+        stats.min = Math.min(stats.min, min.get());
+        stats.max = Math.max(stats.max, max.get());
+    }
+
+    /**
+     * 值所在的桶
+     */
+    static int indexOf(long val) {
+        if (val < SUB_COUNT) {
+            return (int) val;
+        }
+
+        int exp = 63 - Long.numberOfLeadingZeros(val);
+        int sub = (int) (val >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * 桶的代表值（区间中值）
+     */
+    static long valueOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+
+        int exp = index / SUB_COUNT + SUB_BITS - 1;
+        int shift = exp - SUB_BITS;
+        long lower = ((long) (SUB_COUNT + index % SUB_COUNT)) << shift;
+
+        return lower + ((1L << shift) >>> 1);
+    }
+}
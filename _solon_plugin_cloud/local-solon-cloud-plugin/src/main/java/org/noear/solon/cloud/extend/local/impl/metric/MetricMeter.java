@@ -0,0 +1,101 @@
+package org.noear.solon.cloud.extend.local.impl.metric;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 度量（累计直方图 + 滑动窗口直方图）
+ *
+ * <pre><code>
+ * 窗口由 slots 个时间片组成（环形），过期的时间片在写入时整体替换（无锁）
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class MetricMeter {
+    private final MetricHistogram total = new MetricHistogram();
+    private final AtomicReferenceArray<Slot> window;
+    private final long slotMillis;
+
+    /**
+     * @param windowMillis 窗口时长（毫秒）
+     * @param slots        时间片数量
+     */
+    public MetricMeter(long windowMillis, int slots) {
+        this.window = new AtomicReferenceArray<>(slots);
+        this.slotMillis = Math.max(1L, windowMillis / slots);
+    }
+
+    /**
+     * 窗口时长（毫秒）
+     */
+    public long windowMillis() {
+        return slotMillis * window.length();
+    }
+
+    /**
+     * 记录一个值
+     */
+    public void record(long val) {
+        total.record(val);
+        currentSlot(System.currentTimeMillis() / slotMillis).histogram.record(val);
+    }
+
+    /**
+     * 累计统计
+     */
+    public MetricStats total() {
+        MetricStats stats = new MetricStats();
+        total.addTo(stats);
+        return stats;
+    }
+
+    /**
+     * 窗口统计
+     */
+    public MetricStats window() {
+        long epoch = System.currentTimeMillis() / slotMillis;
+        MetricStats stats = new MetricStats();
+
+        for (int i = 0; i < window.length(); i++) {
+            Slot slot = window.get(i);
+
+            if (slot != null && slot.epoch > epoch - window.length()) {
+                slot.histogram.addTo(stats);
+            }
+        }
+
+        return stats;
+    }
+
+    private Slot currentSlot(long epoch) {
+        int idx = (int) (epoch % window.length());
+
+        while (true) {
+            Slot slot = window.get(idx);
+
+            if (slot != null && slot.epoch == epoch) {
+                return slot;
+            }
+
+            if (slot != null && slot.epoch > epoch) {
+                //时钟回拨（或刚好被更新的时间片替换），记入新的
+                return slot;
+            }
+
+            Slot slotNew = new Slot(epoch);
+            if (window.compareAndSet(idx, slot, slotNew)) {
+                return slotNew;
+            }
+        }
+    }
+
+    static class Slot {
+        final long epoch;
+        final MetricHistogram histogram = new MetricHistogram();
+
+        Slot(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
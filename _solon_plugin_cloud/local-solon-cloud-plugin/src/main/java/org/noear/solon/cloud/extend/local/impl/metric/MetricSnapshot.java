@@ -0,0 +1,95 @@
+package org.noear.solon.cloud.extend.local.impl.metric;
+
+/**
+ * 度量快照
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class MetricSnapshot {
+    public static final String TYPE_COUNT = "count";
+    public static final String TYPE_METER = "meter";
+    public static final String TYPE_GAUGE = "gauge";
+
+    private final String type;
+    private final String group;
+    private final String category;
+    private final String item;
+    private final long value;
+    private final MetricStats total;
+    private final MetricStats window;
+    private final long windowMillis;
+
+    public MetricSnapshot(String type, String group, String category, String item, long value) {
+        this(type, group, category, item, value, null, null, 0);
+    }
+
+    public MetricSnapshot(String type, String group, String category, String item, long value, MetricStats total, MetricStats window, long windowMillis) {
+        this.type = type;
+        this.group = group;
+        this.category = category;
+        this.item = item;
+        this.value = value;
+        this.total = total;
+        this.window = window;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * 类型（count, meter, gauge）
+     */
+    public String getType() {
+        return type;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getItem() {
+        return item;
+    }
+
+    /**
+     * 值（count 为累计值；gauge 为瞬值；meter 为累计数量）
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * 累计统计（仅 meter）
+     */
+    public MetricStats getTotal() {
+        return total;
+    }
+
+    /**
+     * 窗口统计（仅 meter）
+     */
+    public MetricStats getWindow() {
+        return window;
+    }
+
+    /**
+     * 窗口时长（毫秒；仅 meter）
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * 窗口内每秒数量（仅 meter）
+     */
+    public double getWindowRate() {
+        if (window == null || windowMillis == 0) {
+            return 0D;
+        } else {
+            return window.getCount() * 1000D / windowMillis;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.noear.solon.cloud.extend.local.impl.metric;
+
+/**
+ * 度量统计（某一时刻的直方图合并结果）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class MetricStats {
+    final long[] buckets = new long[MetricHistogram.BUCKET_COUNT];
+    long count;
+    long sum;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+
+    /**
+     * 数量
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 合计
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * 最小值
+     */
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * 最大值
+     */
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * 平均值
+     */
+    public double getMean() {
+        return count == 0 ? 0D : (double) sum / count;
+    }
+
+    public long getP50() {
+        return percentile(0.5D);
+    }
+
+    public long getP99() {
+        return percentile(0.99D);
+    }
+
+    public long getP999() {
+        return percentile(0.999D);
+    }
+
+    /**
+     * 百分位值
+     *
+     * @param quantile 分位（0 ~ 1）
+     */
+    public long percentile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        //各桶是分别读取的，以桶合计为准
+        long total = 0;
+        for (long n : buckets) {
+            total += n;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long acc = 0;
+
+        for (int i = 0; i < buckets.length; i++) {
+            acc += buckets[i];
+
+            if (acc >= rank) {
+                long val = MetricHistogram.valueOf(i);
+                return Math.max(getMin(), Math.min(getMax(), val));
+            }
+        }
+
+        return getMax();
+    }
+}
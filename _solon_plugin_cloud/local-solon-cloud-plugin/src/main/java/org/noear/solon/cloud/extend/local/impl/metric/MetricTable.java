@@ -0,0 +1,55 @@
+package org.noear.solon.cloud.extend.local.impl.metric;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 度量表（group -> category -> item；逐级查找，不拼接键）
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class MetricTable<T> {
+    private final Map<String, Map<String, Map<String, T>>> groups = new ConcurrentHashMap<>();
+
+    /**
+     * 获取（没有则创建）
+     */
+    public T get(String group, String category, String item, Supplier<T> supplier) {
+        Map<String, Map<String, T>> categories = groups.get(group);
+        if (categories == null) {
+            categories = groups.computeIfAbsent(group, k -> new ConcurrentHashMap<>());
+        }
+
+        Map<String, T> items = categories.get(category);
+        if (items == null) {
+            items = categories.computeIfAbsent(category, k -> new ConcurrentHashMap<>());
+        }
+
+        T val = items.get(item);
+        if (val == null) {
+            val = items.computeIfAbsent(item, k -> supplier.get());
+        }
+
+        return val;
+    }
+
+    /**
+     * 遍历
+     */
+    public void forEach(Visitor<T> visitor) {
+        groups.forEach((group, categories) -> {
+            categories.forEach((category, items) -> {
+                items.forEach((item, val) -> {
+                    visitor.visit(group, category, item, val);
+                });
+            });
+        });
+    }
+
+    @FunctionalInterface
+    public interface Visitor<T> {
+        void visit(String group, String category, String item, T val);
+    }
+}
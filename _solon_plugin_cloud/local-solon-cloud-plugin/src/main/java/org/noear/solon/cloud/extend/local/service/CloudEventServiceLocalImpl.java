@@ -6,78 +6,314 @@ import org.noear.solon.cloud.CloudProps;
 import org.noear.solon.cloud.annotation.EventLevel;
 import org.noear.solon.cloud.exception.CloudEventException;
 import org.noear.solon.cloud.extend.local.LocalProps;
+import org.noear.solon.cloud.extend.local.impl.event.EventEntity;
+import org.noear.solon.cloud.extend.local.impl.event.EventJournal;
 import org.noear.solon.cloud.extend.local.impl.event.EventRunnable;
+import org.noear.solon.cloud.extend.local.impl.event.EventTopicQueue;
 import org.noear.solon.cloud.model.Event;
 import org.noear.solon.cloud.service.CloudEventObserverManger;
 import org.noear.solon.cloud.service.CloudEventServicePlus;
 import org.noear.solon.cloud.utils.ExpirationUtils;
+import org.noear.solon.core.Props;
 import org.noear.solon.core.event.EventBus;
-import org.noear.solon.core.util.RunUtil;
+import org.noear.solon.core.util.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
- * 云端事件（本地摸拟实现。不支持ACK，不支持延时。最好还是引入消息队列的适配框架）
+ * 云端事件（本地摸拟实现。最好还是引入消息队列的适配框架）
+ *
+ * <pre><code>
+ * 1.每个主题一个有界队列，由固定数量的消费线程按批派发（满了，发布时等待 publishTimeout，仍满则返回 false）
+ * 2.失败重试与延时，走专用的调度线程（调度线程不等待；队列满了，稍后再入队）
+ * 3.可选日志（event.journal）：未确认的事件，重启后继续派发（至少一次）
+ *
+ * solon.cloud.local.event:
+ *   queueSize: 10000      #每个主题的队列容量
+ *   prefetchCount: 64     #每批最大数量
+ *   concurrency: 1        #每个主题的消费线程数（默认）
+ *   topicConcurrency:     #指定主题的消费线程数
+ *     demo.event1: 4
+ *   journal: "/data/demo/event.journal"
+ * </code></pre>
  *
  * @author noear
  * @since 1.11
  */
 public class CloudEventServiceLocalImpl implements CloudEventServicePlus {
+    /**
+     * 队列满时，再次入队的延时（毫秒）
+     */
+    private static final long REQUEUE_DELAY_MILLIS = 100L;
+
     static Logger log = LoggerFactory.getLogger(CloudEventServiceLocalImpl.class);
     private CloudProps cloudProps;
 
+    private final Map<String, EventTopicQueue> queues = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("solon-event-scheduler-").daemon(true));
+    private EventJournal journal;
+
+    private final int queueSize;
+    private final int batchSize;
+    private final int concurrency;
+    private final Props topicConcurrency;
+    private final long publishTimeout;
+
     public CloudEventServiceLocalImpl(CloudProps cloudProps) {
         this.cloudProps = cloudProps;
+
+        this.queueSize = Integer.parseInt(cloudProps.getValue("event.queueSize", "10000"));
+        this.concurrency = Integer.parseInt(cloudProps.getValue("event.concurrency", "1"));
+        this.topicConcurrency = cloudProps.getProp("event.topicConcurrency");
+        this.publishTimeout = cloudProps.getEventPublishTimeout();
+
+        int prefetchCount = cloudProps.getEventPrefetchCount();
+        this.batchSize = (prefetchCount > 0 ? prefetchCount : 64);
+
+        String journalFile = cloudProps.getValue("event.journal");
+        if (Utils.isNotEmpty(journalFile)) {
+            try {
+                journal = new EventJournal(new File(journalFile), 1024 * 1024 * 16);
+            } catch (IOException e) {
+                throw new IllegalStateException("The event journal failed to open: " + journalFile, e);
+            }
+        }
     }
 
+    /**
+     * 发布
+     *
+     * @return 队列满了（等待 publishTimeout 后），返回 false
+     */
     @Override
     public boolean publish(Event event) throws CloudEventException {
-        if (Utils.isEmpty(event.topic())) {
-            throw new IllegalArgumentException("Event missing topic");
+        return publishBatch(Collections.singletonList(event));
+    }
+
+    /**
+     * 批量发布（日志一次写入；逐个入队）
+     *
+     * @return 队列满了（等待 publishTimeout 后），返回 false；之前的事件已入队，之后的不再发布
+     */
+    @Override
+    public boolean publishBatch(Collection<Event> events) throws CloudEventException {
+        List<Event> list = new ArrayList<>(events);
+
+        for (Event event : list) {
+            if (Utils.isEmpty(event.topic())) {
+                throw new IllegalArgumentException("Event missing topic");
+            }
+
+            if (Utils.isEmpty(event.content())) {
+                throw new IllegalArgumentException("Event missing content");
+            }
+        }
+
+        long[] ids = null;
+        if (journal != null) {
+            try {
+                ids = journal.appendAll(list);
+            } catch (IOException e) {
+                throw new CloudEventException(e);
+            }
+        }
+
+        for (int i = 0; i < list.size(); i++) {
+            Event event = list.get(i);
+            EventEntity entity = new EventEntity(ids == null ? 0 : ids[i], getTopicNew(event.group(), event.topic()), event);
+
+            if (schedule(entity, publishTimeout) == false) {
+                //没入队的（含后续的），从日志里确认掉
+                List<EventEntity> rest = new ArrayList<>();
+                for (int j = i; j < list.size() && ids != null; j++) {
+                    rest.add(new EventEntity(ids[j], entity.topicNew, list.get(j)));
+                }
+                ack(rest);
+
+                log.warn("The event queue is full: {}", entity.topicNew);
+                return false;
+            }
         }
 
-        if (Utils.isEmpty(event.content())) {
-            throw new IllegalArgumentException("Event missing content");
+        return true;
+    }
+
+    /**
+     * 异步发布（入队即完成，不需要另起线程）
+     */
+    @Override
+    public CompletableFuture<Boolean> publishAsync(Event event) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        try {
+            future.complete(publish(event));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
         }
 
+        return future;
+    }
+
+    /**
+     * 恢复日志里未确认的事件（在订阅完成后执行）
+     *
+     * @since 2.3
+     */
+    public void recover() {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            for (Map.Entry<Long, Event> kv : journal.pending().entrySet()) {
+                Event event = kv.getValue();
+                EventEntity entity = new EventEntity(kv.getKey(), getTopicNew(event.group(), event.topic()), event);
+
+                if (schedule(entity, 0L) == false) {
+                    requeue(entity);
+                }
+            }
+
+            log.info("The event journal recovered: {}", journal.pendingSize());
+        } catch (IOException e) {
+            EventBus.pushTry(new CloudEventException(e));
+        }
+    }
+
+    /**
+     * 停止（消费线程，调度线程，日志）
+     *
+     * @since 2.3
+     */
+    public void stop() throws IOException {
+        for (EventTopicQueue queue : queues.values()) {
+            queue.stop();
+        }
+
+        scheduler.shutdownNow();
+
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * 按预定时间入队
+     */
+    private boolean schedule(EventEntity entity, long timeoutMillis) {
         long scheduled_millis = 0L;
-        if (event.scheduled() != null) {
-            scheduled_millis = event.scheduled().getTime() - System.currentTimeMillis();
+        if (entity.event.scheduled() != null) {
+            scheduled_millis = entity.event.scheduled().getTime() - System.currentTimeMillis();
         }
 
         if (scheduled_millis > 0L) {
             //延迟执行
-            RunUtil.delay(new EventRunnable(this, event), scheduled_millis);
+            scheduler.schedule(new EventRunnable(this, entity), scheduled_millis, TimeUnit.MILLISECONDS);
+            return true;
         } else {
-            //异步执行
-            RunUtil.async(() -> {
-                try {
-                    //派发
-                    distribute(event);
-                } catch (Throwable e) {
-                    EventBus.pushTry(new CloudEventException(e));
-                }
-            });
+            return enqueue(entity, timeoutMillis);
         }
+    }
 
-        return true;
+    /**
+     * 加入主题队列（满了等待，超时返回 false；为 0 时不等待）
+     *
+     * @since 2.3
+     */
+    public boolean enqueue(EventEntity entity, long timeoutMillis) {
+        EventTopicQueue queue = queues.computeIfAbsent(entity.topicNew, this::newQueue);
+
+        try {
+            return queue.offer(entity, timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CloudEventException(e);
+        }
     }
 
-    public void distribute(Event event) throws Throwable {
-        //new topic
-        String topicNew;
-        if (Utils.isEmpty(event.group())) {
-            topicNew = event.topic();
-        } else {
-            topicNew = event.group() + LocalProps.GROUP_TOPIC_SPLIT_MART + event.topic();
+    /**
+     * 队列满了，稍后再入队（不计重试次数）
+     *
+     * @since 2.3
+     */
+    public void requeue(EventEntity entity) {
+        scheduler.schedule(new EventRunnable(this, entity), REQUEUE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 失败后，重新进入延时队列
+     *
+     * @since 2.3
+     */
+    public void retry(EventEntity entity) {
+        entity.event.times(entity.event.times() + 1);
+
+        scheduler.schedule(new EventRunnable(this, entity),
+                ExpirationUtils.getExpiration(entity.event.times()),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private EventTopicQueue newQueue(String topicNew) {
+        int concurrency1 = topicConcurrency.getInt(topicNew, concurrency);
+
+        return new EventTopicQueue(topicNew, queueSize, Math.max(concurrency1, 1), batchSize, this::dispatch);
+    }
+
+    /**
+     * 批量派发（消费线程）
+     */
+    private void dispatch(List<EventEntity> batch) {
+        List<EventEntity> succeeded = new ArrayList<>(batch.size());
+
+        for (EventEntity entity : batch) {
+            if (distributeDo(entity.topicNew, entity.event)) {
+                succeeded.add(entity);
+            } else {
+                retry(entity);
+            }
         }
 
-        boolean isOk = false;
+        ack(succeeded);
+    }
+
+    private void ack(List<EventEntity> list) {
+        if (journal != null && list.size() > 0) {
+            try {
+                journal.ack(list);
+            } catch (IOException e) {
+                EventBus.pushTry(new CloudEventException(e));
+            }
+        }
+    }
+
+    public void distribute(Event event) throws Throwable {
+        String topicNew = getTopicNew(event.group(), event.topic());
+
+        if (distributeDo(topicNew, event) == false) {
+            //失败后，重新进入延时队列
+            retry(new EventEntity(0, topicNew, event));
+        }
+    }
 
+    private boolean distributeDo(String topicNew, Event event) {
         try {
             CloudEventHandler eventHandler = observerManger.getByTopic(topicNew);
             if (eventHandler != null) {
-                isOk = eventHandler.handle(event);
+                return eventHandler.handle(event);
             } else {//只需要记录一下
                 log.warn("There is no observer for this event topic[{}]", event.topic());
             }
@@ -85,10 +321,15 @@ public class CloudEventServiceLocalImpl implements CloudEventServicePlus {
             log.error(e.getMessage(), e);
         }
 
-        if (isOk == false) {
-            //失败后，重新进入延时队列
-            event.times(event.times() + 1);
-            RunUtil.delay(new EventRunnable(this, event), ExpirationUtils.getExpiration(event.times()));
+        return false;
+    }
+
+    private String getTopicNew(String group, String topic) {
+        //new topic
+        if (Utils.isEmpty(group)) {
+            return topic;
+        } else {
+            return group + LocalProps.GROUP_TOPIC_SPLIT_MART + topic;
         }
     }
 
@@ -97,12 +338,7 @@ public class CloudEventServiceLocalImpl implements CloudEventServicePlus {
     @Override
     public void attention(EventLevel level, String channel, String group, String topic, String tag, CloudEventHandler observer) {
         //new topic
-        String topicNew;
-        if (Utils.isEmpty(group)) {
-            topicNew = topic;
-        } else {
-            topicNew = group + LocalProps.GROUP_TOPIC_SPLIT_MART + topic;
-        }
+        String topicNew = getTopicNew(group, topic);
 
         observerManger.add(topicNew, level, group, topic, tag, observer);
     }
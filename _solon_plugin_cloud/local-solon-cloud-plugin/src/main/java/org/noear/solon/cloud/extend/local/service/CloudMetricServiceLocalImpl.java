@@ -1,26 +1,98 @@
 package org.noear.solon.cloud.extend.local.service;
 
+import org.noear.solon.cloud.CloudProps;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricMeter;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricSnapshot;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricStats;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricTable;
 import org.noear.solon.cloud.service.CloudMetricService;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * 云端度量（本地摸拟实现）
  *
+ * <pre><code>
+ * 1.记数用 LongAdder；度量用无锁直方图（累计 + 滑动窗口；p50/p99/p999）；指标为瞬值
+ * 2.可通过 snapshot() 获取快照；或配置 path，以 Prometheus 文本格式输出
+ *
+ * solon.cloud.local.metric:
+ *   windowSeconds: 60     #滑动窗口时长
+ *   windowSlots: 6        #窗口的时间片数量
+ *   path: "/_metrics"     #输出路径（可选）
+ *   token: "xxx"          #输出路径的访问令牌（可选；没有时不验证）
+ * </code></pre>
+ *
  * @author noear
  * @since 1.11
  */
 public class CloudMetricServiceLocalImpl implements CloudMetricService {
+    private final MetricTable<LongAdder> counts = new MetricTable<>();
+    private final MetricTable<MetricMeter> meters = new MetricTable<>();
+    private final MetricTable<AtomicLong> gauges = new MetricTable<>();
+
+    private final long windowMillis;
+    private final int windowSlots;
+
+    public CloudMetricServiceLocalImpl() {
+        this(60, 6);
+    }
+
+    public CloudMetricServiceLocalImpl(CloudProps cloudProps) {
+        this(Integer.parseInt(cloudProps.getValue("metric.windowSeconds", "60")),
+                Integer.parseInt(cloudProps.getValue("metric.windowSlots", "6")));
+    }
+
+    /**
+     * @param windowSeconds 滑动窗口时长（秒）
+     * @param windowSlots   窗口的时间片数量
+     * @since 2.3
+     */
+    public CloudMetricServiceLocalImpl(int windowSeconds, int windowSlots) {
+        this.windowMillis = windowSeconds * 1000L;
+        this.windowSlots = Math.max(1, windowSlots);
+    }
+
     @Override
     public void addCount(String group, String category, String item, long val) {
-
+        counts.get(group, category, item, LongAdder::new).add(val);
     }
 
     @Override
     public void addMeter(String group, String category, String item, long val) {
-
+        meters.get(group, category, item, () -> new MetricMeter(windowMillis, windowSlots)).record(val);
     }
 
     @Override
     public void addGauge(String group, String category, String item, long val) {
+        gauges.get(group, category, item, AtomicLong::new).set(val);
+    }
+
+    /**
+     * 获取快照
+     *
+     * @since 2.3
+     */
+    public List<MetricSnapshot> snapshot() {
+        List<MetricSnapshot> list = new ArrayList<>();
+
+        counts.forEach((group, category, item, val) -> {
+            list.add(new MetricSnapshot(MetricSnapshot.TYPE_COUNT, group, category, item, val.sum()));
+        });
+
+        meters.forEach((group, category, item, val) -> {
+            MetricStats total = val.total();
+            list.add(new MetricSnapshot(MetricSnapshot.TYPE_METER, group, category, item,
+                    total.getCount(), total, val.window(), val.windowMillis()));
+        });
+
+        gauges.forEach((group, category, item, val) -> {
+            list.add(new MetricSnapshot(MetricSnapshot.TYPE_GAUGE, group, category, item, val.get()));
+        });
 
+        return list;
     }
 }
@@ -0,0 +1,149 @@
+package features;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.noear.solon.cloud.CloudProps;
+import org.noear.solon.cloud.annotation.EventLevel;
+import org.noear.solon.cloud.extend.local.service.CloudEventServiceLocalImpl;
+import org.noear.solon.cloud.model.Event;
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.Props;
+import org.noear.solon.test.SolonJUnit4ClassRunner;
+import org.noear.solon.test.SolonTest;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地事件服务：队列满，调度线程不阻塞，日志恢复（事件观察者需要 Solon 上下文）
+ */
+@RunWith(SolonJUnit4ClassRunner.class)
+@SolonTest
+public class CloudEventServiceLocalTest {
+    @Test
+    public void test_queue_full() throws Exception {
+        CloudEventServiceLocalImpl service = newService(null, 200);
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+
+        service.attention(EventLevel.instance, "", "", "demo.full", "", event -> {
+            entered.countDown();
+            release.await();
+            received.incrementAndGet();
+            return true;
+        });
+
+        try {
+            assert service.publish(new Event("demo.full", "1")); //被消费线程取走（并卡住）
+            assert entered.await(3, TimeUnit.SECONDS);
+
+            assert service.publish(new Event("demo.full", "2")); //排队
+            assert service.publish(new Event("demo.full", "3")) == false; //满了，等待超时后返回 false
+            assert service.publishAsync(new Event("demo.full", "4")).get() == false;
+
+            release.countDown();
+
+            long deadline = System.currentTimeMillis() + 3000;
+            while (received.get() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assert received.get() == 2;
+        } finally {
+            release.countDown();
+            service.stop();
+        }
+    }
+
+    @Test
+    public void test_scheduler_not_blocked() throws Exception {
+        CloudEventServiceLocalImpl service = newService(null, 2000); //调度线程若等待，会超过下面的 1 秒
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch other = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+
+        service.attention(EventLevel.instance, "", "", "demo.full", "", event -> {
+            entered.countDown();
+            release.await();
+            received.incrementAndGet();
+            return true;
+        });
+
+        service.attention(EventLevel.instance, "", "", "demo.other", "", event -> {
+            other.countDown();
+            return true;
+        });
+
+        try {
+            assert service.publish(new Event("demo.full", "1"));
+            assert entered.await(3, TimeUnit.SECONDS);
+            assert service.publish(new Event("demo.full", "2"));
+
+            //满的主题，到时间后入不了队（稍后再入队，不等待）
+            assert service.publish(new Event("demo.full", "3").scheduled(new Date(System.currentTimeMillis() + 10)));
+            //别的主题，不受影响
+            assert service.publish(new Event("demo.other", "4").scheduled(new Date(System.currentTimeMillis() + 50)));
+
+            assert other.await(1, TimeUnit.SECONDS);
+
+            release.countDown();
+
+            long deadline = System.currentTimeMillis() + 3000;
+            while (received.get() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assert received.get() == 3;
+        } finally {
+            release.countDown();
+            service.stop();
+        }
+    }
+
+    @Test
+    public void test_recover() throws Exception {
+        File dir = Files.createTempDirectory("event-journal").toFile();
+        File journal = new File(dir, "event.journal");
+
+        //没有订阅者，派发失败，不会确认
+        CloudEventServiceLocalImpl service1 = newService(journal, 200);
+        assert service1.publish(new Event("demo.recover", "1"));
+        service1.stop();
+
+        CloudEventServiceLocalImpl service2 = newService(journal, 200);
+        CountDownLatch received = new CountDownLatch(1);
+        service2.attention(EventLevel.instance, "", "", "demo.recover", "", event -> {
+            received.countDown();
+            return "1".equals(event.content());
+        });
+
+        try {
+            service2.recover();
+            assert received.await(3, TimeUnit.SECONDS);
+        } finally {
+            service2.stop();
+        }
+
+        journal.delete();
+        dir.delete();
+    }
+
+    private static CloudEventServiceLocalImpl newService(File journal, long publishTimeout) {
+        Props props = new Props();
+        props.put("solon.cloud.local.event.queueSize", "1");
+        props.put("solon.cloud.local.event.publishTimeout", String.valueOf(publishTimeout));
+        if (journal != null) {
+            props.put("solon.cloud.local.event.journal", journal.getPath());
+        }
+
+        return new CloudEventServiceLocalImpl(new CloudProps(new AopContext(null, props), "local"));
+    }
+}
@@ -0,0 +1,156 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricHandler;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricMeter;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricSnapshot;
+import org.noear.solon.cloud.extend.local.impl.metric.MetricStats;
+import org.noear.solon.cloud.extend.local.service.CloudMetricServiceLocalImpl;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 本地度量：记数，指标，直方图（百分位，窗口），输出的令牌验证
+ */
+public class CloudMetricServiceLocalTest {
+    @Test
+    public void test_count_gauge() {
+        CloudMetricServiceLocalImpl service = new CloudMetricServiceLocalImpl();
+
+        service.addCount("demo", "api", "hello", 1);
+        service.addCount("demo", "api", "hello", 2);
+        service.addGauge("demo", "pool", "active", 5);
+        service.addGauge("demo", "pool", "active", 3);
+
+        List<MetricSnapshot> list = service.snapshot();
+
+        assert find(list, MetricSnapshot.TYPE_COUNT, "hello").getValue() == 3;
+        assert find(list, MetricSnapshot.TYPE_GAUGE, "active").getValue() == 3;
+    }
+
+    @Test
+    public void test_meter() {
+        CloudMetricServiceLocalImpl service = new CloudMetricServiceLocalImpl();
+
+        for (int i = 1; i <= 1000; i++) {
+            service.addMeter("demo", "api", "hello", i);
+        }
+
+        MetricStats total = find(service.snapshot(), MetricSnapshot.TYPE_METER, "hello").getTotal();
+
+        assert total.getCount() == 1000;
+        assert total.getSum() == 500500;
+        assert total.getMin() == 1;
+        assert total.getMax() == 1000;
+
+        //分桶的相对误差约 3%
+        assert near(total.getP50(), 500);
+        assert near(total.getP99(), 990);
+        assert near(total.getP999(), 999);
+    }
+
+    @Test
+    public void test_meter_concurrent() throws Exception {
+        CloudMetricServiceLocalImpl service = new CloudMetricServiceLocalImpl();
+
+        int threads = 8;
+        int perThread = 10_000;
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    service.addMeter("demo", "api", "hello", i);
+                    service.addCount("demo", "api", "hello", 1);
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        latch.await();
+
+        List<MetricSnapshot> list = service.snapshot();
+        assert find(list, MetricSnapshot.TYPE_METER, "hello").getTotal().getCount() == threads * perThread;
+        assert find(list, MetricSnapshot.TYPE_COUNT, "hello").getValue() == threads * perThread;
+    }
+
+    @Test
+    public void test_window() throws Exception {
+        MetricMeter meter = new MetricMeter(200, 2);
+
+        meter.record(10);
+        meter.record(20);
+
+        assert meter.window().getCount() == 2;
+
+        //超过窗口时长后，窗口清空，累计不变
+        Thread.sleep(500);
+
+        assert meter.window().getCount() == 0;
+        assert meter.total().getCount() == 2;
+
+        meter.record(30);
+        assert meter.window().getCount() == 1;
+        assert meter.window().getMax() == 30;
+    }
+
+    @Test
+    public void test_handler_token() throws Throwable {
+        CloudMetricServiceLocalImpl service = new CloudMetricServiceLocalImpl();
+        service.addCount("demo", "api", "hello", 1);
+
+        MetricHandler handler = new MetricHandler(service, "abc");
+
+        Context ctx = new ContextEmpty();
+        handler.handle(ctx);
+        assert ctx.status() == 401;
+        assert ctx.attr("output") == null;
+
+        ctx = new ContextEmpty();
+        ctx.headerMap().put("Authorization", "Bearer xyz");
+        handler.handle(ctx);
+        assert ctx.status() == 401;
+
+        ctx = new ContextEmpty();
+        ctx.headerMap().put("Authorization", "Bearer abc");
+        handler.handle(ctx);
+        assert ctx.status() == 200;
+        String output = ctx.attr("output");
+        assert output.contains("solon_count{group=\"demo\",category=\"api\",item=\"hello\"} 1");
+
+        ctx = new ContextEmpty();
+        ctx.paramMap().put("token", "abc");
+        handler.handle(ctx);
+        assert ctx.status() == 200;
+    }
+
+    @Test
+    public void test_handler_no_token() throws Throwable {
+        CloudMetricServiceLocalImpl service = new CloudMetricServiceLocalImpl();
+        service.addGauge("demo", "pool", "active", 3);
+
+        Context ctx = new ContextEmpty();
+        new MetricHandler(service).handle(ctx);
+
+        assert ctx.status() == 200;
+        String output = ctx.attr("output");
+        assert output.contains("solon_gauge{group=\"demo\",category=\"pool\",item=\"active\"} 3");
+    }
+
+    private static boolean near(long actual, long expected) {
+        return Math.abs(actual - expected) <= expected * 0.04;
+    }
+
+    private static MetricSnapshot find(List<MetricSnapshot> list, String type, String item) {
+        for (MetricSnapshot s : list) {
+            if (s.getType().equals(type) && s.getItem().equals(item)) {
+                return s;
+            }
+        }
+
+        throw new IllegalStateException("Not found: " + type + " " + item);
+    }
+}
@@ -0,0 +1,100 @@
+package features;
+
+import org.junit.Test;
+import org.noear.solon.cloud.extend.local.impl.event.EventEntity;
+import org.noear.solon.cloud.extend.local.impl.event.EventJournal;
+import org.noear.solon.cloud.model.Event;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 事件日志：重启恢复，压缩
+ */
+public class EventJournalTest {
+    @Test
+    public void test_recover() throws Exception {
+        File file = newFile();
+
+        EventJournal journal = new EventJournal(file, 1024);
+        long id1 = journal.append(new Event("demo.topic", "a").key("k1"));
+        long id2 = journal.append(new Event("demo.topic", "b"));
+        long id3 = journal.append(new Event("demo.topic", "c").group("g1"));
+        journal.ack(Collections.singletonList(entity(id2)));
+        journal.close();
+
+        journal = new EventJournal(file, 1024);
+        Map<Long, Event> pending = journal.pending();
+
+        assert new ArrayList<>(pending.keySet()).equals(Arrays.asList(id1, id3));
+        assert "a".equals(pending.get(id1).content());
+        assert "k1".equals(pending.get(id1).key());
+        assert "g1".equals(pending.get(id3).group());
+
+        //编号接着往后
+        assert journal.append(new Event("demo.topic", "d")) > id3;
+        journal.close();
+    }
+
+    @Test
+    public void test_compact() throws Exception {
+        File file = newFile();
+
+        EventJournal journal = new EventJournal(file, 256);
+        long last = 0;
+        for (int i = 0; i < 1000; i++) {
+            last = journal.append(new Event("demo.topic", "content-" + i));
+
+            if (i < 999) {
+                journal.ack(Collections.singletonList(entity(last)));
+            }
+        }
+
+        //写满时压缩，没有无限扩容
+        assert journal.pendingSize() == 1;
+        assert file.length() <= 1024;
+        assert new File(file.getPath() + ".tmp").exists() == false;
+        journal.close();
+
+        journal = new EventJournal(file, 256);
+        Map<Long, Event> pending = journal.pending();
+        assert pending.size() == 1;
+        assert "content-999".equals(pending.get(last).content());
+        journal.close();
+
+        //关闭后已解除映射，可删除
+        assert file.delete();
+    }
+
+    @Test
+    public void test_closed() throws Exception {
+        EventJournal journal = new EventJournal(newFile(), 256);
+        journal.close();
+
+        try {
+            journal.append(new Event("demo.topic", "a"));
+            assert false;
+        } catch (IOException e) {
+            assert true;
+        }
+    }
+
+    private static EventEntity entity(long id) {
+        return new EventEntity(id, "demo.topic", null);
+    }
+
+    private static File newFile() throws IOException {
+        File dir = Files.createTempDirectory("event-journal").toFile();
+        dir.deleteOnExit();
+
+        File file = new File(dir, "event.journal");
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -13,6 +13,9 @@ import org.noear.solon.cloud.service.CloudEventObserverManger;
 import org.noear.solon.cloud.service.CloudEventServicePlus;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.Properties;
 
 /**
@@ -30,6 +33,7 @@ public class CloudEventServiceMqttImp implements CloudEventServicePlus {
 
     private MqttClient client;
     private String clientId;
+    private int maxInflight;
     private MqttCallbackImp clientCallback;
 
     //
@@ -79,6 +83,8 @@ public class CloudEventServiceMqttImp implements CloudEventServicePlus {
             Utils.injectProperties(options, props);
         }
 
+        maxInflight = Math.max(options.getMaxInflight(), 1);
+
         //设置死信
         options.setWill("client.close", clientId.getBytes(StandardCharsets.UTF_8), 1, false);
 
@@ -95,10 +101,7 @@ public class CloudEventServiceMqttImp implements CloudEventServicePlus {
 
     @Override
     public boolean publish(Event event) throws CloudEventException {
-        MqttMessage message = new MqttMessage();
-        message.setQos(event.qos());
-        message.setRetained(event.retained());
-        message.setPayload(event.content().getBytes());
+        MqttMessage message = buildMessage(event);
 
         MqttTopic mqttTopic = client.getTopic(event.topic());
 
@@ -116,6 +119,47 @@ public class CloudEventServiceMqttImp implements CloudEventServicePlus {
         }
     }
 
+    /**
+     * 批量发布（流水线：最多 maxInflight 个在途，满了再等最早的完成）
+     */
+    @Override
+    public boolean publishBatch(Collection<Event> events) throws CloudEventException {
+        Deque<MqttDeliveryToken> inflight = new ArrayDeque<>(maxInflight);
+        boolean isOk = true;
+
+        try {
+            for (Event event : events) {
+                if (inflight.size() >= maxInflight) {
+                    isOk = waitForCompletion(inflight.poll()) && isOk;
+                }
+
+                inflight.add(client.getTopic(event.topic()).publish(buildMessage(event)));
+            }
+
+            while (inflight.size() > 0) {
+                isOk = waitForCompletion(inflight.poll()) && isOk;
+            }
+        } catch (Throwable ex) {
+            throw new CloudEventException(ex);
+        }
+
+        return isOk;
+    }
+
+    private boolean waitForCompletion(MqttDeliveryToken token) throws MqttException {
+        token.waitForCompletion(1000 * 30);
+        return token.isComplete();
+    }
+
+    private MqttMessage buildMessage(Event event) {
+        MqttMessage message = new MqttMessage();
+        message.setQos(event.qos());
+        message.setRetained(event.retained());
+        message.setPayload(event.content().getBytes());
+
+        return message;
+    }
+
     CloudEventObserverManger observerMap = new CloudEventObserverManger();
 
     @Override
@@ -9,6 +9,7 @@ import org.noear.solon.cloud.model.Event;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
 
@@ -67,41 +68,78 @@ public class RabbitProducer {
     public boolean publish(Event event, String topic, long delay) throws Exception {
         init();
 
-        byte[] event_data = ONode.stringify(event).getBytes(StandardCharsets.UTF_8);
+        publishDo(event, topic, delay);
 
-        AMQP.BasicProperties props;
-        if (delay > 0) {
-            props = newEventProps().expiration(String.valueOf(delay)).build();
-        } else {
-            props = eventPropsDefault;
-        }
-
-        channel.basicPublish(config.exchangeName, topic, config.mandatory, props, event_data);
-
-        if (timeout > 0) {
-            return channel.waitForConfirms(timeout);
-        } else {
-            return true;
-        }
+        return confirmDo();
     }
 
     /**
      * 发布事件
      */
     public boolean publish(Event event, String topic) throws Exception {
+        init();
+
+        routeDo(event, topic);
+
+        return confirmDo();
+    }
+
+    /**
+     * 批量发布事件（全部发出后，再统一等待确认）
+     *
+     * @param topicEvents 主题与事件
+     * @since 2.3
+     */
+    public boolean publishBatch(Map<String, List<Event>> topicEvents) throws Exception {
+        init();
+
+        for (Map.Entry<String, List<Event>> kv : topicEvents.entrySet()) {
+            for (Event event : kv.getValue()) {
+                routeDo(event, kv.getKey());
+            }
+        }
+
+        return confirmDo();
+    }
+
+    private void routeDo(Event event, String topic) throws IOException {
         long delay = 0;
         if (event.scheduled() != null) {
             delay = event.scheduled().getTime() - System.currentTimeMillis();
         }
 
         if (delay > 0) {
-            return publish(event, config.queue_ready, delay);
+            publishDo(event, config.queue_ready, delay);
         } else {
             if (config.exchangeType == BuiltinExchangeType.FANOUT) {
-                return publish(event, "", 0);
+                publishDo(event, "", 0);
             } else {
-                return publish(event, topic, 0);
+                publishDo(event, topic, 0);
             }
         }
     }
+
+    private void publishDo(Event event, String topic, long delay) throws IOException {
+        byte[] event_data = ONode.stringify(event).getBytes(StandardCharsets.UTF_8);
+
+        AMQP.BasicProperties props;
+        if (delay > 0) {
+            props = newEventProps().expiration(String.valueOf(delay)).build();
+        } else {
+            props = eventPropsDefault;
+        }
+
+        channel.basicPublish(config.exchangeName, topic, config.mandatory, props, event_data);
+    }
+
+    /**
+     * 等待确认（有超时配置时）
+     */
+    private boolean confirmDo() throws InterruptedException, TimeoutException {
+        if (timeout > 0) {
+            return channel.waitForConfirms(timeout);
+        } else {
+            return true;
+        }
+    }
 }
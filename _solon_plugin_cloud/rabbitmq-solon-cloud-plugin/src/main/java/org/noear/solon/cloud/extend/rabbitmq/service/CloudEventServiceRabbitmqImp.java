@@ -14,6 +14,8 @@ import org.noear.solon.cloud.model.Event;
 import org.noear.solon.cloud.service.CloudEventObserverManger;
 import org.noear.solon.cloud.service.CloudEventServicePlus;
 
+import java.util.*;
+
 /**
  *
  * @author noear
@@ -42,6 +44,31 @@ public class CloudEventServiceRabbitmqImp implements CloudEventServicePlus {
 
     @Override
     public boolean publish(Event event) throws CloudEventException {
+        String topicNew = getTopicNew(event);
+
+        try {
+            return producer.publish(event, topicNew);
+        } catch (Throwable ex) {
+            throw new CloudEventException(ex);
+        }
+    }
+
+    @Override
+    public boolean publishBatch(Collection<Event> events) throws CloudEventException {
+        Map<String, List<Event>> topicEvents = new LinkedHashMap<>();
+
+        for (Event event : events) {
+            topicEvents.computeIfAbsent(getTopicNew(event), k -> new ArrayList<>()).add(event);
+        }
+
+        try {
+            return producer.publishBatch(topicEvents);
+        } catch (Throwable ex) {
+            throw new CloudEventException(ex);
+        }
+    }
+
+    private String getTopicNew(Event event) {
         if (Utils.isEmpty(event.topic())) {
             throw new IllegalArgumentException("Event missing topic");
         }
@@ -55,17 +82,10 @@ public class CloudEventServiceRabbitmqImp implements CloudEventServicePlus {
         }
 
         //new topic
-        String topicNew;
         if (Utils.isEmpty(event.group())) {
-            topicNew = event.topic();
+            return event.topic();
         } else {
-            topicNew = event.group() + RabbitmqProps.GROUP_SPLIT_MARK + event.topic();
-        }
-
-        try {
-            return producer.publish(event, topicNew);
-        } catch (Throwable ex) {
-            throw new CloudEventException(ex);
+            return event.group() + RabbitmqProps.GROUP_SPLIT_MARK + event.topic();
         }
     }
 
@@ -3,21 +3,33 @@ package org.noear.solon.cloud.extend.rocketmq.impl;
 import org.apache.rocketmq.client.exception.MQBrokerException;
 import org.apache.rocketmq.client.exception.MQClientException;
 import org.apache.rocketmq.client.producer.DefaultMQProducer;
+import org.apache.rocketmq.client.producer.SendCallback;
 import org.apache.rocketmq.client.producer.SendResult;
 import org.apache.rocketmq.client.producer.SendStatus;
 import org.apache.rocketmq.common.message.Message;
 import org.apache.rocketmq.remoting.exception.RemotingException;
 import org.noear.solon.Utils;
 import org.noear.solon.cloud.CloudProps;
+import org.noear.solon.cloud.exception.CloudEventException;
 import org.noear.solon.cloud.model.Event;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author noear
  * @since 1.3
  */
 public class RocketmqProducer {
+    /**
+     * 批量发送的限制（RocketMQ 单批不能超过 4M）
+     */
+    private static final int BATCH_MAX_COUNT = 256;
+    private static final int BATCH_MAX_BYTES = 1024 * 1024;
+
     final RocketmqConfig config;
     DefaultMQProducer producer;
 
@@ -76,4 +88,82 @@ public class RocketmqProducer {
             return false;
         }
     }
+
+    /**
+     * 批量发布（同主题的合批发送；延时消息不能合批，单独发送）
+     *
+     * @param topicEvents 主题与事件
+     * @since 2.3
+     */
+    public boolean publishBatch(CloudProps cloudProps, Map<String, List<Event>> topicEvents) throws MQClientException, RemotingException, MQBrokerException, InterruptedException {
+        init(cloudProps);
+
+        boolean isOk = true;
+
+        for (Map.Entry<String, List<Event>> kv : topicEvents.entrySet()) {
+            List<Message> batch = new ArrayList<>();
+            int batchBytes = 0;
+
+            for (Event event : kv.getValue()) {
+                Message message = MessageUtil.buildNewMeaage(event, kv.getKey());
+
+                if (message.getDelayTimeLevel() > 0) {
+                    isOk = producer.send(message).getSendStatus().equals(SendStatus.SEND_OK) && isOk;
+                    continue;
+                }
+
+                //估算大小（主体 + 属性等）
+                int size = message.getBody().length + 200;
+
+                if (batch.size() >= BATCH_MAX_COUNT || (batch.size() > 0 && batchBytes + size > BATCH_MAX_BYTES)) {
+                    isOk = producer.send(batch).getSendStatus().equals(SendStatus.SEND_OK) && isOk;
+                    batch = new ArrayList<>();
+                    batchBytes = 0;
+                }
+
+                batch.add(message);
+                batchBytes += size;
+            }
+
+            if (batch.size() > 0) {
+                isOk = producer.send(batch).getSendStatus().equals(SendStatus.SEND_OK) && isOk;
+            }
+        }
+
+        return isOk;
+    }
+
+    /**
+     * 异步发布（由发送回调完成；初始化或发送出错，也由 future 返回，不直接抛出）
+     *
+     * @since 2.3
+     */
+    public CompletableFuture<Boolean> publishAsync(CloudProps cloudProps, Event event, String topic) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        try {
+            init(cloudProps);
+
+            Message message = MessageUtil.buildNewMeaage(event, topic);
+
+            producer.send(message, new SendCallback() {
+                @Override
+                public void onSuccess(SendResult sendResult) {
+                    future.complete(sendResult.getSendStatus().equals(SendStatus.SEND_OK));
+                }
+
+                @Override
+                public void onException(Throwable e) {
+                    future.completeExceptionally(new CloudEventException(e));
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new CloudEventException(e));
+        } catch (Throwable e) {
+            future.completeExceptionally(new CloudEventException(e));
+        }
+
+        return future;
+    }
 }
@@ -14,6 +14,9 @@ import org.noear.solon.cloud.model.Event;
 import org.noear.solon.cloud.service.CloudEventObserverManger;
 import org.noear.solon.cloud.service.CloudEventServicePlus;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author noear
  * @since 1.2
@@ -34,6 +37,49 @@ public class CloudEventServiceRocketmqImp implements CloudEventServicePlus {
 
     @Override
     public boolean publish(Event event) throws CloudEventException {
+        String topicNew = getTopicNew(event);
+
+        try {
+            return producer.publish(cloudProps, event, topicNew);
+        } catch (Throwable ex) {
+            throw new CloudEventException(ex);
+        }
+    }
+
+    @Override
+    public boolean publishBatch(Collection<Event> events) throws CloudEventException {
+        Map<String, List<Event>> topicEvents = new LinkedHashMap<>();
+
+        for (Event event : events) {
+            topicEvents.computeIfAbsent(getTopicNew(event), k -> new ArrayList<>()).add(event);
+        }
+
+        try {
+            return producer.publishBatch(cloudProps, topicEvents);
+        } catch (Throwable ex) {
+            throw new CloudEventException(ex);
+        }
+    }
+
+    /**
+     * 异步发布（参数不对或发送出错，都由 future 返回）
+     */
+    @Override
+    public CompletableFuture<Boolean> publishAsync(Event event) {
+        String topicNew;
+
+        try {
+            topicNew = getTopicNew(event);
+        } catch (Throwable ex) {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+
+        return producer.publishAsync(cloudProps, event, topicNew);
+    }
+
+    private String getTopicNew(Event event) {
         if (Utils.isEmpty(event.topic())) {
             throw new IllegalArgumentException("Event missing topic");
         }
@@ -54,13 +100,7 @@ public class CloudEventServiceRocketmqImp implements CloudEventServicePlus {
             topicNew = event.group() + RocketmqProps.GROUP_SPLIT_MARK + event.topic();
         }
 
-        topicNew = topicNew.replace(".", "_");
-
-        try {
-            return producer.publish(cloudProps, event, topicNew);
-        } catch (Throwable ex) {
-            throw new CloudEventException(ex);
-        }
+        return topicNew.replace(".", "_");
     }
 
 
@@ -0,0 +1,58 @@
+package features;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.noear.solon.cloud.CloudProps;
+import org.noear.solon.cloud.exception.CloudEventException;
+import org.noear.solon.cloud.extend.rocketmq.service.CloudEventServiceRocketmqImp;
+import org.noear.solon.cloud.model.Event;
+import org.noear.solon.core.AopContext;
+import org.noear.solon.core.Props;
+import org.noear.solon.test.SolonJUnit4ClassRunner;
+import org.noear.solon.test.SolonTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 异步发布：出错时由 future 返回，不直接抛出（不需要连接服务端）
+ */
+@RunWith(SolonJUnit4ClassRunner.class)
+@SolonTest
+public class CloudEventServiceRocketmqTest {
+    @Test
+    public void test_publishAsync_invalid() throws Exception {
+        CloudEventServiceRocketmqImp service = newService(new Props());
+
+        CompletableFuture<Boolean> future = service.publishAsync(new Event("", "demo"));
+
+        assert future.isCompletedExceptionally();
+        assert getCause(future) instanceof IllegalArgumentException;
+    }
+
+    @Test
+    public void test_publishAsync_init_failed() throws Exception {
+        Props props = new Props();
+        props.put("solon.cloud.rocketmq.event.producerGroup", "DEFAULT_PRODUCER"); //保留的生产组，启动会失败
+
+        CloudEventServiceRocketmqImp service = newService(props);
+
+        CompletableFuture<Boolean> future = service.publishAsync(new Event("demo.topic", "demo"));
+
+        assert future.isCompletedExceptionally();
+        assert getCause(future) instanceof CloudEventException;
+    }
+
+    private static CloudEventServiceRocketmqImp newService(Props props) {
+        return new CloudEventServiceRocketmqImp(new CloudProps(new AopContext(null, props), "rocketmq"));
+    }
+
+    private static Throwable getCause(CompletableFuture<Boolean> future) throws InterruptedException {
+        try {
+            future.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+}
@@ -677,6 +677,24 @@ public class SolonApp extends RouterWrapper {
     }
 
 
+    private boolean _enableAsyncAction = false;
+
+    /**
+     * 是否已启用异步动作（返回 CompletionStage 的，结果就绪后再渲染；异常不再经过过滤器）
+     */
+    public boolean enableAsyncAction() {
+        return _enableAsyncAction;
+    }
+
+    /**
+     * 启用异步动作（返回 CompletionStage 的，结果就绪后再渲染；异常不再经过过滤器）
+     */
+    public SolonApp enableAsyncAction(boolean enable) {
+        _enableAsyncAction = enable;
+        return this;
+    }
+
+
     private boolean _enableSessionState = true;
 
     /**
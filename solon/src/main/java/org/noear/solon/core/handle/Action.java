@@ -13,10 +13,9 @@ import org.noear.solon.core.util.PathAnalyzer;
 import org.noear.solon.annotation.Mapping;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
-import java.util.regex.Matcher;
 
 /**
  * mvc:动作
@@ -49,8 +48,6 @@ public class Action extends HandlerAide implements Handler {
 
     //path 分析器
     private PathAnalyzer pathAnalyzer;//路径分析器
-    //path key 列表
-    private List<String> pathKeys;
 
     public Action(BeanWrap bWrap, Method method) {
         this(bWrap, null, method, null, null, false, null);
@@ -117,14 +114,10 @@ public class Action extends HandlerAide implements Handler {
 
         //支持path变量
         if (path != null && path.contains("{")) {
-            pathKeys = new ArrayList<>();
-            Matcher pm = PathUtil.pathKeyExpr.matcher(path);
-            while (pm.find()) {
-                pathKeys.add(pm.group(1));
-            }
+            PathAnalyzer tmp = PathAnalyzer.get(path);
 
-            if (pathKeys.size() > 0) {
-                pathAnalyzer = PathAnalyzer.get(path);
+            if (tmp.keys().size() > 0) {
+                pathAnalyzer = tmp;
             }
         }
     }
@@ -239,8 +232,11 @@ public class Action extends HandlerAide implements Handler {
          * 1.确保所有'处理器'，能拿到控制器
          * 2.确保后置'处理器'，能被触发（前面的异常不能影响后置处理）
          * 3.确保最多一次渲染
+         * 4.异步动作的后置'处理器'，在结果就绪的线程上执行（渲染之后，完成之前）
          * */
 
+        boolean async = false;
+
         try {
             //前置处理（最多一次渲染）
             if (bAide != null) {
@@ -262,17 +258,26 @@ public class Action extends HandlerAide implements Handler {
 
                 //执行
                 c.result = executeDo(c, obj);
-                if(c.result instanceof Future) {
-                    c.result = ((Future) c.result).get();
-                }
 
-                //设定输出产品（放在这个位置正好）
-                if (Utils.isEmpty(mProduces) == false) {
-                    c.contentType(mProduces);
-                }
+                if (c.result instanceof CompletionStage && c.asyncSupported() && Solon.app().enableAsyncAction()) {
+                    //异步：释放当前线程，结果就绪后再渲染并提交
+                    async = true;
+                    c.setHandled(true);
+                    c.asyncStart();
+                    ((CompletionStage<?>) c.result).whenComplete((r, e) -> asyncRenderDo(c, r, e));
+                } else {
+                    if (c.result instanceof Future) {
+                        c.result = ((Future) c.result).get();
+                    }
+
+                    //设定输出产品（放在这个位置正好）
+                    if (Utils.isEmpty(mProduces) == false) {
+                        c.contentType(mProduces);
+                    }
 
-                //渲染
-                renderDo(c.result, c);
+                    //渲染
+                    renderDo(c.result, c);
+                }
             }
         } catch (Throwable e) {
             e = Utils.throwableUnwrap(e);
@@ -289,28 +294,89 @@ public class Action extends HandlerAide implements Handler {
                 throw e;
             }
         } finally {
-            //后置处理
-            if (bAide != null) {
-                for (Handler h : bAide.afters) {
-                    h.handle(c);
-                }
+            if (async == false) {
+                aftersDo(c);
             }
+        }
+    }
 
-            for (Handler h : afters) {
+    /**
+     * 执行后置处理
+     */
+    private void aftersDo(Context c) throws Throwable {
+        if (bAide != null) {
+            for (Handler h : bAide.afters) {
                 h.handle(c);
             }
         }
+
+        for (Handler h : afters) {
+            h.handle(c);
+        }
     }
 
-    private void bindPathVarDo(Context c) throws Throwable{
-        if (pathAnalyzer != null) {
-            Matcher pm = pathAnalyzer.matcher(c.pathNew());
-            if (pm.find()) {
-                for (int i = 0, len = pathKeys.size(); i < len; i++) {
-                    c.paramSet(pathKeys.get(i), pm.group(i + 1));//不采用group name,可解决_的问题
+    /**
+     * 执行异步渲染（在结果就绪的线程上；渲染后执行后置处理，之后完成异步）
+     */
+    private void asyncRenderDo(Context c, Object result, Throwable err) {
+        ContextUtil.currentSet(c);
+
+        try {
+            if (err == null) {
+                c.result = result;
+
+                if (Utils.isEmpty(mProduces) == false) {
+                    c.contentType(mProduces);
+                }
+
+                renderDo(result, c);
+            } else {
+                if (err instanceof CompletionException && err.getCause() != null) {
+                    err = err.getCause();
+                }
+
+                throw err;
+            }
+        } catch (Throwable e) {
+            e = Utils.throwableUnwrap(e);
+
+            try {
+                if (e instanceof DataThrowable) {
+                    DataThrowable ex = (DataThrowable) e;
+                    if (ex.data() == null) {
+                        renderDo(ex, c);
+                    } else {
+                        renderDo(ex.data(), c);
+                    }
+                } else {
+                    c.errors = e;
+                    renderDo(e, c);
+                }
+            } catch (Throwable e2) {
+                //已离开过滤链，没有机会再统一处理
+                EventBus.pushTry(e2);
+
+                if (c.getRendered() == false) {
+                    c.status(500);
                 }
             }
         }
+
+        try {
+            //后置处理（与同步时一样，能看到结果或错误）
+            aftersDo(c);
+        } catch (Throwable e) {
+            EventBus.pushTry(e);
+        } finally {
+            ContextUtil.currentRemove();
+            c.asyncComplete();
+        }
+    }
+
+    private void bindPathVarDo(Context c) throws Throwable{
+        if (pathAnalyzer != null) {
+            pathAnalyzer.extract(c.pathNew(), c::paramSet);
+        }
     }
 
     protected Object executeDo(Context c, Object obj) throws Throwable {
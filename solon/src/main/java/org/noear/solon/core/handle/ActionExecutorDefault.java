@@ -1,15 +1,19 @@
 package org.noear.solon.core.handle;
 
+import org.noear.solon.Utils;
 import org.noear.solon.core.NvMap;
 import org.noear.solon.core.wrap.ClassWrap;
 import org.noear.solon.core.wrap.MethodWrap;
 import org.noear.solon.core.util.ConvertUtil;
 import org.noear.solon.core.wrap.ParamWrap;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -20,6 +24,11 @@ import java.util.Map;
  * @since 1.0
  * */
 public class ActionExecutorDefault implements ActionExecutor {
+    private static final Object[] ARGS_EMPTY = new Object[0];
+
+    private final boolean buildArgsOverridden = isOverridden(getClass(), "buildArgs", Context.class, MethodWrap.class);
+    private final boolean readBodyOverridden = isOverridden(getClass(), "readBody", ParamWrap.class, InputStream.class, Charset.class);
+
     /**
      * 是否匹配
      *
@@ -40,113 +49,309 @@ public class ActionExecutorDefault implements ActionExecutor {
      */
     @Override
     public Object execute(Context ctx, Object obj, MethodWrap mWrap) throws Throwable {
-        List<Object> args = buildArgs(ctx, mWrap);
-        return mWrap.invokeByAspect(obj, args.toArray());
-    }
+        Object[] args;
+
+        if (buildArgsOverridden) {
+            //兼容重写了 buildArgs 的子类
+            args = buildArgs(ctx, mWrap).toArray();
+        } else {
+            args = buildArgsAsArray(ctx, mWrap);
+        }
 
+        return mWrap.invokeByAspect(obj, args);
+    }
 
     /**
      * 构建执行参数
      *
      * @param ctx   上下文
+     * @deprecated 2.3 (改用 buildArgsAsArray)
      */
+    @Deprecated
     protected List<Object> buildArgs(Context ctx, MethodWrap mWrap) throws Exception {
+        return new ArrayList<>(Arrays.asList(buildArgsAsArray(ctx, mWrap)));
+    }
+
+    /**
+     * 构建执行参数
+     *
+     * @param ctx   上下文
+     * @since 2.3
+     */
+    protected Object[] buildArgsAsArray(Context ctx, MethodWrap mWrap) throws Exception {
         ParamWrap[] pSet = mWrap.getParamWraps();
-        List<Object> args = new ArrayList<>(pSet.length);
 
-        Object bodyObj = changeBody(ctx);
+        if (pSet.length == 0) {
+            return ARGS_EMPTY;
+        }
+
+        Object[] args = new Object[pSet.length];
 
-        //p 参数
-        //pt 参数原类型
-        for (int i = 0, len = pSet.length; i < len; i++) {
-            ParamWrap p = pSet[i];
-            Class<?> pt = p.getType();
+        //只有一个参数用 body 时，尝试直接从字节转换（不经过字符串与中间对象；字节有缓存，之后 ctx.body() 仍可获取）
+        ParamWrap bodyParam = (readBodyOverridden ? getBodyParamOnly(ctx, pSet) : null);
+        Object bodyObj = null;
+        Object bodyVal = null;
 
-            if (Context.class.isAssignableFrom(pt)) {
-                //如果是 Context 类型，直接加入参数
-                //
-                args.add(ctx);
-            } else if (ModelAndView.class.isAssignableFrom(pt)) {
-                //如果是 ModelAndView 类型，直接加入参数
-                //
-                args.add(new ModelAndView());
-            } else if (Locale.class.isAssignableFrom(pt)) {
-                //如果是 Locale 类型，直接加入参数
-                //
-                args.add(ctx.getLocale());
-            } else if (UploadedFile.class == pt) {
-                //如果是 UploadedFile
-                //
-                args.add(ctx.file(p.getName()));
-            } else if (pt.isInstance(ctx.request())) { //getTypeName().equals("javax.servlet.http.HttpServletRequest")
-                args.add(ctx.request());
-            } else if (pt.isInstance(ctx.response())) { //getTypeName().equals("javax.servlet.http.HttpServletResponse")
-                args.add(ctx.response());
-            } else {
-                Object tv = null;
+        if (bodyParam != null) {
+            byte[] bytes = ctx.bodyAsBytes();
+            int c = firstChar(bytes);
 
+            if (c == '{' || c == '[') {
+                if (isShapeMatched(bodyParam.getType(), c)) {
+                    bodyVal = readBodyDo(ctx, mWrap, bodyParam, bytes);
 
-                if (p.requireBody()) {
-                    //需要 body 数据
-                    if (String.class.equals(pt)) {
-                        tv = ctx.bodyNew();
-                    } else if (InputStream.class.equals(pt)) {
-                        tv = ctx.bodyAsStream();
-                    } else if (Map.class.equals(pt) && bodyObj instanceof NvMap) {
-                        tv = bodyObj;
+                    if (bodyVal == null) {
+                        //不支持的，回退到原来的方式
+                        bodyParam = null;
                     }
                 }
+            } else {
+                //空的或其它（如：数字，字符串），回退到原来的方式
+                bodyParam = null;
+            }
+        }
 
-                if (tv == null) {
-                    //尝试数据转换
-                    try {
-                        tv = changeValue(ctx, p, i, pt, bodyObj);
-                    } catch (Exception e) {
-                        String methodFullName = mWrap.getEntityClz().getName() + "::" + mWrap.getName() + "@" + p.getName();
-                        throw new IllegalArgumentException("Action parameter change failed: " + methodFullName, e);
+        if (bodyParam == null) {
+            bodyObj = changeBody(ctx);
+        }
+
+        //p 参数
+        //pt 参数原类型（参数种类已在注册时预解析，见 ParamWrap::getKind）
+        for (int i = 0, len = pSet.length; i < len; i++) {
+            ParamWrap p = pSet[i];
+
+            switch (p.getKind()) {
+                case CONTEXT:
+                    //如果是 Context 类型，直接加入参数
+                    args[i] = ctx;
+                    break;
+                case MODEL_AND_VIEW:
+                    //如果是 ModelAndView 类型，直接加入参数
+                    args[i] = new ModelAndView();
+                    break;
+                case LOCALE:
+                    //如果是 Locale 类型，直接加入参数
+                    args[i] = ctx.getLocale();
+                    break;
+                case UPLOADED_FILE:
+                    //如果是 UploadedFile
+                    args[i] = ctx.file(p.getName());
+                    break;
+                case VALUE:
+                    Class<?> pt = p.getType();
+
+                    if (pt.isInstance(ctx.request())) { //getTypeName().equals("javax.servlet.http.HttpServletRequest")
+                        args[i] = ctx.request();
+                    } else if (pt.isInstance(ctx.response())) { //getTypeName().equals("javax.servlet.http.HttpServletResponse")
+                        args[i] = ctx.response();
+                    } else {
+                        args[i] = buildValue(ctx, mWrap, p, i, bodyObj, bodyParam, bodyVal);
                     }
-                }
+                    break;
+                default:
+                    args[i] = buildValue(ctx, mWrap, p, i, bodyObj, bodyParam, bodyVal);
+                    break;
+            }
+        }
+
+        return args;
+    }
+
+    /**
+     * 子类是否重写了函数（如：buildArgs 旧的扩展方式；readBody 从字节直接转换）
+     */
+    private static boolean isOverridden(Class<?> clz, String name, Class<?>... parameterTypes) {
+        for (Class<?> c = clz; c != ActionExecutorDefault.class && c != null; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                //继续找父类
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 构建普通值参数
+     */
+    private Object buildValue(Context ctx, MethodWrap mWrap, ParamWrap p, int i, Object bodyObj, ParamWrap bodyParam, Object bodyVal) throws Exception {
+        if (p == bodyParam) {
+            //已从流直接转换
+            return checkValue(ctx, p, bodyVal);
+        }
+
+        Class<?> pt = p.getType();
+        Object tv = null;
+
+        if (p.requireBody()) {
+            //需要 body 数据
+            if (String.class.equals(pt)) {
+                tv = ctx.bodyNew();
+            } else if (InputStream.class.equals(pt)) {
+                tv = ctx.bodyAsStream();
+            } else if (Map.class.equals(pt) && bodyObj instanceof NvMap) {
+                tv = bodyObj;
+            }
+        }
+
+        if (tv == null) {
+            //尝试数据转换
+            try {
+                tv = changeValue(ctx, p, i, pt, bodyObj);
+            } catch (Exception e) {
+                String methodFullName = mWrap.getEntityClz().getName() + "::" + mWrap.getName() + "@" + p.getName();
+                throw new IllegalArgumentException("Action parameter change failed: " + methodFullName, e);
+            }
+        }
 
-                if (tv == null) {
+        return checkValue(ctx, p, tv);
+    }
+
+    /**
+     * 检查值（基础类型给默认值；必须的则检查是否为 null）
+     */
+    private Object checkValue(Context ctx, ParamWrap p, Object tv) {
+        Class<?> pt = p.getType();
+
+        if (tv == null) {
+            //
+            // 如果是基类类型（int,long...），则抛出异常
+            //
+            if (pt.isPrimitive()) {
+                //如果是基本类型，则为给个默认值
+                //
+                if (pt == short.class) {
+                    tv = (short) 0;
+                } else if (pt == int.class) {
+                    tv = 0;
+                } else if (pt == long.class) {
+                    tv = 0L;
+                } else if (pt == double.class) {
+                    tv = 0d;
+                } else if (pt == float.class) {
+                    tv = 0f;
+                } else if (pt == boolean.class) {
+                    tv = false;
+                } else {
                     //
-                    // 如果是基类类型（int,long...），则抛出异常
+                    //其它类型不支持
                     //
-                    if (pt.isPrimitive()) {
-                        //如果是基本类型，则为给个默认值
-                        //
-                        if (pt == short.class) {
-                            tv = (short) 0;
-                        } else if (pt == int.class) {
-                            tv = 0;
-                        } else if (pt == long.class) {
-                            tv = 0L;
-                        } else if (pt == double.class) {
-                            tv = 0d;
-                        } else if (pt == float.class) {
-                            tv = 0f;
-                        } else if (pt == boolean.class) {
-                            tv = false;
-                        } else {
-                            //
-                            //其它类型不支持
-                            //
-                            throw new IllegalArgumentException("Please enter a valid parameter @" + p.getName());
-                        }
-                    }
+                    throw new IllegalArgumentException("Please enter a valid parameter @" + p.getName());
                 }
+            }
+        }
+
+        if (tv == null) {
+            if (p.required()) {
+                ctx.status(400);
+                throw new IllegalArgumentException(p.requiredHint());
+            }
+        }
+
+        return tv;
+    }
+
+    /**
+     * 直接读取 body 参数（只有一个参数用 body，且 body 为 json 对象或数组时；子类重写后启用）
+     *
+     * @param p       参数
+     * @param in      body 流（不需要关闭）
+     * @param charset 字符集
+     * @return 为 null 时，回退到 changeBody 的方式
+     * @since 2.3
+     */
+    protected Object readBody(ParamWrap p, InputStream in, Charset charset) throws Exception {
+        return null;
+    }
+
+    /**
+     * 获取唯一用 body 的参数（其它参数都不需要 body 时；否则为 null）
+     */
+    private ParamWrap getBodyParamOnly(Context ctx, ParamWrap[] pSet) {
+        if (ctx.bodyLoaded()) {
+            //已读取过的，走原来的方式
+            return null;
+        }
+
+        ParamWrap bodyParam = null;
 
-                if (tv == null) {
-                    if (p.required()) {
-                        ctx.status(400);
-                        throw new IllegalArgumentException(p.requiredHint());
+        for (ParamWrap p : pSet) {
+            switch (p.getKind()) {
+                case CONTEXT:
+                case MODEL_AND_VIEW:
+                case LOCALE:
+                case UPLOADED_FILE:
+                    break;
+                default:
+                    if (p.requireBody()) {
+                        if (bodyParam != null) {
+                            return null;
+                        }
+
+                        Class<?> pt = p.getType();
+                        if (pt.isPrimitive() || pt.getTypeName().startsWith("java.lang.") || InputStream.class.equals(pt)) {
+                            return null;
+                        }
+
+                        bodyParam = p;
+                    } else {
+                        Class<?> pt = p.getType();
+
+                        if (pt.isInstance(ctx.request()) || pt.isInstance(ctx.response())) {
+                            break;
+                        }
+
+                        //可能要按属性从 body 里找
+                        if (ctx.paramMap().containsKey(p.getName()) == false) {
+                            return null;
+                        }
                     }
-                }
+                    break;
+            }
+        }
 
-                args.add(tv);
+        return bodyParam;
+    }
+
+    /**
+     * json 的形态与参数类型是否匹配（对象不能转为 List 或数组；数组只能转为集合；不匹配的为 null）
+     */
+    private static boolean isShapeMatched(Class<?> pt, int c) {
+        if (c == '{') {
+            return List.class.isAssignableFrom(pt) == false && pt.isArray() == false;
+        } else {
+            return Collection.class.isAssignableFrom(pt);
+        }
+    }
+
+    /**
+     * 从字节读取 body 参数
+     */
+    private Object readBodyDo(Context ctx, MethodWrap mWrap, ParamWrap p, byte[] bytes) {
+        try {
+            String charset = ctx.contentCharset();
+            return readBody(p, new ByteArrayInputStream(bytes), Utils.isEmpty(charset) ? Charset.defaultCharset() : Charset.forName(charset));
+        } catch (Exception e) {
+            String methodFullName = mWrap.getEntityClz().getName() + "::" + mWrap.getName() + "@" + p.getName();
+            throw new IllegalArgumentException("Action parameter change failed: " + methodFullName, e);
+        }
+    }
+
+    /**
+     * 首个非空白字节（没有时为 -1）
+     */
+    private static int firstChar(byte[] bytes) {
+        if (bytes != null) {
+            for (byte b : bytes) {
+                if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                    return b;
+                }
             }
         }
 
-        return args;
+        return -1;
     }
 
     /**
@@ -321,8 +321,13 @@ public abstract class Context {
      * */
     public String body(String charset) throws IOException {
         if (body == null) {
-            try (InputStream ins = bodyAsStream()) {
-                body = Utils.transferToString(ins, charset);
+            if (bodyBytes != null) {
+                //已按 byte[] 读取过的
+                body = (Utils.isEmpty(charset) ? new String(bodyBytes) : new String(bodyBytes, charset));
+            } else {
+                try (InputStream ins = bodyAsStream()) {
+                    body = Utils.transferToString(ins, charset);
+                }
             }
         }
 
@@ -350,9 +355,24 @@ public abstract class Context {
     }
 
     /**
-     * 获取body内容为byte[]
+     * 是否已读取过 body（或设置过新的 body）
+     *
+     * @since 2.3
+     */
+    public boolean bodyLoaded() {
+        return body != null || bodyNew != null;
+    }
+
+    private byte[] bodyBytes;
+
+    /**
+     * 获取body内容为byte[]（读取后缓存，之后 body() 仍可获取）
      */
     public byte[] bodyAsBytes() throws IOException {
+        if (bodyBytes != null) {
+            return bodyBytes;
+        }
+
         try (InputStream ins = bodyAsStream()) {
             if (ins == null) {
                 return null;
@@ -366,7 +386,8 @@ public abstract class Context {
                 outs.write(buf, 0, len);
             }
 
-            return outs.toByteArray();
+            bodyBytes = outs.toByteArray();
+            return bodyBytes;
         }
     }
 
@@ -993,6 +1014,49 @@ public abstract class Context {
     public void close() throws IOException {
     }
 
+
+    /**
+     * 是否支持异步
+     * */
+    @Note("是否支持异步")
+    public boolean asyncSupported() {
+        return false;
+    }
+
+    /**
+     * 是否已开始异步
+     * */
+    @Note("是否已开始异步")
+    public boolean asyncStarted() {
+        return false;
+    }
+
+    /**
+     * 开始异步（处理器返回后不再自动提交响应，直到 asyncComplete）
+     * */
+    @Note("开始异步")
+    public final void asyncStart() {
+        asyncStart(0L, null);
+    }
+
+    /**
+     * 开始异步（处理器返回后不再自动提交响应，直到 asyncComplete）
+     *
+     * @param timeout  超时（毫秒；0 表示不限或由容器决定）
+     * @param listener 监听器（可为 null）
+     * */
+    @Note("开始异步")
+    public void asyncStart(long timeout, @Nullable ContextAsyncListener listener) {
+        throw new UnsupportedOperationException("This context does not support asynchronous response");
+    }
+
+    /**
+     * 完成异步（提交响应）
+     * */
+    @Note("完成异步")
+    public void asyncComplete() {
+    }
+
     /**
      * 用于在处理链中透传处理结果
      * */
@@ -0,0 +1,29 @@
+package org.noear.solon.core.handle;
+
+import java.io.IOException;
+
+/**
+ * 上下文异步监听器
+ *
+ * @author noear
+ * @since 2.3
+ */
+public interface ContextAsyncListener {
+    /**
+     * 完成时
+     */
+    default void onComplete(Context ctx) throws IOException {
+    }
+
+    /**
+     * 超时时（未在监听里完成的，随后会自动完成）
+     */
+    default void onTimeout(Context ctx) throws IOException {
+    }
+
+    /**
+     * 出错时
+     */
+    default void onError(Context ctx, Throwable e) throws IOException {
+    }
+}
@@ -4,9 +4,6 @@ import org.noear.solon.core.util.PathAnalyzer;
 import org.noear.solon.core.util.PathUtil;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
 
 /**
  * 监听器增强持有（用于支持 path var）
@@ -19,8 +16,6 @@ public class ListenerHolder implements Listener {
 
     //path 分析器
     private PathAnalyzer pathAnalyzer;//路径分析器
-    //path key 列表
-    private List<String> pathKeys;
 
     public ListenerHolder(String path, Listener listener) {
         this.listener = listener;
@@ -28,14 +23,10 @@ public class ListenerHolder implements Listener {
         if (path != null && path.indexOf("{") >= 0) {
             path = PathUtil.mergePath(null, path);
 
-            pathKeys = new ArrayList<>();
-            Matcher pm = PathUtil.pathKeyExpr.matcher(path);
-            while (pm.find()) {
-                pathKeys.add(pm.group(1));
-            }
+            PathAnalyzer tmp = PathAnalyzer.get(path);
 
-            if (pathKeys.size() > 0) {
-                pathAnalyzer = PathAnalyzer.get(path);
+            if (tmp.keys().size() > 0) {
+                pathAnalyzer = tmp;
             }
         }
     }
@@ -44,12 +35,7 @@ public class ListenerHolder implements Listener {
     public void onOpen(Session s) {
         //获取path var
         if (pathAnalyzer != null) {
-            Matcher pm = pathAnalyzer.matcher(s.pathNew());
-            if (pm.find()) {
-                for (int i = 0, len = pathKeys.size(); i < len; i++) {
-                    s.paramSet(pathKeys.get(i), pm.group(i + 1));//不采用group name,可解决_的问题
-                }
-            }
+            pathAnalyzer.extract(s.pathNew(), s::paramSet);
         }
 
         listener.onOpen(s);
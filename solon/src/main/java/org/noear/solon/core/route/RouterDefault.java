@@ -18,13 +18,21 @@ public class RouterDefault implements Router{
     private final RoutingTable<Listener> routesL;
 
     public RouterDefault() {
-        routesH = new RoutingTableDefault[3];
+        routesH = newRoutingTables(3);
 
-        routesH[0] = new RoutingTableDefault<>();//before:0
-        routesH[1] = new RoutingTableDefault<>();//main
-        routesH[2] = new RoutingTableDefault<>();//after:2
+        routesH[0] = new RoutingTableTrie<>();//before:0
+        routesH[1] = new RoutingTableTrie<>();//main
+        routesH[2] = new RoutingTableTrie<>();//after:2
 
-        routesL = new RoutingTableDefault<>();
+        routesL = new RoutingTableTrie<>();
+    }
+
+    /**
+     * 泛型数组不能直接创建；数组只在内部使用，且元素都是 RoutingTable&lt;Handler&gt;，转换是安全的
+     */
+    @SuppressWarnings("unchecked")
+    private static RoutingTable<Handler>[] newRoutingTables(int size) {
+        return (RoutingTable<Handler>[]) new RoutingTable<?>[size];
     }
     /**
      * 添加路由关系 for Handler
@@ -4,6 +4,8 @@ import org.noear.solon.Solon;
 import org.noear.solon.core.handle.*;
 import org.noear.solon.lang.Nullable;
 
+import java.util.List;
+
 /**
  * Solon router Handler
  *
@@ -40,8 +42,11 @@ public class RouterHandler implements Handler, RouterInterceptor {
      * 多项目处理（用于拦截器）
      */
     protected void handleMultiple(Context ctx, Endpoint endpoint) throws Throwable {
-        for (Handler h : router.matchAll(ctx, endpoint)) {
-            h.handle(ctx);
+        //路由表已按路径形态缓存了有序结果，这里不再产生新列表
+        List<Handler> list = router.matchAll(ctx, endpoint);
+
+        for (int i = 0, len = list.size(); i < len; i++) {
+            list.get(i).handle(ctx);
         }
     }
 
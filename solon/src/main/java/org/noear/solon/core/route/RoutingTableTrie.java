@@ -0,0 +1,512 @@
+package org.noear.solon.core.route;
+
+import org.noear.solon.core.SignalType;
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.util.PathAnalyzer;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 路由表前缀树实现（按 MethodType 分树，静态段走前缀树，{var}、*、** 段才走正则）
+ *
+ * <pre><code>
+ * 记录保持与 RoutingTableDefault 相同的顺序语义（即"首个匹配"原则），索引在变更后的首次匹配时惰性重建
+ * matchAll 的结果按路径形态缓存为只读列表（即：走到的最深节点 + 匹配到的记录集），随索引一起作废
+ * </code></pre>
+ *
+ * @author noear
+ * @since 2.3
+ */
+public class RoutingTableTrie<T> implements RoutingTable<T> {
+    private final List<Routing<T>> table = new ArrayList<>();
+    private volatile Index<T> index;
+
+    /**
+     * 添加路由记录
+     *
+     * @param routing 路由
+     */
+    @Override
+    public synchronized void add(Routing<T> routing) {
+        table.add(routing);
+        index = null;
+    }
+
+    /**
+     * 添加路由记录
+     *
+     * @param routing 路由
+     * @param index   索引位置
+     */
+    @Override
+    public synchronized void add(int index, Routing<T> routing) {
+        table.add(index, routing);
+        this.index = null;
+    }
+
+    @Override
+    public synchronized void remove(String pathPrefix) {
+        table.removeIf(l -> l.path().startsWith(pathPrefix));
+        index = null;
+    }
+
+    @Override
+    public int count() {
+        return table.size();
+    }
+
+    @Override
+    public Collection<Routing<T>> getAll() {
+        return Collections.unmodifiableList(table);
+    }
+
+    /**
+     * 区配一个目标
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一个区配的目标
+     */
+    @Override
+    public T matchOne(String path, MethodType method) {
+        Index<T> idx = getIndex();
+
+        if (path.startsWith("/") == false) {
+            //非常规路径，退回线性扫描
+            for (Routing<T> l : idx.all) {
+                if (l.matches(method, path)) {
+                    return l.target();
+                }
+            }
+            return null;
+        }
+
+        Node<T> node = idx.roots.get(method);
+        Entry<T> best = null;
+        int start = 1;
+
+        while (node != null) {
+            for (Entry<T> e : node.entries) {
+                if (best != null && e.order >= best.order) {
+                    break;
+                }
+
+                if (e.matches(method, path, start)) {
+                    best = e;
+                    break;
+                }
+            }
+
+            if (start > path.length()) {
+                break;
+            }
+
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+
+            node = node.child(segmentOf(path, start, end, idx.caseSensitive));
+            start = end + 1;
+        }
+
+        return best == null ? null : best.routing.target();
+    }
+
+    /**
+     * 区配多个目标
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一批区配的目标（只读，且会被缓存复用）
+     */
+    @Override
+    public List<T> matchAll(String path, MethodType method) {
+        Index<T> idx = getIndex();
+
+        if (idx.all.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        if (path.startsWith("/") == false) {
+            //非常规路径，退回线性扫描
+            return Collections.unmodifiableList(idx.all.stream()
+                    .filter(l -> l.matches(method, path))
+                    .sorted(Comparator.comparingInt(l -> l.index()))
+                    .map(l -> l.target())
+                    .collect(Collectors.toList()));
+        }
+
+        //沿路径走一遍，把匹配到的记录记为位图（位序即候选记录的访问顺序）
+        //同一个最深节点的候选记录是固定的，所以（最深节点，位图）就是路径形态：/user/1 与 /user/2 共用一个结果
+        Node<T> node = idx.roots.get(method);
+        Node<T> last = null;
+        long mask = 0L;
+        int bit = 0;
+        int start = 1;
+
+        while (node != null) {
+            for (Entry<T> e : node.entries) {
+                if (e.matches(method, path, start)) {
+                    if (bit >= Long.SIZE) {
+                        //候选记录太多，位图放不下（少见），不缓存
+                        return matchAll0(idx, path, method);
+                    }
+
+                    mask |= 1L << bit;
+                }
+
+                bit++;
+            }
+
+            last = node;
+
+            if (start > path.length()) {
+                break;
+            }
+
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+
+            node = node.child(segmentOf(path, start, end, idx.caseSensitive));
+            start = end + 1;
+        }
+
+        if (mask == 0L) {
+            return Collections.emptyList();
+        }
+
+        List<T> tmp = last.getShape(mask);
+
+        if (tmp == null) {
+            tmp = matchAll0(idx, path, method);
+            last.putShape(mask, tmp);
+        }
+
+        return tmp;
+    }
+
+    //泛型数组不能直接创建；元素都来自 list（即 T），转换是安全的
+    @SuppressWarnings("unchecked")
+    private List<T> matchAll0(Index<T> idx, String path, MethodType method) {
+        Node<T> node = idx.roots.get(method);
+        List<Entry<T>> list = new ArrayList<>();
+        int start = 1;
+
+        while (node != null) {
+            for (Entry<T> e : node.entries) {
+                if (e.matches(method, path, start)) {
+                    list.add(e);
+                }
+            }
+
+            if (start > path.length()) {
+                break;
+            }
+
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+
+            node = node.child(segmentOf(path, start, end, idx.caseSensitive));
+            start = end + 1;
+        }
+
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        //先按表顺序，再按 index 排（与 RoutingTableDefault 的稳定排序结果一致）
+        list.sort(ENTRY_COMPARATOR);
+
+        Object[] tmp = new Object[list.size()];
+        for (int i = 0; i < tmp.length; i++) {
+            tmp[i] = list.get(i).routing.target();
+        }
+
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(tmp));
+    }
+
+    @Override
+    public synchronized void clear() {
+        table.clear();
+        index = null;
+    }
+
+
+    private static final int MATCH_ALL_SHAPES_LIMIT = 64;
+
+    private static final Comparator<Entry<?>> ENTRY_COMPARATOR = (a, b) -> {
+        int c = Integer.compare(a.routing.index(), b.routing.index());
+        if (c == 0) {
+            return Integer.compare(a.order, b.order);
+        } else {
+            return c;
+        }
+    };
+
+    private Index<T> getIndex() {
+        Index<T> idx = index;
+
+        if (idx == null || idx.caseSensitive != PathAnalyzer.isCaseSensitive()) {
+            synchronized (this) {
+                idx = index;
+                if (idx == null || idx.caseSensitive != PathAnalyzer.isCaseSensitive()) {
+                    idx = new Index<>(table, PathAnalyzer.isCaseSensitive());
+                    index = idx;
+                }
+            }
+        }
+
+        return idx;
+    }
+
+    private static String segmentOf(String path, int start, int end, boolean caseSensitive) {
+        String seg = path.substring(start, end);
+
+        if (caseSensitive) {
+            return seg;
+        } else {
+            return lowerCase(seg);
+        }
+    }
+
+    /**
+     * 与 Pattern.CASE_INSENSITIVE 保持一致（只处理 US-ASCII）
+     */
+    private static String lowerCase(String str) {
+        for (int i = 0, len = str.length(); i < len; i++) {
+            char c = str.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                char[] chars = str.toCharArray();
+                for (int j = i; j < len; j++) {
+                    c = chars[j];
+                    if (c >= 'A' && c <= 'Z') {
+                        chars[j] = (char) (c + 32);
+                    }
+                }
+                return new String(chars);
+            }
+        }
+
+        return str;
+    }
+
+    /**
+     * 是否为静态段（不含变量、通配符及未转义的正则符号）
+     */
+    private static boolean isStatic(String seg) {
+        for (int i = 0, len = seg.length(); i < len; i++) {
+            switch (seg.charAt(i)) {
+                case '*':
+                case '{':
+                case '}':
+                case '(':
+                case ')':
+                case '[':
+                case ']':
+                case '?':
+                case '+':
+                case '|':
+                case '^':
+                case '\\':
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * 只读索引快照
+     */
+    private static class Index<T> {
+        final boolean caseSensitive;
+        final List<Routing<T>> all;
+        final Map<MethodType, Node<T>> roots = new EnumMap<>(MethodType.class);
+
+        Index(List<Routing<T>> table, boolean caseSensitive) {
+            this.caseSensitive = caseSensitive;
+            this.all = new ArrayList<>(table);
+
+            for (MethodType m : MethodType.values()) {
+                roots.put(m, new Node<>());
+            }
+
+            int order = 0;
+            for (Routing<T> r : table) {
+                add(r, order++);
+            }
+
+            for (Node<T> n : roots.values()) {
+                n.freeze();
+            }
+        }
+
+        private void add(Routing<T> routing, int order) {
+            if (routing.getClass() != RoutingDefault.class) {
+                //自定义路由（包括重写了 matches 的子类），不做路径假设
+                Entry<T> entry = new Entry<>(routing, order, false);
+                for (Node<T> root : roots.values()) {
+                    root.add(entry);
+                }
+                return;
+            }
+
+            String path = routing.path();
+            if (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+
+            String[] segs = path.split("/", -1);
+            int staticSize = 0;
+            while (staticSize < segs.length && isStatic(segs[staticSize])) {
+                staticSize++;
+            }
+
+            //全静态路由，只需前缀逐段相等且路径耗尽，不必走正则
+            Entry<T> entry = new Entry<>(routing, order, staticSize == segs.length);
+
+            for (MethodType m : MethodType.values()) {
+                if (isApplicable(routing.method(), m)) {
+                    Node<T> node = roots.get(m);
+                    for (int i = 0; i < staticSize; i++) {
+                        String seg = caseSensitive ? segs[i] : lowerCase(segs[i]);
+                        node = node.childOrNew(seg);
+                    }
+
+                    node.add(entry);
+                }
+            }
+        }
+
+        private static boolean isApplicable(MethodType routeMethod, MethodType reqMethod) {
+            if (MethodType.ALL == routeMethod) {
+                return true;
+            } else if (MethodType.HTTP == routeMethod) {
+                return reqMethod.signal == SignalType.HTTP;
+            } else {
+                return routeMethod == reqMethod;
+            }
+        }
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static class Node<T> {
+        private Map<String, Node<T>> children;
+        private List<Entry<T>> list = new ArrayList<>();
+
+        Entry<T>[] entries;
+
+        //matchAll 结果（按匹配位图；写时复制，读取不加锁也不分配）
+        private volatile List<Shape<T>> shapes = Collections.emptyList();
+
+        List<T> getShape(long mask) {
+            List<Shape<T>> tmp = shapes;
+
+            for (int i = 0, len = tmp.size(); i < len; i++) {
+                Shape<T> s = tmp.get(i);
+                if (s.mask == mask) {
+                    return s.list;
+                }
+            }
+
+            return null;
+        }
+
+        synchronized void putShape(long mask, List<T> list) {
+            List<Shape<T>> tmp = shapes;
+
+            if (tmp.size() >= MATCH_ALL_SHAPES_LIMIT || getShape(mask) != null) {
+                //形态过多的（少见），不再缓存
+                return;
+            }
+
+            List<Shape<T>> tmp2 = new ArrayList<>(tmp.size() + 1);
+            tmp2.addAll(tmp);
+            tmp2.add(new Shape<>(mask, list));
+            shapes = tmp2;
+        }
+
+        Node<T> childOrNew(String seg) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+
+            return children.computeIfAbsent(seg, k -> new Node<>());
+        }
+
+        Node<T> child(String seg) {
+            if (children == null) {
+                return null;
+            } else {
+                return children.get(seg);
+            }
+        }
+
+        void add(Entry<T> entry) {
+            list.add(entry);
+        }
+
+        //泛型数组不能直接创建；元素都来自 list（即 Entry<T>），转换是安全的
+        @SuppressWarnings("unchecked")
+        void freeze() {
+            list.sort(Comparator.comparingInt(e -> e.order));
+            entries = (Entry<T>[]) list.toArray(new Entry<?>[0]);
+            list = null;
+
+            if (children != null) {
+                for (Node<T> n : children.values()) {
+                    n.freeze();
+                }
+            }
+        }
+    }
+
+    /**
+     * matchAll 的缓存结果
+     */
+    private static class Shape<T> {
+        final long mask;
+        final List<T> list;
+
+        Shape(long mask, List<T> list) {
+            this.mask = mask;
+            this.list = list;
+        }
+    }
+
+    /**
+     * 索引记录
+     */
+    private static class Entry<T> {
+        final Routing<T> routing;
+        final int order;
+        final boolean terminal;
+
+        Entry(Routing<T> routing, int order, boolean terminal) {
+            this.routing = routing;
+            this.order = order;
+            this.terminal = terminal;
+        }
+
+        /**
+         * @param start 当前节点之后的路径起点
+         */
+        boolean matches(MethodType method, String path, int start) {
+            if (terminal) {
+                //静态记录：前缀已逐段相等，只需确认路径已耗尽（方法已在建树时过滤）
+                return start > path.length();
+            } else {
+                return routing.matches(method, path);
+            }
+        }
+    }
+}
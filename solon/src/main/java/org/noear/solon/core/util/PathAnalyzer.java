@@ -2,14 +2,21 @@ package org.noear.solon.core.util;
 
 import org.noear.solon.core.handle.Action;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * 路径分析器，用于路由器和路径变量分析
  *
+ * <pre><code>
+ * 简单表达式（纯字面量；字面量前缀 + **；单个 {var} 段）会编译为非正则的快速匹配，其它表达式仍走正则
+ * </code></pre>
+ *
  * @see org.noear.solon.core.route.RoutingDefault
  * @see Action
  * @author noear
@@ -20,23 +27,35 @@ public class PathAnalyzer {
      * 区分大小写（默认不区分）
      * */
     private static boolean caseSensitive = false;
+    /**
+     * 分析器缓存上限（超出后不再缓存，避免动态表达式导致无限增长）
+     * */
+    private static final int CACHED_LIMIT = 10000;
     /**
      * 分析器缓存
      * */
-    private static Map<String,PathAnalyzer> cached = new LinkedHashMap<>();
+    private static final Map<String, PathAnalyzer> cached = new ConcurrentHashMap<>();
 
     public static void setCaseSensitive(boolean caseSensitive) {
         PathAnalyzer.caseSensitive = caseSensitive;
     }
 
+    /**
+     * 是否区分大小写
+     * */
+    public static boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
     public static PathAnalyzer get(String expr) {
         PathAnalyzer pa = cached.get(expr);
         if (pa == null) {
-            synchronized (expr.intern()) {
-                pa = cached.get(expr);
-                if (pa == null) {
-                    pa = new PathAnalyzer(expr);
-                    cached.put(expr, pa);
+            pa = new PathAnalyzer(expr);
+
+            if (cached.size() < CACHED_LIMIT) {
+                PathAnalyzer tmp = cached.putIfAbsent(expr, pa);
+                if (tmp != null) {
+                    pa = tmp;
                 }
             }
         }
@@ -45,28 +64,252 @@ public class PathAnalyzer {
     }
 
 
-    private Pattern pattern;
+    private static final int KIND_REGEX = 0;   //正则
+    private static final int KIND_LITERAL = 1; //纯字面量：/a/b
+    private static final int KIND_PREFIX = 2;  //字面量前缀 + **：/a/**
+    private static final int KIND_VAR = 3;     //单个变量段：/a/{id}/b
+
+    private final String expr;
+    private final boolean ignoreCase;
+    private final List<String> keys = new ArrayList<>();
+
+    private int kind = KIND_REGEX;
+    private String prefix;  //字面量或前缀
+    private String suffix;  //变量之后的字面量
+    private boolean varAny; //{x_} 形式，可跨段
+
+    private volatile Pattern pattern;
 
     private PathAnalyzer(String expr) {
-        if (caseSensitive) {
-            pattern = Pattern.compile(exprCompile(expr));
-        } else {
-            pattern = Pattern.compile(exprCompile(expr), Pattern.CASE_INSENSITIVE);
+        this.expr = expr;
+        this.ignoreCase = (caseSensitive == false);
+
+        Matcher pm = PathUtil.pathKeyExpr.matcher(expr);
+        while (pm.find()) {
+            keys.add(pm.group(1));
+        }
+
+        compileFast(expr);
+
+        if (kind == KIND_REGEX) {
+            pattern = compileRegex();
         }
     }
 
+    /**
+     * 路径变量名（按表达式里的顺序）
+     * */
+    public List<String> keys() {
+        return keys;
+    }
+
     /**
      * 获取路径匹配结果
      * */
     public Matcher matcher(String uri){
-        return pattern.matcher(uri);
+        return getPattern().matcher(uri);
     }
 
     /**
      * 检测是否匹配
      * */
-    public boolean matches(String uri){
-        return pattern.matcher(uri).find();
+    public boolean matches(String uri) {
+        switch (kind) {
+            case KIND_LITERAL:
+                return endOf(uri) == prefix.length() && regionMatches(uri, 0, prefix);
+            case KIND_PREFIX:
+                return uri.length() >= prefix.length()
+                        && regionMatches(uri, 0, prefix)
+                        && noLineBreak(uri, prefix.length(), endOf(uri));
+            case KIND_VAR:
+                return matchVar(uri);
+            default:
+                return getPattern().matcher(uri).find();
+        }
+    }
+
+    /**
+     * 提取路径变量（匹配时，按变量名与值逐个回调）
+     *
+     * @return 是否匹配
+     * */
+    public boolean extract(String uri, BiConsumer<String, String> consumer) {
+        if (kind == KIND_VAR) {
+            if (matchVar(uri)) {
+                consumer.accept(keys.get(0), uri.substring(prefix.length(), endOf(uri) - suffix.length()));
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        if (kind != KIND_REGEX) {
+            //没有变量
+            return matches(uri);
+        }
+
+        Matcher pm = getPattern().matcher(uri);
+        if (pm.find()) {
+            for (int i = 0, len = keys.size(); i < len; i++) {
+                consumer.accept(keys.get(i), pm.group(i + 1));//不采用group name,可解决_的问题
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private boolean matchVar(String uri) {
+        int end = endOf(uri) - suffix.length();
+
+        if (end <= prefix.length()) {
+            return false;
+        }
+
+        if (regionMatches(uri, 0, prefix) == false || regionMatches(uri, end, suffix) == false) {
+            return false;
+        }
+
+        if (varAny) {
+            //(.+?)
+            return noLineBreak(uri, prefix.length(), end);
+        } else {
+            //([^/]+?)
+            int slash = uri.indexOf('/', prefix.length());
+            return slash < 0 || slash >= end;
+        }
+    }
+
+    private boolean regionMatches(String uri, int offset, String literal) {
+        if (ignoreCase) {
+            //与 Pattern.CASE_INSENSITIVE 保持一致（只处理 US-ASCII）
+            for (int i = 0, len = literal.length(); i < len; i++) {
+                char c1 = uri.charAt(offset + i);
+                char c2 = literal.charAt(i);
+
+                if (c1 != c2 && toLower(c1) != toLower(c2)) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return uri.startsWith(literal, offset);
+        }
+    }
+
+    private static char toLower(char c) {
+        return (c >= 'A' && c <= 'Z') ? (char) (c + 32) : c;
+    }
+
+    /**
+     * 正则里的 $ 可以匹配在末尾的换行符之前
+     * */
+    private static int endOf(String uri) {
+        int len = uri.length();
+
+        if (len > 0) {
+            char c = uri.charAt(len - 1);
+
+            if (c == '\n') {
+                if (len > 1 && uri.charAt(len - 2) == '\r') {
+                    return len - 2;
+                } else {
+                    return len - 1;
+                }
+            } else if (c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return len - 1;
+            }
+        }
+
+        return len;
+    }
+
+    /**
+     * 正则里的 . 不匹配换行符
+     * */
+    private static boolean noLineBreak(String uri, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = uri.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Pattern getPattern() {
+        Pattern tmp = pattern;
+        if (tmp == null) {
+            //简单表达式只在有人要 Matcher 时才编译正则（Pattern 线程安全，重复编译无碍）
+            tmp = compileRegex();
+            pattern = tmp;
+        }
+        return tmp;
+    }
+
+    private Pattern compileRegex() {
+        if (ignoreCase) {
+            return Pattern.compile(exprCompile(expr), Pattern.CASE_INSENSITIVE);
+        } else {
+            return Pattern.compile(exprCompile(expr));
+        }
+    }
+
+    /**
+     * 尝试将简单表达式编译为快速匹配
+     * */
+    private void compileFast(String expr) {
+        String p = expr;
+        if (p.startsWith("/") == false) {
+            p = "/" + p;
+        }
+
+        for (int i = 0, len = p.length(); i < len; i++) {
+            switch (p.charAt(i)) {
+                case '(':
+                case ')':
+                case '[':
+                case ']':
+                case '?':
+                case '+':
+                case '|':
+                case '^':
+                case '\\':
+                    //其它正则符号，留给正则处理
+                    return;
+            }
+        }
+
+        int star = p.indexOf('*');
+        int brace = p.indexOf('{');
+
+        if (star < 0 && brace < 0) {
+            kind = KIND_LITERAL;
+            prefix = p;
+            return;
+        }
+
+        if (brace < 0) {
+            if (star == p.length() - 2 && p.endsWith("**")) {
+                kind = KIND_PREFIX;
+                prefix = p.substring(0, star);
+            }
+            return;
+        }
+
+        if (star < 0 && keys.size() == 1) {
+            int braceEnd = p.indexOf('}', brace);
+            if (braceEnd < 0 || p.indexOf('{', braceEnd) >= 0 || p.indexOf('}', braceEnd + 1) >= 0) {
+                return;
+            }
+
+            kind = KIND_VAR;
+            prefix = p.substring(0, brace);
+            suffix = p.substring(braceEnd + 1);
+            //与正则一致：{x_} 的变量名至少要有一个字符在 _ 之前（{_} 只是普通变量）
+            varAny = braceEnd - brace > 2 && p.charAt(braceEnd - 1) == '_';
+        }
     }
 
     /**
@@ -5,9 +5,6 @@ import org.noear.solon.Utils;
 import org.noear.solon.core.NvMap;
 
 import java.net.URLDecoder;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -85,23 +82,10 @@ public class PathUtil {
                 path2 = path;
             }
 
-            Matcher pm = pathKeyExpr.matcher(expr);
+            PathAnalyzer _pr = PathAnalyzer.get(expr);
 
-            List<String> _pks = new ArrayList<>();
-
-            while (pm.find()) {
-                _pks.add(pm.group(1));
-            }
-
-            if (_pks.size() > 0) {
-                PathAnalyzer _pr = PathAnalyzer.get(expr);
-
-                pm = _pr.matcher(path2);
-                if (pm.find()) {
-                    for (int i = 0, len = _pks.size(); i < len; i++) {
-                        _map.put(_pks.get(i), pm.group(i + 1));//不采用group name,可解决_的问题
-                    }
-                }
+            if (_pr.keys().size() > 0) {
+                _pr.extract(path2, _map::put);
             }
         }
 
@@ -0,0 +1,235 @@
+package org.noear.solon.core.wrap;
+
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.UploadedFile;
+import org.noear.solon.core.util.ConvertUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 实体绑定器（为 ClassWrap::newBy 预编译构造与字段赋值；编译失败时由 ClassWrap 退回反射处理）
+ *
+ * @author noear
+ * @since 2.3
+ */
+class BeanBinder {
+    private static final int CONVERT_OTHER = 0;
+    private static final int CONVERT_STRING = 1;
+    private static final int CONVERT_INT = 2;
+    private static final int CONVERT_LONG = 3;
+    private static final int CONVERT_BOOLEAN = 4;
+    private static final int CONVERT_DOUBLE = 5;
+    private static final int CONVERT_FLOAT = 6;
+    private static final int CONVERT_SHORT = 7;
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    /**
+     * 编译
+     *
+     * @return 不能编译时为 null
+     */
+    static BeanBinder compile(ClassWrap clzWrap) {
+        try {
+            if (clzWrap.recordable()) {
+                Constructor<?> constructor = clzWrap.recordConstructor();
+                constructor.setAccessible(true);
+
+                Parameter[] params = clzWrap.recordParams();
+                MethodHandle mh = lookup.unreflectConstructor(constructor)
+                        .asType(MethodType.genericMethodType(params.length))
+                        .asSpreader(Object[].class, params.length);
+
+                return new BeanBinder(mh, params, null);
+            } else {
+                Constructor<?> constructor = clzWrap.clz().getDeclaredConstructor();
+                constructor.setAccessible(true);
+
+                MethodHandle mh = lookup.unreflectConstructor(constructor)
+                        .asType(MethodType.methodType(Object.class));
+
+                Map<String, FieldWrap> fieldMap = clzWrap.getFieldAllWraps();
+                FieldBinder[] fields = new FieldBinder[fieldMap.size()];
+
+                int i = 0;
+                for (Map.Entry<String, FieldWrap> kv : fieldMap.entrySet()) {
+                    fields[i++] = new FieldBinder(kv.getKey(), kv.getValue());
+                }
+
+                return new BeanBinder(mh, null, fields);
+            }
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private final MethodHandle constructor;
+    private final Parameter[] recordParams;
+    private final FieldBinder[] fields;
+
+    private BeanBinder(MethodHandle constructor, Parameter[] recordParams, FieldBinder[] fields) {
+        this.constructor = constructor;
+        this.recordParams = recordParams;
+        this.fields = fields;
+    }
+
+    /**
+     * 新建实例
+     */
+    Object newBy(Function<String, String> data, Context ctx) throws Throwable {
+        if (recordParams != null) {
+            //for record（走规范构造函数）
+            Object[] argsV = new Object[recordParams.length];
+
+            for (int i = 0; i < recordParams.length; i++) {
+                Parameter p = recordParams[i];
+                String key = p.getName();
+                String val0 = data.apply(key);
+
+                if (val0 != null) {
+                    argsV[i] = ConvertUtil.to(p, p.getType(), key, val0, ctx);
+                } else if (p.getType() == UploadedFile.class) {
+                    argsV[i] = ctx.file(key);//如果是 UploadedFile
+                }
+            }
+
+            return (Object) constructor.invokeExact(argsV);
+        } else {
+            Object bean = (Object) constructor.invokeExact();
+            fill(bean, data, ctx);
+            return bean;
+        }
+    }
+
+    /**
+     * 为实例填充数据
+     */
+    void fill(Object bean, Function<String, String> data, Context ctx) throws Throwable {
+        for (FieldBinder fb : fields) {
+            fb.bind(bean, data, ctx);
+        }
+    }
+
+
+    /**
+     * 字段绑定器
+     */
+    static class FieldBinder {
+        private final String key;
+        private final FieldWrap fw;
+        private final boolean isFile;
+        private final int convert;
+        /**
+         * 设置句柄；基础类型时为 (Object,基础类型)void，否则为 (Object,Object)void；只读时为 null
+         */
+        private final MethodHandle setter;
+
+        FieldBinder(String key, FieldWrap fw) throws IllegalAccessException {
+            this.key = key;
+            this.fw = fw;
+            this.isFile = (fw.type == UploadedFile.class);
+
+            MethodHandle mh = fw.getSetterHandle();
+
+            if (mh == null) {
+                convert = CONVERT_OTHER;
+                setter = null;
+                return;
+            }
+
+            Class<?> pt = fw.type;
+            if (pt == String.class) {
+                convert = CONVERT_STRING;
+            } else if (pt == int.class) {
+                convert = CONVERT_INT;
+            } else if (pt == long.class) {
+                convert = CONVERT_LONG;
+            } else if (pt == boolean.class) {
+                convert = CONVERT_BOOLEAN;
+            } else if (pt == double.class) {
+                convert = CONVERT_DOUBLE;
+            } else if (pt == float.class) {
+                convert = CONVERT_FLOAT;
+            } else if (pt == short.class) {
+                convert = CONVERT_SHORT;
+            } else {
+                convert = CONVERT_OTHER;
+            }
+
+            if (pt.isPrimitive() && convert != CONVERT_OTHER) {
+                setter = mh.asType(MethodType.methodType(void.class, Object.class, pt));
+            } else {
+                setter = mh.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+        }
+
+        void bind(Object bean, Function<String, String> data, Context ctx) throws Throwable {
+            if (setter == null) {
+                //只读
+                return;
+            }
+
+            String val0 = data.apply(key);
+
+            if (val0 == null) {
+                if (ctx != null && isFile) {
+                    UploadedFile file1 = ctx.file(key);
+                    if (file1 != null) {
+                        setter.invokeExact(bean, (Object) file1);
+                    }
+                }
+                return;
+            }
+
+            if (convert == CONVERT_STRING) {
+                setter.invokeExact(bean, (Object) val0);
+                return;
+            }
+
+            if (val0.length() == 0) {
+                //与 ConvertUtil 保持一致：空值不赋值
+                return;
+            }
+
+            switch (convert) {
+                case CONVERT_INT:
+                    setter.invokeExact(bean, Integer.parseInt(val0));
+                    break;
+                case CONVERT_LONG:
+                    setter.invokeExact(bean, Long.parseLong(val0));
+                    break;
+                case CONVERT_BOOLEAN:
+                    setter.invokeExact(bean, "1".equals(val0) || Boolean.parseBoolean(val0));
+                    break;
+                case CONVERT_DOUBLE:
+                    setter.invokeExact(bean, Double.parseDouble(val0));
+                    break;
+                case CONVERT_FLOAT:
+                    setter.invokeExact(bean, Float.parseFloat(val0));
+                    break;
+                case CONVERT_SHORT:
+                    setter.invokeExact(bean, Short.parseShort(val0));
+                    break;
+                default:
+                    //将 string 转为目标 type，并为字段赋值
+                    Object val = ConvertUtil.to(fw.field, fw.type, key, val0, ctx);
+                    if (val != null) {
+                        try {
+                            setter.invokeExact(bean, val);
+                        } catch (ClassCastException ex) {
+                            throw new IllegalArgumentException(
+                                    fw.field.getName() + "(" + fw.field.getType().getSimpleName() +
+                                            ") Type receive failure ：val(" + val.getClass().getSimpleName() + ")", ex);
+                        }
+                    }
+                    break;
+            }
+        }
+    }
+}
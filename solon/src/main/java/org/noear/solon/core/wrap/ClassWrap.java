@@ -54,6 +54,10 @@ public class ClassWrap {
     private Constructor _recordConstructor;
     private Parameter[] _recordParams;
 
+    //for newBy（首次使用时编译；编译失败时退回反射）
+    private volatile BeanBinder _binder;
+    private volatile boolean _binderCompiled;
+
     protected ClassWrap(Class<?> clz) {
         _clz = clz;
         _recordable = true;
@@ -163,6 +167,14 @@ public class ClassWrap {
      */
     public <T> T newBy(Function<String, String> data, Context ctx) {
         try {
+            BeanBinder binder = getBinder();
+            if (binder != null) {
+                //T 由调用方决定，绑定器按 clz 创建实例（与下面 newInstance 的转换一样，不能在编译期检查）
+                @SuppressWarnings("unchecked")
+                T bean = (T) binder.newBy(data, ctx);
+                return bean;
+            }
+
             if (recordable()) {
                 //for record
                 Parameter[] argsP = recordParams();
@@ -209,6 +221,12 @@ public class ClassWrap {
      */
     public void fill(Object bean, Function<String, String> data) {
         try {
+            BeanBinder binder = getBinder();
+            if (binder != null && recordable() == false) {
+                binder.fill(bean, data, null);
+                return;
+            }
+
             doFill(bean, data, null);
         } catch (RuntimeException ex) {
             throw ex;
@@ -217,6 +235,22 @@ public class ClassWrap {
         }
     }
 
+    /**
+     * 获取实体绑定器
+     */
+    private BeanBinder getBinder() {
+        if (_binderCompiled == false) {
+            synchronized (this) {
+                if (_binderCompiled == false) {
+                    _binder = BeanBinder.compile(this);
+                    _binderCompiled = true;
+                }
+            }
+        }
+
+        return _binder;
+    }
+
     /**
      * 为实例填充数据
      *
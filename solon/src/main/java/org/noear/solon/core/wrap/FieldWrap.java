@@ -7,6 +7,8 @@ import org.noear.solon.core.util.GenericUtil;
 import org.noear.solon.core.util.ParameterizedTypeImpl;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.*;
 import java.util.Map;
 
@@ -162,6 +164,22 @@ public class FieldWrap {
         }
     }
 
+    /**
+     * 获取值设置句柄（有设置器时优先；只读时为 null）
+     */
+    MethodHandle getSetterHandle() throws IllegalAccessException {
+        if (readonly) {
+            return null;
+        }
+
+        if (_setter == null) {
+            return MethodHandles.lookup().unreflectSetter(field);
+        } else {
+            _setter.setAccessible(true);
+            return MethodHandles.lookup().unreflect(_setter);
+        }
+    }
+
     private static Method dofindGetter(Class<?> tCls, Field field) {
         String fieldName = field.getName();
         String firstLetter = fieldName.substring(0, 1).toUpperCase();
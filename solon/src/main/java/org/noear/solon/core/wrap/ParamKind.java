@@ -0,0 +1,35 @@
+package org.noear.solon.core.wrap;
+
+/**
+ * 参数种类（在参数包装时预解析，用于请求时快速绑定）
+ *
+ * @see ParamWrap#getKind()
+ * @author noear
+ * @since 2.3
+ */
+public enum ParamKind {
+    /**
+     * 上下文
+     */
+    CONTEXT,
+    /**
+     * 模型与视图
+     */
+    MODEL_AND_VIEW,
+    /**
+     * 地区
+     */
+    LOCALE,
+    /**
+     * 上传文件
+     */
+    UPLOADED_FILE,
+    /**
+     * 普通值（可能是原始请求或响应对象，需在请求时检测）
+     */
+    VALUE,
+    /**
+     * 普通值（确定不是原始请求或响应对象）
+     */
+    VALUE_PLAIN
+}
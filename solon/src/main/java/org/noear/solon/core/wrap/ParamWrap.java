@@ -4,10 +4,16 @@ import org.noear.solon.Utils;
 import org.noear.solon.annotation.*;
 import org.noear.solon.core.Constants;
 import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ModelAndView;
+import org.noear.solon.core.handle.UploadedFile;
 
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * @author noear
@@ -16,6 +22,8 @@ import java.lang.reflect.Type;
  */
 public class ParamWrap {
     private final Parameter parameter;
+    private final Class<?> type;
+    private final ParamKind kind;
     private String name;
     private String defaultValue;
     private boolean required;
@@ -28,6 +36,8 @@ public class ParamWrap {
 
     public ParamWrap(Parameter parameter) {
         this.parameter = parameter;
+        this.type = parameter.getType();
+        this.kind = resolveKind(type);
         this.name = parameter.getName();
 
         if (resolveBody() == false) {
@@ -79,7 +89,14 @@ public class ParamWrap {
     }
 
     public Class<?> getType() {
-        return parameter.getType();
+        return type;
+    }
+
+    /**
+     * 获取参数种类（预解析的）
+     * */
+    public ParamKind getKind() {
+        return kind;
     }
 
     public boolean required() {
@@ -107,6 +124,38 @@ public class ParamWrap {
         return defaultValue;
     }
 
+    /**
+     * 分析参数种类
+     */
+    private static ParamKind resolveKind(Class<?> pt) {
+        if (Context.class.isAssignableFrom(pt)) {
+            return ParamKind.CONTEXT;
+        } else if (ModelAndView.class.isAssignableFrom(pt)) {
+            return ParamKind.MODEL_AND_VIEW;
+        } else if (Locale.class.isAssignableFrom(pt)) {
+            return ParamKind.LOCALE;
+        } else if (UploadedFile.class == pt) {
+            return ParamKind.UPLOADED_FILE;
+        }
+
+        if (pt.isPrimitive()
+                || pt.isArray()
+                || pt.isEnum()
+                || pt == String.class
+                || pt == Boolean.class
+                || pt == Character.class
+                || Number.class.isAssignableFrom(pt)
+                || Date.class.isAssignableFrom(pt)
+                || Collection.class.isAssignableFrom(pt)
+                || Map.class.isAssignableFrom(pt)
+                || pt.getName().startsWith("java.time.")) {
+            //这些类型不可能是原始请求或响应对象
+            return ParamKind.VALUE_PLAIN;
+        } else {
+            return ParamKind.VALUE;
+        }
+    }
+
     /**
      * 分析 body 注解
      */